@@ -0,0 +1,82 @@
+#!/usr/bin/env python3
+"""
+Compara a vazão da contagem de pedidos por cliente:
+  - uma chamada GET /api/orders/clients/{clientId}/count por cliente
+  - uma única chamada POST /api/orders/clients/counts com todos os clientes
+
+Uso:
+    python scripts/benchmark-client-counts.py [quantidade_clientes] [rodadas]
+
+Requer a aplicação rodando em http://localhost:8080 (ou BASE_URL).
+
+Não usa o JMH dos demais benchmarks: o ganho do lote está em trocar N requisições
+HTTP e N consultas por uma requisição e um GROUP BY, e os benchmarks JMH rodam em
+processo, sem servidor nem banco, onde essa diferença não aparece.
+"""
+
+import json
+import os
+import sys
+import time
+import urllib.request
+
+BASE_URL = os.environ.get("BASE_URL", "http://localhost:8080")
+
+
+def get_json(path):
+    with urllib.request.urlopen(BASE_URL + path) as response:
+        return json.loads(response.read())
+
+
+def post_json(path, payload):
+    request = urllib.request.Request(
+        BASE_URL + path,
+        data=json.dumps(payload).encode("utf-8"),
+        headers={"Content-Type": "application/json"},
+        method="POST",
+    )
+    with urllib.request.urlopen(request) as response:
+        return json.loads(response.read())
+
+
+def per_client(client_ids):
+    return {client_id: get_json(f"/api/orders/clients/{client_id}/count")["orderCount"]
+            for client_id in client_ids}
+
+
+def batched(client_ids, batch_size=1000):
+    counts = {}
+    for start in range(0, len(client_ids), batch_size):
+        chunk = client_ids[start:start + batch_size]
+        response = post_json("/api/orders/clients/counts", {"clientIds": chunk})
+        counts.update({int(k): v for k, v in response["orderCounts"].items()})
+    return counts
+
+
+def measure(name, fn, client_ids, rounds):
+    fn(client_ids)  # aquecimento
+    started = time.perf_counter()
+    for _ in range(rounds):
+        result = fn(client_ids)
+    elapsed = time.perf_counter() - started
+    throughput = len(client_ids) * rounds / elapsed
+    print(f"{name:<12} {elapsed:8.3f}s  {throughput:12.1f} clientes/s")
+    return result
+
+
+def main():
+    clients = int(sys.argv[1]) if len(sys.argv) > 1 else 500
+    rounds = int(sys.argv[2]) if len(sys.argv) > 2 else 3
+    client_ids = list(range(1, clients + 1))
+
+    print(f"Contando pedidos de {clients} clientes, {rounds} rodadas")
+    single = measure("per-client", per_client, client_ids, rounds)
+    batch = measure("batch", batched, client_ids, rounds)
+
+    if single != batch:
+        print("⚠️  Resultados divergentes entre as duas estratégias")
+        sys.exit(1)
+
+
+if __name__ == "__main__":
+    main()
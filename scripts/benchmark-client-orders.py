@@ -0,0 +1,75 @@
+#!/usr/bin/env python3
+"""
+Mede latência e alocação da listagem de pedidos por cliente nos dois formatos:
+  - resumo (padrão): GET /api/orders/clients/{clientId}
+  - completo:        GET /api/orders/clients/{clientId}?expand=items
+
+A alocação é estimada pela variação da métrica jvm.gc.memory.allocated do
+Actuator entre o início e o fim de cada rodada, dividida pelo número de
+requisições. É uma aproximação (inclui ruído de threads em segundo plano),
+então use um cliente com bastante pedidos e várias requisições.
+
+Uso:
+    python scripts/benchmark-client-orders.py [clientId] [requisicoes]
+
+Não usa o JMH dos demais benchmarks: a diferença entre os formatos está na consulta
+(projeção vs. entidades com itens e cliente) e no tamanho da resposta, que só aparecem
+com a aplicação e o banco de pé. O custo em processo do mapeamento para DTO da versão
+completa é medido pelo OrderViewBenchmark (scripts/benchmark-order-views.sh).
+"""
+
+import json
+import os
+import statistics
+import sys
+import time
+import urllib.request
+
+BASE_URL = os.environ.get("BASE_URL", "http://localhost:8080")
+
+
+def fetch(path):
+    with urllib.request.urlopen(BASE_URL + path) as response:
+        return response.read()
+
+
+def allocated_bytes():
+    try:
+        metric = json.loads(fetch("/actuator/metrics/jvm.gc.memory.allocated"))
+        return metric["measurements"][0]["value"]
+    except Exception:
+        return None
+
+
+def run(name, path, requests):
+    for _ in range(max(1, requests // 10)):
+        fetch(path)  # aquecimento
+
+    before = allocated_bytes()
+    latencies = []
+    size = 0
+    for _ in range(requests):
+        started = time.perf_counter()
+        body = fetch(path)
+        latencies.append((time.perf_counter() - started) * 1000)
+        size = len(body)
+    after = allocated_bytes()
+
+    latencies.sort()
+    p50 = statistics.median(latencies)
+    p95 = latencies[int(len(latencies) * 0.95) - 1]
+    alloc = f"{(after - before) / requests / 1024:10.1f} KiB/req" if before is not None and after is not None else "       n/a"
+    print(f"{name:<9} p50={p50:7.2f}ms p95={p95:7.2f}ms body={size:>9} bytes alloc={alloc}")
+
+
+def main():
+    client_id = int(sys.argv[1]) if len(sys.argv) > 1 else 1
+    requests = int(sys.argv[2]) if len(sys.argv) > 2 else 200
+
+    print(f"Cliente {client_id}, {requests} requisições por formato")
+    run("summary", f"/api/orders/clients/{client_id}", requests)
+    run("expanded", f"/api/orders/clients/{client_id}?expand=items", requests)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,86 @@
+#!/bin/bash
+
+# Tempo de parede do job de estatísticas por cliente (orders.client-stats) por número de
+# threads do ForkJoinPool: gera N pedidos sintéticos com itens de um catálogo de 1.000
+# produtos e roda o job com 1, 2, 4... threads até max_threads (padrão: núcleos da máquina).
+#
+# Os pedidos gerados usam order_code a partir de 9100000000000 e client_id a partir de
+# 9100000, para não colidir com dados reais nem com os do benchmark de replay.
+#
+# Uso:
+#   ./scripts/benchmark-client-stats.sh [pedidos] [clientes] [max_threads]
+#   ./scripts/benchmark-client-stats.sh 10000000 200000 16
+
+set -e
+
+ORDERS=${1:-10000000}
+CLIENTS=${2:-200000}
+MAX_THREADS=${3:-$(nproc)}
+BATCH=1000000
+CONTAINER=${CONTAINER:-orders-postgres}
+PSQL="docker exec -i $CONTAINER psql -U postgres -d orders_db -v ON_ERROR_STOP=1 -q"
+
+cd "$(dirname "$0")/.."
+
+echo "📦 Gerando $ORDERS pedidos para $CLIENTS clientes (lotes de $BATCH)..."
+
+$PSQL -v clients=$CLIENTS <<'SQL'
+INSERT INTO clients (id, name, email, created_at)
+SELECT 9100000 + n, 'Stats ' || n, 'stats' || n || '@example.com', now()
+FROM generate_series(1, :clients) AS n
+ON CONFLICT (id) DO NOTHING;
+
+INSERT INTO products (name)
+SELECT 'produto-' || n FROM generate_series(0, 1000) AS n
+ON CONFLICT (name) DO NOTHING;
+SQL
+
+for ((offset = 0; offset < ORDERS; offset += BATCH)); do
+    COUNT=$(( ORDERS - offset < BATCH ? ORDERS - offset : BATCH ))
+    $PSQL -v offset=$offset -v count=$COUNT -v clients=$CLIENTS <<'SQL'
+WITH new_orders AS (
+    INSERT INTO orders (order_code, client_id, total, item_count, created_at)
+    SELECT 9100000000000 + :offset + n, 9100000 + 1 + (:offset + n) % :clients,
+           2.50 * (3 + (:offset + n) % 10 + (:offset + n) * 3 % 10 + (:offset + n) * 7 % 10), 3,
+           now() - ((:offset + n) % 2592000 || ' seconds')::interval
+    FROM generate_series(1, :count) AS n
+    RETURNING id, order_code - 9100000000000 AS n, created_at
+)
+INSERT INTO order_items (order_id, product_id, quantity, price, total, created_at)
+SELECT o.id, p.id, q.quantity, 2.50, q.quantity * 2.50, o.created_at
+FROM new_orders o
+CROSS JOIN LATERAL (VALUES (1 + o.n % 10, (random() * random() * 1000)::int),
+                           (1 + o.n * 3 % 10, (random() * random() * 1000)::int),
+                           (1 + o.n * 7 % 10, (random() * random() * 1000)::int)) AS q(quantity, product)
+JOIN products p ON p.name = 'produto-' || q.product;
+SQL
+    echo "   $(( offset + COUNT )) / $ORDERS"
+done
+
+$PSQL -c "VACUUM ANALYZE orders" -c "VACUUM ANALYZE order_items"
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/orders-challenge-*.jar | grep -v original | head -1)
+
+echo ""
+echo "📊 Job de estatísticas por cliente ($(nproc) núcleos disponíveis)"
+threads=1
+while [ $threads -le $MAX_THREADS ]; do
+    echo "   $threads thread(s):"
+    java -Xmx2g -jar "$JAR" \
+        --spring.main.web-application-type=none \
+        --spring.rabbitmq.listener.simple.auto-startup=false \
+        --logging.level.com.btg.orders=INFO \
+        --logging.level.org.hibernate.SQL=WARN \
+        --logging.level.org.springframework.amqp=WARN \
+        --spring.datasource.hikari.maximum-pool-size=$(( threads + 2 )) \
+        --orders.client-stats.enabled=true \
+        --orders.client-stats.parallelism=$threads \
+        | grep -E "Client stats finished|Client stats job failed"
+    threads=$(( threads * 2 ))
+done
+
+echo ""
+echo "🧹 Para remover os dados:"
+echo "   DELETE FROM order_items i USING orders o WHERE i.order_id = o.id AND i.created_at = o.created_at AND o.order_code >= 9100000000000;"
+echo "   DELETE FROM orders WHERE order_code >= 9100000000000; DELETE FROM client_order_stats WHERE client_id > 9100000; DELETE FROM clients WHERE id > 9100000;"
@@ -0,0 +1,138 @@
+#!/bin/bash
+
+# Compara os dois modos de armazenamento de itens (orders.storage.inline-items):
+# normalizado (orders + uma linha por item em order_items) vs. inline (itens em
+# orders.items_json). Mede vazão de escrita, latência de leitura do pedido com itens
+# e tamanho em disco de cada modo.
+#
+# Os dados são gerados em dois schemas isolados (bench_rows e bench_json) dentro do
+# container do PostgreSQL do docker-compose, sem tocar nas tabelas da aplicação.
+#
+# Uso:
+#   ./scripts/benchmark-items-storage.sh [pedidos] [itens_por_pedido] [duracao_segundos]
+#   ./scripts/benchmark-items-storage.sh 1000000 5 60
+
+set -e
+
+ORDERS=${1:-1000000}
+ITEMS=${2:-5}
+DURATION=${3:-60}
+CONTAINER=${CONTAINER:-orders-postgres}
+PSQL="docker exec -i $CONTAINER psql -U postgres -d orders_db -v ON_ERROR_STOP=1"
+
+echo "📦 Gerando $ORDERS pedidos com $ITEMS itens em bench_rows e bench_json..."
+
+$PSQL -v orders=$ORDERS -v items=$ITEMS <<'SQL'
+DROP SCHEMA IF EXISTS bench_rows CASCADE;
+DROP SCHEMA IF EXISTS bench_json CASCADE;
+CREATE SCHEMA bench_rows;
+CREATE SCHEMA bench_json;
+
+-- Normalizado, como na V1/V2
+CREATE TABLE bench_rows.orders (
+    id         BIGSERIAL PRIMARY KEY,
+    order_code BIGINT NOT NULL UNIQUE,
+    client_id  BIGINT NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL,
+    item_count INTEGER NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE bench_rows.order_items (
+    id       BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL REFERENCES bench_rows.orders (id),
+    product  VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    price    NUMERIC(10, 2) NOT NULL,
+    total    NUMERIC(10, 2) NOT NULL
+);
+
+-- Inline, como na V5
+CREATE TABLE bench_json.orders (
+    id         BIGSERIAL PRIMARY KEY,
+    order_code BIGINT NOT NULL UNIQUE,
+    client_id  BIGINT NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL,
+    item_count INTEGER NOT NULL,
+    items_json JSONB,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO bench_rows.orders (order_code, client_id, total, item_count, created_at)
+SELECT n, n % 100000, 6.00 * :items, :items, now() - (n || ' seconds')::interval
+FROM generate_series(1, :orders) AS n;
+
+INSERT INTO bench_rows.order_items (order_id, product, quantity, price, total)
+SELECT o.id, 'produto ' || p, 1, 6.00, 6.00
+FROM bench_rows.orders o CROSS JOIN generate_series(1, :items) AS p;
+
+CREATE INDEX ON bench_rows.order_items (order_id);
+
+INSERT INTO bench_json.orders (order_code, client_id, total, item_count, items_json, created_at)
+SELECT o.order_code, o.client_id, o.total, o.item_count,
+       (SELECT jsonb_agg(jsonb_build_object('id', p, 'product', 'produto ' || p, 'quantity', 1,
+                                            'price', 6.00, 'total', 6.00))
+        FROM generate_series(1, :items) AS p),
+       o.created_at
+FROM bench_rows.orders o;
+
+CREATE SEQUENCE bench_rows.codes START WITH 1000000000000;
+CREATE SEQUENCE bench_json.codes START WITH 1000000000000;
+
+VACUUM ANALYZE bench_rows.orders;
+VACUUM ANALYZE bench_rows.order_items;
+VACUUM ANALYZE bench_json.orders;
+SQL
+
+# Um pedido com $ITEMS itens por transação, como o save do gateway em cada modo
+ROWS_INSERT="BEGIN;
+INSERT INTO bench_rows.orders (order_code, client_id, total, item_count, created_at) VALUES (nextval('bench_rows.codes'), :client, $ITEMS * 6.00, $ITEMS, now());"
+for p in $(seq 1 $ITEMS); do
+    ROWS_INSERT="$ROWS_INSERT
+INSERT INTO bench_rows.order_items (order_id, product, quantity, price, total) VALUES (currval('bench_rows.orders_id_seq'), 'produto $p', 1, 6.00, 6.00);"
+done
+ROWS_INSERT="$ROWS_INSERT
+COMMIT;"
+
+JSON_ITEMS=$(for p in $(seq 1 $ITEMS); do printf '{"id": %d, "product": "produto %d", "quantity": 1, "price": 6.00, "total": 6.00}' $p $p; [ $p -lt $ITEMS ] && printf ', '; done)
+JSON_INSERT="INSERT INTO bench_json.orders (order_code, client_id, total, item_count, items_json, created_at) VALUES (nextval('bench_json.codes'), :client, $ITEMS * 6.00, $ITEMS, '[$JSON_ITEMS]', now());"
+
+for schema in bench_rows bench_json; do
+    if [ "$schema" = "bench_rows" ]; then
+        INSERT="$ROWS_INSERT"
+        READ="SELECT o.*, i.* FROM bench_rows.orders o LEFT JOIN bench_rows.order_items i ON i.order_id = o.id WHERE o.order_code = :code;"
+    else
+        INSERT="$JSON_INSERT"
+        READ="SELECT o.* FROM bench_json.orders o WHERE o.order_code = :code;"
+    fi
+
+    docker exec -i $CONTAINER sh -c "cat > /tmp/insert.sql" <<EOSQL
+\set client random(1, 100000)
+$INSERT
+EOSQL
+    docker exec -i $CONTAINER sh -c "cat > /tmp/read.sql" <<EOSQL
+\set code random(1, $ORDERS)
+$READ
+EOSQL
+
+    echo ""
+    echo "📊 $schema - escrita (pedido com $ITEMS itens)"
+    docker exec $CONTAINER pgbench -U postgres -n -c 8 -j 4 -T $DURATION -f /tmp/insert.sql orders_db | grep -E "latency|tps"
+    echo "📊 $schema - leitura do pedido com itens"
+    docker exec $CONTAINER pgbench -U postgres -n -c 8 -j 4 -T $DURATION -f /tmp/read.sql orders_db | grep -E "latency|tps"
+done
+
+echo ""
+echo "💾 Tamanho em disco (tabelas + índices + TOAST)"
+$PSQL <<'SQL'
+SELECT n.nspname AS schema,
+       pg_size_pretty(SUM(pg_total_relation_size(c.oid))) AS total
+FROM pg_class c
+JOIN pg_namespace n ON n.oid = c.relnamespace
+WHERE n.nspname IN ('bench_rows', 'bench_json') AND c.relkind = 'r'
+GROUP BY n.nspname
+ORDER BY n.nspname;
+SQL
+
+echo ""
+echo "🧹 Para remover os dados: DROP SCHEMA bench_rows CASCADE; DROP SCHEMA bench_json CASCADE;"
@@ -0,0 +1,24 @@
+#!/bin/bash
+
+# Heap por pedido carregado e vazão (JMH -prof gc: pedidos/s e bytes alocados por pedido)
+# do mapeamento para DTO na listagem com itens (?expand=items): modelo mutável
+# Order/OrderItem vs. OrderView (primitivos e arrays).
+#
+# Uso:
+#   ./scripts/benchmark-order-views.sh [pedidos] [itens_por_pedido] [argumentos extras do JMH]
+#   ./scripts/benchmark-order-views.sh 1000000 5
+
+set -e
+
+ORDERS=${1:-1000000}
+ITEMS=${2:-5}
+shift $(( $# > 2 ? 2 : $# ))
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+CLASSPATH="target/classes:target/test-classes:$(cat target/test-classpath.txt)"
+
+java -Xmx8g -cp "$CLASSPATH" \
+    com.btg.orders.infrastructure.database.views.OrderViewBenchmark "$ORDERS" "$ITEMS"
+
+java -cp "$CLASSPATH" org.openjdk.jmh.Main OrderViewBenchmark -p items="$ITEMS" -prof gc "$@"
@@ -0,0 +1,17 @@
+#!/bin/bash
+
+# CPU (ns/operação) e alocação (gc.alloc.rate.norm, bytes/operação) dos caminhos de falha
+# esperados com JMH, em 4 threads: total de pedido inexistente e pedido duplicado, exceção
+# com stack trace (anterior) vs. Outcome compartilhado.
+#
+# Uso:
+#   ./scripts/benchmark-outcomes.sh [argumentos extras do JMH]
+#   ./scripts/benchmark-outcomes.sh -t 8
+
+set -e
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+
+java -cp "target/classes:target/test-classes:$(cat target/test-classpath.txt)" \
+    org.openjdk.jmh.Main OrderOutcomeBenchmark -prof gc "$@"
@@ -0,0 +1,122 @@
+#!/bin/bash
+
+# Compara latência de inserção e de busca por order_code entre a tabela orders
+# monolítica (V2) e a particionada por mês com a busca global em order_codes (V3).
+#
+# Os dados são gerados em dois schemas isolados (bench_flat e bench_part) dentro do
+# container do PostgreSQL do docker-compose, sem tocar nas tabelas da aplicação.
+#
+# Uso:
+#   ./scripts/benchmark-partitioning.sh [linhas] [meses] [duracao_segundos]
+#   ./scripts/benchmark-partitioning.sh 100000000 24 60
+
+set -e
+
+ROWS=${1:-100000000}
+MONTHS=${2:-24}
+DURATION=${3:-60}
+CONTAINER=${CONTAINER:-orders-postgres}
+PSQL="docker exec -i $CONTAINER psql -U postgres -d orders_db -v ON_ERROR_STOP=1"
+
+echo "📦 Gerando $ROWS pedidos distribuídos em $MONTHS meses em bench_flat e bench_part..."
+
+$PSQL -v rows=$ROWS -v months=$MONTHS <<'SQL'
+DROP SCHEMA IF EXISTS bench_flat CASCADE;
+DROP SCHEMA IF EXISTS bench_part CASCADE;
+CREATE SCHEMA bench_flat;
+CREATE SCHEMA bench_part;
+
+-- Monolítica, com os índices da V2
+CREATE TABLE bench_flat.orders (
+    id         BIGSERIAL PRIMARY KEY,
+    order_code BIGINT NOT NULL,
+    client_id  BIGINT NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_bench_flat_order_code UNIQUE (order_code) INCLUDE (total)
+);
+
+-- Particionada, com a busca global da V3
+CREATE TABLE bench_part.orders (
+    id         BIGSERIAL,
+    order_code BIGINT NOT NULL,
+    client_id  BIGINT NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE bench_part.order_codes (
+    order_code BIGINT PRIMARY KEY,
+    order_id   BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL
+);
+
+SELECT format('CREATE TABLE bench_part.orders_%s PARTITION OF bench_part.orders FOR VALUES FROM (%L) TO (%L)',
+              to_char(m, 'YYYYMM'), m, m + INTERVAL '1 month')
+FROM generate_series(date_trunc('month', now()) - (:months || ' months')::interval,
+                     date_trunc('month', now()) + INTERVAL '1 month', INTERVAL '1 month') AS m
+\gexec
+
+INSERT INTO bench_flat.orders (order_code, client_id, total, created_at)
+SELECT n, n % 100000, 12.00,
+       now() - ((n % (:months * 30 * 86400)) || ' seconds')::interval
+FROM generate_series(1, :rows) AS n;
+
+INSERT INTO bench_part.orders (id, order_code, client_id, total, created_at)
+SELECT id, order_code, client_id, total, created_at FROM bench_flat.orders;
+SELECT setval('bench_part.orders_id_seq', (SELECT MAX(id) FROM bench_part.orders));
+
+INSERT INTO bench_part.order_codes (order_code, order_id, created_at, total)
+SELECT order_code, id, created_at, total FROM bench_part.orders;
+
+CREATE INDEX ON bench_flat.orders (client_id, created_at, id) INCLUDE (total, order_code);
+CREATE INDEX ON bench_part.orders (client_id, created_at, id) INCLUDE (total, order_code);
+
+-- Mesma manutenção por trigger da aplicação, ativada após a carga inicial
+CREATE FUNCTION bench_part.sync_order_code() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO bench_part.order_codes (order_code, order_id, created_at, total)
+    VALUES (NEW.order_code, NEW.id, NEW.created_at, NEW.total);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER trg_sync_order_code AFTER INSERT ON bench_part.orders
+    FOR EACH ROW EXECUTE FUNCTION bench_part.sync_order_code();
+
+CREATE SEQUENCE bench_flat.codes START WITH 1000000000000;
+CREATE SEQUENCE bench_part.codes START WITH 1000000000000;
+
+VACUUM ANALYZE bench_flat.orders;
+VACUUM ANALYZE bench_part.orders;
+VACUUM ANALYZE bench_part.order_codes;
+SQL
+
+for schema in bench_flat bench_part; do
+    if [ "$schema" = "bench_part" ]; then
+        INSERT="INSERT INTO bench_part.orders (order_code, client_id, total, created_at) VALUES (nextval('bench_part.codes'), :client, 12.00, now());"
+        LOOKUP="SELECT total FROM bench_part.order_codes WHERE order_code = :code;"
+    else
+        INSERT="INSERT INTO bench_flat.orders (order_code, client_id, total, created_at) VALUES (nextval('bench_flat.codes'), :client, 12.00, now());"
+        LOOKUP="SELECT total FROM bench_flat.orders WHERE order_code = :code;"
+    fi
+
+    docker exec -i $CONTAINER sh -c "cat > /tmp/insert.sql" <<EOSQL
+\set client random(1, 100000)
+$INSERT
+EOSQL
+    docker exec -i $CONTAINER sh -c "cat > /tmp/lookup.sql" <<EOSQL
+\set code random(1, $ROWS)
+$LOOKUP
+EOSQL
+
+    echo ""
+    echo "📊 $schema - inserção"
+    docker exec $CONTAINER pgbench -U postgres -n -c 8 -j 4 -T $DURATION -f /tmp/insert.sql orders_db | grep -E "latency|tps"
+    echo "📊 $schema - busca por order_code"
+    docker exec $CONTAINER pgbench -U postgres -n -c 8 -j 4 -T $DURATION -f /tmp/lookup.sql orders_db | grep -E "latency|tps"
+done
+
+echo ""
+echo "🧹 Para remover os dados: DROP SCHEMA bench_flat CASCADE; DROP SCHEMA bench_part CASCADE;"
@@ -0,0 +1,94 @@
+#!/bin/bash
+
+# Efeito do dicionário de produtos (V8): tamanho de order_items e de um índice por produto
+# com o nome em VARCHAR vs. product_id INTEGER, e heap por pedido em cache com nomes
+# repetidos vs. compartilhados (ProductDictionaryBenchmark).
+#
+# As tabelas são geradas no schema isolado bench_products dentro do container do
+# PostgreSQL do docker-compose, sem tocar nas tabelas da aplicação.
+#
+# Uso:
+#   ./scripts/benchmark-product-dictionary.sh [itens] [produtos] [pedidos_em_cache]
+#   ./scripts/benchmark-product-dictionary.sh 10000000 1000 1000000
+
+set -e
+
+ITEMS=${1:-10000000}
+PRODUCTS=${2:-1000}
+CACHED_ORDERS=${3:-1000000}
+CONTAINER=${CONTAINER:-orders-postgres}
+PSQL="docker exec -i $CONTAINER psql -U postgres -d orders_db -v ON_ERROR_STOP=1"
+
+cd "$(dirname "$0")/.."
+
+echo "📦 Gerando $ITEMS itens de $PRODUCTS produtos em bench_products..."
+
+$PSQL -v items=$ITEMS -v products=$PRODUCTS <<'SQL'
+DROP SCHEMA IF EXISTS bench_products CASCADE;
+CREATE SCHEMA bench_products;
+
+CREATE TABLE bench_products.products (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+INSERT INTO bench_products.products (name)
+SELECT 'produto de catálogo ' || p FROM generate_series(1, :products) AS p;
+
+-- Antes da V8: nome do produto em cada item
+CREATE TABLE bench_products.items_by_name (
+    id       BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    product  VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    price    NUMERIC(10, 2) NOT NULL,
+    total    NUMERIC(10, 2) NOT NULL
+);
+
+-- Depois da V8: só o id
+CREATE TABLE bench_products.items_by_id (
+    id         BIGINT NOT NULL,
+    order_id   BIGINT NOT NULL,
+    product_id INTEGER NOT NULL,
+    quantity   INTEGER NOT NULL,
+    price      NUMERIC(10, 2) NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL
+);
+
+INSERT INTO bench_products.items_by_id (id, order_id, product_id, quantity, price, total)
+SELECT n, n / 5, 1 + n % :products, 1, 6.00, 6.00
+FROM generate_series(1, :items) AS n;
+
+INSERT INTO bench_products.items_by_name (id, order_id, product, quantity, price, total)
+SELECT i.id, i.order_id, p.name, i.quantity, i.price, i.total
+FROM bench_products.items_by_id i
+JOIN bench_products.products p ON p.id = i.product_id;
+
+CREATE INDEX idx_items_by_name_product ON bench_products.items_by_name (product);
+CREATE INDEX idx_items_by_id_product ON bench_products.items_by_id (product_id);
+
+VACUUM ANALYZE bench_products.items_by_name;
+VACUUM ANALYZE bench_products.items_by_id;
+SQL
+
+echo ""
+echo "💾 Tamanho em disco (tabela e índice por produto)"
+$PSQL <<'SQL'
+SELECT c.relname AS tabela,
+       pg_size_pretty(pg_relation_size(c.oid)) AS dados,
+       pg_size_pretty(pg_indexes_size(c.oid)) AS indices,
+       round(pg_relation_size(c.oid)::numeric / c.reltuples) AS bytes_por_linha
+FROM pg_class c
+JOIN pg_namespace n ON n.oid = c.relnamespace
+WHERE n.nspname = 'bench_products' AND c.relname LIKE 'items_by_%'
+ORDER BY c.relname;
+SQL
+
+echo ""
+echo "🧠 Heap por pedido em cache"
+mvn -B -q test-compile
+java -Xmx4g -cp target/classes:target/test-classes \
+    com.btg.orders.infrastructure.database.products.ProductDictionaryBenchmark "$CACHED_ORDERS" 5 "$PRODUCTS"
+
+echo ""
+echo "🧹 Para remover os dados: DROP SCHEMA bench_products CASCADE;"
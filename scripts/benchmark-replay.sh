@@ -0,0 +1,91 @@
+#!/bin/bash
+
+# Tempo de reconstrução de dados derivados pelo OrderReplayEngine: gera N pedidos
+# sintéticos (dois itens cada) nas tabelas da aplicação e roda o replay do banco com
+# 1, 2, 4... threads até max_threads, primeiro só lendo (nenhuma projeção) e depois
+# reconstruindo o índice off-heap de totais (projeção total-index).
+#
+# Os pedidos gerados usam order_code a partir de 9000000000000 e client_id a partir de
+# 9000000, para não colidir com dados reais.
+#
+# Uso:
+#   ./scripts/benchmark-replay.sh [pedidos] [clientes] [max_threads]
+#   ./scripts/benchmark-replay.sh 50000000 500000 8
+
+set -e
+
+ORDERS=${1:-50000000}
+CLIENTS=${2:-500000}
+MAX_THREADS=${3:-$(nproc)}
+BATCH=1000000
+CONTAINER=${CONTAINER:-orders-postgres}
+PSQL="docker exec -i $CONTAINER psql -U postgres -d orders_db -v ON_ERROR_STOP=1 -q"
+
+cd "$(dirname "$0")/.."
+
+echo "📦 Gerando $ORDERS pedidos para $CLIENTS clientes (lotes de $BATCH)..."
+
+$PSQL -v clients=$CLIENTS <<'SQL'
+INSERT INTO clients (id, name, email, created_at)
+SELECT 9000000 + n, 'Replay ' || n, 'replay' || n || '@example.com', now()
+FROM generate_series(1, :clients) AS n
+ON CONFLICT (id) DO NOTHING;
+
+INSERT INTO products (name) VALUES ('lápis'), ('caderno') ON CONFLICT (name) DO NOTHING;
+SQL
+
+for ((offset = 0; offset < ORDERS; offset += BATCH)); do
+    COUNT=$(( ORDERS - offset < BATCH ? ORDERS - offset : BATCH ))
+    $PSQL -v offset=$offset -v count=$COUNT -v clients=$CLIENTS <<'SQL'
+WITH new_orders AS (
+    INSERT INTO orders (order_code, client_id, total, item_count, created_at)
+    SELECT 9000000000000 + :offset + n, 9000000 + 1 + (:offset + n) % :clients, 12.00, 2,
+           now() - ((:offset + n) % 2592000 || ' seconds')::interval
+    FROM generate_series(1, :count) AS n
+    RETURNING id, created_at
+)
+INSERT INTO order_items (order_id, product_id, quantity, price, total, created_at)
+SELECT id, p.id, item.quantity, item.price, item.quantity * item.price, created_at
+FROM new_orders
+CROSS JOIN (VALUES ('lápis', 10, 1.10), ('caderno', 1, 1.00)) AS item(product, quantity, price)
+JOIN products p ON p.name = item.product;
+SQL
+    echo "   $(( offset + COUNT )) / $ORDERS"
+done
+
+$PSQL -c "VACUUM ANALYZE orders" -c "VACUUM ANALYZE order_items"
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/orders-challenge-*.jar | grep -v original | head -1)
+
+run_replay() {
+    java -Xmx4g -XX:MaxDirectMemorySize=4g -jar "$JAR" \
+        --spring.main.web-application-type=none \
+        --spring.rabbitmq.listener.simple.auto-startup=false \
+        --logging.level.com.btg.orders=INFO \
+        --logging.level.org.hibernate.SQL=WARN \
+        --logging.level.org.springframework.amqp=WARN \
+        --spring.datasource.hikari.maximum-pool-size=$(( $1 + 4 )) \
+        --orders.total-index.enabled=true \
+        --orders.total-index.max-entries=$(( ORDERS + 1000000 )) \
+        --orders.replay.enabled=true \
+        --orders.replay.parallelism=$1 \
+        --orders.replay.projections=$2 \
+        | grep -E "Replay from database finished|Order replay failed"
+}
+
+for projection in "" "total-index"; do
+    echo ""
+    echo "📊 Replay do banco - projeções: ${projection:-nenhuma (só leitura)}"
+    threads=1
+    while [ $threads -le $MAX_THREADS ]; do
+        echo "   $threads thread(s):"
+        run_replay $threads "$projection"
+        threads=$(( threads * 2 ))
+    done
+done
+
+echo ""
+echo "🧹 Para remover os dados:"
+echo "   DELETE FROM order_items i USING orders o WHERE i.order_id = o.id AND o.order_code >= 9000000000000;"
+echo "   DELETE FROM orders WHERE order_code >= 9000000000000; DELETE FROM clients WHERE id > 9000000;"
@@ -0,0 +1,88 @@
+#!/bin/bash
+
+# Tempo até o primeiro HTTP 200 e até o primeiro pedido consumido do RabbitMQ, desde o
+# lançamento da JVM: jar atual vs. build de startup (perfil startup, + AOT, + AOT e CDS).
+# A cada execução um pedido novo é publicado em order.queue antes da JVM subir.
+#
+# Precisa do banco e do RabbitMQ (com management) no ar: docker-compose up -d postgres rabbitmq
+#
+# Uso:
+#   ./scripts/benchmark-startup.sh [execuções por variante]
+#   ./scripts/benchmark-startup.sh 5
+
+set -e
+
+RUNS=${1:-3}
+RABBIT_API=${RABBIT_API:-http://localhost:15672/api}
+HTTP_URL=${HTTP_URL:-http://localhost:8080/api/orders/clients/1/count}
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+cd "$(dirname "$0")/.."
+
+echo "📦 Jar atual..."
+mvn -B -q clean package -DskipTests
+cp target/orders-challenge-*.jar "$WORK/baseline.jar"
+
+echo "📦 Build de startup (AOT + CDS)..."
+./scripts/build-startup.sh
+JAR=$(ls target/orders-challenge-*.jar | head -1)
+
+curl -s -u guest:guest -X PUT -H "content-type: application/json" \
+    -d '{"durable":true}' "$RABBIT_API/queues/%2F/order.queue" > /dev/null
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Mede uma execução: imprime "http_ms consumer_ms"
+measure() {
+    local code=$(( 8000000000000 + $(date +%s%N) / 1000 % 1000000000000 ))
+    curl -s -u guest:guest -X POST -H "content-type: application/json" "$RABBIT_API/exchanges/%2F/amq.default/publish" \
+        -d "{\"routing_key\":\"order.queue\",\"properties\":{\"content_type\":\"application/json\"},\"payload_encoding\":\"string\",
+             \"payload\":\"{\\\"codigoPedido\\\":$code,\\\"codigoCliente\\\":1,\\\"itens\\\":[{\\\"produto\\\":\\\"lápis\\\",\\\"quantidade\\\":1,\\\"preco\\\":1.10}]}\"}" > /dev/null
+    
+    local start=$(now_ms) http="" consumed=""
+    "$@" > "$WORK/app.log" 2>&1 &
+    local pid=$!
+    
+    while [ -z "$http" ] || [ -z "$consumed" ]; do
+        if [ -z "$http" ] && [ "$(curl -s -o /dev/null -w '%{http_code}' "$HTTP_URL")" = "200" ]; then
+            http=$(( $(now_ms) - start ))
+        fi
+        if [ -z "$consumed" ] && grep -q "Order processed successfully: $code" "$WORK/app.log"; then
+            consumed=$(( $(now_ms) - start ))
+        fi
+        if ! kill -0 $pid 2>/dev/null || [ $(( $(now_ms) - start )) -gt 120000 ]; then
+            echo "❌ Aplicação não respondeu; log em $WORK/app.log" >&2
+            tail -20 "$WORK/app.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    
+    kill $pid
+    wait $pid 2>/dev/null || true
+    echo "$http $consumed"
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local http_total=0 consumed_total=0
+    echo ""
+    echo "📊 $name"
+    for ((run = 1; run <= RUNS; run++)); do
+        read -r http consumed < <(measure "$@")
+        echo "   execução $run: primeiro HTTP 200 em ${http} ms, primeiro pedido consumido em ${consumed} ms"
+        http_total=$(( http_total + http ))
+        consumed_total=$(( consumed_total + consumed ))
+    done
+    echo "   média: HTTP 200 em $(( http_total / RUNS )) ms, pedido consumido em $(( consumed_total / RUNS )) ms"
+}
+
+run_variant "Jar atual" java -jar "$WORK/baseline.jar"
+run_variant "Perfil startup (sem AOT/CDS)" java -jar "$JAR" --spring.profiles.active=startup
+run_variant "Perfil startup + AOT" java -Dspring.aot.enabled=true -jar "$JAR" --spring.profiles.active=startup
+run_variant "Perfil startup + AOT + CDS" java -XX:SharedArchiveFile=target/app.jsa -Dspring.aot.enabled=true \
+    -jar "$JAR" --spring.profiles.active=startup
@@ -0,0 +1,86 @@
+#!/usr/bin/env python3
+"""
+Mede a listagem de pedidos por cliente com e sem compressão:
+  - bytes trafegados (corpo como chegou no socket)
+  - tempo até o primeiro byte (TTFB) e tempo total
+  - alocação aproximada por requisição (jvm.gc.memory.allocated do Actuator)
+
+Clientes de exemplo podem ser gerados com scripts/seed-client-orders.sql, por
+exemplo com 10, 1.000 e 100.000 pedidos:
+
+    for spec in "1010 10 1000000" "1011 1000 2000000" "1012 100000 3000000"; do
+      set -- $spec
+      docker exec -i orders-postgres psql -U postgres -d orders_db \\
+        -v client_id=$1 -v orders=$2 -v code_offset=$3 < scripts/seed-client-orders.sql
+    done
+
+Uso:
+    python scripts/benchmark-streaming.py [clientId ...]
+"""
+
+import http.client
+import json
+import os
+import sys
+import time
+import urllib.parse
+
+BASE_URL = urllib.parse.urlparse(os.environ.get("BASE_URL", "http://localhost:8080"))
+REQUESTS = int(os.environ.get("REQUESTS", "5"))
+
+
+def connection():
+    return http.client.HTTPConnection(BASE_URL.hostname, BASE_URL.port or 80, timeout=120)
+
+
+def allocated_bytes():
+    try:
+        conn = connection()
+        conn.request("GET", "/actuator/metrics/jvm.gc.memory.allocated")
+        metric = json.loads(conn.getresponse().read())
+        return metric["measurements"][0]["value"]
+    except Exception:
+        return None
+
+
+def fetch(path, encoding):
+    headers = {"Accept-Encoding": encoding} if encoding else {}
+    conn = connection()
+    started = time.perf_counter()
+    conn.request("GET", path, headers=headers)
+    response = conn.getresponse()
+    first = response.read(1)
+    ttfb = time.perf_counter() - started
+    body = first + response.read()
+    total = time.perf_counter() - started
+    conn.close()
+    return len(body), ttfb * 1000, total * 1000, response.getheader("Content-Encoding") or "identity"
+
+
+def run(client_id, expand, encoding):
+    path = f"/api/orders/clients/{client_id}" + ("?expand=items" if expand else "")
+    fetch(path, encoding)  # aquecimento
+
+    before = allocated_bytes()
+    results = [fetch(path, encoding) for _ in range(REQUESTS)]
+    after = allocated_bytes()
+
+    size = results[-1][0]
+    ttfb = sorted(r[1] for r in results)[len(results) // 2]
+    total = sorted(r[2] for r in results)[len(results) // 2]
+    alloc = f"{(after - before) / REQUESTS / 1024 / 1024:8.2f} MiB" if before is not None and after is not None else "     n/a"
+    shape = "items" if expand else "summary"
+    print(f"{client_id:>8} {shape:<8} {results[-1][3]:<9} {size:>12} {ttfb:10.1f} {total:10.1f} {alloc}")
+
+
+def main():
+    client_ids = [int(arg) for arg in sys.argv[1:]] or [1010, 1011, 1012]
+    print(f"{'client':>8} {'shape':<8} {'encoding':<9} {'bytes':>12} {'ttfb(ms)':>10} {'total(ms)':>10} {'alloc/req':>12}")
+    for client_id in client_ids:
+        for expand in (False, True):
+            for encoding in (None, "gzip"):
+                run(client_id, expand, encoding)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,27 @@
+#!/bin/bash
+
+# Memória por entrada do índice off-heap de totais (OffHeapTotalIndex), comparada a um
+# HashMap<Long, BigDecimal>, e vazão de lookups com JMH em 1, 2, 4... até max_threads
+# leitores concorrentes.
+#
+# Uso:
+#   ./scripts/benchmark-total-index.sh [pedidos] [max_threads] [argumentos extras do JMH]
+#   ./scripts/benchmark-total-index.sh 10000000 16
+
+set -e
+
+ENTRIES=${1:-10000000}
+MAX_THREADS=${2:-$(nproc)}
+shift $(( $# > 2 ? 2 : $# ))
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+CLASSPATH="target/classes:target/test-classes:$(cat target/test-classpath.txt)"
+
+java -Xmx8g -XX:MaxDirectMemorySize=8g -cp "$CLASSPATH" \
+    com.btg.orders.infrastructure.totalindex.OffHeapTotalIndexBenchmark "$ENTRIES"
+
+for (( THREADS = 1; THREADS <= MAX_THREADS; THREADS *= 2 )); do
+    java -cp "$CLASSPATH" org.openjdk.jmh.Main OffHeapTotalIndexBenchmark \
+        -p entries="$ENTRIES" -t "$THREADS" -jvmArgsAppend -Xmx2g "$@"
+done
@@ -0,0 +1,17 @@
+#!/bin/bash
+
+# CPU (ns/pedido) e alocação (gc.alloc.rate.norm, bytes/pedido) da validação de pedidos
+# com JMH: validação anterior (exceção no primeiro erro, duas vezes por pedido no
+# TransactionalService) vs. máscara de erros com escopo de processamento.
+#
+# Uso:
+#   ./scripts/benchmark-validation.sh [argumentos extras do JMH]
+#   ./scripts/benchmark-validation.sh -p items=5
+
+set -e
+
+cd "$(dirname "$0")/.."
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+
+java -cp "target/classes:target/test-classes:$(cat target/test-classpath.txt)" \
+    org.openjdk.jmh.Main OrderValidationBenchmark -prof gc "$@"
@@ -0,0 +1,36 @@
+#!/bin/bash
+
+# Build de startup rápido: jar fino processado pelo Spring AOT (perfil Maven "startup") e
+# arquivo CDS gerado por uma execução de treino que sobe o contexto e sai no refresh
+# (spring.context.exit=onRefresh). O treino conecta no banco e no RabbitMQ, então eles
+# precisam estar no ar (docker-compose up -d postgres rabbitmq).
+#
+# Resultado: target/orders-challenge-*.jar + target/lib/ + target/app.jsa. Execução:
+#   java -XX:SharedArchiveFile=target/app.jsa -Dspring.aot.enabled=true \
+#        -jar target/orders-challenge-1.0.0.jar --spring.profiles.active=startup
+#
+# O AOT fixa os beans no build: flags orders.*.enabled usadas em produção vão em MAVEN_ARGS,
+# ex.: MAVEN_ARGS='-Dspring-boot.aot.jvmArguments=-Dorders.journal.enabled=true'. O arquivo
+# CDS só vale para a mesma JVM e o mesmo classpath; gere de novo a cada build.
+#
+# Uso:
+#   ./scripts/build-startup.sh
+
+set -e
+
+cd "$(dirname "$0")/.."
+mvn -B -q clean package -Pstartup -DskipTests $MAVEN_ARGS
+JAR=$(ls target/orders-challenge-*.jar | head -1)
+
+echo "🧊 Treino do CDS (sobe o contexto e sai no refresh)..."
+java -XX:ArchiveClassesAtExit=target/app.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -jar "$JAR" --spring.profiles.active=startup \
+    | grep -E "Started OrdersApplication|APPLICATION FAILED" || true
+
+if [ ! -s target/app.jsa ]; then
+    echo "❌ Arquivo CDS não foi gerado" >&2
+    exit 1
+fi
+echo "✅ $JAR + target/lib/ + target/app.jsa ($(du -h target/app.jsa | cut -f1))"
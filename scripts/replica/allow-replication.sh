@@ -0,0 +1,8 @@
+#!/bin/bash
+
+# Libera conexões de replicação para a réplica do docker-compose (profile "replica").
+# Executado pelo entrypoint do postgres apenas na criação do volume.
+
+set -e
+
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,25 @@
+-- Gera pedidos sintéticos para um cliente, para uso nos benchmarks.
+--
+-- Uso (com o ambiente do docker-compose rodando):
+--   docker exec -i orders-postgres psql -U postgres -d orders_db \
+--     -v client_id=1000 -v orders=100000 -v code_offset=10000000 < scripts/seed-client-orders.sql
+--
+-- Cada pedido recebe dois itens; order_code = code_offset + n.
+
+INSERT INTO clients (id, name, email, created_at)
+VALUES (:client_id, 'Client ' || :client_id, 'client' || :client_id || '@example.com', now())
+ON CONFLICT (id) DO NOTHING;
+
+INSERT INTO products (name) VALUES ('lápis'), ('caderno') ON CONFLICT (name) DO NOTHING;
+
+WITH new_orders AS (
+    INSERT INTO orders (order_code, client_id, total, created_at)
+    SELECT :code_offset + n, :client_id, 12.00, now() - (n || ' seconds')::interval
+    FROM generate_series(1, :orders) AS n
+    RETURNING id, created_at
+)
+INSERT INTO order_items (order_id, product_id, quantity, price, total, created_at)
+SELECT id, p.id, item.quantity, item.price, item.quantity * item.price, created_at
+FROM new_orders
+CROSS JOIN (VALUES ('lápis', 10, 1.10), ('caderno', 1, 1.00)) AS item(product, quantity, price)
+JOIN products p ON p.name = item.product;
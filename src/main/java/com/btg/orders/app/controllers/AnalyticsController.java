@@ -0,0 +1,80 @@
+package com.btg.orders.app.controllers;
+
+import com.btg.orders.app.controllers.interfaces.AnalyticsControllerInterface;
+import com.btg.orders.app.dto.ClientOrderStatsResponseDto;
+import com.btg.orders.app.dto.OrderRollupSeriesResponseDto;
+import com.btg.orders.app.dto.SalesAnalyticsResponseDto;
+import com.btg.orders.app.mappers.AnalyticsDtoMapper;
+import com.btg.orders.domain.entities.ClientOrderStats;
+import com.btg.orders.domain.entities.OrderRollupSeries;
+import com.btg.orders.domain.entities.RollupGranularity;
+import com.btg.orders.domain.entities.SalesWindowSnapshot;
+import com.btg.orders.domain.usecases.interfaces.GetClientStatsUseCaseInterface;
+import com.btg.orders.domain.usecases.interfaces.GetOrderRollupsUseCaseInterface;
+import com.btg.orders.domain.usecases.interfaces.GetSalesAnalyticsUseCaseInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsController implements AnalyticsControllerInterface {
+    
+    private final GetSalesAnalyticsUseCaseInterface getSalesAnalyticsUseCase;
+    private final GetOrderRollupsUseCaseInterface getOrderRollupsUseCase;
+    private final GetClientStatsUseCaseInterface getClientStatsUseCase;
+    private final AnalyticsDtoMapper analyticsDtoMapper;
+    
+    @GetMapping
+    public ResponseEntity<SalesAnalyticsResponseDto> getSalesAnalytics(@RequestParam(required = false) String window,
+                                                                       @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<SalesWindowSnapshot> snapshots = getSalesAnalyticsUseCase.execute(window, limit);
+            return ResponseEntity.ok(new SalesAnalyticsResponseDto(analyticsDtoMapper.toResponseDtoList(snapshots)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid sales analytics request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    // Série de pedidos/itens/receita por bucket lida das tabelas de rollup, sem varrer orders
+    @GetMapping("/orders")
+    public ResponseEntity<OrderRollupSeriesResponseDto> getOrderRollups(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                        @RequestParam(required = false) String granularity,
+                                                                        @RequestParam(required = false) Long clientId) {
+        try {
+            RollupGranularity resolved = granularity == null ? null : RollupGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+            OrderRollupSeries series = getOrderRollupsUseCase.execute(resolved, clientId, from, to);
+            return ResponseEntity.ok(analyticsDtoMapper.toResponseDto(series));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid order rollups request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    // Resultado da última execução do job orders.client-stats
+    @GetMapping("/clients/{clientId}")
+    public ResponseEntity<ClientOrderStatsResponseDto> getClientStats(@PathVariable Long clientId) {
+        try {
+            ClientOrderStats stats = getClientStatsUseCase.execute(clientId);
+            return ResponseEntity.ok(analyticsDtoMapper.toResponseDto(stats));
+        } catch (IllegalArgumentException e) {
+            log.warn("Client stats not found: {}", clientId);
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
\ No newline at end of file
@@ -2,20 +2,40 @@ package com.btg.orders.app.controllers;
 
 import com.btg.orders.app.controllers.interfaces.OrderControllerInterface;
 import com.btg.orders.app.dto.OrderCountResponseDto;
+import com.btg.orders.app.dto.OrderCountsRequestDto;
+import com.btg.orders.app.dto.OrderCountsResponseDto;
 import com.btg.orders.app.dto.OrderResponseDto;
+import com.btg.orders.app.dto.OrderSummaryResponseDto;
 import com.btg.orders.app.dto.OrderTotalResponseDto;
+import com.btg.orders.app.dto.OrderTotalsRequestDto;
+import com.btg.orders.app.dto.OrderTotalsResponseDto;
 import com.btg.orders.app.mappers.OrderDtoMapper;
-import com.btg.orders.domain.entities.Order;
+import com.btg.orders.app.streaming.JsonStreamWriter;
+import com.btg.orders.domain.entities.ClientOrdersVersion;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.entities.OrderView;
+import com.btg.orders.domain.entities.Outcome;
 import com.btg.orders.domain.usecases.interfaces.CountOrdersByClientUseCaseInterface;
 import com.btg.orders.domain.usecases.interfaces.GetOrdersByClientUseCaseInterface;
 import com.btg.orders.domain.usecases.interfaces.GetOrderTotalUseCaseInterface;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -23,40 +43,143 @@ import java.util.List;
 @Slf4j
 public class OrderController implements OrderControllerInterface {
     
+    private static final String EXPAND_ITEMS = "items";
+    
+    // Total, contagem e listagem sempre revalidam via If-None-Match: um total pode mudar por
+    // rollback ou reprocessamento e a contagem/listagem a cada novo pedido
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    
     private final GetOrderTotalUseCaseInterface getOrderTotalUseCase;
     private final CountOrdersByClientUseCaseInterface countOrdersByClientUseCase;
     private final GetOrdersByClientUseCaseInterface getOrdersByClientUseCase;
     private final OrderDtoMapper orderDtoMapper;
+    private final JsonStreamWriter jsonStreamWriter;
     
     @GetMapping("/{orderCode}/total")
-    public ResponseEntity<OrderTotalResponseDto> getOrderTotal(@PathVariable Long orderCode) {
+    public ResponseEntity<OrderTotalResponseDto> getOrderTotal(@PathVariable Long orderCode,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Getting total for order: {}", orderCode);
         
-        try {
-            BigDecimal total = getOrderTotalUseCase.execute(orderCode);
-            OrderTotalResponseDto response = new OrderTotalResponseDto(orderCode, total);
-            return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
+        Outcome<BigDecimal> outcome = getOrderTotalUseCase.execute(orderCode);
+        if (!outcome.isSuccess()) {
             log.warn("Order not found: {}", orderCode);
             return ResponseEntity.notFound().build();
         }
+        
+        BigDecimal total = outcome.value();
+        String etag = etag("total", orderCode, total.toPlainString());
+        if (isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag, CACHE_CONTROL);
+        }
+        
+        OrderTotalResponseDto response = new OrderTotalResponseDto(orderCode, total);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(response);
+    }
+    
+    @PostMapping("/totals")
+    public ResponseEntity<OrderTotalsResponseDto> getOrderTotals(@Valid @RequestBody OrderTotalsRequestDto request) {
+        log.info("Getting totals for {} orders", request.getOrderCodes().size());
+        
+        Map<Long, BigDecimal> found = getOrderTotalUseCase.execute(request.getOrderCodes());
+        
+        Map<Long, BigDecimal> totals = new LinkedHashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long orderCode : request.getOrderCodes()) {
+            if (orderCode == null) {
+                continue;
+            }
+            BigDecimal total = found.get(orderCode);
+            if (total != null) {
+                totals.put(orderCode, total);
+            } else {
+                missing.add(orderCode);
+            }
+        }
+        
+        return ResponseEntity.ok(new OrderTotalsResponseDto(totals, new ArrayList<>(missing)));
     }
     
     @GetMapping("/clients/{clientId}/count")
-    public ResponseEntity<OrderCountResponseDto> countOrdersByClient(@PathVariable Long clientId) {
+    public ResponseEntity<OrderCountResponseDto> countOrdersByClient(@PathVariable Long clientId,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Counting orders for client: {}", clientId);
         
         Long count = countOrdersByClientUseCase.execute(clientId);
+        String etag = etag("count", clientId, count);
+        if (isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag, CACHE_CONTROL);
+        }
+        
         OrderCountResponseDto response = new OrderCountResponseDto(clientId, count);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(response);
+    }
+    
+    @PostMapping("/clients/counts")
+    public ResponseEntity<OrderCountsResponseDto> countOrdersByClients(@Valid @RequestBody OrderCountsRequestDto request) {
+        log.info("Counting orders for {} clients", request.getClientIds().size());
+        
+        Map<Long, Long> counts = countOrdersByClientUseCase.execute(request.getClientIds());
+        return ResponseEntity.ok(new OrderCountsResponseDto(counts));
     }
     
     @GetMapping("/clients/{clientId}")
-    public ResponseEntity<List<OrderResponseDto>> getOrdersByClient(@PathVariable Long clientId) {
-        log.info("Getting orders for client: {}", clientId);
+    public ResponseEntity<StreamingResponseBody> getOrdersByClient(@PathVariable Long clientId,
+                                                               @RequestParam(required = false) String expand,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Getting orders for client: {} (expand={})", clientId, expand);
+        
+        boolean expandItems = EXPAND_ITEMS.equals(expand);
+        
+        // Valida a versão (COUNT + MAX(created_at)) antes de executar a consulta completa
+        ClientOrdersVersion version = getOrdersByClientUseCase.executeVersion(clientId);
+        String etag = etag(expandItems ? "orders-items" : "orders", clientId, version.getOrderCount(), version.getLastOrderAt());
+        if (isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag, CACHE_CONTROL);
+        }
         
-        List<Order> orders = getOrdersByClientUseCase.execute(clientId);
-        List<OrderResponseDto> response = orderDtoMapper.toResponseDtoList(orders);
-        return ResponseEntity.ok(response);
+        // A consulta ainda carrega todos os pedidos do cliente em memória (views compactas ou resumos);
+        // o streaming evita apenas a lista de DTOs e o buffer da resposta, gerando e serializando um DTO por vez
+        StreamingResponseBody body;
+        if (expandItems) {
+            List<OrderView> orders = getOrdersByClientUseCase.executeViews(clientId);
+            body = jsonStreamWriter.writeArray(orders, orderDtoMapper::toResponseDto, OrderResponseDto.class);
+        } else {
+            List<OrderSummary> summaries = getOrdersByClientUseCase.executeSummaries(clientId);
+            body = jsonStreamWriter.writeArray(summaries, orderDtoMapper::toSummaryResponseDto, OrderSummaryResponseDto.class);
+        }
+        
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CACHE_CONTROL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+    
+    private static String etag(String resource, Object... parts) {
+        StringBuilder etag = new StringBuilder("\"").append(resource);
+        for (Object part : parts) {
+            etag.append('-').append(part == null ? "0" : part);
+        }
+        return etag.append('"').toString();
+    }
+    
+    private static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.btg.orders.app.controllers.interfaces;
+
+import com.btg.orders.app.dto.ClientOrderStatsResponseDto;
+import com.btg.orders.app.dto.OrderRollupSeriesResponseDto;
+import com.btg.orders.app.dto.SalesAnalyticsResponseDto;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+public interface AnalyticsControllerInterface {
+    
+    ResponseEntity<SalesAnalyticsResponseDto> getSalesAnalytics(String window, int limit);
+    
+    ResponseEntity<OrderRollupSeriesResponseDto> getOrderRollups(LocalDateTime from, LocalDateTime to, String granularity, Long clientId);
+    
+    ResponseEntity<ClientOrderStatsResponseDto> getClientStats(Long clientId);
+}
\ No newline at end of file
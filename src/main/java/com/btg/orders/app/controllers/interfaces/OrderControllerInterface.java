@@ -1,17 +1,23 @@
 package com.btg.orders.app.controllers.interfaces;
 
 import com.btg.orders.app.dto.OrderCountResponseDto;
-import com.btg.orders.app.dto.OrderResponseDto;
+import com.btg.orders.app.dto.OrderCountsRequestDto;
+import com.btg.orders.app.dto.OrderCountsResponseDto;
 import com.btg.orders.app.dto.OrderTotalResponseDto;
+import com.btg.orders.app.dto.OrderTotalsRequestDto;
+import com.btg.orders.app.dto.OrderTotalsResponseDto;
 import org.springframework.http.ResponseEntity;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface OrderControllerInterface {
     
-    ResponseEntity<OrderTotalResponseDto> getOrderTotal(Long orderCode);
+    ResponseEntity<OrderTotalResponseDto> getOrderTotal(Long orderCode, String ifNoneMatch);
+    
+    ResponseEntity<OrderTotalsResponseDto> getOrderTotals(OrderTotalsRequestDto request);
+    
+    ResponseEntity<OrderCountResponseDto> countOrdersByClient(Long clientId, String ifNoneMatch);
     
-    ResponseEntity<OrderCountResponseDto> countOrdersByClient(Long clientId);
+    ResponseEntity<OrderCountsResponseDto> countOrdersByClients(OrderCountsRequestDto request);
     
-    ResponseEntity<List<OrderResponseDto>> getOrdersByClient(Long clientId);
+    ResponseEntity<StreamingResponseBody> getOrdersByClient(Long clientId, String expand, String ifNoneMatch);
 } 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.btg.orders.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class ClientOrderStatsResponseDto {
+    Long clientId;
+    Long orders;
+    BigDecimal revenue;
+    BigDecimal averageOrderValue;
+    BigDecimal minOrderValue;
+    BigDecimal maxOrderValue;
+    BigDecimal p50OrderValue;
+    BigDecimal p95OrderValue;
+    Long minBasketItems;
+    Long maxBasketItems;
+    List<ProductSalesResponseDto> topProducts;
+    LocalDateTime computedAt;
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.btg.orders.app.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderCountsRequestDto {
+    public static final int MAX_CLIENT_IDS = 1000;
+    
+    @NotEmpty
+    @Size(max = MAX_CLIENT_IDS)
+    List<Long> clientIds;
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.btg.orders.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderRollupResponseDto {
+    LocalDateTime bucketStart;
+    Long orders;
+    Long items;
+    BigDecimal revenue;
+}
\ No newline at end of file
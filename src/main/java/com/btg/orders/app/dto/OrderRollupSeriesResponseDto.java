@@ -0,0 +1,25 @@
+package com.btg.orders.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderRollupSeriesResponseDto {
+    String granularity;
+    Long clientId;
+    LocalDateTime from;
+    LocalDateTime to;
+    List<OrderRollupResponseDto> points;
+}
\ No newline at end of file
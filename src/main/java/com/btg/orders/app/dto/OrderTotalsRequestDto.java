@@ -0,0 +1,26 @@
+package com.btg.orders.app.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderTotalsRequestDto {
+    public static final int MAX_ORDER_CODES = 1000;
+    
+    @NotEmpty
+    @Size(max = MAX_ORDER_CODES)
+    List<Long> orderCodes;
+}
\ No newline at end of file
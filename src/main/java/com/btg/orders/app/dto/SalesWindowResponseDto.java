@@ -0,0 +1,27 @@
+package com.btg.orders.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class SalesWindowResponseDto {
+    String window;
+    LocalDateTime from;
+    LocalDateTime to;
+    Long orders;
+    Long distinctClients;
+    List<ProductSalesResponseDto> topByQuantity;
+    List<ProductSalesResponseDto> topByRevenue;
+}
\ No newline at end of file
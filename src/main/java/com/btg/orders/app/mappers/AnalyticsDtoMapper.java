@@ -0,0 +1,25 @@
+package com.btg.orders.app.mappers;
+
+import com.btg.orders.app.dto.ClientOrderStatsResponseDto;
+import com.btg.orders.app.dto.OrderRollupResponseDto;
+import com.btg.orders.app.dto.OrderRollupSeriesResponseDto;
+import com.btg.orders.app.dto.ProductSalesResponseDto;
+import com.btg.orders.app.dto.SalesWindowResponseDto;
+import com.btg.orders.domain.entities.ClientOrderStats;
+import com.btg.orders.domain.entities.OrderRollup;
+import com.btg.orders.domain.entities.OrderRollupSeries;
+import com.btg.orders.domain.entities.ProductSales;
+import com.btg.orders.domain.entities.SalesWindowSnapshot;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface AnalyticsDtoMapper {
+    SalesWindowResponseDto toResponseDto(SalesWindowSnapshot snapshot);
+    List<SalesWindowResponseDto> toResponseDtoList(List<SalesWindowSnapshot> snapshots);
+    ProductSalesResponseDto toResponseDto(ProductSales sales);
+    OrderRollupSeriesResponseDto toResponseDto(OrderRollupSeries series);
+    OrderRollupResponseDto toResponseDto(OrderRollup rollup);
+    ClientOrderStatsResponseDto toResponseDto(ClientOrderStats stats);
+}
\ No newline at end of file
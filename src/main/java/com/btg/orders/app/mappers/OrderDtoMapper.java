@@ -1,13 +1,38 @@
 package com.btg.orders.app.mappers;
 
 import com.btg.orders.app.dto.OrderResponseDto;
+import com.btg.orders.app.dto.OrderSummaryResponseDto;
+import com.btg.orders.domain.entities.ClientView;
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.entities.OrderView;
 import org.mapstruct.Mapper;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface OrderDtoMapper {
     OrderResponseDto toResponseDto(Order order);
     List<OrderResponseDto> toResponseDtoList(List<Order> orders);
-} 
\ No newline at end of file
+    OrderSummaryResponseDto toSummaryResponseDto(OrderSummary summary);
+    List<OrderSummaryResponseDto> toSummaryResponseDtoList(List<OrderSummary> summaries);
+    
+    // Arrays paralelos -> lista de itens: escrito à mão porque o MapStruct não mapeia colunas em linhas
+    default OrderResponseDto toResponseDto(OrderView view) {
+        if (view == null) {
+            return null;
+        }
+        
+        List<OrderResponseDto.OrderItemResponseDto> items = new ArrayList<>(view.itemCount());
+        for (int i = 0; i < view.itemCount(); i++) {
+            items.add(new OrderResponseDto.OrderItemResponseDto(view.itemId(i), view.products()[i],
+                view.quantities()[i], view.price(i), view.itemTotal(i)));
+        }
+        
+        ClientView client = view.client();
+        return new OrderResponseDto(view.id(), view.orderCode(), view.clientId(),
+            client == null ? null : new OrderResponseDto.ClientResponseDto(client.id(), client.name(), client.email()),
+            items, view.total(), view.createdAt());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.btg.orders.app.streaming;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class JsonStreamWriter {
+    
+    // Flush periódico para que o primeiro byte chegue ao cliente sem esperar a serialização inteira
+    private static final int FLUSH_EVERY = 256;
+    
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    
+    public JsonStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    public <S, T> StreamingResponseBody writeArray(Iterable<S> source, Function<S, T> mapper, Class<T> type) {
+        ObjectWriter writer = writers.computeIfAbsent(type, this::createWriter);
+        
+        return outputStream -> {
+            int written = 0;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+                // O container é responsável por fechar o stream da resposta
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                for (S element : source) {
+                    writer.writeValue(generator, mapper.apply(element));
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            }
+            log.debug("Streamed {} elements of {}", written, type.getSimpleName());
+        };
+    }
+    
+    private ObjectWriter createWriter(Class<?> type) {
+        // Sem flush a cada elemento: deixa o buffer do container agrupar os chunks (e a compressão)
+        return objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.btg.orders.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// Estatísticas de pedidos de um cliente; basket = quantidade de itens (soma das quantidades) do pedido.
+// p50/p95 vêm de um sketch com erro relativo de até 1%.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class ClientOrderStats {
+    Long clientId;
+    Long orders;
+    BigDecimal revenue;
+    BigDecimal averageOrderValue;
+    BigDecimal minOrderValue;
+    BigDecimal maxOrderValue;
+    BigDecimal p50OrderValue;
+    BigDecimal p95OrderValue;
+    Long minBasketItems;
+    Long maxBasketItems;
+    @Builder.Default
+    List<ProductSales> topProducts = new ArrayList<>();
+    LocalDateTime computedAt;
+}
\ No newline at end of file
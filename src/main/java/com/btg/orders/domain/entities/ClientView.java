@@ -0,0 +1,5 @@
+package com.btg.orders.domain.entities;
+
+// Cliente somente leitura das listagens; uma instância compartilhada por todos os pedidos do cliente
+public record ClientView(long id, String name, String email) {
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.btg.orders.domain.entities;
+
+// Desfechos esperados (não excepcionais) das operações de pedido, devolvidos no Outcome.
+// Nenhum caminho lança exceção para eles; a única que sobra é a violação de unicidade em
+// order_codes quando dois consumidores gravam o mesmo código ao mesmo tempo, criada pelo driver.
+public enum OrderFailure {
+    NOT_FOUND("Order not found"),
+    DUPLICATE("Order already exists"),
+    INVALID("Order is invalid"),
+    // Reentrega do mesmo pedido já processado: não é erro, a mensagem só é descartada
+    REPLAYED("Order already processed"),
+    CONFLICT("Order code already processed with a different payload");
+    
+    private final String message;
+    
+    OrderFailure(String message) {
+        this.message = message;
+    }
+    
+    public String message() {
+        return message;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.btg.orders.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// Volume de pedidos de um bucket de tempo (minuto, hora ou dia)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderRollup {
+    LocalDateTime bucketStart;
+    Long orders;
+    Long items;
+    BigDecimal revenue;
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.btg.orders.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// Série esparsa: buckets sem pedidos não aparecem em points
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderRollupSeries {
+    RollupGranularity granularity;
+    Long clientId;
+    LocalDateTime from;
+    LocalDateTime to;
+    @Builder.Default
+    List<OrderRollup> points = new ArrayList<>();
+}
\ No newline at end of file
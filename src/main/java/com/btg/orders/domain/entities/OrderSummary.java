@@ -0,0 +1,24 @@
+package com.btg.orders.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderSummary {
+    Long orderCode;
+    BigDecimal total;
+    Long itemCount;
+    LocalDateTime createdAt;
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.btg.orders.domain.entities;
+
+// Regras de validação de pedido; cada uma ocupa um bit, e o resultado de uma validação é a
+// máscara int das regras violadas (0 = válido), sem exceção nem lista alocada por pedido
+public enum OrderValidationError {
+    ORDER_NULL("Order cannot be null"),
+    ORDER_CODE_NOT_POSITIVE("Order code must be positive"),
+    CLIENT_ID_NOT_POSITIVE("Client ID must be positive"),
+    NO_ITEMS("Order must have at least one item"),
+    ORDER_ALREADY_EXISTS("Order with code %d already exists"),
+    ITEM_NULL("Order item cannot be null"),
+    PRODUCT_EMPTY("Product name cannot be empty"),
+    QUANTITY_NOT_POSITIVE("Quantity must be positive"),
+    PRICE_NOT_POSITIVE("Price must be positive"),
+    TOTAL_NOT_POSITIVE("Order total must be positive"),
+    PRODUCT_TOO_LONG("Product name cannot exceed 255 characters"),
+    PRICE_OUT_OF_RANGE("Price must be below 100000000.00"),
+    ITEM_TOTAL_OUT_OF_RANGE("Item total must be below 100000000.00"),
+    TOTAL_OUT_OF_RANGE("Order total must be below 100000000.00");
+    
+    private static final OrderValidationError[] VALUES = values();
+    
+    private final String message;
+    
+    OrderValidationError(String message) {
+        this.message = message;
+    }
+    
+    public int bit() {
+        return 1 << ordinal();
+    }
+    
+    public boolean isIn(int errors) {
+        return (errors & bit()) != 0;
+    }
+    
+    // Só monta texto quando há erro para reportar
+    public static String describe(int errors, Long orderCode) {
+        StringBuilder description = new StringBuilder();
+        for (OrderValidationError error : VALUES) {
+            if (error.isIn(errors)) {
+                if (description.length() > 0) {
+                    description.append("; ");
+                }
+                description.append(error == ORDER_ALREADY_EXISTS ? String.format(error.message, orderCode) : error.message);
+            }
+        }
+        return description.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.btg.orders.domain.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Pedido somente leitura para as consultas: campos primitivos (valores em centavos, data em
+// microssegundos) e itens em arrays paralelos, em vez de Order/OrderItem com Long, BigDecimal,
+// LocalDateTime e ArrayList por pedido. Montado direto pela camada de persistência; o modelo
+// mutável continua sendo o do processamento. Os arrays não são copiados: não devem ser alterados.
+public record OrderView(long id,
+                        long orderCode,
+                        long clientId,
+                        ClientView client,
+                        long totalCents,
+                        long createdAtMicros,
+                        long[] itemIds,
+                        String[] products,
+                        int[] quantities,
+                        long[] priceCents,
+                        long[] itemTotalCents) {
+    
+    // Sem id (itens inline gravados sem chave) ou sem data
+    public static final long NONE = Long.MIN_VALUE;
+    
+    public int itemCount() {
+        return products.length;
+    }
+    
+    public BigDecimal total() {
+        return toMoney(totalCents);
+    }
+    
+    public LocalDateTime createdAt() {
+        return toDateTime(createdAtMicros);
+    }
+    
+    public Long itemId(int index) {
+        return itemIds[index] == NONE ? null : itemIds[index];
+    }
+    
+    public BigDecimal price(int index) {
+        return toMoney(priceCents[index]);
+    }
+    
+    public BigDecimal itemTotal(int index) {
+        return toMoney(itemTotalCents[index]);
+    }
+    
+    public static long toCents(BigDecimal value) {
+        return value == null ? 0 : value.movePointRight(2).longValue();
+    }
+    
+    public static BigDecimal toMoney(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    public static long toMicros(LocalDateTime value) {
+        return value == null ? NONE : value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+    }
+    
+    public static LocalDateTime toDateTime(long micros) {
+        if (micros == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.btg.orders.domain.entities;
+
+// Resultado de um caso de uso: o valor, ou um OrderFailure esperado (com a máscara de
+// OrderValidationError quando o pedido é inválido). Não encontrado e duplicado sem detalhe
+// extra são instâncias compartilhadas, então o caminho de falha não aloca.
+public final class Outcome<T> {
+    
+    private static final Outcome<?> NOT_FOUND = new Outcome<>(null, OrderFailure.NOT_FOUND, 0);
+    private static final Outcome<?> DUPLICATE = new Outcome<>(null, OrderFailure.DUPLICATE, OrderValidationError.ORDER_ALREADY_EXISTS.bit());
+    private static final Outcome<?> REPLAYED = new Outcome<>(null, OrderFailure.REPLAYED, 0);
+    private static final Outcome<?> CONFLICT = new Outcome<>(null, OrderFailure.CONFLICT, 0);
+    
+    private final T value;
+    private final OrderFailure failure;
+    private final int validationErrors;
+    
+    private Outcome(T value, OrderFailure failure, int validationErrors) {
+        this.value = value;
+        this.failure = failure;
+        this.validationErrors = validationErrors;
+    }
+    
+    public static <T> Outcome<T> success(T value) {
+        return new Outcome<>(value, null, 0);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static <T> Outcome<T> notFound() {
+        return (Outcome<T>) NOT_FOUND;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static <T> Outcome<T> replayed() {
+        return (Outcome<T>) REPLAYED;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static <T> Outcome<T> conflict() {
+        return (Outcome<T>) CONFLICT;
+    }
+    
+    // Máscara de OrderValidationError: só duplicidade vira DUPLICATE, o resto é INVALID
+    @SuppressWarnings("unchecked")
+    public static <T> Outcome<T> rejected(int validationErrors) {
+        if (validationErrors == OrderValidationError.ORDER_ALREADY_EXISTS.bit()) {
+            return (Outcome<T>) DUPLICATE;
+        }
+        return new Outcome<>(null, OrderFailure.INVALID, validationErrors);
+    }
+    
+    public boolean isSuccess() {
+        return failure == null;
+    }
+    
+    public T value() {
+        return value;
+    }
+    
+    public OrderFailure failure() {
+        return failure;
+    }
+    
+    public int validationErrors() {
+        return validationErrors;
+    }
+    
+    public String describe(Long orderCode) {
+        if (failure == null) {
+            return "OK";
+        }
+        return validationErrors != 0 ? OrderValidationError.describe(validationErrors, orderCode) : failure.message();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.btg.orders.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// Vendas estimadas de um produto em uma janela (sketches: podem superestimar, nunca subestimar)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class ProductSales {
+    String product;
+    Long quantity;
+    BigDecimal revenue;
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.btg.orders.domain.entities;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+    
+    private final ChronoUnit unit;
+    
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+    
+    public LocalDateTime truncate(LocalDateTime value) {
+        return value.truncatedTo(unit);
+    }
+    
+    // Quantidade de buckets entre from (inclusive) e to (exclusivo)
+    public long buckets(LocalDateTime from, LocalDateTime to) {
+        long width = unit.getDuration().toMillis();
+        return (Duration.between(truncate(from), to).toMillis() + width - 1) / width;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.btg.orders.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class SalesWindowSnapshot {
+    String window;
+    LocalDateTime from;
+    LocalDateTime to;
+    Long orders;
+    Long distinctClients;
+    @Builder.Default
+    List<ProductSales> topByQuantity = new ArrayList<>();
+    @Builder.Default
+    List<ProductSales> topByRevenue = new ArrayList<>();
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.btg.orders.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// Parâmetros de uma varredura completa (forEachOrder/forEachClient) em memória constante
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class ScanOptions {
+    // Linhas trazidas do banco por ida ao servidor (cursor)
+    @Builder.Default
+    int fetchSize = 1000;
+    // Entidades processadas entre duas limpezas do contexto de persistência
+    @Builder.Default
+    int chunkSize = 500;
+    // Com mais de uma thread, a faixa de IDs é dividida e a ação é chamada concorrentemente
+    @Builder.Default
+    int parallelism = 1;
+    // Faixa de IDs (inclusiva); sem ela, MIN/MAX(id) da tabela
+    Long fromId;
+    Long toId;
+    
+    public static ScanOptions defaults() {
+        return ScanOptions.builder().build();
+    }
+}
\ No newline at end of file
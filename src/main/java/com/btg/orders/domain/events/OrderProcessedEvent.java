@@ -0,0 +1,16 @@
+package com.btg.orders.domain.events;
+
+import com.btg.orders.domain.entities.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// Evento em processo publicado junto com order.processed; consumido pelo read model
+@Data
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderProcessedEvent {
+    Order order;
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.btg.orders.domain.gateways;
 
 import com.btg.orders.domain.entities.Client;
+import com.btg.orders.domain.entities.ScanOptions;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ClientGateway {
     
@@ -13,8 +15,13 @@ public interface ClientGateway {
     
     Optional<Client> findByEmail(String email);
     
+    // Carrega a tabela inteira em memória; use forEachClient
+    @Deprecated
     List<Client> findAll();
     
+    // Percorre todos os clientes com cursor, em memória constante; retorna quantos foram visitados
+    long forEachClient(ScanOptions options, Consumer<Client> action);
+    
     void deleteById(Long id);
     
     boolean existsById(Long id);
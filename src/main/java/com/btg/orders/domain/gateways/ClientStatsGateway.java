@@ -0,0 +1,11 @@
+package com.btg.orders.domain.gateways;
+
+import com.btg.orders.domain.entities.ClientOrderStats;
+
+import java.util.Optional;
+
+public interface ClientStatsGateway {
+    
+    // Resultado da última execução do job de estatísticas; vazio se o cliente não tinha pedidos
+    Optional<ClientOrderStats> findByClientId(Long clientId);
+}
\ No newline at end of file
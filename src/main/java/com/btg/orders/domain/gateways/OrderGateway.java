@@ -1,10 +1,18 @@
 package com.btg.orders.domain.gateways;
 
+import com.btg.orders.domain.entities.ClientOrdersVersion;
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.entities.OrderView;
+import com.btg.orders.domain.entities.ScanOptions;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface OrderGateway {
     
@@ -16,13 +24,32 @@ public interface OrderGateway {
     
     List<Order> findByClientId(Long clientId);
     
+    // Mesma listagem em OrderView (somente leitura, compacto), para os casos de uso de consulta
+    List<OrderView> findViewsByClientId(Long clientId);
+    
+    List<OrderSummary> findSummariesByClientId(Long clientId);
+    
     Optional<BigDecimal> calculateOrderTotal(Long orderCode);
     
+    Map<Long, BigDecimal> calculateOrderTotals(Collection<Long> orderCodes);
+    
     Long countOrdersByClient(Long clientId);
     
+    Map<Long, Long> countOrdersByClients(Collection<Long> clientIds);
+    
+    ClientOrdersVersion findClientOrdersVersion(Long clientId);
+    
+    // Carrega a tabela inteira em memória; use forEachOrder
+    @Deprecated
     List<Order> findAll();
     
+    // Percorre todos os pedidos com cursor, em memória constante; retorna quantos foram visitados
+    long forEachOrder(ScanOptions options, Consumer<Order> action);
+    
     void deleteById(Long id);
     
     boolean existsByOrderCode(Long orderCode);
+    
+    // Quais dos códigos já existem, numa consulta só
+    Set<Long> findExistingOrderCodes(Collection<Long> orderCodes);
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.btg.orders.domain.gateways;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderRollup;
+import com.btg.orders.domain.entities.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderRollupGateway {
+    
+    // Soma o pedido nos buckets de minuto, hora e dia do seu created_at (do cliente e do total geral)
+    void record(Order order);
+    
+    // Desfaz record(), para pedidos removidos em rollback
+    void reverse(Order order);
+    
+    // clientId nulo consulta o total de todos os clientes
+    List<OrderRollup> findRange(RollupGranularity granularity, Long clientId, LocalDateTime from, LocalDateTime to);
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.btg.orders.domain.gateways;
+
+public interface ProductDictionaryGateway {
+    
+    // Instância compartilhada do nome do produto, registrando-o no dicionário se for novo
+    String intern(String product);
+}
\ No newline at end of file
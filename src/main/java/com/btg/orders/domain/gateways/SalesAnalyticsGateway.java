@@ -0,0 +1,14 @@
+package com.btg.orders.domain.gateways;
+
+import com.btg.orders.domain.entities.SalesWindowSnapshot;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SalesAnalyticsGateway {
+    
+    // Nomes das janelas deslizantes disponíveis (ex.: 1m, 1h, 24h)
+    List<String> windows();
+    
+    Optional<SalesWindowSnapshot> snapshot(String window, int limit);
+}
\ No newline at end of file
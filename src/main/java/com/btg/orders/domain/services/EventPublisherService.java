@@ -1,9 +1,11 @@
 package com.btg.orders.domain.services;
 
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.events.OrderProcessedEvent;
 import com.btg.orders.domain.gateways.MessageGateway;
 import com.btg.orders.domain.services.interfaces.EventPublisherServiceInterface;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -14,6 +16,7 @@ import java.util.Map;
 public class EventPublisherService implements EventPublisherServiceInterface {
     
     private final MessageGateway messageGateway;
+    private final ApplicationEventPublisher applicationEventPublisher;
     
     @Override
     public void publishOrderProcessedEvent(Order order) {
@@ -25,6 +28,7 @@ public class EventPublisherService implements EventPublisherServiceInterface {
         eventData.put("timestamp", order.getCreatedAt());
         eventData.put("eventType", "ORDER_PROCESSED");
         
+        applicationEventPublisher.publishEvent(new OrderProcessedEvent(order));
         messageGateway.sendMessage("order.processed", eventData);
     }
     
@@ -1,6 +1,7 @@
 package com.btg.orders.domain.services;
 
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
 import com.btg.orders.domain.gateways.OrderGateway;
 import com.btg.orders.domain.services.interfaces.OrderValidationServiceInterface;
 import com.btg.orders.domain.usecases.ProcessOrderUseCase;
@@ -9,81 +10,164 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
+import static com.btg.orders.domain.entities.OrderValidationError.*;
+
+// As regras rodam uma vez por pedido e acumulam os erros numa máscara (checkXxx), sem alocar
+// nem lançar exceção; quem chama devolve a máscara num Outcome e OrderValidationError.describe
+// monta a mensagem. Dentro de inScope, a checagem de duplicidade vem de uma consulta em lote e
+// validar de novo o mesmo pedido reaproveita o resultado anterior.
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderValidationService implements OrderValidationServiceInterface {
     
+    private static final ThreadLocal<ValidationScope> SCOPE = new ThreadLocal<>();
+    
+    // Limites das colunas (products.name VARCHAR(255), preços e totais NUMERIC(10, 2)): um valor
+    // fora deles falharia no INSERT, e no journal isso viraria erro de infraestrutura
+    private static final int MAX_PRODUCT_LENGTH = 255;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+    
     private final OrderGateway orderGateway;
     
     @Override
-    public void validateOrderForProcessing(Long orderCode, Long clientId, List<ProcessOrderUseCase.OrderItemData> items) {
-        if (orderCode == null || orderCode <= 0) {
-            throw new IllegalArgumentException("Order code must be positive");
+    public int checkOrderForProcessing(Long orderCode, Long clientId, List<ProcessOrderUseCase.OrderItemData> items) {
+        ValidationScope scope = SCOPE.get();
+        if (scope != null && scope.isLastValidated(orderCode, clientId, items)) {
+            return scope.lastErrors();
         }
         
+        int errors = 0;
+        if (orderCode == null || orderCode <= 0) {
+            errors |= ORDER_CODE_NOT_POSITIVE.bit();
+        }
         if (clientId == null || clientId <= 0) {
-            throw new IllegalArgumentException("Client ID must be positive");
+            errors |= CLIENT_ID_NOT_POSITIVE.bit();
         }
-        
         if (items == null || items.isEmpty()) {
-            throw new IllegalArgumentException("Order must have at least one item");
+            errors |= NO_ITEMS.bit();
+        } else {
+            for (int i = 0; i < items.size(); i++) {
+                errors |= checkOrderItem(items.get(i));
+            }
         }
-        
-        if (orderExists(orderCode)) {
-            throw new IllegalArgumentException("Order with code " + orderCode + " already exists");
+        // Única regra que vai ao banco: só roda para um pedido que passou nas demais
+        if (errors == 0 && orderExists(orderCode)) {
+            errors |= ORDER_ALREADY_EXISTS.bit();
         }
         
-        for (ProcessOrderUseCase.OrderItemData item : items) {
-            validateOrderItem(item);
+        if (scope != null) {
+            scope.rememberValidation(orderCode, clientId, items, errors);
         }
+        return errors;
     }
     
     @Override
-    public void validateProcessedOrder(Order order) {
+    public int checkProcessedOrder(Order order) {
         if (order == null) {
-            throw new IllegalArgumentException("Order cannot be null");
+            return ORDER_NULL.bit();
         }
         
+        int errors = 0;
         if (order.getOrderCode() == null || order.getOrderCode() <= 0) {
-            throw new IllegalArgumentException("Order code must be positive");
+            errors |= ORDER_CODE_NOT_POSITIVE.bit();
         }
-        
         if (order.getClientId() == null || order.getClientId() <= 0) {
-            throw new IllegalArgumentException("Client ID must be positive");
+            errors |= CLIENT_ID_NOT_POSITIVE.bit();
         }
-        
         if (order.getItems() == null || order.getItems().isEmpty()) {
-            throw new IllegalArgumentException("Order must have at least one item");
+            errors |= NO_ITEMS.bit();
+        } else {
+            for (int i = 0; i < order.getItems().size(); i++) {
+                OrderItem item = order.getItems().get(i);
+                if (item != null && exceedsAmount(item.getTotal())) {
+                    errors |= ITEM_TOTAL_OUT_OF_RANGE.bit();
+                }
+            }
         }
-        
-        if (order.getTotal() == null || order.getTotal().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Order total must be positive");
+        if (order.getTotal() == null || order.getTotal().signum() <= 0) {
+            errors |= TOTAL_NOT_POSITIVE.bit();
+        } else if (exceedsAmount(order.getTotal())) {
+            errors |= TOTAL_OUT_OF_RANGE.bit();
         }
+        return errors;
     }
     
     @Override
     public boolean orderExists(Long orderCode) {
-        return orderGateway.existsByOrderCode(orderCode);
+        ValidationScope scope = SCOPE.get();
+        if (scope == null) {
+            return orderGateway.existsByOrderCode(orderCode);
+        }
+        
+        Boolean known = scope.exists(orderCode);
+        if (known != null) {
+            return known;
+        }
+        boolean exists = orderGateway.existsByOrderCode(orderCode);
+        scope.remember(orderCode, exists);
+        return exists;
     }
     
-    private void validateOrderItem(ProcessOrderUseCase.OrderItemData item) {
-        if (item == null) {
-            throw new IllegalArgumentException("Order item cannot be null");
+    @Override
+    public <T> T inScope(Collection<Long> orderCodes, Supplier<T> work) {
+        if (SCOPE.get() != null) {
+            return work.get();
         }
         
-        if (item.getProduct() == null || item.getProduct().trim().isEmpty()) {
-            throw new IllegalArgumentException("Product name cannot be empty");
+        ValidationScope scope = new ValidationScope(orderCodes.size());
+        if (orderCodes.size() > 1) {
+            // Uma consulta para o lote inteiro em vez de um EXISTS por pedido
+            var existing = orderGateway.findExistingOrderCodes(orderCodes);
+            for (Long orderCode : orderCodes) {
+                scope.remember(orderCode, existing.contains(orderCode));
+            }
         }
         
-        if (item.getQuantity() == null || item.getQuantity() <= 0) {
-            throw new IllegalArgumentException("Quantity must be positive");
+        SCOPE.set(scope);
+        try {
+            return work.get();
+        } finally {
+            SCOPE.remove();
+        }
+    }
+    
+    @Override
+    public void recordSaved(Long orderCode) {
+        ValidationScope scope = SCOPE.get();
+        if (scope != null) {
+            scope.recordSaved(orderCode);
+        }
+    }
+    
+    private static int checkOrderItem(ProcessOrderUseCase.OrderItemData item) {
+        if (item == null) {
+            return ITEM_NULL.bit();
         }
         
-        if (item.getPrice() == null || item.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Price must be positive");
+        int errors = 0;
+        // isBlank não cria a String aparada que trim() criaria
+        if (item.getProduct() == null || item.getProduct().isBlank()) {
+            errors |= PRODUCT_EMPTY.bit();
+        } else if (item.getProduct().length() > MAX_PRODUCT_LENGTH) {
+            errors |= PRODUCT_TOO_LONG.bit();
+        }
+        if (item.getQuantity() == null || item.getQuantity() <= 0) {
+            errors |= QUANTITY_NOT_POSITIVE.bit();
         }
+        if (item.getPrice() == null || item.getPrice().signum() <= 0) {
+            errors |= PRICE_NOT_POSITIVE.bit();
+        } else if (exceedsAmount(item.getPrice())) {
+            errors |= PRICE_OUT_OF_RANGE.bit();
+        }
+        return errors;
+    }
+    
+    private static boolean exceedsAmount(BigDecimal amount) {
+        return amount != null && amount.compareTo(MAX_AMOUNT) > 0;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.btg.orders.domain.services;
 
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.Outcome;
 import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.domain.gateways.OrderRollupGateway;
 import com.btg.orders.domain.services.interfaces.EventPublisherServiceInterface;
 import com.btg.orders.domain.services.interfaces.OrderValidationServiceInterface;
 import com.btg.orders.domain.services.interfaces.TransactionalServiceInterface;
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,29 +26,41 @@ public class TransactionalService implements TransactionalServiceInterface {
     private final OrderValidationServiceInterface validationService;
     private final EventPublisherServiceInterface eventPublisher;
     private final OrderGateway orderGateway;
+    private final Optional<OrderRollupGateway> orderRollupGateway;
     
     @Override
     @Transactional
-    public Order processOrderTransactionally(Long orderCode, Long clientId, List<ProcessOrderUseCase.OrderItemData> items) {
+    public Outcome<Order> processOrderTransactionally(Long orderCode, Long clientId, List<ProcessOrderUseCase.OrderItemData> items) {
         log.info("Processing order transactionally: orderCode={}, clientId={}", orderCode, clientId);
         
+        // A validação do use case reaproveita a feita aqui (mesmo escopo): regras e EXISTS rodam uma vez
+        return validationService.inScope(List.of(orderCode), () -> processInScope(orderCode, clientId, items));
+    }
+    
+    // Rejeições voltam antes de qualquer escrita, então não precisam de exceção para o rollback
+    private Outcome<Order> processInScope(Long orderCode, Long clientId, List<ProcessOrderUseCase.OrderItemData> items) {
         try {
             // Validate order before processing
-            validationService.validateOrderForProcessing(orderCode, clientId, items);
-            eventPublisher.publishOrderValidationEvent(orderCode, clientId, true);
-            
-            // Process the order
-            Order processedOrder = processOrderUseCase.execute(orderCode, clientId, items);
+            int errors = validationService.checkOrderForProcessing(orderCode, clientId, items);
+            eventPublisher.publishOrderValidationEvent(orderCode, clientId, errors == 0);
+            if (errors != 0) {
+                Outcome<Order> rejected = Outcome.rejected(errors);
+                eventPublisher.publishOrderErrorEvent(orderCode, rejected.describe(orderCode));
+                return rejected;
+            }
             
-            // Validate processed order
-            validationService.validateProcessedOrder(processedOrder);
+            // Process the order (o use case também valida o pedido processado e notifica rejeições)
+            Outcome<Order> outcome = processOrderUseCase.execute(orderCode, clientId, items);
+            if (!outcome.isSuccess()) {
+                eventPublisher.publishOrderValidationEvent(orderCode, clientId, false);
+                return outcome;
+            }
             
-            // Publish success event
-            eventPublisher.publishOrderCreatedEvent(processedOrder);
-            eventPublisher.publishOrderProcessedEvent(processedOrder);
+            // O ORDER_PROCESSED já foi publicado pelo use case
+            eventPublisher.publishOrderCreatedEvent(outcome.value());
             
             log.info("Order processed successfully in transaction: orderCode={}", orderCode);
-            return processedOrder;
+            return outcome;
             
         } catch (Exception e) {
             log.error("Error processing order transactionally: orderCode={}, error={}", orderCode, e.getMessage());
@@ -68,6 +83,8 @@ public class TransactionalService implements TransactionalServiceInterface {
             var order = orderGateway.findByOrderCode(orderCode);
             if (order.isPresent()) {
                 orderGateway.deleteById(order.get().getId());
+                // Retira o pedido dos rollups na mesma transação da remoção
+                orderRollupGateway.ifPresent(rollups -> rollups.reverse(order.get()));
                 log.info("Order rolled back successfully: orderCode={}", orderCode);
                 
                 // Publish rollback event
@@ -0,0 +1,69 @@
+package com.btg.orders.domain.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Memo das checagens de validação que vão ao banco, válido enquanto o escopo estiver aberto
+// (um pedido ou um lote, na thread atual). Guarda também o resultado da última validação,
+// para que o mesmo pedido validado duas vezes no escopo não reexecute as regras.
+final class ValidationScope {
+    
+    private final int expectedOrders;
+    // Escopo de um pedido só (o caso comum) não aloca o mapa
+    private Long singleOrderCode;
+    private boolean singleExists;
+    private Map<Long, Boolean> existence;
+    
+    private Long lastOrderCode;
+    private Long lastClientId;
+    private List<?> lastItems;
+    private int lastErrors;
+    
+    ValidationScope(int expectedOrders) {
+        this.expectedOrders = expectedOrders;
+    }
+    
+    Boolean exists(Long orderCode) {
+        if (existence != null) {
+            return existence.get(orderCode);
+        }
+        return singleOrderCode != null && singleOrderCode.equals(orderCode) ? singleExists : null;
+    }
+    
+    void remember(Long orderCode, boolean exists) {
+        if (existence == null && (singleOrderCode == null || singleOrderCode.equals(orderCode))) {
+            singleOrderCode = orderCode;
+            singleExists = exists;
+            return;
+        }
+        if (existence == null) {
+            existence = new HashMap<>(Math.max(16, expectedOrders * 2));
+            existence.put(singleOrderCode, singleExists);
+        }
+        existence.put(orderCode, exists);
+    }
+    
+    // Mesma instância de argumentos: a lista de itens não muda entre as duas validações
+    boolean isLastValidated(Long orderCode, Long clientId, List<?> items) {
+        return items != null && items == lastItems && Objects.equals(orderCode, lastOrderCode) && Objects.equals(clientId, lastClientId);
+    }
+    
+    int lastErrors() {
+        return lastErrors;
+    }
+    
+    void rememberValidation(Long orderCode, Long clientId, List<?> items, int errors) {
+        this.lastOrderCode = orderCode;
+        this.lastClientId = clientId;
+        this.lastItems = items;
+        this.lastErrors = errors;
+    }
+    
+    // Pedido gravado: passa a existir e a validação anterior deixa de valer
+    void recordSaved(Long orderCode) {
+        remember(orderCode, true);
+        lastItems = null;
+    }
+}
\ No newline at end of file
@@ -3,10 +3,15 @@ package com.btg.orders.domain.services.interfaces;
 import com.btg.orders.domain.entities.Order;
 import com.btg.orders.domain.usecases.ProcessOrderUseCase;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 public interface OrderValidationServiceInterface {
-    void validateOrderForProcessing(Long orderCode, Long clientId, List<ProcessOrderUseCase.OrderItemData> items);
-    void validateProcessedOrder(Order order);
+    // Máscara de OrderValidationError; 0 quando o pedido é válido
+    int checkOrderForProcessing(Long orderCode, Long clientId, List<ProcessOrderUseCase.OrderItemData> items);
+    int checkProcessedOrder(Order order);
     boolean orderExists(Long orderCode);
-} 
\ No newline at end of file
+    <T> T inScope(Collection<Long> orderCodes, Supplier<T> work);
+    void recordSaved(Long orderCode);
+}
\ No newline at end of file
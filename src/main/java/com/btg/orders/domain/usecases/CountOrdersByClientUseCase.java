@@ -6,6 +6,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -18,4 +24,20 @@ public class CountOrdersByClientUseCase implements CountOrdersByClientUseCaseInt
         
         return orderGateway.countOrdersByClient(clientId);
     }
+    
+    public Map<Long, Long> execute(List<Long> clientIds) {
+        log.info("Counting orders for {} clients", clientIds.size());
+        
+        Set<Long> distinctIds = new LinkedHashSet<>(clientIds);
+        distinctIds.remove(null);
+        
+        Map<Long, Long> found = orderGateway.countOrdersByClients(distinctIds);
+        
+        // Clientes sem pedidos não aparecem no GROUP BY, então completamos com zero
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        for (Long clientId : distinctIds) {
+            counts.put(clientId, found.getOrDefault(clientId, 0L));
+        }
+        return counts;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.btg.orders.domain.usecases;
+
+import com.btg.orders.domain.entities.ClientOrderStats;
+import com.btg.orders.domain.gateways.ClientStatsGateway;
+import com.btg.orders.domain.usecases.interfaces.GetClientStatsUseCaseInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetClientStatsUseCase implements GetClientStatsUseCaseInterface {
+    
+    private final ClientStatsGateway clientStatsGateway;
+    
+    public ClientOrderStats execute(Long clientId) {
+        log.info("Getting order stats for client: {}", clientId);
+        
+        return clientStatsGateway.findByClientId(clientId)
+            .orElseThrow(() -> new IllegalArgumentException("No stats computed for client: " + clientId));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.btg.orders.domain.usecases;
+
+import com.btg.orders.domain.entities.OrderRollupSeries;
+import com.btg.orders.domain.entities.RollupGranularity;
+import com.btg.orders.domain.gateways.OrderRollupGateway;
+import com.btg.orders.domain.usecases.interfaces.GetOrderRollupsUseCaseInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetOrderRollupsUseCase implements GetOrderRollupsUseCaseInterface {
+    
+    // Limite de buckets por consulta: 30 dias por hora (720) cabem, por minuto (43.200) não
+    static final int MAX_POINTS = 2000;
+    
+    private final Optional<OrderRollupGateway> orderRollupGateway;
+    
+    // Sem granularity, usa a mais fina que cabe em MAX_POINTS
+    public OrderRollupSeries execute(RollupGranularity granularity, Long clientId, LocalDateTime from, LocalDateTime to) {
+        log.info("Getting order rollups for client {} from {} to {} ({})",
+            clientId == null ? "all" : clientId, from, to, granularity == null ? "auto" : granularity);
+        
+        OrderRollupGateway gateway = orderRollupGateway
+            .orElseThrow(() -> new IllegalStateException("Order rollups are disabled"));
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Range must have from before to");
+        }
+        
+        RollupGranularity resolved = granularity != null ? granularity : finestFitting(from, to);
+        if (resolved.buckets(from, to) > MAX_POINTS) {
+            throw new IllegalArgumentException("Range has more than " + MAX_POINTS + " " + resolved + " buckets");
+        }
+        
+        LocalDateTime start = resolved.truncate(from);
+        return OrderRollupSeries.builder()
+            .granularity(resolved)
+            .clientId(clientId)
+            .from(start)
+            .to(to)
+            .points(gateway.findRange(resolved, clientId, start, to))
+            .build();
+    }
+    
+    static RollupGranularity finestFitting(LocalDateTime from, LocalDateTime to) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            if (granularity.buckets(from, to) <= MAX_POINTS) {
+                return granularity;
+            }
+        }
+        return RollupGranularity.DAY;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.btg.orders.domain.usecases;
 
+import com.btg.orders.domain.entities.Outcome;
 import com.btg.orders.domain.gateways.OrderGateway;
 import com.btg.orders.domain.usecases.interfaces.GetOrderTotalUseCaseInterface;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -15,10 +20,22 @@ public class GetOrderTotalUseCase implements GetOrderTotalUseCaseInterface {
     
     private final OrderGateway orderGateway;
     
-    public BigDecimal execute(Long orderCode) {
+    // Código inexistente é um desfecho esperado (scraping, polling): Outcome compartilhado, sem exceção
+    public Outcome<BigDecimal> execute(Long orderCode) {
         log.info("Getting total for order: {}", orderCode);
         
         return orderGateway.calculateOrderTotal(orderCode)
-            .orElseThrow(() -> new IllegalArgumentException("Order not found with code: " + orderCode));
+            .map(Outcome::success)
+            .orElseGet(Outcome::notFound);
     }
-} 
\ No newline at end of file
+    
+    public Map<Long, BigDecimal> execute(List<Long> orderCodes) {
+        log.info("Getting totals for {} orders", orderCodes.size());
+        
+        // Remove duplicados para não repetir parâmetros na consulta
+        Set<Long> distinctCodes = new LinkedHashSet<>(orderCodes);
+        distinctCodes.remove(null);
+        
+        return orderGateway.calculateOrderTotals(distinctCodes);
+    }
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.btg.orders.domain.usecases;
 
+import com.btg.orders.domain.entities.ClientOrdersVersion;
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.entities.OrderView;
 import com.btg.orders.domain.gateways.OrderGateway;
 import com.btg.orders.domain.usecases.interfaces.GetOrdersByClientUseCaseInterface;
 import lombok.RequiredArgsConstructor;
@@ -21,4 +24,22 @@ public class GetOrdersByClientUseCase implements GetOrdersByClientUseCaseInterfa
         
         return orderGateway.findByClientId(clientId);
     }
+    
+    public List<OrderView> executeViews(Long clientId) {
+        log.info("Getting order views for client: {}", clientId);
+        
+        return orderGateway.findViewsByClientId(clientId);
+    }
+    
+    public List<OrderSummary> executeSummaries(Long clientId) {
+        log.info("Getting order summaries for client: {}", clientId);
+        
+        return orderGateway.findSummariesByClientId(clientId);
+    }
+    
+    public ClientOrdersVersion executeVersion(Long clientId) {
+        log.info("Getting orders version for client: {}", clientId);
+        
+        return orderGateway.findClientOrdersVersion(clientId);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.btg.orders.domain.usecases;
+
+import com.btg.orders.domain.entities.SalesWindowSnapshot;
+import com.btg.orders.domain.gateways.SalesAnalyticsGateway;
+import com.btg.orders.domain.usecases.interfaces.GetSalesAnalyticsUseCaseInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetSalesAnalyticsUseCase implements GetSalesAnalyticsUseCaseInterface {
+    
+    private static final int MAX_LIMIT = 100;
+    
+    private final Optional<SalesAnalyticsGateway> salesAnalyticsGateway;
+    
+    // Sem window, devolve todas as janelas
+    public List<SalesWindowSnapshot> execute(String window, int limit) {
+        log.info("Getting sales analytics for window: {}", window == null ? "all" : window);
+        
+        SalesAnalyticsGateway gateway = salesAnalyticsGateway
+            .orElseThrow(() -> new IllegalStateException("Sales analytics is disabled"));
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        
+        if (window == null) {
+            return gateway.windows().stream()
+                .map(name -> gateway.snapshot(name, limit).orElseThrow())
+                .toList();
+        }
+        
+        return List.of(gateway.snapshot(window, limit)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown window: " + window + ", available: " + gateway.windows())));
+    }
+}
\ No newline at end of file
@@ -2,9 +2,11 @@ package com.btg.orders.domain.usecases;
 
 import com.btg.orders.domain.entities.Order;
 import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.entities.Outcome;
 import com.btg.orders.domain.gateways.ClientGateway;
 import com.btg.orders.domain.gateways.OrderGateway;
 import com.btg.orders.domain.gateways.MessageGateway;
+import com.btg.orders.domain.gateways.ProductDictionaryGateway;
 import com.btg.orders.domain.services.interfaces.EventPublisherServiceInterface;
 import com.btg.orders.domain.services.interfaces.OrderValidationServiceInterface;
 import com.btg.orders.domain.usecases.interfaces.ProcessOrderUseCaseInterface;
@@ -25,13 +27,19 @@ public class ProcessOrderUseCase implements ProcessOrderUseCaseInterface {
     private final MessageGateway messageGateway;
     private final OrderValidationServiceInterface validationService;
     private final EventPublisherServiceInterface eventPublisher;
+    private final ProductDictionaryGateway productDictionary;
     
-    public Order execute(Long orderCode, Long clientId, List<OrderItemData> items) {
+    // Rejeições esperadas (inválido, duplicado) voltam como Outcome, sem exceção; só falhas de
+    // infraestrutura são lançadas
+    public Outcome<Order> execute(Long orderCode, Long clientId, List<OrderItemData> items) {
         log.info("Processing order with code: {} for client: {}", orderCode, clientId);
         
         try {
             // Valida o pedido antes de processar
-            validationService.validateOrderForProcessing(orderCode, clientId, items);
+            int errors = validationService.checkOrderForProcessing(orderCode, clientId, items);
+            if (errors != 0) {
+                return reject(orderCode, Outcome.rejected(errors));
+            }
             
             // Verifica se o cliente existe, se não, cria um cliente padrão
             clientGateway.findOrCreateDefaultClient(clientId);
@@ -45,10 +53,10 @@ public class ProcessOrderUseCase implements ProcessOrderUseCaseInterface {
                 .createdAt(java.time.LocalDateTime.now())
                 .build();
             
-            // Adiciona os itens ao pedido
+            // Adiciona os itens ao pedido; o nome do produto vem do dicionário (instância compartilhada)
             for (OrderItemData itemData : items) {
                 OrderItem item = OrderItem.builder()
-                    .product(itemData.getProduct())
+                    .product(productDictionary.intern(itemData.getProduct()))
                     .quantity(itemData.getQuantity())
                     .price(itemData.getPrice())
                     .build();
@@ -60,10 +68,14 @@ public class ProcessOrderUseCase implements ProcessOrderUseCaseInterface {
             order.updateTotal();
             
             // Valida o pedido processado
-            validationService.validateProcessedOrder(order);
+            errors = validationService.checkProcessedOrder(order);
+            if (errors != 0) {
+                return reject(orderCode, Outcome.rejected(errors));
+            }
             
             // Salva o pedido
             Order savedOrder = orderGateway.save(order);
+            validationService.recordSaved(orderCode);
             
             // Envia notificação de sucesso
             messageGateway.sendOrderProcessedNotification(orderCode);
@@ -71,7 +83,7 @@ public class ProcessOrderUseCase implements ProcessOrderUseCaseInterface {
             
             log.info("Order {} processed successfully with total: {}", orderCode, savedOrder.getTotal());
             
-            return savedOrder;
+            return Outcome.success(savedOrder);
             
         } catch (Exception e) {
             log.error("Error processing order {}: {}", orderCode, e.getMessage());
@@ -81,6 +93,14 @@ public class ProcessOrderUseCase implements ProcessOrderUseCaseInterface {
         }
     }
     
+    private Outcome<Order> reject(Long orderCode, Outcome<Order> outcome) {
+        String reason = outcome.describe(orderCode);
+        log.warn("Order {} rejected: {}", orderCode, reason);
+        messageGateway.sendOrderErrorNotification(orderCode, reason);
+        eventPublisher.publishOrderErrorEvent(orderCode, reason);
+        return outcome;
+    }
+    
     @lombok.Data
     @lombok.Builder
     @lombok.NoArgsConstructor
@@ -1,5 +1,9 @@
 package com.btg.orders.domain.usecases.interfaces;
 
+import java.util.List;
+import java.util.Map;
+
 public interface CountOrdersByClientUseCaseInterface {
     Long execute(Long clientId);
-} 
\ No newline at end of file
+    Map<Long, Long> execute(List<Long> clientIds);
+}
\ No newline at end of file
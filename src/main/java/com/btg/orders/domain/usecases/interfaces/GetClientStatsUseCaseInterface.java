@@ -0,0 +1,7 @@
+package com.btg.orders.domain.usecases.interfaces;
+
+import com.btg.orders.domain.entities.ClientOrderStats;
+
+public interface GetClientStatsUseCaseInterface {
+    ClientOrderStats execute(Long clientId);
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.btg.orders.domain.usecases.interfaces;
+
+import com.btg.orders.domain.entities.OrderRollupSeries;
+import com.btg.orders.domain.entities.RollupGranularity;
+
+import java.time.LocalDateTime;
+
+public interface GetOrderRollupsUseCaseInterface {
+    OrderRollupSeries execute(RollupGranularity granularity, Long clientId, LocalDateTime from, LocalDateTime to);
+}
\ No newline at end of file
@@ -1,7 +1,12 @@
 package com.btg.orders.domain.usecases.interfaces;
 
+import com.btg.orders.domain.entities.Outcome;
+
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 public interface GetOrderTotalUseCaseInterface {
-    BigDecimal execute(Long orderCode);
-} 
\ No newline at end of file
+    Outcome<BigDecimal> execute(Long orderCode);
+    Map<Long, BigDecimal> execute(List<Long> orderCodes);
+}
\ No newline at end of file
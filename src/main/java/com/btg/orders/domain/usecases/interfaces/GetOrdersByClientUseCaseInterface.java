@@ -1,9 +1,15 @@
 package com.btg.orders.domain.usecases.interfaces;
 
+import com.btg.orders.domain.entities.ClientOrdersVersion;
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.entities.OrderView;
 
 import java.util.List;
 
 public interface GetOrdersByClientUseCaseInterface {
     List<Order> execute(Long clientId);
-} 
\ No newline at end of file
+    List<OrderView> executeViews(Long clientId);
+    List<OrderSummary> executeSummaries(Long clientId);
+    ClientOrdersVersion executeVersion(Long clientId);
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.btg.orders.domain.usecases.interfaces;
+
+import com.btg.orders.domain.entities.SalesWindowSnapshot;
+
+import java.util.List;
+
+public interface GetSalesAnalyticsUseCaseInterface {
+    List<SalesWindowSnapshot> execute(String window, int limit);
+}
\ No newline at end of file
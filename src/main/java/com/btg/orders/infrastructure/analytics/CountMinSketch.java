@@ -0,0 +1,56 @@
+package com.btg.orders.infrastructure.analytics;
+
+import java.util.Arrays;
+
+// Contagem aproximada por chave em memória fixa (depth x width longs). A estimativa
+// nunca fica abaixo do valor real e passa dele em no máximo ~2/width do total com
+// probabilidade 1 - 2^-depth. Sketches do mesmo tamanho são somados com merge().
+final class CountMinSketch {
+    
+    private final int depth;
+    private final int mask;
+    private final long[] table;
+    
+    CountMinSketch(int depth, int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Count-Min width must be a power of two: " + width);
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.table = new long[depth * width];
+    }
+    
+    void add(long hash, long count) {
+        for (int row = 0; row < depth; row++) {
+            table[index(hash, row)] += count;
+        }
+    }
+    
+    long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, table[index(hash, row)]);
+        }
+        return estimate;
+    }
+    
+    void merge(CountMinSketch other) {
+        for (int i = 0; i < table.length; i++) {
+            table[i] += other.table[i];
+        }
+    }
+    
+    void clear() {
+        Arrays.fill(table, 0);
+    }
+    
+    long bytes() {
+        return table.length * 8L;
+    }
+    
+    // Hashing duplo (Kirsch-Mitzenmacher): uma função por linha a partir de um único hash
+    private int index(long hash, int row) {
+        long h2 = (hash >>> 32) | 1;
+        return row * (mask + 1) + (int) ((hash + row * h2) & mask);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.btg.orders.infrastructure.analytics;
+
+final class Hashing {
+    
+    private Hashing() {
+    }
+    
+    // FNV-1a de 64 bits sobre os chars, seguido do finalizador do MurmurHash3
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    static long hash(long value) {
+        return mix(value + 0x9e3779b97f4a7c15L);
+    }
+    
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.btg.orders.infrastructure.analytics;
+
+import java.util.Arrays;
+
+// Cardinalidade aproximada com 2^precision registradores de um byte; erro padrão ~1.04/sqrt(2^precision)
+final class HyperLogLog {
+    
+    private final int precision;
+    private final byte[] registers;
+    
+    HyperLogLog(int precision) {
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+    
+    void add(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+    
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+    
+    long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        // Correção para cardinalidades pequenas: linear counting
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+    
+    void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+    
+    long bytes() {
+        return registers.length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.btg.orders.infrastructure.analytics;
+
+// Vendas de um intervalo fixo de tempo; reaproveitado (reset) quando o anel dá a volta
+final class SalesBucket {
+    
+    long start = Long.MIN_VALUE;
+    long orders;
+    final SpaceSaving quantityLeaders;
+    final SpaceSaving revenueLeaders;
+    final CountMinSketch quantity;
+    final CountMinSketch revenueCents;
+    final HyperLogLog clients;
+    
+    SalesBucket(SketchSettings settings) {
+        this.quantityLeaders = new SpaceSaving(settings.topKCapacity());
+        this.revenueLeaders = new SpaceSaving(settings.topKCapacity());
+        this.quantity = settings.newCountMin();
+        this.revenueCents = settings.newCountMin();
+        this.clients = new HyperLogLog(settings.hllPrecision());
+    }
+    
+    void reset(long start) {
+        this.start = start;
+        this.orders = 0;
+        quantityLeaders.clear();
+        revenueLeaders.clear();
+        quantity.clear();
+        revenueCents.clear();
+        clients.clear();
+    }
+    
+    long bytes() {
+        return quantity.bytes() + revenueCents.bytes() + clients.bytes();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.btg.orders.infrastructure.analytics;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.entities.SalesWindowSnapshot;
+import com.btg.orders.domain.events.OrderProcessedEvent;
+import com.btg.orders.domain.gateways.SalesAnalyticsGateway;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Top produtos por quantidade e receita e clientes distintos nas janelas deslizantes de 1m, 1h e 24h,
+// em memória fixa (Space-Saving + Count-Min + HyperLogLog por bucket) independente do volume de pedidos.
+// Usa o created_at do pedido: eventos fora da janela (ex.: replay de pedidos antigos) são ignorados.
+@Component
+@ConditionalOnProperty(name = "orders.analytics.enabled", havingValue = "true")
+@Slf4j
+public class SketchSalesAnalytics implements SalesAnalyticsGateway {
+    
+    private final Clock clock;
+    private final Map<String, SlidingSalesWindow> windows = new LinkedHashMap<>();
+    
+    @Autowired
+    public SketchSalesAnalytics(@Value("${orders.analytics.top-k-capacity:64}") int topKCapacity,
+                                @Value("${orders.analytics.count-min-depth:4}") int countMinDepth,
+                                @Value("${orders.analytics.count-min-width:1024}") int countMinWidth,
+                                @Value("${orders.analytics.hll-precision:12}") int hllPrecision,
+                                MeterRegistry meterRegistry) {
+        this(Clock.systemDefaultZone(), new SketchSettings(topKCapacity, countMinDepth, countMinWidth, hllPrecision));
+        
+        Gauge.builder("orders.analytics.memory", this, SketchSalesAnalytics::usedBytes)
+            .description("Memória fixa dos sketches de vendas")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        log.info("Sales analytics enabled with windows {} ({} bytes of sketches)", windows(), usedBytes());
+    }
+    
+    SketchSalesAnalytics(Clock clock, SketchSettings settings) {
+        this.clock = clock;
+        addWindow("1m", Duration.ofMinutes(1), 12, settings);
+        addWindow("1h", Duration.ofHours(1), 12, settings);
+        addWindow("24h", Duration.ofHours(24), 24, settings);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderProcessed(OrderProcessedEvent event) {
+        record(event.getOrder());
+    }
+    
+    void record(Order order) {
+        if (order.getCreatedAt() == null || order.getItems() == null || order.getItems().isEmpty()) {
+            return;
+        }
+        
+        // Hash e valores de cada item calculados uma vez, fora do lock, e reaproveitados nas três janelas
+        int size = order.getItems().size();
+        String[] products = new String[size];
+        long[] productHashes = new long[size];
+        long[] quantities = new long[size];
+        long[] revenueCents = new long[size];
+        for (int i = 0; i < size; i++) {
+            OrderItem item = order.getItems().get(i);
+            BigDecimal total = item.getTotal() != null ? item.getTotal() : item.calculateTotal();
+            products[i] = item.getProduct();
+            productHashes[i] = Hashing.hash(item.getProduct());
+            quantities[i] = item.getQuantity() == null ? 0 : item.getQuantity();
+            revenueCents[i] = total.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+        }
+        long clientHash = Hashing.hash(order.getClientId() == null ? 0L : order.getClientId());
+        long timestamp = order.getCreatedAt().atZone(clock.getZone()).toInstant().toEpochMilli();
+        
+        synchronized (this) {
+            long now = clock.millis();
+            for (SlidingSalesWindow window : windows.values()) {
+                window.record(timestamp, now, clientHash, products, productHashes, quantities, revenueCents);
+            }
+        }
+    }
+    
+    @Override
+    public List<String> windows() {
+        return List.copyOf(windows.keySet());
+    }
+    
+    @Override
+    public synchronized Optional<SalesWindowSnapshot> snapshot(String window, int limit) {
+        ZoneId zone = clock.getZone();
+        return Optional.ofNullable(windows.get(window))
+            .map(sliding -> sliding.snapshot(clock.millis(), zone, limit));
+    }
+    
+    public synchronized long usedBytes() {
+        return windows.values().stream().mapToLong(SlidingSalesWindow::bytes).sum();
+    }
+    
+    private void addWindow(String name, Duration length, int buckets, SketchSettings settings) {
+        windows.put(name, new SlidingSalesWindow(name, length, buckets, settings));
+    }
+}
\ No newline at end of file
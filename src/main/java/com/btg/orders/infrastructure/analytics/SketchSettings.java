@@ -0,0 +1,8 @@
+package com.btg.orders.infrastructure.analytics;
+
+record SketchSettings(int topKCapacity, int countMinDepth, int countMinWidth, int hllPrecision) {
+    
+    CountMinSketch newCountMin() {
+        return new CountMinSketch(countMinDepth, countMinWidth);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.btg.orders.infrastructure.analytics;
+
+import com.btg.orders.domain.entities.ProductSales;
+import com.btg.orders.domain.entities.SalesWindowSnapshot;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Janela deslizante como anel de buckets de largura fixa; a consulta combina os buckets
+// ainda dentro da janela: candidatos dos Space-Saving de cada bucket, contagens pelos
+// Count-Min somados e clientes distintos pela união dos HyperLogLog
+final class SlidingSalesWindow {
+    
+    private final String name;
+    private final long bucketMillis;
+    private final SalesBucket[] buckets;
+    private final SketchSettings settings;
+    
+    SlidingSalesWindow(String name, Duration window, int bucketCount, SketchSettings settings) {
+        this.name = name;
+        this.bucketMillis = window.toMillis() / bucketCount;
+        this.buckets = new SalesBucket[bucketCount];
+        this.settings = settings;
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new SalesBucket(settings);
+        }
+    }
+    
+    String name() {
+        return name;
+    }
+    
+    // Pedidos mais antigos que a janela (ex.: replay) são ignorados
+    void record(long timestampMillis, long nowMillis, long clientHash, String[] products, long[] productHashes,
+                long[] quantities, long[] revenueCents) {
+        long start = Math.floorDiv(timestampMillis, bucketMillis) * bucketMillis;
+        if (start <= alignedNow(nowMillis) - buckets.length * bucketMillis) {
+            return;
+        }
+        
+        SalesBucket bucket = buckets[(int) Math.floorMod(start / bucketMillis, (long) buckets.length)];
+        if (bucket.start < start) {
+            bucket.reset(start);
+        } else if (bucket.start > start) {
+            return;
+        }
+        
+        bucket.orders++;
+        bucket.clients.add(clientHash);
+        for (int i = 0; i < products.length; i++) {
+            bucket.quantity.add(productHashes[i], quantities[i]);
+            bucket.revenueCents.add(productHashes[i], revenueCents[i]);
+            bucket.quantityLeaders.add(products[i], quantities[i]);
+            bucket.revenueLeaders.add(products[i], revenueCents[i]);
+        }
+    }
+    
+    SalesWindowSnapshot snapshot(long nowMillis, ZoneId zone, int limit) {
+        long oldest = alignedNow(nowMillis) - (buckets.length - 1) * bucketMillis;
+        
+        CountMinSketch quantity = settings.newCountMin();
+        CountMinSketch revenueCents = settings.newCountMin();
+        HyperLogLog clients = new HyperLogLog(settings.hllPrecision());
+        Set<String> candidates = new HashSet<>();
+        long orders = 0;
+        for (SalesBucket bucket : buckets) {
+            if (bucket.start >= oldest && bucket.start <= nowMillis) {
+                quantity.merge(bucket.quantity);
+                revenueCents.merge(bucket.revenueCents);
+                clients.merge(bucket.clients);
+                candidates.addAll(bucket.quantityLeaders.keys());
+                candidates.addAll(bucket.revenueLeaders.keys());
+                orders += bucket.orders;
+            }
+        }
+        
+        List<ProductSales> sales = candidates.stream()
+            .map(product -> {
+                long hash = Hashing.hash(product);
+                return ProductSales.builder()
+                    .product(product)
+                    .quantity(quantity.estimate(hash))
+                    .revenue(BigDecimal.valueOf(revenueCents.estimate(hash), 2))
+                    .build();
+            })
+            .toList();
+        
+        return SalesWindowSnapshot.builder()
+            .window(name)
+            .from(LocalDateTime.ofInstant(Instant.ofEpochMilli(oldest), zone))
+            .to(LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), zone))
+            .orders(orders)
+            .distinctClients(orders == 0 ? 0 : clients.estimate())
+            .topByQuantity(top(sales, Comparator.comparing(ProductSales::getQuantity), limit))
+            .topByRevenue(top(sales, Comparator.comparing(ProductSales::getRevenue), limit))
+            .build();
+    }
+    
+    long bytes() {
+        long bytes = 0;
+        for (SalesBucket bucket : buckets) {
+            bytes += bucket.bytes();
+        }
+        return bytes;
+    }
+    
+    private long alignedNow(long nowMillis) {
+        return Math.floorDiv(nowMillis, bucketMillis) * bucketMillis;
+    }
+    
+    private static List<ProductSales> top(List<ProductSales> sales, Comparator<ProductSales> comparator, int limit) {
+        return sales.stream()
+            .sorted(comparator.reversed().thenComparing(ProductSales::getProduct))
+            .limit(limit)
+            .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.btg.orders.infrastructure.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Space-Saving: mantém no máximo capacity chaves candidatas a heavy hitter. Uma chave nova
+// com a tabela cheia ocupa o lugar da de menor contagem, herdando essa contagem como erro;
+// qualquer chave com mais de total/capacity de peso está garantidamente entre as candidatas.
+final class SpaceSaving {
+    
+    private final int capacity;
+    private final Map<String, long[]> counters;
+    
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+    
+    void add(String key, long weight) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += weight;
+            return;
+        }
+        
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{weight, 0});
+            return;
+        }
+        
+        // capacity é pequeno (dezenas): a busca linear pelo mínimo sai mais barata que manter um heap
+        String minKey = null;
+        long[] min = null;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (min == null || entry.getValue()[0] < min[0]) {
+                minKey = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new long[]{min[0] + weight, min[0]});
+    }
+    
+    Set<String> keys() {
+        return counters.keySet();
+    }
+    
+    void clear() {
+        counters.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.btg.orders.infrastructure.config;
+
+import com.btg.orders.infrastructure.database.routing.DataSourceTarget;
+import com.btg.orders.infrastructure.database.routing.RoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Com a réplica ativa, spring.datasource vira o pool "primary" e as consultas roteadas
+// por ReadRouting usam o pool "replica"; cada pool publica suas métricas hikaricp.*
+@Configuration
+@ConditionalOnProperty(name = "orders.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    @ConfigurationProperties("orders.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        RoutingDataSource dataSource = new RoutingDataSource();
+        dataSource.setTargetDataSources(Map.of(
+            DataSourceTarget.PRIMARY, primaryDataSource,
+            DataSourceTarget.REPLICA, replicaDataSource));
+        dataSource.setDefaultTargetDataSource(primaryDataSource);
+        return dataSource;
+    }
+}
\ No newline at end of file
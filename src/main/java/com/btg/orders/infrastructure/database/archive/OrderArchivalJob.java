@@ -0,0 +1,48 @@
+package com.btg.orders.infrastructure.database.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchivalJob {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${orders.archive.after-days:90}")
+    private int afterDays;
+    
+    @Value("${orders.archive.batch-size:1000}")
+    private int batchSize;
+    
+    @Scheduled(cron = "${orders.archive.cron:0 30 3 * * *}")
+    public void archiveColdOrders() {
+        LocalDateTime olderThan = LocalDateTime.now().minusDays(afterDays);
+        log.info("Archiving orders created before {}", olderThan);
+        
+        long total = 0;
+        try {
+            // Cada lote é uma transação curta, para não segurar locks nas tabelas quentes
+            int archived;
+            do {
+                Integer result = jdbcTemplate.queryForObject(
+                    "SELECT archive_orders(?, ?)", Integer.class, olderThan, batchSize);
+                archived = result == null ? 0 : result;
+                total += archived;
+            } while (archived == batchSize);
+            
+            log.info("Orders archived: {}", total);
+        } catch (Exception e) {
+            log.error("Error archiving orders after {} archived: {}", total, e.getMessage(), e);
+        }
+    }
+}
\ No newline at end of file
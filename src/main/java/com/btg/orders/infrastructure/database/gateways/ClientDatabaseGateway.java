@@ -1,16 +1,19 @@
 package com.btg.orders.infrastructure.database.gateways;
 
 import com.btg.orders.domain.entities.Client;
+import com.btg.orders.domain.entities.ScanOptions;
 import com.btg.orders.domain.gateways.ClientGateway;
 import com.btg.orders.infrastructure.database.mappers.ClientMapper;
 import com.btg.orders.infrastructure.database.models.ClientModel;
 import com.btg.orders.infrastructure.database.repositories.ClientJpaRepository;
+import com.btg.orders.infrastructure.database.scan.EntityScanner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -20,6 +23,7 @@ public class ClientDatabaseGateway implements ClientGateway {
     
     private final ClientJpaRepository repository;
     private final ClientMapper mapper;
+    private final EntityScanner scanner;
     
     @Override
     public Client save(Client client) {
@@ -48,6 +52,7 @@ public class ClientDatabaseGateway implements ClientGateway {
     }
     
     @Override
+    @Deprecated
     public List<Client> findAll() {
         log.info("Finding all clients");
         
@@ -56,6 +61,13 @@ public class ClientDatabaseGateway implements ClientGateway {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public long forEachClient(ScanOptions options, Consumer<Client> action) {
+        log.info("Scanning all clients (fetch size {}, parallelism {})", options.getFetchSize(), options.getParallelism());
+        
+        return scanner.scan(ClientModel.class, options, chunk -> {}, mapper::toDomain, action);
+    }
+    
     @Override
     public void deleteById(Long id) {
         log.info("Deleting client by id: {}", id);
@@ -1,17 +1,41 @@
 package com.btg.orders.infrastructure.database.gateways;
 
+import com.btg.orders.domain.entities.ClientOrdersVersion;
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.entities.OrderView;
+import com.btg.orders.domain.entities.ScanOptions;
 import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.domain.gateways.OrderRollupGateway;
+import com.btg.orders.infrastructure.database.mappers.ArchivedOrderMapper;
 import com.btg.orders.infrastructure.database.mappers.OrderMapper;
 import com.btg.orders.infrastructure.database.models.OrderModel;
+import com.btg.orders.infrastructure.database.projections.ClientOrderCountProjection;
+import com.btg.orders.infrastructure.database.projections.OrderTotalProjection;
+import com.btg.orders.infrastructure.database.repositories.ArchivedOrderJpaRepository;
 import com.btg.orders.infrastructure.database.repositories.OrderJpaRepository;
+import com.btg.orders.infrastructure.database.routing.ReadRouting;
+import com.btg.orders.infrastructure.database.scan.EntityScanner;
+import com.btg.orders.infrastructure.database.views.OrderViewReader;
+import com.btg.orders.infrastructure.totalindex.OrderTotalIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -21,15 +45,35 @@ public class OrderDatabaseGateway implements OrderGateway {
     
     private final OrderJpaRepository repository;
     private final OrderMapper mapper;
+    private final ArchivedOrderJpaRepository archivedRepository;
+    private final ArchivedOrderMapper archivedMapper;
+    private final ReadRouting readRouting;
+    private final EntityScanner scanner;
+    private final OrderViewReader viewReader;
+    private final Optional<OrderTotalIndex> totalIndex;
+    private final Optional<OrderRollupGateway> rollups;
     
+    // Com o arquivo ativo, as leituras caem em order_archive.archived_orders para pedidos frios
+    @Value("${orders.archive.enabled:false}")
+    private boolean archiveEnabled;
+    
+    // Modo de escrita com itens inline em orders.items_json: um INSERT por pedido em vez de 1 + N
+    @Value("${orders.storage.inline-items:false}")
+    private boolean inlineItems;
+    
+    // Transacional para que os rollups só contem pedidos efetivamente commitados
     @Override
+    @Transactional
     public Order save(Order order) {
         log.info("Saving order: {}", order.getOrderCode());
         
-        OrderModel model = mapper.toModel(order);
+        OrderModel model = inlineItems ? mapper.toModelWithInlineItems(order) : mapper.toModel(order);
         OrderModel savedModel = repository.save(model);
+        totalIndex.ifPresent(index -> index.record(savedModel.getOrderCode(), savedModel.getTotal(), savedModel.getCreatedAt()));
         
-        return mapper.toDomain(savedModel);
+        Order saved = toDomain(savedModel);
+        rollups.ifPresent(rollup -> rollup.record(saved));
+        return saved;
     }
     
     @Override
@@ -37,53 +81,232 @@ public class OrderDatabaseGateway implements OrderGateway {
         log.info("Finding order by id: {}", id);
         
         return repository.findById(id)
-            .map(mapper::toDomain);
+            .map(this::toDomain);
     }
     
     @Override
     public Optional<Order> findByOrderCode(Long orderCode) {
         log.info("Finding order by order code: {}", orderCode);
         
-        return repository.findByOrderCode(orderCode)
-            .map(mapper::toDomain);
+        Optional<Order> order = repository.findByOrderCode(orderCode)
+            .map(this::toDomain);
+        if (order.isPresent() || !archiveEnabled) {
+            return order;
+        }
+        
+        return archivedRepository.findById(orderCode)
+            .map(archivedMapper::toDomain);
     }
     
     @Override
     public List<Order> findByClientId(Long clientId) {
         log.info("Finding orders by client id: {}", clientId);
         
-        return repository.findByClientId(clientId).stream()
-            .map(mapper::toDomain)
+        return readRouting.route(() -> loadByClientId(clientId));
+    }
+    
+    private List<Order> loadByClientId(Long clientId) {
+        List<Order> orders = repository.findByClientId(clientId).stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+        if (!archiveEnabled) {
+            return orders;
+        }
+        
+        List<Order> archived = archivedRepository.findByClientIdOrderByCreatedAt(clientId).stream()
+            .map(archivedMapper::toDomain)
             .collect(Collectors.toList());
+        if (archived.isEmpty()) {
+            return orders;
+        }
+        archived.addAll(orders);
+        return archived;
+    }
+    
+    @Override
+    public List<OrderView> findViewsByClientId(Long clientId) {
+        log.info("Finding order views by client id: {}", clientId);
+        
+        return readRouting.route(() -> viewReader.findByClientId(clientId, archiveEnabled));
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesByClientId(Long clientId) {
+        log.info("Finding order summaries by client id: {}", clientId);
+        
+        return readRouting.route(() -> loadSummariesByClientId(clientId));
+    }
+    
+    private List<OrderSummary> loadSummariesByClientId(Long clientId) {
+        List<OrderSummary> summaries = repository.findSummariesByClientId(clientId);
+        if (!archiveEnabled) {
+            return summaries;
+        }
+        
+        List<OrderSummary> archived = archivedRepository.findSummariesByClientId(clientId);
+        if (archived.isEmpty()) {
+            return summaries;
+        }
+        List<OrderSummary> merged = new ArrayList<>(archived.size() + summaries.size());
+        merged.addAll(archived);
+        merged.addAll(summaries);
+        merged.sort(Comparator.comparing(OrderSummary::getCreatedAt));
+        return merged;
     }
     
     @Override
     public Optional<BigDecimal> calculateOrderTotal(Long orderCode) {
         log.info("Calculating total for order: {}", orderCode);
         
-        return repository.findTotalByOrderCode(orderCode);
+        BigDecimal indexed = totalIndex.map(index -> index.findTotal(orderCode)).orElse(null);
+        if (indexed != null) {
+            return Optional.of(indexed);
+        }
+        
+        return readRouting.route(() -> loadOrderTotal(orderCode));
+    }
+    
+    private Optional<BigDecimal> loadOrderTotal(Long orderCode) {
+        Optional<BigDecimal> total = repository.findTotalByOrderCode(orderCode);
+        if (total.isPresent() || !archiveEnabled) {
+            return total;
+        }
+        
+        return archivedRepository.findTotalByOrderCode(orderCode);
+    }
+    
+    @Override
+    public Map<Long, BigDecimal> calculateOrderTotals(Collection<Long> orderCodes) {
+        log.info("Calculating totals for {} orders", orderCodes.size());
+        
+        if (orderCodes.isEmpty()) {
+            return Map.of();
+        }
+        
+        if (totalIndex.isEmpty()) {
+            return readRouting.route(() -> loadOrderTotals(orderCodes));
+        }
+        
+        Map<Long, BigDecimal> totals = new HashMap<>(orderCodes.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long orderCode : orderCodes) {
+            BigDecimal total = totalIndex.get().findTotal(orderCode);
+            if (total != null) {
+                totals.put(orderCode, total);
+            } else {
+                missing.add(orderCode);
+            }
+        }
+        if (!missing.isEmpty()) {
+            totals.putAll(readRouting.route(() -> loadOrderTotals(missing)));
+        }
+        return totals;
+    }
+    
+    private Map<Long, BigDecimal> loadOrderTotals(Collection<Long> orderCodes) {
+        List<OrderTotalProjection> rows = repository.findTotalsByOrderCodes(orderCodes.toArray(new Long[0]));
+        Map<Long, BigDecimal> totals = new HashMap<>(rows.size() * 2);
+        for (OrderTotalProjection row : rows) {
+            totals.put(row.getOrderCode(), row.getTotal());
+        }
+        
+        if (archiveEnabled && totals.size() < orderCodes.size()) {
+            Long[] missing = orderCodes.stream()
+                .filter(orderCode -> !totals.containsKey(orderCode))
+                .toArray(Long[]::new);
+            for (OrderTotalProjection row : archivedRepository.findTotalsByOrderCodes(missing)) {
+                totals.put(row.getOrderCode(), row.getTotal());
+            }
+        }
+        return totals;
     }
     
     @Override
     public Long countOrdersByClient(Long clientId) {
         log.info("Counting orders by client: {}", clientId);
         
-        return repository.countByClientId(clientId);
+        return readRouting.route(() -> loadOrderCount(clientId));
+    }
+    
+    private Long loadOrderCount(Long clientId) {
+        Long count = repository.countByClientId(clientId);
+        if (!archiveEnabled) {
+            return count;
+        }
+        
+        return count + archivedRepository.countByClientId(clientId);
     }
     
     @Override
+    public Map<Long, Long> countOrdersByClients(Collection<Long> clientIds) {
+        log.info("Counting orders for {} clients", clientIds.size());
+        
+        if (clientIds.isEmpty()) {
+            return Map.of();
+        }
+        
+        return readRouting.route(() -> loadOrderCounts(clientIds));
+    }
+    
+    private Map<Long, Long> loadOrderCounts(Collection<Long> clientIds) {
+        Long[] ids = clientIds.toArray(new Long[0]);
+        Map<Long, Long> counts = new HashMap<>(ids.length * 2);
+        for (ClientOrderCountProjection row : repository.countByClientIds(ids)) {
+            counts.put(row.getClientId(), row.getOrderCount());
+        }
+        if (archiveEnabled) {
+            for (ClientOrderCountProjection row : archivedRepository.countByClientIds(ids)) {
+                counts.merge(row.getClientId(), row.getOrderCount(), Long::sum);
+            }
+        }
+        return counts;
+    }
+    
+    @Override
+    public ClientOrdersVersion findClientOrdersVersion(Long clientId) {
+        log.info("Finding orders version for client: {}", clientId);
+        
+        return readRouting.route(() -> loadClientOrdersVersion(clientId));
+    }
+    
+    private ClientOrdersVersion loadClientOrdersVersion(Long clientId) {
+        ClientOrdersVersion version = repository.findVersionByClientId(clientId);
+        if (!archiveEnabled) {
+            return version;
+        }
+        
+        ClientOrdersVersion archived = archivedRepository.findVersionByClientId(clientId);
+        LocalDateTime lastOrderAt = version.getLastOrderAt();
+        if (lastOrderAt == null || (archived.getLastOrderAt() != null && archived.getLastOrderAt().isAfter(lastOrderAt))) {
+            lastOrderAt = archived.getLastOrderAt();
+        }
+        return new ClientOrdersVersion(version.getOrderCount() + archived.getOrderCount(), lastOrderAt);
+    }
+    
+    @Override
+    @Deprecated
     public List<Order> findAll() {
         log.info("Finding all orders");
         
         return repository.findAll().stream()
-            .map(mapper::toDomain)
+            .map(this::toDomain)
             .collect(Collectors.toList());
     }
     
+    @Override
+    public long forEachOrder(ScanOptions options, Consumer<Order> action) {
+        log.info("Scanning all orders (fetch size {}, parallelism {})", options.getFetchSize(), options.getParallelism());
+        
+        // Itens e cliente do chunk inteiro numa consulta, em vez de duas por pedido
+        return scanner.scan(OrderModel.class, options, repository::fetchItemsAndClient, this::toDomain, action);
+    }
+    
     @Override
     public void deleteById(Long id) {
         log.info("Deleting order by id: {}", id);
         
+        totalIndex.ifPresent(index -> repository.findById(id)
+            .ifPresent(model -> index.remove(model.getOrderCode())));
         repository.deleteById(id);
     }
     
@@ -93,4 +316,19 @@ public class OrderDatabaseGateway implements OrderGateway {
         
         return repository.existsByOrderCode(orderCode);
     }
+    
+    @Override
+    public Set<Long> findExistingOrderCodes(Collection<Long> orderCodes) {
+        log.info("Checking which of {} orders exist", orderCodes.size());
+        
+        if (orderCodes.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(repository.findExistingOrderCodes(orderCodes.toArray(new Long[0])));
+    }
+    
+    // Pedidos gravados no modo inline trazem os itens na própria linha; os demais usam order_items
+    private Order toDomain(OrderModel model) {
+        return model.getInlineItems() != null ? mapper.toDomainWithInlineItems(model) : mapper.toDomain(model);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.btg.orders.infrastructure.database.mappers;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.infrastructure.database.models.ArchivedOrderModel;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", uses = OrderItemMapper.class)
+public interface ArchivedOrderMapper {
+    @Mapping(target = "client", ignore = true)
+    Order toDomain(ArchivedOrderModel model);
+}
\ No newline at end of file
@@ -1,18 +1,37 @@
 package com.btg.orders.infrastructure.database.mappers;
 
 import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.infrastructure.database.models.OrderItemDocument;
 import com.btg.orders.infrastructure.database.models.OrderItemModel;
+import com.btg.orders.infrastructure.database.products.ProductDictionary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
-@Mapper(componentModel = "spring")
+import java.util.List;
+
+// product <-> product_id pelo dicionário; os itens lidos compartilham a String de cada produto
+@Mapper(componentModel = "spring", uses = ProductDictionary.class)
 public interface OrderItemMapper {
+    @Mapping(target = "product", source = "productId", qualifiedByName = "productName")
     OrderItem toDomain(OrderItemModel model);
     
     @Mapping(target = "order", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "productId", source = "product", qualifiedByName = "productId")
     OrderItemModel toModel(OrderItem domain);
     
     @Mapping(target = "order", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "productId", source = "product", qualifiedByName = "productId")
     void updateModel(OrderItem domain, @MappingTarget OrderItemModel model);
+    
+    @Mapping(target = "product", source = "product", qualifiedByName = "canonicalProduct")
+    OrderItem toDomain(OrderItemDocument document);
+    
+    List<OrderItem> documentsToDomain(List<OrderItemDocument> documents);
+    
+    OrderItemDocument toDocument(OrderItem domain);
+    
+    List<OrderItemDocument> toDocuments(List<OrderItem> items);
 } 
\ No newline at end of file
@@ -6,15 +6,32 @@ import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring", uses = {OrderItemMapper.class, ClientMapper.class})
 public interface OrderMapper {
     Order toDomain(OrderModel model);
     
+    // Modo inline: os itens vêm de inlineItems, sem tocar a coleção lazy de order_items
+    @Named("inlineItems")
+    @Mapping(target = "items", source = "inlineItems")
+    Order toDomainWithInlineItems(OrderModel model);
+    
     @Mapping(target = "client", ignore = true)
+    @Mapping(target = "inlineItems", ignore = true)
+    @Mapping(target = "itemCount", ignore = true)
     OrderModel toModel(Order domain);
     
+    @Named("inlineItems")
+    @Mapping(target = "client", ignore = true)
+    @Mapping(target = "items", ignore = true)
+    @Mapping(target = "inlineItems", source = "items")
+    @Mapping(target = "itemCount", ignore = true)
+    OrderModel toModelWithInlineItems(Order domain);
+    
     @Mapping(target = "client", ignore = true)
+    @Mapping(target = "inlineItems", ignore = true)
+    @Mapping(target = "itemCount", ignore = true)
     void updateModel(Order domain, @MappingTarget OrderModel model);
     
     @AfterMapping
@@ -0,0 +1,50 @@
+package com.btg.orders.infrastructure.database.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Immutable
+@Table(name = "archived_orders", schema = "order_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrderModel {
+    
+    @Id
+    @Column(name = "order_code")
+    private Long orderCode;
+    
+    @Column(name = "id", nullable = false)
+    private Long id;
+    
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+    
+    @Column(name = "total", nullable = false, precision = 10, scale = 2)
+    private BigDecimal total;
+    
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+    
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "items", nullable = false, columnDefinition = "jsonb")
+    private List<OrderItemDocument> items;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
\ No newline at end of file
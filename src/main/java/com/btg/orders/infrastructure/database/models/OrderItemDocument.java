@@ -0,0 +1,21 @@
+package com.btg.orders.infrastructure.database.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Item serializado em JSONB (orders.items_json e archived_orders.items)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemDocument {
+    private Long id;
+    private String product;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal total;
+}
\ No newline at end of file
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "order_items")
@@ -26,8 +27,9 @@ public class OrderItemModel {
     @JoinColumn(name = "order_id", nullable = false)
     private OrderModel order;
     
-    @Column(name = "product", nullable = false, length = 255)
-    private String product;
+    // Nome do produto resolvido pelo ProductDictionary
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
     
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
@@ -38,7 +40,18 @@ public class OrderItemModel {
     @Column(name = "total", nullable = false, precision = 10, scale = 2)
     private BigDecimal total;
     
+    // Chave de partição: replica o created_at do pedido
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
     @PrePersist
+    protected void onCreate() {
+        if (createdAt == null && order != null) {
+            createdAt = order.getCreatedAt();
+        }
+        calculateTotal();
+    }
+    
     @PreUpdate
     protected void calculateTotal() {
         if (quantity != null && price != null) {
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -39,6 +41,14 @@ public class OrderModel {
     @Builder.Default
     private List<OrderItemModel> items = new ArrayList<>();
     
+    // Preenchido apenas no modo orders.storage.inline-items; nesse modo items fica vazio
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "items_json", columnDefinition = "jsonb")
+    private List<OrderItemDocument> inlineItems;
+    
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+    
     @Column(name = "total", nullable = false, precision = 10, scale = 2)
     private BigDecimal total;
     
@@ -57,6 +67,20 @@ public class OrderModel {
     }
     
     private void calculateTotal() {
+        if (inlineItems != null) {
+            inlineItems.forEach(item -> {
+                if (item.getQuantity() != null && item.getPrice() != null) {
+                    item.setTotal(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+                }
+            });
+            this.itemCount = inlineItems.size();
+            this.total = inlineItems.stream()
+                .map(OrderItemDocument::getTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            return;
+        }
+        
+        this.itemCount = items == null ? 0 : items.size();
         if (items != null && !items.isEmpty()) {
             this.total = items.stream()
                 .map(OrderItemModel::getTotal)
@@ -0,0 +1,64 @@
+package com.btg.orders.infrastructure.database.partitioning;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionMaintenance {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${orders.partitioning.months-ahead:3}")
+    private int monthsAhead;
+    
+    // 0 desativa a desanexação de partições antigas
+    @Value("${orders.partitioning.retention-months:0}")
+    private int retentionMonths;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+    
+    @Scheduled(cron = "${orders.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            createFuturePartitions();
+            detachExpiredPartitions();
+        } catch (Exception e) {
+            log.error("Error maintaining order partitions: {}", e.getMessage(), e);
+        }
+    }
+    
+    public int createFuturePartitions() {
+        LocalDate today = LocalDate.now();
+        Integer created = jdbcTemplate.queryForObject(
+            "SELECT create_order_partitions(?, ?)", Integer.class, today, today.plusMonths(monthsAhead));
+        
+        log.info("Order partitions ensured up to {} months ahead: {} created", monthsAhead, created);
+        return created == null ? 0 : created;
+    }
+    
+    public int detachExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return 0;
+        }
+        
+        LocalDate olderThan = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        Integer detached = jdbcTemplate.queryForObject(
+            "SELECT detach_order_partitions(?)", Integer.class, olderThan);
+        
+        log.info("Order partitions older than {} detached to order_archive: {}", olderThan, detached);
+        return detached == null ? 0 : detached;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.btg.orders.infrastructure.database.products;
+
+import com.btg.orders.domain.gateways.ProductDictionaryGateway;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.Named;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Dicionário nome <-> id da tabela products: order_items guarda só o product_id (4 bytes) e
+// todos os itens em memória apontam para a mesma String por produto. Leituras são lock-free;
+// produtos novos são gravados numa transação própria, para que o id já entregue continue
+// válido mesmo se a transação do pedido for desfeita. A ida ao banco acontece fora do lock:
+// só uma thread grava cada nome (inFlight) e as outras esperam por ela, não pelas demais.
+//
+// Dentro da transação do pedido, essa transação própria pede uma segunda conexão ao pool.
+// Por isso os consumidores chamam preregister() antes de abrir a transação, e o pool do
+// primário precisa de mais conexões que o máximo de listeners do RabbitMQ (checado na subida):
+// com todos os listeners segurando uma conexão, sobra ao menos uma para o registro terminar.
+@Component
+@Slf4j
+public class ProductDictionary implements ProductDictionaryGateway {
+    
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final String REGISTER_SQL =
+        "INSERT INTO products (name) VALUES (?) ON CONFLICT (name) DO UPDATE SET name = EXCLUDED.name RETURNING id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Integer>> inFlight = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[1024];
+    
+    public ProductDictionary(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                             @Value("${spring.rabbitmq.listener.simple.max-concurrency:${spring.rabbitmq.listener.simple.concurrency:1}}") int listenerConcurrency) {
+        if (poolSize <= listenerConcurrency) {
+            throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size (" + poolSize
+                + ") must be greater than spring.rabbitmq.listener.simple.max-concurrency (" + listenerConcurrency
+                + "): registering a new product inside an order transaction needs a second connection");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        Gauge.builder("orders.products.cached", ids, ConcurrentHashMap::size)
+            .description("Produtos no dicionário em memória")
+            .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            jdbcTemplate.query("SELECT id, name FROM products", (RowCallbackHandler) rs -> put(rs.getInt(1), rs.getString(2)));
+            log.info("Product dictionary loaded with {} products", ids.size());
+        } catch (Exception e) {
+            log.error("Error loading product dictionary: {}", e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    @Named("internProduct")
+    public String intern(String product) {
+        return product == null ? null : nameOf(idOf(product));
+    }
+    
+    // Sem acesso ao banco: devolve a instância compartilhada se o produto já é conhecido
+    @Named("canonicalProduct")
+    public String canonical(String product) {
+        if (product == null) {
+            return null;
+        }
+        Integer id = ids.get(product);
+        return id == null ? product : nameOf(id);
+    }
+    
+    @Named("productId")
+    public Integer idOf(String product) {
+        if (product == null) {
+            return null;
+        }
+        Integer id = ids.get(product);
+        return id != null ? id : register(product);
+    }
+    
+    @Named("productName")
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String[] snapshot = names;
+        String name = id < snapshot.length ? snapshot[id] : null;
+        return name != null ? name : load(id);
+    }
+    
+    // Registra os produtos novos sem transação aberta (uma conexão só). Nomes que a validação vai
+    // rejeitar ficam de fora; uma falha aqui não é fatal, o registro volta a ser tentado no pedido
+    public void preregister(Collection<String> products) {
+        try {
+            for (String product : products) {
+                if (product != null && !product.isBlank() && product.length() <= MAX_NAME_LENGTH && !ids.containsKey(product)) {
+                    register(product);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not register products ahead of the order transaction: {}", e.getMessage());
+        }
+    }
+    
+    public int size() {
+        return ids.size();
+    }
+    
+    private int register(String product) {
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        CompletableFuture<Integer> registering = inFlight.putIfAbsent(product, pending);
+        if (registering != null) {
+            return await(registering);
+        }
+        
+        try {
+            // Outra thread pode ter terminado o registro entre o ids.get e o putIfAbsent
+            Integer id = ids.get(product);
+            if (id == null) {
+                id = newTransaction.execute(status -> jdbcTemplate.queryForObject(REGISTER_SQL, Integer.class, product));
+                put(id, product);
+            }
+            pending.complete(id);
+            return id;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(product, pending);
+        }
+    }
+    
+    // Id desconhecido (produto criado por outra réplica): consulta concorrente é inofensiva, put() decide
+    private String load(int id) {
+        List<String> found = jdbcTemplate.queryForList("SELECT name FROM products WHERE id = ?", String.class, id);
+        if (found.isEmpty()) {
+            throw new IllegalStateException("Unknown product id: " + id);
+        }
+        put(id, found.get(0));
+        return names[id];
+    }
+    
+    private static int await(CompletableFuture<Integer> registering) {
+        try {
+            return registering.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    // A String guardada é a instância canônica; o array é republicado a cada escrita (volatile)
+    private synchronized void put(int id, String name) {
+        String[] current = names;
+        if (id < current.length && current[id] != null) {
+            return;
+        }
+        
+        String[] updated = id < current.length ? current : Arrays.copyOf(current, Math.max(id + 1, current.length * 2));
+        updated[id] = name;
+        ids.putIfAbsent(name, id);
+        names = updated;
+    }
+}
\ No newline at end of file
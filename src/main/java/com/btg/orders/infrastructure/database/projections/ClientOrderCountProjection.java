@@ -0,0 +1,6 @@
+package com.btg.orders.infrastructure.database.projections;
+
+public interface ClientOrderCountProjection {
+    Long getClientId();
+    Long getOrderCount();
+}
\ No newline at end of file
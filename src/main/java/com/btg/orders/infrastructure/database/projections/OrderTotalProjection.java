@@ -0,0 +1,8 @@
+package com.btg.orders.infrastructure.database.projections;
+
+import java.math.BigDecimal;
+
+public interface OrderTotalProjection {
+    Long getOrderCode();
+    BigDecimal getTotal();
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.btg.orders.infrastructure.database.repositories;
+
+import com.btg.orders.domain.entities.ClientOrdersVersion;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.infrastructure.database.models.ArchivedOrderModel;
+import com.btg.orders.infrastructure.database.projections.ClientOrderCountProjection;
+import com.btg.orders.infrastructure.database.projections.OrderTotalProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderJpaRepository extends JpaRepository<ArchivedOrderModel, Long> {
+    
+    List<ArchivedOrderModel> findByClientIdOrderByCreatedAt(Long clientId);
+    
+    @Query("SELECT new com.btg.orders.domain.entities.OrderSummary(a.orderCode, a.total, CAST(a.itemCount AS Long), a.createdAt) " +
+           "FROM ArchivedOrderModel a WHERE a.clientId = :clientId ORDER BY a.createdAt")
+    List<OrderSummary> findSummariesByClientId(@Param("clientId") Long clientId);
+    
+    @Query("SELECT a.total FROM ArchivedOrderModel a WHERE a.orderCode = :orderCode")
+    Optional<BigDecimal> findTotalByOrderCode(@Param("orderCode") Long orderCode);
+    
+    @Query(value = "SELECT a.order_code AS orderCode, a.total AS total FROM order_archive.archived_orders a " +
+                   "WHERE a.order_code = ANY(CAST(:orderCodes AS bigint[]))",
+           nativeQuery = true)
+    List<OrderTotalProjection> findTotalsByOrderCodes(@Param("orderCodes") Long[] orderCodes);
+    
+    @Query("SELECT COUNT(a) FROM ArchivedOrderModel a WHERE a.clientId = :clientId")
+    Long countByClientId(@Param("clientId") Long clientId);
+    
+    @Query(value = "SELECT a.client_id AS clientId, COUNT(*) AS orderCount FROM order_archive.archived_orders a " +
+                   "WHERE a.client_id = ANY(CAST(:clientIds AS bigint[])) GROUP BY a.client_id",
+           nativeQuery = true)
+    List<ClientOrderCountProjection> countByClientIds(@Param("clientIds") Long[] clientIds);
+    
+    @Query("SELECT new com.btg.orders.domain.entities.ClientOrdersVersion(COUNT(a), MAX(a.createdAt)) " +
+           "FROM ArchivedOrderModel a WHERE a.clientId = :clientId")
+    ClientOrdersVersion findVersionByClientId(@Param("clientId") Long clientId);
+}
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.btg.orders.infrastructure.database.repositories;
 
+import com.btg.orders.domain.entities.ClientOrdersVersion;
+import com.btg.orders.domain.entities.OrderSummary;
 import com.btg.orders.infrastructure.database.models.OrderModel;
+import com.btg.orders.infrastructure.database.projections.ClientOrderCountProjection;
+import com.btg.orders.infrastructure.database.projections.OrderTotalProjection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,15 +18,46 @@ import java.util.Optional;
 @Repository
 public interface OrderJpaRepository extends JpaRepository<OrderModel, Long> {
     
-    Optional<OrderModel> findByOrderCode(Long orderCode);
+    // order_codes é a busca global por código sobre as partições mensais de orders
+    @Query(value = "SELECT o.* FROM order_codes c " +
+                   "JOIN orders o ON o.id = c.order_id AND o.created_at = c.created_at " +
+                   "WHERE c.order_code = :orderCode",
+           nativeQuery = true)
+    Optional<OrderModel> findByOrderCode(@Param("orderCode") Long orderCode);
     
+    // Itens e cliente vêm na mesma consulta: sem open-in-view o mapeamento roda fora da sessão
+    @EntityGraph(attributePaths = {"items", "client"})
     List<OrderModel> findByClientId(Long clientId);
     
-    @Query("SELECT o.total FROM OrderModel o WHERE o.orderCode = :orderCode")
+    @Query("SELECT new com.btg.orders.domain.entities.OrderSummary(o.orderCode, o.total, CAST(o.itemCount AS Long), o.createdAt) " +
+           "FROM OrderModel o WHERE o.clientId = :clientId ORDER BY o.createdAt")
+    List<OrderSummary> findSummariesByClientId(@Param("clientId") Long clientId);
+    
+    @Query(value = "SELECT c.total FROM order_codes c WHERE c.order_code = :orderCode", nativeQuery = true)
     Optional<BigDecimal> findTotalByOrderCode(@Param("orderCode") Long orderCode);
     
+    @Query(value = "SELECT c.order_code AS orderCode, c.total AS total FROM order_codes c WHERE c.order_code = ANY(CAST(:orderCodes AS bigint[]))",
+           nativeQuery = true)
+    List<OrderTotalProjection> findTotalsByOrderCodes(@Param("orderCodes") Long[] orderCodes);
+    
     @Query("SELECT COUNT(o) FROM OrderModel o WHERE o.clientId = :clientId")
     Long countByClientId(@Param("clientId") Long clientId);
     
-    boolean existsByOrderCode(Long orderCode);
+    @Query(value = "SELECT o.client_id AS clientId, COUNT(*) AS orderCount FROM orders o " +
+                   "WHERE o.client_id = ANY(CAST(:clientIds AS bigint[])) GROUP BY o.client_id",
+           nativeQuery = true)
+    List<ClientOrderCountProjection> countByClientIds(@Param("clientIds") Long[] clientIds);
+    
+    @Query("SELECT new com.btg.orders.domain.entities.ClientOrdersVersion(COUNT(o), MAX(o.createdAt)) " +
+           "FROM OrderModel o WHERE o.clientId = :clientId")
+    ClientOrdersVersion findVersionByClientId(@Param("clientId") Long clientId);
+    
+    @Query("SELECT DISTINCT o FROM OrderModel o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.client WHERE o IN :orders")
+    List<OrderModel> fetchItemsAndClient(@Param("orders") List<OrderModel> orders);
+    
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM order_codes c WHERE c.order_code = :orderCode)", nativeQuery = true)
+    boolean existsByOrderCode(@Param("orderCode") Long orderCode);
+    
+    @Query(value = "SELECT c.order_code FROM order_codes c WHERE c.order_code = ANY(CAST(:orderCodes AS bigint[]))", nativeQuery = true)
+    List<Long> findExistingOrderCodes(@Param("orderCodes") Long[] orderCodes);
 } 
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.btg.orders.infrastructure.database.rollup;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderRollup;
+import com.btg.orders.domain.entities.RollupGranularity;
+import com.btg.orders.domain.gateways.OrderRollupGateway;
+import com.btg.orders.infrastructure.replay.interfaces.OrderProjectionInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Upsert incremental nas tabelas order_rollups_{minute,hour,day}: uma linha por cliente e bucket,
+// mais o total geral espalhado em global-stripes linhas por bucket (client_id negativo, faixa
+// escolhida pelo client_id) para que pedidos concorrentes não esperem todos pela mesma linha.
+// Roda na transação de quem grava o pedido, então o agregado só muda se o pedido for commitado.
+// A consulta sem cliente soma as faixas: no máximo global-stripes linhas por bucket. Também é uma
+// projeção do replay, reconstruída inteira no reset.
+@Component
+@ConditionalOnProperty(name = "orders.rollups.enabled", havingValue = "true")
+@Slf4j
+public class JdbcOrderRollupGateway implements OrderRollupGateway, OrderProjectionInterface {
+    
+    private static final int RESET_RANGE_CLIENTS = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int globalStripes;
+    
+    public JdbcOrderRollupGateway(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${orders.rollups.global-stripes:16}") int globalStripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.globalStripes = Math.max(1, globalStripes);
+    }
+    
+    @Override
+    public void record(Order order) {
+        apply(order, 1);
+    }
+    
+    @Override
+    public void reverse(Order order) {
+        apply(order, -1);
+    }
+    
+    @Override
+    public List<OrderRollup> findRange(RollupGranularity granularity, Long clientId, LocalDateTime from, LocalDateTime to) {
+        RowMapper<OrderRollup> mapper = (rs, rowNum) -> OrderRollup.builder()
+            .bucketStart(rs.getTimestamp("bucket_start").toLocalDateTime())
+            .orders(rs.getLong("order_count"))
+            .items(rs.getLong("item_count"))
+            .revenue(rs.getBigDecimal("revenue"))
+            .build();
+        
+        if (clientId != null) {
+            return jdbcTemplate.query(
+                "SELECT bucket_start, order_count, item_count, revenue FROM " + table(granularity) +
+                    " WHERE client_id = ? AND bucket_start >= ? AND bucket_start < ? AND order_count > 0 ORDER BY bucket_start",
+                mapper, clientId, from, to);
+        }
+        // Soma qualquer faixa existente, então mudar global-stripes não perde o que já foi gravado
+        return jdbcTemplate.query(
+            "SELECT bucket_start, SUM(order_count) AS order_count, SUM(item_count) AS item_count, SUM(revenue) AS revenue" +
+                " FROM " + table(granularity) +
+                " WHERE client_id < 0 AND bucket_start >= ? AND bucket_start < ?" +
+                " GROUP BY bucket_start HAVING SUM(order_count) > 0 ORDER BY bucket_start",
+            mapper, from, to);
+    }
+    
+    @Override
+    public String getName() {
+        return "rollups";
+    }
+    
+    @Override
+    public boolean rebuildsOnReset() {
+        return true;
+    }
+    
+    // Recalcula as três tabelas a partir de orders e do arquivo, uma faixa de RESET_RANGE_CLIENTS
+    // clientes por transação. O lock de cada faixa bloqueia os upserts concorrentes só enquanto ela é
+    // recalculada (index-only scan por client_id): quem gravou antes já está no snapshot, quem grava
+    // depois soma em cima do resultado, sem contar duas vezes. As faixas do total geral recebem a
+    // diferença entre as linhas novas e as antigas dos clientes da faixa.
+    @Override
+    public void reset() {
+        log.info("Rebuilding order rollups from orders in ranges of {} clients", RESET_RANGE_CLIENTS);
+        int ranges = 0;
+        Long from = nextResetBound(Long.MIN_VALUE, 0);
+        while (from != null) {
+            Long to = nextResetBound(from, RESET_RANGE_CLIENTS);
+            rebuildRange(from, to == null ? Long.MAX_VALUE : to);
+            ranges++;
+            from = to;
+        }
+        log.info("Order rollups rebuilt in {} client ranges", ranges);
+    }
+    
+    private void rebuildRange(long fromClientId, long toClientId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE order_rollups_minute, order_rollups_hour, order_rollups_day IN EXCLUSIVE MODE");
+            jdbcTemplate.execute("CREATE TEMPORARY TABLE rollup_rebuild (LIKE order_rollups_minute) ON COMMIT DROP");
+            jdbcTemplate.update(
+                "INSERT INTO rollup_rebuild (client_id, bucket_start, order_count, item_count, revenue)" +
+                    " SELECT client_id, date_trunc('minute', created_at), COUNT(*), SUM(item_count), SUM(total) FROM (" +
+                    " SELECT client_id, created_at, item_count, total FROM orders WHERE client_id >= ? AND client_id < ?" +
+                    " UNION ALL" +
+                    " SELECT client_id, created_at, item_count, total FROM order_archive.archived_orders WHERE client_id >= ? AND client_id < ?" +
+                    " ) source GROUP BY 1, 2",
+                fromClientId, toClientId, fromClientId, toClientId);
+            
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                String table = table(granularity);
+                String bucket = "date_trunc('" + granularity.name().toLowerCase() + "', bucket_start)";
+                jdbcTemplate.update(
+                    "INSERT INTO " + table + " AS r (client_id, bucket_start, order_count, item_count, revenue)" +
+                        " SELECT -(1 + mod(client_id, ?)), " + bucket + ", SUM(order_count), SUM(item_count), SUM(revenue) FROM (" +
+                        " SELECT client_id, bucket_start, order_count, item_count, revenue FROM rollup_rebuild" +
+                        " UNION ALL" +
+                        " SELECT client_id, bucket_start, -order_count, -item_count, -revenue FROM " + table +
+                        " WHERE client_id >= ? AND client_id < ?" +
+                        " ) delta GROUP BY 1, 2" +
+                        " HAVING SUM(order_count) <> 0 OR SUM(item_count) <> 0 OR SUM(revenue) <> 0" +
+                        " ON CONFLICT (client_id, bucket_start) DO UPDATE SET" +
+                        " order_count = r.order_count + EXCLUDED.order_count," +
+                        " item_count = r.item_count + EXCLUDED.item_count," +
+                        " revenue = r.revenue + EXCLUDED.revenue",
+                    globalStripes, fromClientId, toClientId);
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE client_id >= ? AND client_id < ?", fromClientId, toClientId);
+                jdbcTemplate.update(
+                    "INSERT INTO " + table + " (client_id, bucket_start, order_count, item_count, revenue)" +
+                        " SELECT client_id, " + bucket + ", SUM(order_count), SUM(item_count), SUM(revenue)" +
+                        " FROM rollup_rebuild GROUP BY 1, 2");
+            }
+        });
+    }
+    
+    // client_id existente (pedidos, arquivo ou rollups) offset clientes depois de from, ou null
+    private Long nextResetBound(long from, int offset) {
+        List<Long> found = jdbcTemplate.queryForList(
+            "SELECT DISTINCT client_id FROM (" +
+                " SELECT client_id FROM orders WHERE client_id >= ?" +
+                " UNION ALL SELECT client_id FROM order_archive.archived_orders WHERE client_id >= ?" +
+                " UNION ALL SELECT client_id FROM order_rollups_day WHERE client_id >= GREATEST(?, 0)" +
+                " ) c ORDER BY client_id OFFSET ? LIMIT 1",
+            Long.class, from, from, from, offset);
+        return found.isEmpty() ? null : found.get(0);
+    }
+    
+    // O reset já reconstrói tudo; somar os pedidos de novo contaria cada um duas vezes
+    @Override
+    public void apply(Order order) {
+    }
+    
+    private void apply(Order order, int sign) {
+        if (order.getCreatedAt() == null) {
+            return;
+        }
+        
+        long orders = sign;
+        long items = (long) sign * (order.getItems() == null ? 0 : order.getItems().size());
+        BigDecimal revenue = order.getTotal() == null ? BigDecimal.ZERO : order.getTotal();
+        if (sign < 0) {
+            revenue = revenue.negate();
+        }
+        
+        // Sempre minuto -> hora -> dia, cliente antes da faixa: ordem fixa de locks entre transações.
+        // A faixa sai do client_id, então o estorno cai na mesma faixa do registro
+        long stripe = globalStripe(order.getClientId());
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucket = granularity.truncate(order.getCreatedAt());
+            jdbcTemplate.update(
+                "INSERT INTO " + table(granularity) + " AS r (client_id, bucket_start, order_count, item_count, revenue)" +
+                    " VALUES (?, ?, ?, ?, ?), (?, ?, ?, ?, ?)" +
+                    " ON CONFLICT (client_id, bucket_start) DO UPDATE SET" +
+                    " order_count = r.order_count + EXCLUDED.order_count," +
+                    " item_count = r.item_count + EXCLUDED.item_count," +
+                    " revenue = r.revenue + EXCLUDED.revenue",
+                order.getClientId(), bucket, orders, items, revenue,
+                stripe, bucket, orders, items, revenue);
+        }
+    }
+    
+    // client_id da faixa do total geral: -1 .. -global-stripes, igual ao mod(client_id, ...) do reset
+    long globalStripe(Long clientId) {
+        return -(1 + Math.floorMod(clientId == null ? 0L : clientId, (long) globalStripes));
+    }
+    
+    private static String table(RollupGranularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> "order_rollups_minute";
+            case HOUR -> "order_rollups_hour";
+            case DAY -> "order_rollups_day";
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.btg.orders.infrastructure.database.routing;
+
+public enum DataSourceTarget {
+    PRIMARY,
+    REPLICA
+}
\ No newline at end of file
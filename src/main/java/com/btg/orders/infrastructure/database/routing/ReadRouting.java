@@ -0,0 +1,41 @@
+package com.btg.orders.infrastructure.database.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Decide se uma leitura pode ir para a réplica: só enquanto ela já aplicou todo o WAL que o
+// primário tinha há no máximo orders.datasource.replica.max-lag. A janela vale para escritas
+// de qualquer instância ou do aplicador do journal; leituras que não toleram esse atraso
+// devem ir direto ao primário.
+@Component
+public class ReadRouting {
+    
+    private final Optional<ReplicaLagMonitor> lagMonitor;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    
+    public ReadRouting(Optional<ReplicaLagMonitor> lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryReads = meterRegistry.counter("orders.datasource.reads", "target", "primary");
+        this.replicaReads = meterRegistry.counter("orders.datasource.reads", "target", "replica");
+    }
+    
+    public <T> T route(Supplier<T> query) {
+        if (lagMonitor.isEmpty() || !lagMonitor.get().isUsable()) {
+            primaryReads.increment();
+            return query.get();
+        }
+        
+        replicaReads.increment();
+        RoutingDataSource.use(DataSourceTarget.REPLICA);
+        try {
+            return query.get();
+        } finally {
+            RoutingDataSource.clear();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.btg.orders.infrastructure.database.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Acompanha o quanto a réplica está atrás do primário comparando LSNs: cada ciclo amostra
+// pg_current_wal_lsn() no primário e a amostra é considerada aplicada quando
+// pg_last_wal_replay_lsn() da réplica a alcança. freshAsOf() é o instante (System.nanoTime)
+// até o qual todo commit do primário já está visível na réplica. Vale para qualquer escritor
+// (outras instâncias, o aplicador do journal), pois só depende do WAL.
+@Component
+@ConditionalOnProperty(name = "orders.datasource.replica.enabled", havingValue = "true")
+@Slf4j
+public class ReplicaLagMonitor {
+    
+    private static final int MAX_PENDING_SAMPLES = 1000;
+    
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Deque<Sample> pendingSamples = new ArrayDeque<>();
+    
+    private volatile long freshAsOf = Long.MIN_VALUE;
+    
+    public ReplicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                             @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                             @Value("${orders.datasource.replica.max-lag:2s}") Duration maxLag,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        
+        Gauge.builder("orders.datasource.replica.lag", this, monitor -> monitor.lag().toMillis() / 1000.0)
+            .description("Atraso da réplica em relação ao primário")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${orders.datasource.replica.check-interval:1000}")
+    public synchronized void check() {
+        long sampledAt = System.nanoTime();
+        try {
+            String primaryLsn = primary.queryForObject("SELECT CAST(pg_current_wal_lsn() AS text)", String.class);
+            String replayLsn = replica.queryForObject(
+                "SELECT CAST(pg_last_wal_replay_lsn() AS text) WHERE pg_is_in_recovery() " +
+                "UNION ALL SELECT NULL WHERE NOT pg_is_in_recovery()", String.class);
+            
+            // Instância fora de recuperação (ex.: segundo PostgreSQL local sem streaming) é tratada como em dia
+            record(sampledAt, parseLsn(primaryLsn), replayLsn == null ? Long.MAX_VALUE : parseLsn(replayLsn));
+        } catch (Exception e) {
+            log.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            pendingSamples.clear();
+            freshAsOf = Long.MIN_VALUE;
+        }
+    }
+    
+    synchronized void record(long sampledAt, long primaryLsn, long replayedLsn) {
+        if (pendingSamples.size() < MAX_PENDING_SAMPLES) {
+            pendingSamples.addLast(new Sample(sampledAt, primaryLsn));
+        }
+        while (!pendingSamples.isEmpty() && pendingSamples.peekFirst().lsn() <= replayedLsn) {
+            freshAsOf = pendingSamples.pollFirst().sampledAt();
+        }
+    }
+    
+    // Avaliado na hora da leitura: entre dois ciclos o atraso cresce mesmo sem nova amostra
+    public boolean isUsable() {
+        return lagNanos(System.nanoTime()) <= maxLag.toNanos();
+    }
+    
+    public Duration lag() {
+        return Duration.ofNanos(lagNanos(System.nanoTime()));
+    }
+    
+    long lagNanos(long now) {
+        long freshAsOf = this.freshAsOf;
+        return freshAsOf == Long.MIN_VALUE ? Long.MAX_VALUE : Math.max(0, now - freshAsOf);
+    }
+    
+    // Formato textual do pg_lsn: dois hexadecimais de 32 bits separados por '/'
+    static long parseLsn(String lsn) {
+        int separator = lsn.indexOf('/');
+        long high = Long.parseLong(lsn.substring(0, separator), 16);
+        long low = Long.parseLong(lsn.substring(separator + 1), 16);
+        return (high << 32) | low;
+    }
+    
+    private record Sample(long sampledAt, long lsn) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.btg.orders.infrastructure.database.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Escolhe o pool no momento em que a conexão é obtida; sem alvo definido usa o primário
+public class RoutingDataSource extends AbstractRoutingDataSource {
+    
+    private static final ThreadLocal<DataSourceTarget> CURRENT_TARGET = new ThreadLocal<>();
+    
+    public static void use(DataSourceTarget target) {
+        CURRENT_TARGET.set(target);
+    }
+    
+    public static void clear() {
+        CURRENT_TARGET.remove();
+    }
+    
+    public static DataSourceTarget currentTarget() {
+        DataSourceTarget target = CURRENT_TARGET.get();
+        return target == null ? DataSourceTarget.PRIMARY : target;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.btg.orders.infrastructure.database.scan;
+
+import com.btg.orders.domain.entities.ScanOptions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Varredura de uma tabela inteira em memória constante: cursor com fetch size em transação
+// read-only, entidades processadas em chunks (initializer carrega as associações do chunk
+// numa consulta só) e contexto de persistência limpo a cada chunk. Com parallelism > 1 a
+// faixa de IDs é dividida e cada parte roda em sua própria transação/conexão.
+@Component
+public class EntityScanner {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    
+    public EntityScanner(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    public <M, T> long scan(Class<M> entity,
+                            ScanOptions options,
+                            Consumer<List<M>> initializer,
+                            Function<M, T> mapper,
+                            Consumer<? super T> action) {
+        long[] bounds = idBounds(entity, options);
+        if (bounds == null) {
+            return 0;
+        }
+        
+        LongAdder scanned = new LongAdder();
+        int parallelism = Math.max(1, options.getParallelism());
+        if (parallelism == 1) {
+            scanRange(entity, bounds[0], bounds[1] + 1, options, initializer, mapper, action, scanned);
+            return scanned.sum();
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory(entity));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long[] range : splitRanges(bounds[0], bounds[1], parallelism * 4)) {
+                futures.add(executor.submit(() ->
+                    scanRange(entity, range[0], range[1], options, initializer, mapper, action, scanned)));
+            }
+            awaitAll(futures);
+        } finally {
+            executor.shutdownNow();
+        }
+        return scanned.sum();
+    }
+    
+    static List<long[]> splitRanges(long minId, long maxId, int count) {
+        long span = maxId - minId + 1;
+        long width = Math.max(1, (span + count - 1) / count);
+        
+        List<long[]> ranges = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += width) {
+            ranges.add(new long[]{from, Math.min(from + width, maxId + 1)});
+        }
+        return ranges;
+    }
+    
+    private <M, T> void scanRange(Class<M> entity, long fromId, long toId, ScanOptions options,
+                                  Consumer<List<M>> initializer, Function<M, T> mapper,
+                                  Consumer<? super T> action, LongAdder scanned) {
+        int chunkSize = Math.max(1, options.getChunkSize());
+        
+        readOnlyTransaction.executeWithoutResult(status -> {
+            String jpql = "SELECT e FROM " + entity.getSimpleName() + " e WHERE e.id >= :fromId AND e.id < :toId ORDER BY e.id";
+            try (Stream<M> rows = entityManager.createQuery(jpql, entity)
+                    .setParameter("fromId", fromId)
+                    .setParameter("toId", toId)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, options.getFetchSize())
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                List<M> chunk = new ArrayList<>(chunkSize);
+                rows.forEach(model -> {
+                    chunk.add(model);
+                    if (chunk.size() == chunkSize) {
+                        flushChunk(chunk, initializer, mapper, action, scanned);
+                    }
+                });
+                flushChunk(chunk, initializer, mapper, action, scanned);
+            }
+        });
+    }
+    
+    private <M, T> void flushChunk(List<M> chunk, Consumer<List<M>> initializer, Function<M, T> mapper,
+                                   Consumer<? super T> action, LongAdder scanned) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        initializer.accept(chunk);
+        for (M model : chunk) {
+            action.accept(mapper.apply(model));
+        }
+        scanned.add(chunk.size());
+        chunk.clear();
+        entityManager.clear();
+    }
+    
+    private long[] idBounds(Class<?> entity, ScanOptions options) {
+        Object[] bounds = entityManager
+            .createQuery("SELECT MIN(e.id), MAX(e.id) FROM " + entity.getSimpleName() + " e", Object[].class)
+            .getSingleResult();
+        if (bounds[0] == null) {
+            return null;
+        }
+        
+        long min = options.getFromId() != null ? options.getFromId() : (Long) bounds[0];
+        long max = options.getToId() != null ? options.getToId() : (Long) bounds[1];
+        return min > max ? null : new long[]{min, max};
+    }
+    
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scan interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Scan failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    private static ThreadFactory threadFactory(Class<?> entity) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "scan-" + entity.getSimpleName() + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.btg.orders.infrastructure.database.views;
+
+import com.btg.orders.domain.entities.ClientView;
+import com.btg.orders.domain.entities.OrderView;
+import com.btg.orders.infrastructure.database.models.OrderItemDocument;
+import com.btg.orders.infrastructure.database.products.ProductDictionary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Monta OrderView direto do ResultSet, sem entidades JPA nem Order/OrderItem intermediários:
+// uma consulta com os itens em JOIN (ou o JSONB inline/arquivado), nomes de produto pelo
+// dicionário e um único ClientView por listagem.
+@Component
+@RequiredArgsConstructor
+public class OrderViewReader {
+    
+    private static final String ORDERS_SQL =
+        "SELECT o.id, o.order_code, o.total, o.created_at, o.items_json, " +
+        "       i.id, i.product_id, i.quantity, i.price, i.total " +
+        "FROM orders o " +
+        "LEFT JOIN order_items i ON i.order_id = o.id AND i.created_at = o.created_at " +
+        "WHERE o.client_id = ? " +
+        "ORDER BY o.created_at, o.id, i.id";
+    
+    private static final String ARCHIVED_SQL =
+        "SELECT a.id, a.order_code, a.total, a.created_at, a.items " +
+        "FROM order_archive.archived_orders a " +
+        "WHERE a.client_id = ? " +
+        "ORDER BY a.created_at";
+    
+    private static final String CLIENT_SQL = "SELECT c.id, c.name, c.email FROM clients c WHERE c.id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductDictionary productDictionary;
+    private final ObjectMapper objectMapper;
+    
+    public List<OrderView> findByClientId(long clientId, boolean includeArchived) {
+        ClientView client = jdbcTemplate.query(CLIENT_SQL,
+                (rs, rowNum) -> new ClientView(rs.getLong(1), rs.getString(2), rs.getString(3)), clientId)
+            .stream()
+            .findFirst()
+            .orElse(null);
+        
+        List<OrderView> views = new ArrayList<>();
+        if (includeArchived) {
+            jdbcTemplate.query(ARCHIVED_SQL, (RowCallbackHandler) rs -> {
+                OrderViewBuilder order = new OrderViewBuilder(rs, clientId);
+                order.addDocuments(readDocuments(rs.getString(5)), productDictionary);
+                views.add(order.build(client));
+            }, clientId);
+        }
+        
+        // Linhas do mesmo pedido chegam juntas (ORDER BY); o pedido fecha quando o id muda
+        OrderViewBuilder[] current = new OrderViewBuilder[1];
+        jdbcTemplate.query(ORDERS_SQL, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            if (current[0] == null || current[0].id != id) {
+                if (current[0] != null) {
+                    views.add(current[0].build(client));
+                }
+                current[0] = new OrderViewBuilder(rs, clientId);
+                String inline = rs.getString(5);
+                if (inline != null) {
+                    current[0].addDocuments(readDocuments(inline), productDictionary);
+                }
+            }
+            if (rs.getObject(7) != null) {
+                current[0].add(rs.getLong(6), productDictionary.nameOf(rs.getInt(7)), rs.getInt(8),
+                    OrderView.toCents(rs.getBigDecimal(9)), OrderView.toCents(rs.getBigDecimal(10)));
+            }
+        }, clientId);
+        if (current[0] != null) {
+            views.add(current[0].build(client));
+        }
+        return views;
+    }
+    
+    private OrderItemDocument[] readDocuments(String json) {
+        try {
+            return objectMapper.readValue(json, OrderItemDocument[].class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Invalid items JSON", e);
+        }
+    }
+    
+    // Acumula os itens de um pedido em arrays que crescem por dobra e são cortados no build()
+    private static final class OrderViewBuilder {
+        
+        private final long id;
+        private final long orderCode;
+        private final long clientId;
+        private final long totalCents;
+        private final long createdAtMicros;
+        private long[] itemIds = new long[4];
+        private String[] products = new String[4];
+        private int[] quantities = new int[4];
+        private long[] priceCents = new long[4];
+        private long[] itemTotalCents = new long[4];
+        private int size;
+        
+        OrderViewBuilder(ResultSet rs, long clientId) throws SQLException {
+            this.id = rs.getLong(1);
+            this.orderCode = rs.getLong(2);
+            this.clientId = clientId;
+            this.totalCents = OrderView.toCents(rs.getBigDecimal(3));
+            Timestamp createdAt = rs.getTimestamp(4);
+            this.createdAtMicros = createdAt == null ? OrderView.NONE : OrderView.toMicros(createdAt.toLocalDateTime());
+        }
+        
+        void addDocuments(OrderItemDocument[] documents, ProductDictionary productDictionary) {
+            for (OrderItemDocument document : documents) {
+                add(document.getId() == null ? OrderView.NONE : document.getId(),
+                    productDictionary.canonical(document.getProduct()),
+                    document.getQuantity() == null ? 0 : document.getQuantity(),
+                    OrderView.toCents(document.getPrice()),
+                    OrderView.toCents(document.getTotal()));
+            }
+        }
+        
+        void add(long itemId, String product, int quantity, long price, long total) {
+            if (size == products.length) {
+                int capacity = size * 2;
+                itemIds = Arrays.copyOf(itemIds, capacity);
+                products = Arrays.copyOf(products, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                priceCents = Arrays.copyOf(priceCents, capacity);
+                itemTotalCents = Arrays.copyOf(itemTotalCents, capacity);
+            }
+            itemIds[size] = itemId;
+            products[size] = product;
+            quantities[size] = quantity;
+            priceCents[size] = price;
+            itemTotalCents[size] = total;
+            size++;
+        }
+        
+        OrderView build(ClientView client) {
+            return new OrderView(id, orderCode, clientId, client, totalCents, createdAtMicros,
+                Arrays.copyOf(itemIds, size), Arrays.copyOf(products, size), Arrays.copyOf(quantities, size),
+                Arrays.copyOf(priceCents, size), Arrays.copyOf(itemTotalCents, size));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.btg.orders.infrastructure.export;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// Escreve um CSV (RFC 4180) comprimido com gzip em um arquivo temporário; commit() fecha
+// e move para o nome final, então um export interrompido nunca deixa arquivo parcial
+final class CsvGzipWriter implements Closeable {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Path target;
+    private final Path temporary;
+    private final CountingOutputStream file;
+    private final Writer writer;
+    private boolean firstField = true;
+    private long rows;
+    private boolean closed;
+    
+    CsvGzipWriter(Path target, String... header) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".inprogress");
+        Files.createDirectories(target.getParent());
+        
+        this.file = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE));
+        this.writer = new OutputStreamWriter(new GZIPOutputStream(file, BUFFER_SIZE), StandardCharsets.UTF_8);
+        for (String column : header) {
+            field(column);
+        }
+        endRow();
+        rows = 0;
+    }
+    
+    CsvGzipWriter field(String value) throws IOException {
+        separator();
+        if (value != null) {
+            if (needsQuotes(value)) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        return this;
+    }
+    
+    CsvGzipWriter field(long value) throws IOException {
+        separator();
+        writer.write(Long.toString(value));
+        return this;
+    }
+    
+    CsvGzipWriter field(BigDecimal value) throws IOException {
+        separator();
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+        return this;
+    }
+    
+    CsvGzipWriter field(LocalDateTime value) throws IOException {
+        separator();
+        if (value != null) {
+            writer.write(value.toString());
+        }
+        return this;
+    }
+    
+    void endRow() throws IOException {
+        writer.write('\n');
+        firstField = true;
+        rows++;
+    }
+    
+    long rows() {
+        return rows;
+    }
+    
+    // Fecha e publica o arquivo; retorna os bytes comprimidos gravados
+    long commit() throws IOException {
+        closed = true;
+        writer.close();
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file.count;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                writer.close();
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+    
+    private void separator() throws IOException {
+        if (!firstField) {
+            writer.write(',');
+        }
+        firstField = false;
+    }
+    
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static final class CountingOutputStream extends OutputStream {
+        
+        private final OutputStream delegate;
+        private long count;
+        
+        CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
\ No newline at end of file
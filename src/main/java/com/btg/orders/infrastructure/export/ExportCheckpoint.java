@@ -0,0 +1,59 @@
+package com.btg.orders.infrastructure.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+// Uma linha por unidade concluída, gravada (com fsync) depois que os arquivos dela foram publicados
+final class ExportCheckpoint implements AutoCloseable {
+    
+    static final String FILE_NAME = "_export.checkpoint";
+    
+    private final FileChannel channel;
+    private final Set<String> completed;
+    
+    ExportCheckpoint(Path directory, boolean resume) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        Files.createDirectories(directory);
+        
+        this.completed = new HashSet<>();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (!resume) {
+            channel.truncate(0);
+            return;
+        }
+        
+        // Uma linha sem \n final é de uma gravação interrompida: não conta e é descartada
+        byte[] content = Files.readAllBytes(file);
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') {
+            end--;
+        }
+        new String(content, 0, end, StandardCharsets.UTF_8).lines().forEach(completed::add);
+        channel.truncate(end);
+        channel.position(end);
+    }
+    
+    boolean isCompleted(String unit) {
+        return completed.contains(unit);
+    }
+    
+    synchronized void markCompleted(String unit) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((unit + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        channel.force(false);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.btg.orders.infrastructure.export;
+
+public enum ExportPartitioning {
+    // Arquivos part-N por faixa fixa de client_id, direto na pasta de cada tabela
+    NONE,
+    // Um diretório day=AAAA-MM-DD por dia de created_at
+    DAY,
+    // Um diretório client_id=INICIO-FIM por faixa fixa de client_id
+    CLIENT
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.btg.orders.infrastructure.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderExportOptions {
+    Path directory;
+    @Builder.Default
+    ExportPartitioning partitioning = ExportPartitioning.NONE;
+    // Largura das faixas de client_id (NONE e CLIENT); fixa para que um export retomado gere as mesmas unidades
+    @Builder.Default
+    long clientRangeSize = 100_000;
+    // Intervalo de dias (DAY, inclusivo); sem ele o intervalo vem de MIN/MAX(created_at)
+    LocalDate fromDay;
+    LocalDate toDay;
+    @Builder.Default
+    int parallelism = 4;
+    // Pula as unidades já registradas no checkpoint de um export anterior no mesmo diretório
+    @Builder.Default
+    boolean resume = true;
+    @Builder.Default
+    Duration progressInterval = Duration.ofSeconds(10);
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.btg.orders.infrastructure.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderExportReport {
+    int units;
+    int skippedUnits;
+    long orders;
+    long items;
+    long bytes;
+    Duration elapsed;
+    
+    public long getRows() {
+        return orders + items;
+    }
+    
+    public double getRowsPerSecond() {
+        return elapsed.isZero() ? getRows() : getRows() * 1_000_000_000.0 / elapsed.toNanos();
+    }
+}
\ No newline at end of file
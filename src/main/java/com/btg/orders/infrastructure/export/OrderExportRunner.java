@@ -0,0 +1,70 @@
+package com.btg.orders.infrastructure.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+
+// Executa um export no startup, como job avulso:
+//   java -jar orders.jar --orders.export.enabled=true --orders.export.partitioning=day
+// Rodar de novo com o mesmo diretório retoma a partir do checkpoint.
+@Component
+@ConditionalOnProperty(name = "orders.export.enabled", havingValue = "true")
+@Slf4j
+public class OrderExportRunner implements ApplicationRunner {
+    
+    private final OrderExporter exporter;
+    private final ConfigurableApplicationContext context;
+    private final OrderExportOptions options;
+    private final boolean exit;
+    
+    public OrderExportRunner(OrderExporter exporter,
+                             ConfigurableApplicationContext context,
+                             @Value("${orders.export.directory:./data/export}") String directory,
+                             @Value("${orders.export.partitioning:none}") String partitioning,
+                             @Value("${orders.export.client-range-size:100000}") long clientRangeSize,
+                             @Value("${orders.export.from-day:}") String fromDay,
+                             @Value("${orders.export.to-day:}") String toDay,
+                             @Value("${orders.export.parallelism:4}") int parallelism,
+                             @Value("${orders.export.resume:true}") boolean resume,
+                             @Value("${orders.export.progress-interval:10s}") Duration progressInterval,
+                             @Value("${orders.export.exit:true}") boolean exit) {
+        this.exporter = exporter;
+        this.context = context;
+        this.exit = exit;
+        this.options = OrderExportOptions.builder()
+            .directory(Path.of(directory))
+            .partitioning(ExportPartitioning.valueOf(partitioning.toUpperCase()))
+            .clientRangeSize(clientRangeSize)
+            .fromDay(fromDay.isBlank() ? null : LocalDate.parse(fromDay))
+            .toDay(toDay.isBlank() ? null : LocalDate.parse(toDay))
+            .parallelism(parallelism)
+            .resume(resume)
+            .progressInterval(progressInterval)
+            .build();
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            exporter.export(options);
+        } catch (Exception e) {
+            log.error("Order export failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        
+        if (exit) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
\ No newline at end of file
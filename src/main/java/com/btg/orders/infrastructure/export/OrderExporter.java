@@ -0,0 +1,366 @@
+package com.btg.orders.infrastructure.export;
+
+import com.btg.orders.infrastructure.database.models.OrderItemDocument;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Exporta orders e order_items para CSV comprimido com gzip em disco local, lendo com
+// cursor no servidor. O trabalho é dividido em unidades (um dia ou uma faixa fixa de
+// client_id com pedidos), geradas sob demanda. Cada uma gera um arquivo por tabela e é
+// processada por uma das threads de escrita; a memória fica limitada aos buffers de um
+// arquivo por thread. Unidades concluídas vão para o checkpoint, e um export interrompido
+// recomeça da primeira pendente.
+@Component
+@Slf4j
+public class OrderExporter {
+    
+    static final String ORDERS_TABLE = "orders";
+    static final String ITEMS_TABLE = "order_items";
+    
+    private static final String[] ORDERS_HEADER = {"order_code", "client_id", "total", "item_count", "created_at"};
+    private static final String[] ITEMS_HEADER = {"order_code", "product", "quantity", "price", "total"};
+    
+    private static final String ORDERS_SQL =
+        "SELECT o.id, o.order_code, o.client_id, o.total, o.item_count, o.created_at, o.items_json, " +
+        "p.name, i.quantity, i.price, i.total " +
+        "FROM orders o " +
+        "LEFT JOIN order_items i ON i.order_id = o.id AND i.created_at = o.created_at " +
+        "LEFT JOIN products p ON p.id = i.product_id ";
+    
+    private static final String ARCHIVED_ORDERS_SQL =
+        "SELECT id, order_code, client_id, total, item_count, created_at, items " +
+        "FROM order_archive.archived_orders o ";
+    
+    private static final String CLIENT_RANGE_FILTER = "WHERE o.client_id >= ? AND o.client_id < ? ORDER BY o.client_id, o.created_at, o.id";
+    private static final String DAY_FILTER = "WHERE o.created_at >= ? AND o.created_at < ? ORDER BY o.created_at, o.id";
+    
+    private static final TypeReference<List<OrderItemDocument>> ITEM_DOCUMENTS = new TypeReference<>() {};
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final boolean archiveEnabled;
+    
+    public OrderExporter(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         @Value("${orders.archive.enabled:false}") boolean archiveEnabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.archiveEnabled = archiveEnabled;
+    }
+    
+    public OrderExportReport export(OrderExportOptions options) throws IOException {
+        Iterator<ExportUnit> units = options.getPartitioning() == ExportPartitioning.DAY
+            ? dayUnits(options).iterator()
+            : new ClientRangeUnits(options);
+        int parallelism = Math.max(1, options.getParallelism());
+        
+        log.info("Exporting orders to {} ({} partitioning, {} writers)",
+            options.getDirectory(), options.getPartitioning(), parallelism);
+        
+        LongAdder orders = new LongAdder();
+        LongAdder items = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        AtomicInteger startedUnits = new AtomicInteger();
+        AtomicInteger completedUnits = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory());
+        ScheduledExecutorService progressReporter = Executors.newSingleThreadScheduledExecutor(threadFactory());
+        try (ExportCheckpoint checkpoint = new ExportCheckpoint(options.getDirectory(), options.isResume())) {
+            long interval = options.getProgressInterval().toMillis();
+            if (interval > 0) {
+                progressReporter.scheduleAtFixedRate(() -> logProgress(orders.sum() + items.sum(), completedUnits.get(), startedUnits.get(), start),
+                    interval, interval, TimeUnit.MILLISECONDS);
+            }
+            
+            // Cada escritor puxa a próxima unidade quando termina a anterior: as unidades são
+            // geradas sob demanda e nunca ficam todas em memória
+            List<Future<?>> futures = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                futures.add(executor.submit(() -> {
+                    ExportUnit unit;
+                    while (!Thread.currentThread().isInterrupted() && (unit = nextUnit(units)) != null) {
+                        startedUnits.incrementAndGet();
+                        if (checkpoint.isCompleted(unit.key())) {
+                            skipped.incrementAndGet();
+                            completedUnits.incrementAndGet();
+                            continue;
+                        }
+                        UnitResult result = exportUnit(unit, options.getDirectory());
+                        checkpoint.markCompleted(unit.key());
+                        orders.add(result.orders());
+                        items.add(result.items());
+                        bytes.add(result.bytes());
+                        completedUnits.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            awaitAll(futures);
+        } finally {
+            executor.shutdownNow();
+            progressReporter.shutdownNow();
+        }
+        
+        OrderExportReport report = OrderExportReport.builder()
+            .units(startedUnits.get())
+            .skippedUnits(skipped.get())
+            .orders(orders.sum())
+            .items(items.sum())
+            .bytes(bytes.sum())
+            .elapsed(Duration.ofNanos(System.nanoTime() - start))
+            .build();
+        log.info("Order export finished: {} orders and {} items in {} units in {} ({} rows/s, {} bytes, {} units skipped by checkpoint)",
+            report.getOrders(), report.getItems(), report.getUnits(), report.getElapsed(),
+            String.format("%.0f", report.getRowsPerSecond()), report.getBytes(), report.getSkippedUnits());
+        return report;
+    }
+    
+    private static ExportUnit nextUnit(Iterator<ExportUnit> units) {
+        synchronized (units) {
+            return units.hasNext() ? units.next() : null;
+        }
+    }
+    
+    private UnitResult exportUnit(ExportUnit unit, Path directory) throws IOException {
+        Path ordersFile = directory.resolve(ORDERS_TABLE).resolve(unit.relativeFile());
+        Path itemsFile = directory.resolve(ITEMS_TABLE).resolve(unit.relativeFile());
+        
+        try (CsvGzipWriter ordersWriter = new CsvGzipWriter(ordersFile, ORDERS_HEADER);
+             CsvGzipWriter itemsWriter = new CsvGzipWriter(itemsFile, ITEMS_HEADER)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.query(ORDERS_SQL + unit.filter() + ", i.id", new OrderRowWriter(ordersWriter, itemsWriter, true), unit.args());
+                if (archiveEnabled) {
+                    jdbcTemplate.query(ARCHIVED_ORDERS_SQL + unit.filter(), new OrderRowWriter(ordersWriter, itemsWriter, false), unit.args());
+                }
+            });
+            
+            // Unidades vazias não geram arquivo
+            long orderRows = ordersWriter.rows();
+            long itemRows = itemsWriter.rows();
+            long bytes = orderRows > 0 ? ordersWriter.commit() + itemsWriter.commit() : 0;
+            return new UnitResult(orderRows, itemRows, bytes);
+        }
+    }
+    
+    private List<ExportUnit> dayUnits(OrderExportOptions options) {
+        LocalDate[] bounds = new LocalDate[2];
+        if (options.getFromDay() == null || options.getToDay() == null) {
+            jdbcTemplate.query(boundsSql("created_at"), (RowCallbackHandler) rs -> {
+                Timestamp min = rs.getTimestamp(1);
+                if (min != null) {
+                    LocalDate first = min.toLocalDateTime().toLocalDate();
+                    LocalDate last = rs.getTimestamp(2).toLocalDateTime().toLocalDate();
+                    bounds[0] = bounds[0] == null || first.isBefore(bounds[0]) ? first : bounds[0];
+                    bounds[1] = bounds[1] == null || last.isAfter(bounds[1]) ? last : bounds[1];
+                }
+            });
+        }
+        LocalDate from = options.getFromDay() != null ? options.getFromDay() : bounds[0];
+        LocalDate to = options.getToDay() != null ? options.getToDay() : bounds[1];
+        
+        List<ExportUnit> units = new ArrayList<>();
+        for (LocalDate day = from; from != null && to != null && !day.isAfter(to); day = day.plusDays(1)) {
+            String key = "day=" + day;
+            units.add(new ExportUnit(key, key + "/part-000000.csv.gz", DAY_FILTER,
+                new Object[]{Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay())}));
+        }
+        return units;
+    }
+    
+    private String boundsSql(String column) {
+        return "SELECT MIN(" + column + "), MAX(" + column + ") FROM orders" +
+            (archiveEnabled
+                ? " UNION ALL SELECT MIN(" + column + "), MAX(" + column + ") FROM order_archive.archived_orders"
+                : "");
+    }
+    
+    // Menor client_id >= from em orders (e no arquivo), ou null
+    private Long nextClientId(long from) {
+        String sql = "SELECT MIN(client_id) FROM orders WHERE client_id >= ?" +
+            (archiveEnabled ? " UNION ALL SELECT MIN(client_id) FROM order_archive.archived_orders WHERE client_id >= ?" : "");
+        Object[] args = archiveEnabled ? new Object[]{from, from} : new Object[]{from};
+        Long[] next = {null};
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            long clientId = rs.getLong(1);
+            if (!rs.wasNull() && (next[0] == null || clientId < next[0])) {
+                next[0] = clientId;
+            }
+        }, args);
+        return next[0];
+    }
+    
+    private void logProgress(long rows, int completedUnits, int startedUnits, long start) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("Export progress: {} rows ({} rows/s), {}/{} started units done",
+            rows, String.format("%.0f", rows / seconds), completedUnits, startedUnits);
+    }
+    
+    private static void awaitAll(List<Future<?>> futures) throws IOException {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException("Export failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "order-export-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private record ExportUnit(String key, String relativeFile, String filter, Object[] args) {
+    }
+    
+    // Faixas fixas de client-range-size IDs (chaves estáveis para o checkpoint), mas só as que têm
+    // pedidos: depois de cada faixa, a próxima começa no bucket do próximo client_id existente
+    private class ClientRangeUnits implements Iterator<ExportUnit> {
+        
+        private final OrderExportOptions options;
+        private final long size;
+        private Long nextClientId;
+        
+        ClientRangeUnits(OrderExportOptions options) {
+            this.options = options;
+            this.size = Math.max(1, options.getClientRangeSize());
+            this.nextClientId = nextClientId(Long.MIN_VALUE);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextClientId != null;
+        }
+        
+        @Override
+        public ExportUnit next() {
+            if (nextClientId == null) {
+                throw new NoSuchElementException();
+            }
+            
+            long bucket = Math.floorDiv(nextClientId, size);
+            long from = bucket * size;
+            long to = from + size;
+            nextClientId = to > from ? nextClientId(to) : null;
+            
+            String key = options.getPartitioning() == ExportPartitioning.CLIENT
+                ? "client_id=" + from + "-" + (to - 1)
+                : String.format("part-%06d", bucket);
+            String file = options.getPartitioning() == ExportPartitioning.CLIENT
+                ? key + "/part-000000.csv.gz"
+                : key + ".csv.gz";
+            return new ExportUnit(key, file, CLIENT_RANGE_FILTER, new Object[]{from, to});
+        }
+    }
+    
+    private record UnitResult(long orders, long items, long bytes) {
+    }
+    
+    // Linhas do mesmo pedido chegam juntas (ORDER BY ... o.id): a linha do pedido é escrita
+    // na primeira delas e cada linha seguinte só acrescenta um item. Itens em JSONB
+    // (items_json ou archived_orders.items) vêm na coluna 7; itens de order_items, nas seguintes.
+    private class OrderRowWriter implements RowCallbackHandler {
+        
+        private final CsvGzipWriter ordersWriter;
+        private final CsvGzipWriter itemsWriter;
+        private final boolean joinedItems;
+        private long currentId = Long.MIN_VALUE;
+        
+        OrderRowWriter(CsvGzipWriter ordersWriter, CsvGzipWriter itemsWriter, boolean joinedItems) {
+            this.ordersWriter = ordersWriter;
+            this.itemsWriter = itemsWriter;
+            this.joinedItems = joinedItems;
+        }
+        
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long id = rs.getLong(1);
+                long orderCode = rs.getLong(2);
+                if (id != currentId) {
+                    currentId = id;
+                    ordersWriter.field(orderCode)
+                        .field(rs.getLong(3))
+                        .field(rs.getBigDecimal(4))
+                        .field(rs.getLong(5))
+                        .field(rs.getTimestamp(6).toLocalDateTime())
+                        .endRow();
+                    
+                    String itemsJson = rs.getString(7);
+                    if (itemsJson != null) {
+                        for (OrderItemDocument item : objectMapper.readValue(itemsJson, ITEM_DOCUMENTS)) {
+                            writeItem(orderCode, item.getProduct(), item.getQuantity(), item.getPrice(), item.getTotal());
+                        }
+                    }
+                }
+                
+                if (joinedItems) {
+                    String product = rs.getString(8);
+                    if (product != null) {
+                        writeItem(orderCode, product, rs.getInt(9), rs.getBigDecimal(10), rs.getBigDecimal(11));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        private void writeItem(long orderCode, String product, Integer quantity, BigDecimal price, BigDecimal total) throws IOException {
+            itemsWriter.field(orderCode)
+                .field(product)
+                .field(quantity == null ? 0 : quantity)
+                .field(price)
+                .field(total)
+                .endRow();
+        }
+    }
+}
\ No newline at end of file
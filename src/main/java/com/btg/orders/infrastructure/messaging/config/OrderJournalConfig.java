@@ -0,0 +1,24 @@
+package com.btg.orders.infrastructure.messaging.config;
+
+import com.btg.orders.infrastructure.messaging.journal.OrderJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "orders.journal.enabled", havingValue = "true")
+public class OrderJournalConfig {
+    
+    @Bean(destroyMethod = "close")
+    public OrderJournal orderJournal(@Value("${orders.journal.directory:./data/journal}") String directory,
+                                     @Value("${orders.journal.segment-size:64MB}") DataSize segmentSize,
+                                     @Value("${orders.journal.flush-interval:2ms}") Duration flushInterval) throws IOException {
+        return new OrderJournal(Path.of(directory), Math.toIntExact(segmentSize.toBytes()), flushInterval);
+    }
+}
\ No newline at end of file
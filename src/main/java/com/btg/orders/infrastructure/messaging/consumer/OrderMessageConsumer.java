@@ -1,51 +1,136 @@
 package com.btg.orders.infrastructure.messaging.consumer;
 
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.Outcome;
+import com.btg.orders.domain.gateways.MessageGateway;
 import com.btg.orders.domain.usecases.ProcessOrderUseCase;
 import com.btg.orders.domain.usecases.interfaces.ProcessOrderUseCaseInterface;
+import com.btg.orders.infrastructure.database.products.ProductDictionary;
 import com.btg.orders.infrastructure.messaging.config.RabbitConfig;
 import com.btg.orders.infrastructure.messaging.consumer.interfaces.MessageConsumerInterface;
+import com.btg.orders.infrastructure.messaging.dedup.DedupResult;
+import com.btg.orders.infrastructure.messaging.dedup.OrderDeduplicator;
 import com.btg.orders.infrastructure.messaging.dto.OrderMessageDto;
-import lombok.RequiredArgsConstructor;
+import com.btg.orders.infrastructure.messaging.journal.OrderJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OrderMessageConsumer implements MessageConsumerInterface {
     
     private final ProcessOrderUseCaseInterface processOrderUseCase;
+    private final MessageGateway messageGateway;
+    private final Optional<OrderJournal> journal;
+    private final Optional<OrderDeduplicator> deduplicator;
+    private final ProductDictionary productDictionary;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    
+    public OrderMessageConsumer(ProcessOrderUseCaseInterface processOrderUseCase,
+                                MessageGateway messageGateway,
+                                Optional<OrderJournal> journal,
+                                Optional<OrderDeduplicator> deduplicator,
+                                ProductDictionary productDictionary,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.processOrderUseCase = processOrderUseCase;
+        this.messageGateway = messageGateway;
+        this.journal = journal;
+        this.deduplicator = deduplicator;
+        this.productDictionary = productDictionary;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
     
     @RabbitListener(queues = RabbitConfig.ORDER_QUEUE)
-    public void handleOrderMessage(OrderMessageDto message) {
+    public void handleOrderMessage(OrderMessageDto message) throws IOException {
         log.info("Received order message: {}", message);
         
+        // Com o journal ativo, o ack sai assim que o pedido está em disco; o OrderJournalApplier grava no banco.
+        // Uma falha aqui propaga para a mensagem ser reentregue em vez de perdida.
+        if (journal.isPresent()) {
+            journal.get().append(objectMapper.writeValueAsBytes(message));
+            return;
+        }
+        
+        // Pedido e registro de idempotência commitam juntos: uma falha entre os dois não pode deixar
+        // o pedido gravado sem registro (a reentrega viraria duplicado em vez de replay)
         try {
-            // Convert DTO to use case input
-            List<ProcessOrderUseCase.OrderItemData> items = message.getItens().stream()
-                .map(item -> ProcessOrderUseCase.OrderItemData.builder()
-                    .product(item.getProduto())
-                    .quantity(item.getQuantidade())
-                    .price(item.getPreco())
-                    .build())
-                .collect(Collectors.toList());
-            
-            // Process the order
-            processOrderUseCase.execute(
-                message.getCodigoPedido(),
-                message.getCodigoCliente(),
-                items
-            );
-            
-            log.info("Order processed successfully: {}", message.getCodigoPedido());
-            
+            preregisterProducts(List.of(message));
+            transaction.execute(status -> process(message));
         } catch (Exception e) {
             log.error("Error processing order {}: {}", message.getCodigoPedido(), e.getMessage(), e);
-            // Exception handling is done in the use case
+            // A notificação de erro do use case foi descartada com o rollback
+            messageGateway.sendOrderErrorNotification(message.getCodigoPedido(), e.getMessage());
+        }
+    }
+    
+    // Produtos novos vão para o dicionário antes da transação do pedido, que já segura uma conexão
+    public void preregisterProducts(Collection<OrderMessageDto> messages) {
+        List<String> products = new ArrayList<>();
+        for (OrderMessageDto message : messages) {
+            if (message != null && message.getItens() != null) {
+                message.getItens().forEach(item -> products.add(item.getProduto()));
+            }
+        }
+        productDictionary.preregister(products);
+    }
+    
+    // Pedido rejeitado (inválido ou duplicado) volta como Outcome; só falha de infraestrutura é lançada.
+    // Chamado dentro da transação de quem consome (listener ou OrderJournalApplier).
+    public Outcome<Order> process(OrderMessageDto message) {
+        Long orderCode = message.getCodigoPedido();
+        
+        // Reentregas (retry do listener, replay do journal) param aqui, antes de validação e banco
+        long payloadHash = 0;
+        boolean deduplicated = deduplicator.isPresent() && orderCode != null;
+        if (deduplicated) {
+            payloadHash = OrderDeduplicator.fingerprint(message);
+            DedupResult seen = deduplicator.get().check(orderCode, payloadHash);
+            if (seen == DedupResult.REPLAY) {
+                log.info("Skipping redelivered order {}", orderCode);
+                return Outcome.replayed();
+            }
+            if (seen == DedupResult.CONFLICT) {
+                log.warn("Discarding order {}: code already processed with a different payload", orderCode);
+                return Outcome.conflict();
+            }
+        }
+        
+        // Convert DTO to use case input
+        List<ProcessOrderUseCase.OrderItemData> items = message.getItens() == null ? List.of() : message.getItens().stream()
+            .map(item -> ProcessOrderUseCase.OrderItemData.builder()
+                .product(item.getProduto())
+                .quantity(item.getQuantidade())
+                .price(item.getPreco())
+                .build())
+            .collect(Collectors.toList());
+        
+        // Process the order
+        Outcome<Order> outcome = processOrderUseCase.execute(
+            orderCode,
+            message.getCodigoCliente(),
+            items
+        );
+        
+        if (outcome.isSuccess()) {
+            if (deduplicated) {
+                deduplicator.get().record(orderCode, payloadHash);
+            }
+            log.info("Order processed successfully: {}", orderCode);
         }
+        return outcome;
     }
 } 
\ No newline at end of file
@@ -1,7 +1,12 @@
 package com.btg.orders.infrastructure.messaging.consumer.interfaces;
 
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.Outcome;
 import com.btg.orders.infrastructure.messaging.dto.OrderMessageDto;
 
+import java.io.IOException;
+
 public interface MessageConsumerInterface {
-    void handleOrderMessage(OrderMessageDto message);
+    void handleOrderMessage(OrderMessageDto message) throws IOException;
+    Outcome<Order> process(OrderMessageDto message);
 } 
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.btg.orders.infrastructure.messaging.dedup;
+
+public enum DedupResult {
+    // Código ainda não processado (ou fora da retenção): segue o processamento normal
+    NEW,
+    // Mesmo código e mesmo payload: reentrega, descartada sem trabalho no banco
+    REPLAY,
+    // Mesmo código com payload diferente: descartado e contado à parte
+    CONFLICT
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.btg.orders.infrastructure.messaging.dedup;
+
+import java.util.Arrays;
+
+// Janela em memória dos últimos pedidos processados: tabela de endereçamento direto
+// (código, hash) em um long[] de tamanho fixo. Uma colisão sobrescreve o slot, então a
+// janela só esquece entradas (cai no processed_orders), nunca responde errado.
+final class DedupWindow {
+    
+    private static final long EMPTY = Long.MIN_VALUE;
+    
+    private final long[] slots;
+    private final int mask;
+    private int size;
+    
+    DedupWindow(int capacity) {
+        int slotCount = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new long[slotCount * 2];
+        this.mask = slotCount - 1;
+        Arrays.fill(slots, EMPTY);
+    }
+    
+    // null quando o código não está na janela
+    synchronized DedupResult check(long orderCode, long payloadHash) {
+        int slot = slot(orderCode);
+        if (slots[slot] != orderCode) {
+            return null;
+        }
+        return slots[slot + 1] == payloadHash ? DedupResult.REPLAY : DedupResult.CONFLICT;
+    }
+    
+    synchronized void put(long orderCode, long payloadHash) {
+        int slot = slot(orderCode);
+        if (slots[slot] == EMPTY) {
+            size++;
+        }
+        slots[slot] = orderCode;
+        slots[slot + 1] = payloadHash;
+    }
+    
+    synchronized int size() {
+        return size;
+    }
+    
+    private int slot(long orderCode) {
+        // Códigos costumam ser sequenciais: o mix espalha os slots
+        long mixed = orderCode * 0x9E3779B97F4A7C15L;
+        return ((int) (mixed >>> 32) & mask) << 1;
+    }
+}
\ No newline at end of file
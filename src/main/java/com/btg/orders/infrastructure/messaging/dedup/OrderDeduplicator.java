@@ -0,0 +1,163 @@
+package com.btg.orders.infrastructure.messaging.dedup;
+
+import com.btg.orders.infrastructure.messaging.dto.OrderMessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Idempotência das mensagens de pedido por código + hash do payload: a janela em memória
+// responde as reentregas recentes e o processed_orders cobre o resto (restart, outras
+// réplicas) com uma busca por chave primária, antes de validação, cliente e eventos.
+@Component
+@ConditionalOnProperty(name = "orders.dedup.enabled", havingValue = "true")
+@Slf4j
+public class OrderDeduplicator {
+    
+    private static final String FIND_SQL = "SELECT payload_hash FROM processed_orders WHERE order_code = ?";
+    private static final String RECORD_SQL =
+        "INSERT INTO processed_orders (order_code, payload_hash) VALUES (?, ?) ON CONFLICT (order_code) DO NOTHING";
+    private static final String PURGE_SQL = "DELETE FROM processed_orders WHERE processed_at < ?";
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final DedupWindow window;
+    private final Duration retention;
+    private final Counter replayedFromMemory;
+    private final Counter replayedFromStore;
+    private final Counter conflictsFromMemory;
+    private final Counter conflictsFromStore;
+    private final Counter misses;
+    
+    public OrderDeduplicator(JdbcTemplate jdbcTemplate,
+                             @Value("${orders.dedup.window-size:65536}") int windowSize,
+                             @Value("${orders.dedup.retention:7d}") Duration retention,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.window = new DedupWindow(windowSize);
+        this.retention = retention;
+        
+        this.replayedFromMemory = meterRegistry.counter("orders.dedup.lookups", "result", "replay", "source", "memory");
+        this.replayedFromStore = meterRegistry.counter("orders.dedup.lookups", "result", "replay", "source", "store");
+        this.conflictsFromMemory = meterRegistry.counter("orders.dedup.lookups", "result", "conflict", "source", "memory");
+        this.conflictsFromStore = meterRegistry.counter("orders.dedup.lookups", "result", "conflict", "source", "store");
+        this.misses = meterRegistry.counter("orders.dedup.lookups", "result", "new", "source", "store");
+        Gauge.builder("orders.dedup.window.entries", window, DedupWindow::size)
+            .description("Pedidos na janela de idempotência em memória")
+            .register(meterRegistry);
+    }
+    
+    public DedupResult check(long orderCode, long payloadHash) {
+        DedupResult cached = window.check(orderCode, payloadHash);
+        if (cached != null) {
+            (cached == DedupResult.REPLAY ? replayedFromMemory : conflictsFromMemory).increment();
+            return cached;
+        }
+        
+        List<Long> stored = jdbcTemplate.queryForList(FIND_SQL, Long.class, orderCode);
+        if (stored.isEmpty()) {
+            misses.increment();
+            return DedupResult.NEW;
+        }
+        
+        long storedHash = stored.get(0);
+        window.put(orderCode, storedHash);
+        if (storedHash != payloadHash) {
+            conflictsFromStore.increment();
+            return DedupResult.CONFLICT;
+        }
+        replayedFromStore.increment();
+        return DedupResult.REPLAY;
+    }
+    
+    // Grava na transação corrente (no applier do journal, a mesma do pedido); a janela só
+    // recebe o código após o commit, para um rollback não fazer o pedido parecer processado
+    public void record(long orderCode, long payloadHash) {
+        jdbcTemplate.update(RECORD_SQL, orderCode, payloadHash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    window.put(orderCode, payloadHash);
+                }
+            });
+        } else {
+            window.put(orderCode, payloadHash);
+        }
+    }
+    
+    @Scheduled(cron = "${orders.dedup.cron:0 15 3 * * *}")
+    public void purgeExpired() {
+        try {
+            int purged = jdbcTemplate.update(PURGE_SQL, LocalDateTime.now().minus(retention));
+            log.info("Processed order records purged: {}", purged);
+        } catch (Exception e) {
+            log.error("Error purging processed order records: {}", e.getMessage(), e);
+        }
+    }
+    
+    // FNV-1a de 64 bits sobre cliente e itens, em ordem. O preço entra sem zeros à direita
+    // (10.0 e 10.00 são o mesmo payload); o código não entra, já é a chave.
+    public static long fingerprint(OrderMessageDto message) {
+        long hash = mix(FNV_OFFSET, message.getCodigoCliente());
+        List<OrderMessageDto.OrderItemDto> items = message.getItens();
+        if (items == null) {
+            return mix(hash, -1L);
+        }
+        
+        hash = mix(hash, items.size());
+        for (OrderMessageDto.OrderItemDto item : items) {
+            if (item == null) {
+                hash = mix(hash, -1L);
+                continue;
+            }
+            hash = mix(hash, item.getProduto());
+            hash = mix(hash, item.getQuantidade() == null ? null : item.getQuantidade().longValue());
+            hash = mix(hash, item.getPreco() == null ? null : item.getPreco().stripTrailingZeros().toPlainString());
+        }
+        return hash;
+    }
+    
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+    
+    private static long mix(long hash, Long value) {
+        return value == null ? mixNull(hash) : mix(hash, value.longValue());
+    }
+    
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mixNull(hash);
+        }
+        hash = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+    
+    // Distingue null de zero, de "" e de qualquer texto (comprimentos nunca são negativos)
+    private static long mixNull(long hash) {
+        return mix(hash, -2L);
+    }
+}
\ No newline at end of file
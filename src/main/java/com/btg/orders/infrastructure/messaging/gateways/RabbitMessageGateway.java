@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 @RequiredArgsConstructor
@@ -13,8 +15,29 @@ public class RabbitMessageGateway implements MessageGateway {
     
     private final RabbitTemplate rabbitTemplate;
     
+    // Dentro de uma transação de escrita só publica após o commit: um lote do journal desfeito
+    // e reaplicado um a um não pode notificar duas vezes nem anunciar pedido que não foi gravado.
+    // Transações read-only (replay) publicam na hora, para não acumular o range inteiro.
     @Override
     public void sendMessage(String queue, Object message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        send(queue, message);
+                    } catch (RuntimeException e) {
+                        // O pedido já está gravado; a falha de envio não pode desfazer o lote
+                    }
+                }
+            });
+        } else {
+            send(queue, message);
+        }
+    }
+    
+    private void send(String queue, Object message) {
         log.info("Sending message to queue: {}", queue);
         
         try {
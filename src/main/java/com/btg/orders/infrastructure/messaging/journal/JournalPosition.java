@@ -0,0 +1,22 @@
+package com.btg.orders.infrastructure.messaging.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// Posição de um frame no journal: segmento + offset dentro dele
+@Data
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class JournalPosition implements Comparable<JournalPosition> {
+    long segment;
+    int offset;
+    
+    @Override
+    public int compareTo(JournalPosition other) {
+        int bySegment = Long.compare(segment, other.segment);
+        return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+    }
+}
\ No newline at end of file
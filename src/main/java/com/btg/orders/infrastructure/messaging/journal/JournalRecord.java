@@ -0,0 +1,16 @@
+package com.btg.orders.infrastructure.messaging.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+// Registro lido do journal; next é a posição a gravar no checkpoint depois de aplicá-lo
+@Data
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class JournalRecord {
+    byte[] payload;
+    JournalPosition next;
+}
\ No newline at end of file
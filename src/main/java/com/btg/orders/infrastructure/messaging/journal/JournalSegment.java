@@ -0,0 +1,108 @@
+package com.btg.orders.infrastructure.messaging.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// Arquivo de segmento do journal mapeado em memória. Cada registro é um frame
+// [tamanho int][crc32c int][payload]; tamanho 0 (área ainda zerada) marca o fim.
+class JournalSegment implements Closeable {
+    
+    static final int FRAME_HEADER_BYTES = 8;
+    
+    private final long id;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    
+    private JournalSegment(long id, Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+    
+    static JournalSegment open(Path file, long id, int size) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        return new JournalSegment(id, file, channel, buffer);
+    }
+    
+    long id() {
+        return id;
+    }
+    
+    Path file() {
+        return file;
+    }
+    
+    int capacity() {
+        return buffer.capacity();
+    }
+    
+    boolean fits(int offset, int payloadLength) {
+        return (long) offset + FRAME_HEADER_BYTES + payloadLength <= buffer.capacity();
+    }
+    
+    // Grava o payload e o crc antes do tamanho; um frame incompleto falha na validação do crc
+    int append(int offset, byte[] payload) {
+        buffer.put(offset + FRAME_HEADER_BYTES, payload);
+        buffer.putInt(offset + 4, crc(payload));
+        buffer.putInt(offset, payload.length);
+        return offset + FRAME_HEADER_BYTES + payload.length;
+    }
+    
+    // null no fim do segmento ou em frame corrompido/incompleto
+    byte[] read(int offset) {
+        if (offset + FRAME_HEADER_BYTES > buffer.capacity()) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || !fits(offset, length)) {
+            return null;
+        }
+        
+        byte[] payload = new byte[length];
+        buffer.get(offset + FRAME_HEADER_BYTES, payload);
+        return buffer.getInt(offset + 4) == crc(payload) ? payload : null;
+    }
+    
+    // Offset logo após o último frame válido
+    int recoverEnd() {
+        int offset = 0;
+        byte[] payload;
+        while ((payload = read(offset)) != null) {
+            offset += FRAME_HEADER_BYTES + payload.length;
+        }
+        return offset;
+    }
+    
+    // Zera o que sobrou de um frame rasgado para que appends futuros não o deixem "válido"
+    void truncate(int offset) {
+        for (int i = offset; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+    
+    void force() {
+        buffer.force();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    private static int crc(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,282 @@
+package com.btg.orders.infrastructure.messaging.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Journal append-only em segmentos mapeados em memória. append() só retorna depois que
+// o registro está em disco; um único flusher faz o fsync de todos os appends acumulados
+// (group commit). O checkpoint guarda até onde os registros já foram aplicados no banco
+// e, na reabertura, tudo que é válido depois dele volta a ser lido.
+@Slf4j
+public class OrderJournal implements Closeable {
+    
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "applied.checkpoint";
+    private static final int CHECKPOINT_BYTES = 16;
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration flushInterval;
+    private final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+    private final FileChannel checkpointChannel;
+    private final Thread flusher;
+    
+    private JournalSegment active;
+    private int writeOffset;
+    private long appended;
+    private long durable;
+    private JournalPosition durablePosition;
+    private final List<JournalSegment> unflushed = new ArrayList<>();
+    private volatile boolean closed;
+    
+    public OrderJournal(Path directory, int segmentSize, Duration flushInterval) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushInterval = flushInterval;
+        Files.createDirectories(directory);
+        
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(id, JournalSegment.open(file, id, segmentSize));
+                }
+            }
+        }
+        
+        if (segments.isEmpty()) {
+            active = openSegment(0);
+            writeOffset = 0;
+        } else {
+            // Só o último segmento pode ter um frame rasgado por crash
+            active = segments.lastEntry().getValue();
+            writeOffset = active.recoverEnd();
+            active.truncate(writeOffset);
+            active.force();
+        }
+        durablePosition = new JournalPosition(active.id(), writeOffset);
+        
+        checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        
+        flusher = new Thread(this::flushLoop, "order-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        
+        log.info("Order journal opened at {} with {} segments, writing at {}", directory, segments.size(), durablePosition);
+    }
+    
+    // Bloqueia até o fsync do grupo que contém o registro
+    public void append(byte[] payload) throws IOException {
+        if (payload.length == 0 || payload.length > segmentSize - JournalSegment.FRAME_HEADER_BYTES) {
+            throw new IOException("Invalid journal record size: " + payload.length);
+        }
+        
+        long sequence;
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("Order journal is closed");
+            }
+            if (!active.fits(writeOffset, payload.length)) {
+                unflushed.add(active);
+                active = openSegment(active.id() + 1);
+                writeOffset = 0;
+            }
+            writeOffset = active.append(writeOffset, payload);
+            sequence = ++appended;
+            notifyAll();
+        }
+        awaitDurable(sequence);
+    }
+    
+    // Registros já em disco a partir de from, até max
+    public synchronized List<JournalRecord> read(JournalPosition from, int max) {
+        List<JournalRecord> records = new ArrayList<>();
+        JournalPosition position = from;
+        while (records.size() < max && position.compareTo(durablePosition) < 0) {
+            JournalSegment segment = segments.get(position.getSegment());
+            byte[] payload = segment == null ? null : segment.read(position.getOffset());
+            if (payload == null) {
+                // Fim do segmento: segue para o próximo existente
+                Long next = segments.higherKey(position.getSegment());
+                if (next == null) {
+                    break;
+                }
+                position = new JournalPosition(next, 0);
+                continue;
+            }
+            position = new JournalPosition(position.getSegment(), position.getOffset() + JournalSegment.FRAME_HEADER_BYTES + payload.length);
+            records.add(new JournalRecord(payload, position));
+        }
+        return records;
+    }
+    
+    // Espera até haver registros em disco depois de position
+    public synchronized void awaitRecords(JournalPosition position, Duration timeout) throws InterruptedException {
+        if (!closed && position.compareTo(durablePosition) >= 0) {
+            wait(timeout.toMillis());
+        }
+    }
+    
+    public synchronized JournalPosition loadCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_BYTES);
+        checkpointChannel.read(buffer, 0);
+        buffer.flip();
+        if (buffer.remaining() == CHECKPOINT_BYTES) {
+            long segment = buffer.getLong();
+            int offset = buffer.getInt();
+            if (buffer.getInt() == checkpointCrc(segment, offset)) {
+                return new JournalPosition(segment, offset);
+            }
+            log.warn("Order journal checkpoint is corrupted, replaying all segments");
+        }
+        return new JournalPosition(segments.firstKey(), 0);
+    }
+    
+    // Persiste o checkpoint e apaga os segmentos totalmente aplicados
+    public synchronized void checkpoint(JournalPosition position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_BYTES);
+        buffer.putLong(position.getSegment());
+        buffer.putInt(position.getOffset());
+        buffer.putInt(checkpointCrc(position.getSegment(), position.getOffset()));
+        buffer.flip();
+        checkpointChannel.write(buffer, 0);
+        checkpointChannel.force(false);
+        
+        // Segmentos anteriores ao checkpoint já foram lidos, logo já passaram por fsync
+        while (segments.firstKey() < position.getSegment()) {
+            JournalSegment segment = segments.pollFirstEntry().getValue();
+            segment.close();
+            Files.deleteIfExists(segment.file());
+        }
+    }
+    
+    public synchronized long pendingSegments() {
+        return segments.size();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join(Math.max(1000, flushInterval.toMillis() * 10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (this) {
+            for (JournalSegment segment : segments.values()) {
+                segment.close();
+            }
+            checkpointChannel.close();
+        }
+    }
+    
+    private void flushLoop() {
+        while (true) {
+            synchronized (this) {
+                while (!closed && appended == durable) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+            
+            // Espera um pouco para juntar os appends concorrentes no mesmo fsync
+            if (!flushInterval.isZero()) {
+                try {
+                    Thread.sleep(flushInterval.toMillis(), flushInterval.toNanosPart() % 1_000_000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            
+            flush();
+        }
+    }
+    
+    // O fsync roda fora do lock para que os próximos appends já formem o grupo seguinte
+    private void flush() {
+        long target;
+        JournalPosition targetPosition;
+        List<JournalSegment> toForce;
+        synchronized (this) {
+            target = appended;
+            targetPosition = new JournalPosition(active.id(), writeOffset);
+            toForce = new ArrayList<>(unflushed);
+            toForce.add(active);
+            unflushed.clear();
+        }
+        
+        try {
+            for (JournalSegment segment : toForce) {
+                segment.force();
+            }
+        } catch (Exception e) {
+            log.error("Error flushing order journal: {}", e.getMessage(), e);
+            synchronized (this) {
+                unflushed.addAll(toForce.subList(0, toForce.size() - 1));
+                notifyAll();
+            }
+            return;
+        }
+        
+        synchronized (this) {
+            if (target > durable) {
+                durable = target;
+                durablePosition = targetPosition;
+            }
+            notifyAll();
+        }
+    }
+    
+    private synchronized void awaitDurable(long sequence) throws IOException {
+        while (durable < sequence) {
+            if (closed) {
+                throw new IOException("Order journal closed before the record was flushed");
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for journal flush", e);
+            }
+        }
+    }
+    
+    private JournalSegment openSegment(long id) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        JournalSegment segment = JournalSegment.open(file, id, segmentSize);
+        segments.put(id, segment);
+        return segment;
+    }
+    
+    private static int checkpointCrc(long segment, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(12).putLong(segment).putInt(offset).flip());
+        return (int) crc.getValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.btg.orders.infrastructure.messaging.journal;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderFailure;
+import com.btg.orders.domain.entities.Outcome;
+import com.btg.orders.domain.gateways.MessageGateway;
+import com.btg.orders.domain.services.interfaces.OrderValidationServiceInterface;
+import com.btg.orders.infrastructure.messaging.consumer.OrderMessageConsumer;
+import com.btg.orders.infrastructure.messaging.dto.OrderMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Drena o journal para o banco em lotes, um commit por lote. Registros rejeitados pela
+// validação (inclusive pedidos já gravados, no replay após crash) são descartados; só erros
+// transitórios (conexão, timeout, deadlock) param o lote e o mesmo registro é tentado de novo
+// após retry-delay. Um registro que falha por erro de dados é pulado com notificação de erro,
+// senão bloquearia o journal para sempre.
+@Component
+@ConditionalOnProperty(name = "orders.journal.enabled", havingValue = "true")
+@Slf4j
+public class OrderJournalApplier {
+    
+    private final OrderJournal journal;
+    private final OrderMessageConsumer consumer;
+    private final MessageGateway messageGateway;
+    private final OrderValidationServiceInterface validationService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final Duration retryDelay;
+    
+    private JournalPosition position;
+    private volatile boolean running;
+    private Thread worker;
+    
+    public OrderJournalApplier(OrderJournal journal,
+                               OrderMessageConsumer consumer,
+                               MessageGateway messageGateway,
+                               OrderValidationServiceInterface validationService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${orders.journal.batch-size:100}") int batchSize,
+                               @Value("${orders.journal.retry-delay:1s}") Duration retryDelay) {
+        this.journal = journal;
+        this.consumer = consumer;
+        this.messageGateway = messageGateway;
+        this.validationService = validationService;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        position = journal.loadCheckpoint();
+        log.info("Starting order journal applier from {}", position);
+        
+        running = true;
+        worker = new Thread(this::run, "order-journal-applier");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(retryDelay.toMillis() + 5_000);
+        }
+    }
+    
+    // Aplica um lote a partir do checkpoint; retorna quantos registros avançaram
+    public int drain() throws IOException {
+        if (position == null) {
+            position = journal.loadCheckpoint();
+        }
+        
+        List<JournalRecord> records = journal.read(position, batchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+        
+        int applied = applyBatch(records);
+        if (applied > 0) {
+            position = records.get(applied - 1).getNext();
+            journal.checkpoint(position);
+        }
+        return applied;
+    }
+    
+    private void run() {
+        while (running) {
+            try {
+                int applied = drain();
+                if (applied == 0) {
+                    journal.awaitRecords(position, Duration.ofSeconds(1));
+                } else if (applied < batchSize && !journal.read(position, 1).isEmpty()) {
+                    // Lote interrompido por erro transitório
+                    Thread.sleep(retryDelay.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error applying order journal: {}", e.getMessage(), e);
+                try {
+                    Thread.sleep(retryDelay.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private int applyBatch(List<JournalRecord> records) {
+        List<OrderMessageDto> messages = new ArrayList<>(records.size());
+        List<Long> orderCodes = new ArrayList<>(records.size());
+        for (JournalRecord record : records) {
+            OrderMessageDto message = read(record);
+            messages.add(message);
+            if (message != null && message.getCodigoPedido() != null) {
+                orderCodes.add(message.getCodigoPedido());
+            }
+        }
+        
+        consumer.preregisterProducts(messages);
+        try {
+            // Duplicidade do lote inteiro numa consulta; o escopo de validação morre com a transação
+            transaction.executeWithoutResult(status -> validationService.inScope(orderCodes, () -> {
+                messages.forEach(this::apply);
+                return null;
+            }));
+            return records.size();
+        } catch (Exception e) {
+            log.warn("Journal batch of {} records failed, applying one by one: {}", records.size(), e.getMessage());
+        }
+        
+        int applied = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            OrderMessageDto message = messages.get(i);
+            try {
+                transaction.executeWithoutResult(status -> apply(message));
+            } catch (Exception e) {
+                if (isTransient(e)) {
+                    log.error("Error applying journaled order, will retry: {}", e.getMessage());
+                    break;
+                }
+                skip(records.get(i), message, e);
+            }
+            applied++;
+        }
+        return applied;
+    }
+    
+    // Tentar de novo só adianta se o erro não depende do registro (banco fora, pool esgotado, deadlock)
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                || cause instanceof RecoverableDataAccessException
+                || cause instanceof DataAccessResourceFailureException
+                || cause instanceof CannotCreateTransactionException
+                || cause instanceof SQLTransientException
+                || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Erro de dados ou constraint: o registro falharia igual em toda tentativa
+    private void skip(JournalRecord record, OrderMessageDto message, Exception error) {
+        Long orderCode = message.getCodigoPedido();
+        log.error("Skipping journaled order {} at {} after non-transient error: {}", orderCode, record.getNext(), error.getMessage(), error);
+        messageGateway.sendOrderErrorNotification(orderCode, error.getMessage());
+    }
+    
+    private OrderMessageDto read(JournalRecord record) {
+        try {
+            return objectMapper.readValue(record.getPayload(), OrderMessageDto.class);
+        } catch (IOException e) {
+            log.error("Discarding unreadable journal record at {}: {}", record.getNext(), e.getMessage());
+            return null;
+        }
+    }
+    
+    private void apply(OrderMessageDto message) {
+        if (message == null) {
+            return;
+        }
+        
+        Outcome<Order> outcome = consumer.process(message);
+        if (!outcome.isSuccess() && outcome.failure() != OrderFailure.REPLAYED) {
+            log.warn("Discarding journaled order {}: {}", message.getCodigoPedido(), outcome.describe(message.getCodigoPedido()));
+        }
+    }
+}
\ No newline at end of file
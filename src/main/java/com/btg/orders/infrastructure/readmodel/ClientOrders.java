@@ -0,0 +1,154 @@
+package com.btg.orders.infrastructure.readmodel;
+
+import com.btg.orders.domain.entities.OrderSummary;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Resumos dos pedidos de um cliente em arrays primitivos, ordenados por createdAt.
+// Imutável: cada pedido novo gera uma cópia, então leitores não precisam de lock.
+// total é guardado em centavos (NUMERIC(10, 2)) e createdAt em microssegundos (TIMESTAMP(6)).
+final class ClientOrders {
+    
+    private static final int TOTAL_SCALE = 2;
+    
+    private final long[] orderCodes;
+    private final long[] totals;
+    private final int[] itemCounts;
+    private final long[] createdAt;
+    // System.nanoTime() da última carga ou conferência com o banco (lido e escrito sob o lock do OrderReadModel)
+    private long validatedAt;
+    
+    private ClientOrders(long[] orderCodes, long[] totals, int[] itemCounts, long[] createdAt) {
+        this.orderCodes = orderCodes;
+        this.totals = totals;
+        this.itemCounts = itemCounts;
+        this.createdAt = createdAt;
+    }
+    
+    // null quando algum resumo não cabe na representação compacta
+    static ClientOrders of(List<OrderSummary> summaries) {
+        int size = summaries.size();
+        long[] orderCodes = new long[size];
+        long[] totals = new long[size];
+        int[] itemCounts = new int[size];
+        long[] createdAt = new long[size];
+        
+        for (int i = 0; i < size; i++) {
+            OrderSummary summary = summaries.get(i);
+            if (!isCompact(summary)) {
+                return null;
+            }
+            orderCodes[i] = summary.getOrderCode();
+            totals[i] = toCents(summary.getTotal());
+            itemCounts[i] = Math.toIntExact(summary.getItemCount());
+            createdAt[i] = toMicros(summary.getCreatedAt());
+            if (i > 0 && createdAt[i] < createdAt[i - 1]) {
+                return null;
+            }
+        }
+        return new ClientOrders(orderCodes, totals, itemCounts, createdAt);
+    }
+    
+    ClientOrders with(OrderSummary summary) {
+        if (!isCompact(summary)) {
+            return null;
+        }
+        
+        long micros = toMicros(summary.getCreatedAt());
+        int position = orderCodes.length;
+        while (position > 0 && createdAt[position - 1] > micros) {
+            position--;
+        }
+        
+        ClientOrders updated = new ClientOrders(
+            insert(orderCodes, position, summary.getOrderCode()),
+            insert(totals, position, toCents(summary.getTotal())),
+            insert(itemCounts, position, Math.toIntExact(summary.getItemCount())),
+            insert(createdAt, position, micros));
+        // Um pedido desta instância não confirma pedidos gravados por outras
+        updated.validatedAt = validatedAt;
+        return updated;
+    }
+    
+    long validatedAt() {
+        return validatedAt;
+    }
+    
+    void markValidated(long nanos) {
+        validatedAt = nanos;
+    }
+    
+    int size() {
+        return orderCodes.length;
+    }
+    
+    long orderCode(int index) {
+        return orderCodes[index];
+    }
+    
+    long totalCents(int index) {
+        return totals[index];
+    }
+    
+    LocalDateTime lastOrderAt() {
+        return orderCodes.length == 0 ? null : fromMicros(createdAt[createdAt.length - 1]);
+    }
+    
+    List<OrderSummary> toSummaries() {
+        List<OrderSummary> summaries = new ArrayList<>(orderCodes.length);
+        for (int i = 0; i < orderCodes.length; i++) {
+            summaries.add(new OrderSummary(orderCodes[i], fromCents(totals[i]), (long) itemCounts[i], fromMicros(createdAt[i])));
+        }
+        return summaries;
+    }
+    
+    // Objeto e cabeçalhos dos quatro arrays + 28 bytes por pedido
+    long estimatedBytes() {
+        return 104L + 28L * orderCodes.length;
+    }
+    
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, TOTAL_SCALE);
+    }
+    
+    private static boolean isCompact(OrderSummary summary) {
+        return summary.getOrderCode() != null
+            && summary.getTotal() != null
+            && summary.getTotal().stripTrailingZeros().scale() <= TOTAL_SCALE
+            && summary.getItemCount() != null
+            && summary.getItemCount() <= Integer.MAX_VALUE
+            && summary.getCreatedAt() != null;
+    }
+    
+    static long toCents(BigDecimal total) {
+        return total.movePointRight(TOTAL_SCALE).longValueExact();
+    }
+    
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+    
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+    
+    private static long[] insert(long[] values, int position, long value) {
+        long[] copy = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(values, position, copy, position + 1, values.length - position);
+        copy[position] = value;
+        return copy;
+    }
+    
+    private static int[] insert(int[] values, int position, int value) {
+        int[] copy = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(values, position, copy, position + 1, values.length - position);
+        copy[position] = value;
+        return copy;
+    }
+}
\ No newline at end of file
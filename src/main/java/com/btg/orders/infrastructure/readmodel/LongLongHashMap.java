@@ -0,0 +1,124 @@
+package com.btg.orders.infrastructure.readmodel;
+
+// Mapa long -> long com endereçamento aberto, sem boxing; remoção por backward shift
+// para não deixar tombstones. Não é thread-safe: o acesso é sincronizado pelo OrderReadModel.
+class LongLongHashMap {
+    
+    private static final long EMPTY = 0L;
+    
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    
+    private boolean hasZeroKey;
+    private long zeroValue;
+    
+    LongLongHashMap() {
+        allocate(16);
+    }
+    
+    int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+    
+    // Bytes ocupados pelos dois arrays de slots
+    long estimatedBytes() {
+        return 32L + 16L * keys.length;
+    }
+    
+    boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return keys[slot(key)] == key;
+    }
+    
+    long get(long key, long defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+    
+    void put(long key, long value) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        
+        int slot = slot(key);
+        if (keys[slot] != key) {
+            keys[slot] = key;
+            if (++size > keys.length / 2) {
+                rehash(keys.length * 2);
+                slot = slot(key);
+            }
+        }
+        values[slot] = value;
+    }
+    
+    void remove(long key) {
+        if (key == EMPTY) {
+            hasZeroKey = false;
+            return;
+        }
+        
+        int slot = slot(key);
+        if (keys[slot] != key) {
+            return;
+        }
+        
+        // Desloca para trás as chaves da mesma sequência de colisão
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = hash(keys[next]);
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+    }
+    
+    // Slot da chave ou o primeiro slot livre da sua sequência de sondagem
+    private int slot(long key) {
+        int slot = hash(key);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+    
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,283 @@
+package com.btg.orders.infrastructure.readmodel;
+
+import com.btg.orders.domain.entities.ClientOrdersVersion;
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.events.OrderProcessedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Read model em memória com os resumos de pedidos dos clientes mais recentemente consultados.
+// Alimentado pelos eventos de pedido processado (após o commit) e por carga a partir do
+// banco no startup e em cada miss; clientes frios saem por LRU quando o orçamento estoura.
+// É por instância: pedidos gravados por outras réplicas (ou pelo applier do journal de outra
+// instância) não geram evento aqui, então um cliente residente só é servido sem consultar o
+// banco por até max-staleness; depois disso é conferido pela versão (contagem + último pedido).
+// Vale também para os totais: cada pedido indexado aponta para o cliente dono.
+@Component
+@ConditionalOnProperty(name = "orders.read-model.enabled", havingValue = "true")
+@Slf4j
+public class OrderReadModel {
+    
+    private static final long NOT_FOUND = Long.MIN_VALUE;
+    
+    // Entrada do LinkedHashMap + chave boxed por cliente
+    private static final long CLIENT_OVERHEAD_BYTES = 64L;
+    
+    // O startup ocupa só parte do orçamento para sobrar espaço aos clientes carregados sob demanda
+    private static final int BOOTSTRAP_MEMORY_PERCENT = 80;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long maxMemoryBytes;
+    private final boolean archiveEnabled;
+    private final long maxStalenessNanos;
+    
+    private final LinkedHashMap<Long, ClientOrders> clients = new LinkedHashMap<>(1024, 0.75f, true);
+    private final LongLongHashMap totalsByOrderCode = new LongLongHashMap();
+    // Dono de cada pedido indexado: o total só vale enquanto o cliente dono está confirmado com o banco
+    private final LongLongHashMap clientsByOrderCode = new LongLongHashMap();
+    
+    // Clientes que receberam pedidos enquanto alguma carga do banco estava em andamento
+    private final Set<Long> dirtyClients = new HashSet<>();
+    private int pendingLoads;
+    private long clientsBytes;
+    
+    public OrderReadModel(DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${orders.read-model.max-memory:64MB}") DataSize maxMemory,
+                          @Value("${orders.read-model.max-staleness:1s}") Duration maxStaleness,
+                          @Value("${orders.archive.enabled:false}") boolean archiveEnabled,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.archiveEnabled = archiveEnabled;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        
+        Gauge.builder("orders.read-model.clients", this, OrderReadModel::residentClients)
+            .description("Clientes residentes no read model")
+            .register(meterRegistry);
+        Gauge.builder("orders.read-model.memory", this, OrderReadModel::usedBytes)
+            .description("Memória estimada do read model")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+    
+    public synchronized ClientOrders find(Long clientId) {
+        return clients.get(clientId);
+    }
+    
+    // Confirmado com o banco há menos de max-staleness
+    public synchronized boolean isFresh(Long clientId) {
+        ClientOrders orders = clients.get(clientId);
+        return orders != null && System.nanoTime() - orders.validatedAt() < maxStalenessNanos;
+    }
+    
+    // Confere o cliente residente com a versão lida do banco: igual, renova a validade; diferente
+    // (pedido gravado por outra instância, ou removido), sai do read model e volta a ser carregado
+    public synchronized boolean revalidate(Long clientId, ClientOrders orders, ClientOrdersVersion version) {
+        if (clients.get(clientId) != orders) {
+            return false;
+        }
+        
+        if (version != null && version.getOrderCount() != null && version.getOrderCount() == orders.size()
+                && Objects.equals(version.getLastOrderAt(), orders.lastOrderAt())) {
+            orders.markValidated(System.nanoTime());
+            return true;
+        }
+        evict(clientId);
+        return false;
+    }
+    
+    public synchronized BigDecimal findTotal(Long orderCode) {
+        long cents = totalsByOrderCode.get(orderCode, NOT_FOUND);
+        return cents == NOT_FOUND ? null : ClientOrders.fromCents(cents);
+    }
+    
+    public synchronized Long findClient(Long orderCode) {
+        long clientId = clientsByOrderCode.get(orderCode, NOT_FOUND);
+        return clientId == NOT_FOUND ? null : clientId;
+    }
+    
+    // Busca no banco e guarda o resultado, a menos que o cliente tenha recebido pedidos durante a busca
+    public List<OrderSummary> loadThrough(Long clientId, Supplier<List<OrderSummary>> loader) {
+        beginLoad();
+        try {
+            List<OrderSummary> summaries = loader.get();
+            store(clientId, summaries);
+            return summaries;
+        } finally {
+            endLoad();
+        }
+    }
+    
+    public synchronized void evict(Long clientId) {
+        ClientOrders removed = clients.remove(clientId);
+        if (removed != null) {
+            unindex(removed);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onOrderProcessed(OrderProcessedEvent event) {
+        Order order = event.getOrder();
+        if (order.getOrderCode() == null || totalsByOrderCode.containsKey(order.getOrderCode())) {
+            return;
+        }
+        
+        Long clientId = order.getClientId();
+        ClientOrders current = clients.get(clientId);
+        if (current == null) {
+            if (pendingLoads > 0) {
+                dirtyClients.add(clientId);
+            }
+            return;
+        }
+        
+        OrderSummary summary = new OrderSummary(order.getOrderCode(), order.getTotal(),
+            (long) order.getItems().size(), order.getCreatedAt());
+        ClientOrders updated = current.with(summary);
+        if (updated == null) {
+            evict(clientId);
+            return;
+        }
+        
+        clients.put(clientId, updated);
+        clientsBytes += updated.estimatedBytes() - current.estimatedBytes();
+        totalsByOrderCode.put(order.getOrderCode(), ClientOrders.toCents(order.getTotal()));
+        clientsByOrderCode.put(order.getOrderCode(), clientId);
+        evictColdClients();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        log.info("Bootstrapping order read model up to {} bytes", maxMemoryBytes);
+        
+        String sql = "SELECT client_id, order_code, total, item_count, created_at FROM orders" +
+            (archiveEnabled
+                ? " UNION ALL SELECT client_id, order_code, total, item_count, created_at FROM order_archive.archived_orders"
+                : "") +
+            " ORDER BY client_id, created_at";
+        
+        beginLoad();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = jdbcTemplate.queryForStream(sql, (rs, rowNum) -> new Object[] {
+                    rs.getLong("client_id"),
+                    new OrderSummary(rs.getLong("order_code"), rs.getBigDecimal("total"),
+                        rs.getLong("item_count"), rs.getTimestamp("created_at").toLocalDateTime())
+                })) {
+                    Iterator<Object[]> iterator = rows.iterator();
+                    Long clientId = null;
+                    List<OrderSummary> summaries = new ArrayList<>();
+                    while (iterator.hasNext() && isBelowBootstrapLimit()) {
+                        Object[] row = iterator.next();
+                        if (clientId != null && !clientId.equals(row[0])) {
+                            store(clientId, summaries);
+                            summaries = new ArrayList<>();
+                        }
+                        clientId = (Long) row[0];
+                        summaries.add((OrderSummary) row[1]);
+                    }
+                    if (clientId != null && !iterator.hasNext()) {
+                        store(clientId, summaries);
+                    }
+                }
+            });
+            log.info("Order read model bootstrapped with {} clients ({} bytes)", residentClients(), usedBytes());
+        } catch (Exception e) {
+            log.error("Error bootstrapping order read model: {}", e.getMessage(), e);
+        } finally {
+            endLoad();
+        }
+    }
+    
+    public synchronized int residentClients() {
+        return clients.size();
+    }
+    
+    public synchronized long usedBytes() {
+        return clientsBytes + totalsByOrderCode.estimatedBytes() + clientsByOrderCode.estimatedBytes();
+    }
+    
+    private synchronized boolean isBelowBootstrapLimit() {
+        return usedBytes() < maxMemoryBytes / 100 * BOOTSTRAP_MEMORY_PERCENT;
+    }
+    
+    private synchronized void beginLoad() {
+        pendingLoads++;
+    }
+    
+    private synchronized void endLoad() {
+        if (--pendingLoads == 0) {
+            dirtyClients.clear();
+        }
+    }
+    
+    private synchronized void store(Long clientId, List<OrderSummary> summaries) {
+        if (dirtyClients.contains(clientId)) {
+            return;
+        }
+        
+        ClientOrders orders = ClientOrders.of(summaries);
+        if (orders == null || orders.estimatedBytes() + CLIENT_OVERHEAD_BYTES > maxMemoryBytes / 2) {
+            return;
+        }
+        
+        evict(clientId);
+        clients.put(clientId, orders);
+        orders.markValidated(System.nanoTime());
+        clientsBytes += orders.estimatedBytes() + CLIENT_OVERHEAD_BYTES;
+        for (int i = 0; i < orders.size(); i++) {
+            totalsByOrderCode.put(orders.orderCode(i), orders.totalCents(i));
+            clientsByOrderCode.put(orders.orderCode(i), clientId);
+        }
+        evictColdClients();
+    }
+    
+    private void unindex(ClientOrders orders) {
+        clientsBytes -= orders.estimatedBytes() + CLIENT_OVERHEAD_BYTES;
+        for (int i = 0; i < orders.size(); i++) {
+            totalsByOrderCode.remove(orders.orderCode(i));
+            clientsByOrderCode.remove(orders.orderCode(i));
+        }
+    }
+    
+    // Remove os clientes menos recentemente usados até voltar ao orçamento, preservando o mais recente
+    private void evictColdClients() {
+        Iterator<Map.Entry<Long, ClientOrders>> eldest = clients.entrySet().iterator();
+        while (usedBytes() > maxMemoryBytes && clients.size() > 1 && eldest.hasNext()) {
+            ClientOrders orders = eldest.next().getValue();
+            eldest.remove();
+            unindex(orders);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.btg.orders.infrastructure.readmodel;
+
+import com.btg.orders.domain.entities.ClientOrdersVersion;
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.entities.OrderView;
+import com.btg.orders.domain.entities.ScanOptions;
+import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.infrastructure.database.gateways.OrderDatabaseGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Com orders.read-model.enabled, total, contagem e listagem por cliente respondem do
+// OrderReadModel; clientes não residentes (ou despejados) caem no OrderDatabaseGateway.
+// Passado max-staleness, o cliente residente é conferido pela versão (consulta indexada)
+// antes de responder, para enxergar pedidos gravados por outras instâncias.
+@Component
+@Primary
+@ConditionalOnProperty(name = "orders.read-model.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReadModelOrderGateway implements OrderGateway {
+    
+    private final OrderDatabaseGateway delegate;
+    private final OrderReadModel readModel;
+    
+    @Override
+    public Order save(Order order) {
+        return delegate.save(order);
+    }
+    
+    @Override
+    public Optional<Order> findById(Long id) {
+        return delegate.findById(id);
+    }
+    
+    @Override
+    public Optional<Order> findByOrderCode(Long orderCode) {
+        return delegate.findByOrderCode(orderCode);
+    }
+    
+    @Override
+    public List<Order> findByClientId(Long clientId) {
+        return delegate.findByClientId(clientId);
+    }
+    
+    @Override
+    public List<OrderView> findViewsByClientId(Long clientId) {
+        return delegate.findViewsByClientId(clientId);
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesByClientId(Long clientId) {
+        ClientOrders orders = resident(clientId);
+        if (orders != null) {
+            return orders.toSummaries();
+        }
+        
+        log.info("Read model miss for client: {}", clientId);
+        return readModel.loadThrough(clientId, () -> delegate.findSummariesByClientId(clientId));
+    }
+    
+    @Override
+    public Optional<BigDecimal> calculateOrderTotal(Long orderCode) {
+        // O total passa pela mesma conferência do cliente dono: um pedido removido por outra
+        // instância muda a versão do cliente e derruba o total junto
+        Long clientId = readModel.findClient(orderCode);
+        if (clientId != null && resident(clientId) != null) {
+            BigDecimal total = readModel.findTotal(orderCode);
+            if (total != null) {
+                return Optional.of(total);
+            }
+        }
+        
+        return delegate.calculateOrderTotal(orderCode);
+    }
+    
+    @Override
+    public Map<Long, BigDecimal> calculateOrderTotals(Collection<Long> orderCodes) {
+        Map<Long, BigDecimal> totals = new HashMap<>(orderCodes.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long orderCode : orderCodes) {
+            // Como nas contagens em lote: dono vencido vai para a consulta em lote, sem conferir um a um
+            Long clientId = readModel.findClient(orderCode);
+            BigDecimal total = clientId != null && readModel.isFresh(clientId) ? readModel.findTotal(orderCode) : null;
+            if (total != null) {
+                totals.put(orderCode, total);
+            } else {
+                missing.add(orderCode);
+            }
+        }
+        
+        if (!missing.isEmpty()) {
+            totals.putAll(delegate.calculateOrderTotals(missing));
+        }
+        return totals;
+    }
+    
+    @Override
+    public Long countOrdersByClient(Long clientId) {
+        ClientOrders orders = resident(clientId);
+        if (orders != null) {
+            return (long) orders.size();
+        }
+        
+        return delegate.countOrdersByClient(clientId);
+    }
+    
+    @Override
+    public Map<Long, Long> countOrdersByClients(Collection<Long> clientIds) {
+        Map<Long, Long> counts = new HashMap<>(clientIds.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long clientId : clientIds) {
+            // Contagens em lote: residentes vencidos vão para a consulta em lote, sem conferir um a um
+            ClientOrders orders = readModel.isFresh(clientId) ? readModel.find(clientId) : null;
+            if (orders != null) {
+                counts.put(clientId, (long) orders.size());
+            } else {
+                missing.add(clientId);
+            }
+        }
+        
+        if (!missing.isEmpty()) {
+            counts.putAll(delegate.countOrdersByClients(missing));
+        }
+        return counts;
+    }
+    
+    @Override
+    public ClientOrdersVersion findClientOrdersVersion(Long clientId) {
+        ClientOrders orders = readModel.find(clientId);
+        if (orders != null && readModel.isFresh(clientId)) {
+            return new ClientOrdersVersion((long) orders.size(), orders.lastOrderAt());
+        }
+        
+        // A versão do banco é a resposta; de quebra renova (ou derruba) o cliente residente
+        ClientOrdersVersion version = delegate.findClientOrdersVersion(clientId);
+        if (orders != null) {
+            readModel.revalidate(clientId, orders, version);
+        }
+        return version;
+    }
+    
+    // Cliente residente e confirmado com o banco há menos de max-staleness, ou null
+    private ClientOrders resident(Long clientId) {
+        ClientOrders orders = readModel.find(clientId);
+        if (orders == null || readModel.isFresh(clientId)) {
+            return orders;
+        }
+        
+        ClientOrdersVersion version = delegate.findClientOrdersVersion(clientId);
+        return readModel.revalidate(clientId, orders, version) ? orders : null;
+    }
+    
+    @Override
+    @Deprecated
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public long forEachOrder(ScanOptions options, Consumer<Order> action) {
+        return delegate.forEachOrder(options, action);
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        // O pedido removido (rollback) precisa sair também do read model
+        delegate.findById(id).ifPresent(order -> readModel.evict(order.getClientId()));
+        delegate.deleteById(id);
+    }
+    
+    @Override
+    public boolean existsByOrderCode(Long orderCode) {
+        return delegate.existsByOrderCode(orderCode);
+    }
+    
+    @Override
+    public Set<Long> findExistingOrderCodes(Collection<Long> orderCodes) {
+        return delegate.findExistingOrderCodes(orderCodes);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,428 @@
+package com.btg.orders.infrastructure.replay;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.services.interfaces.EventPublisherServiceInterface;
+import com.btg.orders.infrastructure.database.mappers.OrderItemMapper;
+import com.btg.orders.infrastructure.database.models.OrderItemDocument;
+import com.btg.orders.infrastructure.database.products.ProductDictionary;
+import com.btg.orders.infrastructure.replay.interfaces.OrderProjectionInterface;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Reconstrói dados derivados reproduzindo os pedidos gravados: lê orders/order_items (e o
+// arquivo, se habilitado) com cursor no servidor, em paralelo por faixas de client_id, ou
+// um event log JSON lines exportado, e entrega cada pedido às projeções escolhidas, ao
+// EventPublisherService e/ou a um novo event log. A memória fica constante: cada thread
+// mantém só o pedido que está montando.
+@Component
+@Slf4j
+public class OrderReplayEngine {
+    
+    private static final String ORDERS_SQL =
+        "SELECT o.id, o.order_code, o.client_id, o.total, o.created_at, o.items_json, " +
+        "i.id, i.product_id, i.quantity, i.price, i.total " +
+        "FROM orders o " +
+        "LEFT JOIN order_items i ON i.order_id = o.id AND i.created_at = o.created_at " +
+        "WHERE o.client_id >= ? AND o.client_id < ? " +
+        "ORDER BY o.client_id, o.created_at, o.id, i.id";
+    
+    private static final String ARCHIVED_ORDERS_SQL =
+        "SELECT id, order_code, client_id, total, created_at, items " +
+        "FROM order_archive.archived_orders " +
+        "WHERE client_id >= ? AND client_id < ? " +
+        "ORDER BY client_id, created_at";
+    
+    private static final TypeReference<List<OrderItemDocument>> ITEM_DOCUMENTS = new TypeReference<>() {};
+    
+    private final Map<String, OrderProjectionInterface> projections;
+    private final EventPublisherServiceInterface eventPublisherService;
+    private final OrderItemMapper orderItemMapper;
+    private final ProductDictionary productDictionary;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean archiveEnabled;
+    private final LongAdder replayedOrders = new LongAdder();
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public OrderReplayEngine(List<OrderProjectionInterface> projections,
+                             EventPublisherServiceInterface eventPublisherService,
+                             OrderItemMapper orderItemMapper,
+                             ProductDictionary productDictionary,
+                             ObjectMapper objectMapper,
+                             DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${orders.archive.enabled:false}") boolean archiveEnabled,
+                             MeterRegistry meterRegistry) {
+        this.projections = projections.stream()
+            .collect(Collectors.toMap(OrderProjectionInterface::getName, Function.identity()));
+        this.eventPublisherService = eventPublisherService;
+        this.orderItemMapper = orderItemMapper;
+        this.productDictionary = productDictionary;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiveEnabled = archiveEnabled;
+        
+        FunctionCounter.builder("orders.replay.orders", replayedOrders, LongAdder::sum)
+            .register(meterRegistry);
+    }
+    
+    public List<String> projectionNames() {
+        return projections.keySet().stream().sorted().toList();
+    }
+    
+    public ReplayReport replayFromDatabase(ReplayOptions options) {
+        long[] bounds = clientIdBounds(options);
+        if (bounds == null) {
+            log.info("Nothing to replay: no orders found");
+            return ReplayReport.builder().source("database").elapsed(Duration.ZERO).build();
+        }
+        
+        int parallelism = Math.max(1, options.getParallelism());
+        List<long[]> ranges = splitRanges(bounds[0], bounds[1], parallelism * Math.max(1, options.getRangesPerThread()));
+        
+        return run("database", options, ranges.size(), (sink, completedRanges) -> {
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory());
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (long[] range : ranges) {
+                    futures.add(executor.submit(() -> {
+                        replayRange(range[0], range[1], sink);
+                        completedRanges.incrementAndGet();
+                    }));
+                }
+                awaitAll(futures);
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+    }
+    
+    // O event log é lido por uma única thread, na ordem em que foi gravado
+    public ReplayReport replayFromEventLog(Path eventLog, ReplayOptions options) {
+        return run("event-log " + eventLog, options, 1, (sink, completedRanges) -> {
+            try (BufferedReader reader = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        sink.accept(objectMapper.readValue(line, Order.class));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading event log " + eventLog, e);
+            }
+            completedRanges.incrementAndGet();
+        });
+    }
+    
+    static List<long[]> splitRanges(long minClientId, long maxClientId, int count) {
+        long span = maxClientId - minClientId + 1;
+        long width = Math.max(1, (span + count - 1) / count);
+        
+        List<long[]> ranges = new ArrayList<>();
+        for (long from = minClientId; from <= maxClientId; from += width) {
+            ranges.add(new long[]{from, Math.min(from + width, maxClientId + 1)});
+        }
+        return ranges;
+    }
+    
+    private ReplayReport run(String source, ReplayOptions options, int rangeCount, ReplaySource replaySource) {
+        List<Consumer<Order>> targets = new ArrayList<>();
+        List<OrderProjectionInterface> selected = selectProjections(options.getProjections(), options.isResetProjections());
+        selected.stream()
+            .filter(projection -> !projection.rebuildsOnReset())
+            .forEach(projection -> targets.add(projection::apply));
+        if (options.isPublishEvents()) {
+            targets.add(eventPublisherService::publishOrderProcessedEvent);
+        }
+        
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A replay is already running");
+        }
+        
+        BufferedWriter exportWriter = null;
+        ScheduledExecutorService progressReporter = Executors.newSingleThreadScheduledExecutor(threadFactory());
+        try {
+            if (options.getExportTo() != null) {
+                exportWriter = Files.newBufferedWriter(options.getExportTo(), StandardCharsets.UTF_8);
+                targets.add(exportSink(exportWriter));
+            }
+            if (options.isResetProjections()) {
+                selected.forEach(OrderProjectionInterface::reset);
+            }
+            
+            log.info("Replaying orders from {} into projections {} (events: {}, export: {}, ranges: {}, max {} orders/s)",
+                source, selected.stream().map(OrderProjectionInterface::getName).toList(), options.isPublishEvents(),
+                options.getExportTo(), rangeCount, options.getMaxOrdersPerSecond() > 0 ? options.getMaxOrdersPerSecond() : "unlimited");
+            
+            LongAdder orders = new LongAdder();
+            LongAdder items = new LongAdder();
+            AtomicInteger completedRanges = new AtomicInteger();
+            ReplayRateLimiter rateLimiter = options.getMaxOrdersPerSecond() > 0
+                ? new ReplayRateLimiter(options.getMaxOrdersPerSecond())
+                : null;
+            
+            long start = System.nanoTime();
+            long interval = options.getProgressInterval().toMillis();
+            if (interval > 0) {
+                progressReporter.scheduleAtFixedRate(() -> logProgress(orders.sum(), completedRanges.get(), rangeCount, start),
+                    interval, interval, TimeUnit.MILLISECONDS);
+            }
+            
+            replaySource.replay(order -> {
+                if (rateLimiter != null) {
+                    acquire(rateLimiter);
+                }
+                for (Consumer<Order> target : targets) {
+                    target.accept(order);
+                }
+                orders.increment();
+                items.add(order.getItems().size());
+                replayedOrders.increment();
+            }, completedRanges);
+            
+            if (exportWriter != null) {
+                exportWriter.flush();
+            }
+            
+            ReplayReport report = ReplayReport.builder()
+                .source(source)
+                .orders(orders.sum())
+                .items(items.sum())
+                .ranges(rangeCount)
+                .elapsed(Duration.ofNanos(System.nanoTime() - start))
+                .build();
+            log.info("Replay from {} finished: {} orders, {} items in {} ({} orders/s)",
+                source, report.getOrders(), report.getItems(), report.getElapsed(), String.format("%.0f", report.getOrdersPerSecond()));
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing event log " + options.getExportTo(), e);
+        } finally {
+            progressReporter.shutdownNow();
+            closeQuietly(exportWriter);
+            running.set(false);
+        }
+    }
+    
+    private List<OrderProjectionInterface> selectProjections(List<String> names, boolean reset) {
+        List<OrderProjectionInterface> selected = new ArrayList<>();
+        for (String name : names) {
+            OrderProjectionInterface projection = projections.get(name.trim());
+            if (projection == null) {
+                throw new IllegalArgumentException("Unknown projection '" + name + "', available: " + projectionNames());
+            }
+            // Sem reset ela não seria reconstruída, e reaplicar os pedidos por cima dobraria os valores
+            if (projection.rebuildsOnReset() && !reset) {
+                throw new IllegalArgumentException("Projection '" + name + "' is rebuilt from scratch and requires reset");
+            }
+            selected.add(projection);
+        }
+        return selected;
+    }
+    
+    private void replayRange(long fromClientId, long toClientId, Consumer<Order> sink) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            OrderRowAssembler assembler = new OrderRowAssembler(sink);
+            jdbcTemplate.query(ORDERS_SQL, assembler, fromClientId, toClientId);
+            assembler.finish();
+            
+            if (archiveEnabled) {
+                jdbcTemplate.query(ARCHIVED_ORDERS_SQL, (RowCallbackHandler) rs -> {
+                    Order order = readOrder(rs);
+                    order.setItems(readItems(rs.getString(6)));
+                    sink.accept(order);
+                }, fromClientId, toClientId);
+            }
+        });
+    }
+    
+    private long[] clientIdBounds(ReplayOptions options) {
+        String sql = "SELECT MIN(client_id), MAX(client_id) FROM orders" +
+            (archiveEnabled
+                ? " UNION ALL SELECT MIN(client_id), MAX(client_id) FROM order_archive.archived_orders"
+                : "");
+        
+        long[] bounds = {Long.MAX_VALUE, Long.MIN_VALUE};
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            long min = rs.getLong(1);
+            if (!rs.wasNull()) {
+                bounds[0] = Math.min(bounds[0], min);
+                bounds[1] = Math.max(bounds[1], rs.getLong(2));
+            }
+        });
+        
+        long min = Optional.ofNullable(options.getFromClientId()).orElse(bounds[0]);
+        long max = Optional.ofNullable(options.getToClientId()).orElse(bounds[1]);
+        return bounds[0] > bounds[1] || min > max ? null : new long[]{min, max};
+    }
+    
+    private Order readOrder(ResultSet rs) throws SQLException {
+        return Order.builder()
+            .id(rs.getLong(1))
+            .orderCode(rs.getLong(2))
+            .clientId(rs.getLong(3))
+            .total(rs.getBigDecimal(4))
+            .createdAt(rs.getTimestamp(5).toLocalDateTime())
+            .build();
+    }
+    
+    private List<OrderItem> readItems(String json) {
+        try {
+            return new ArrayList<>(orderItemMapper.documentsToDomain(objectMapper.readValue(json, ITEM_DOCUMENTS)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid items JSON", e);
+        }
+    }
+    
+    private Consumer<Order> exportSink(BufferedWriter writer) {
+        return order -> {
+            try {
+                String line = objectMapper.writeValueAsString(order);
+                synchronized (writer) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing event log", e);
+            }
+        };
+    }
+    
+    private void logProgress(long orders, int completedRanges, int rangeCount, long start) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("Replay progress: {} orders ({} orders/s), {}/{} ranges done",
+            orders, String.format("%.0f", orders / seconds), completedRanges, rangeCount);
+    }
+    
+    private static void acquire(ReplayRateLimiter rateLimiter) {
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        }
+    }
+    
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Replay failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "order-replay-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static void closeQuietly(BufferedWriter writer) {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Error closing event log: {}", e.getMessage());
+            }
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ReplaySource {
+        void replay(Consumer<Order> sink, AtomicInteger completedRanges);
+    }
+    
+    // Linhas de um mesmo pedido chegam juntas (ORDER BY ... o.id); o pedido é entregue
+    // quando aparece a primeira linha do próximo
+    private class OrderRowAssembler implements RowCallbackHandler {
+        
+        private final Consumer<Order> sink;
+        private Order current;
+        
+        OrderRowAssembler(Consumer<Order> sink) {
+            this.sink = sink;
+        }
+        
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (current == null || current.getId() != id) {
+                finish();
+                current = readOrder(rs);
+                String itemsJson = rs.getString(6);
+                if (itemsJson != null) {
+                    current.setItems(readItems(itemsJson));
+                }
+            }
+            
+            long itemId = rs.getLong(7);
+            if (!rs.wasNull()) {
+                current.getItems().add(OrderItem.builder()
+                    .id(itemId)
+                    .product(productDictionary.nameOf(rs.getInt(8)))
+                    .quantity(rs.getInt(9))
+                    .price(rs.getBigDecimal(10))
+                    .total(rs.getBigDecimal(11))
+                    .build());
+            }
+        }
+        
+        void finish() {
+            if (current != null) {
+                sink.accept(current);
+                current = null;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.btg.orders.infrastructure.replay;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+// Executa um replay no startup, como job avulso:
+//   java -jar orders.jar --orders.replay.enabled=true --orders.replay.projections=total-index
+// Com exit=true a aplicação termina ao final (código 1 em caso de erro).
+@Component
+@ConditionalOnProperty(name = "orders.replay.enabled", havingValue = "true")
+@Slf4j
+public class OrderReplayRunner implements ApplicationRunner {
+    
+    private final OrderReplayEngine engine;
+    private final ConfigurableApplicationContext context;
+    private final String source;
+    private final String eventLog;
+    private final ReplayOptions options;
+    private final boolean exit;
+    
+    public OrderReplayRunner(OrderReplayEngine engine,
+                             ConfigurableApplicationContext context,
+                             @Value("${orders.replay.source:database}") String source,
+                             @Value("${orders.replay.event-log:}") String eventLog,
+                             @Value("${orders.replay.projections:}") List<String> projections,
+                             @Value("${orders.replay.publish-events:false}") boolean publishEvents,
+                             @Value("${orders.replay.export-to:}") String exportTo,
+                             @Value("${orders.replay.reset:true}") boolean reset,
+                             @Value("${orders.replay.parallelism:4}") int parallelism,
+                             @Value("${orders.replay.ranges-per-thread:4}") int rangesPerThread,
+                             @Value("${orders.replay.from-client-id:#{null}}") Long fromClientId,
+                             @Value("${orders.replay.to-client-id:#{null}}") Long toClientId,
+                             @Value("${orders.replay.max-orders-per-second:0}") long maxOrdersPerSecond,
+                             @Value("${orders.replay.progress-interval:10s}") Duration progressInterval,
+                             @Value("${orders.replay.exit:true}") boolean exit) {
+        this.engine = engine;
+        this.context = context;
+        this.source = source;
+        this.eventLog = eventLog;
+        this.exit = exit;
+        this.options = ReplayOptions.builder()
+            .projections(projections.stream().filter(name -> !name.isBlank()).toList())
+            .publishEvents(publishEvents)
+            .exportTo(exportTo.isBlank() ? null : Path.of(exportTo))
+            .resetProjections(reset)
+            .parallelism(parallelism)
+            .rangesPerThread(rangesPerThread)
+            .fromClientId(fromClientId)
+            .toClientId(toClientId)
+            .maxOrdersPerSecond(maxOrdersPerSecond)
+            .progressInterval(progressInterval)
+            .build();
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            switch (source) {
+                case "database" -> engine.replayFromDatabase(options);
+                case "event-log" -> {
+                    if (eventLog.isBlank()) {
+                        throw new IllegalArgumentException("orders.replay.event-log is required for source event-log");
+                    }
+                    engine.replayFromEventLog(Path.of(eventLog), options);
+                }
+                default -> throw new IllegalArgumentException("Unknown replay source: " + source);
+            }
+        } catch (Exception e) {
+            log.error("Order replay failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        
+        if (exit) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
\ No newline at end of file
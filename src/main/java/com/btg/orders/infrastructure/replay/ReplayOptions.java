@@ -0,0 +1,43 @@
+package com.btg.orders.infrastructure.replay;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class ReplayOptions {
+    // Nomes das projeções registradas que recebem os pedidos
+    @Builder.Default
+    List<String> projections = new ArrayList<>();
+    // Reenvia ORDER_PROCESSED pelo EventPublisherService (RabbitMQ e listeners locais)
+    boolean publishEvents;
+    // Grava cada pedido reproduzido em um event log JSON lines
+    Path exportTo;
+    // Chama reset() nas projeções antes do replay
+    @Builder.Default
+    boolean resetProjections = true;
+    @Builder.Default
+    int parallelism = 4;
+    // Faixas de client_id por thread; mais faixas equilibram clientes com muitos pedidos
+    @Builder.Default
+    int rangesPerThread = 4;
+    Long fromClientId;
+    Long toClientId;
+    // Limite global de pedidos por segundo (0 = sem limite)
+    long maxOrdersPerSecond;
+    @Builder.Default
+    Duration progressInterval = Duration.ofSeconds(10);
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.btg.orders.infrastructure.replay;
+
+import java.util.concurrent.TimeUnit;
+
+// Espaça as permissões uniformemente entre todas as threads; tempo ocioso não vira rajada
+final class ReplayRateLimiter {
+    
+    private final long intervalNanos;
+    private long next;
+    
+    ReplayRateLimiter(long permitsPerSecond) {
+        this.intervalNanos = 1_000_000_000L / permitsPerSecond;
+        this.next = System.nanoTime();
+    }
+    
+    void acquire() throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long at = Math.max(next, now);
+            next = at + intervalNanos;
+            wait = at - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
\ No newline at end of file
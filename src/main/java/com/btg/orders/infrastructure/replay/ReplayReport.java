@@ -0,0 +1,28 @@
+package com.btg.orders.infrastructure.replay;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class ReplayReport {
+    String source;
+    long orders;
+    long items;
+    int ranges;
+    Duration elapsed;
+    
+    public double getOrdersPerSecond() {
+        return elapsed.isZero() ? orders : orders * 1_000_000_000.0 / elapsed.toNanos();
+    }
+}
\ No newline at end of file
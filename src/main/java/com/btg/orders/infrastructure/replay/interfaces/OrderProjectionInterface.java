@@ -0,0 +1,16 @@
+package com.btg.orders.infrastructure.replay.interfaces;
+
+import com.btg.orders.domain.entities.Order;
+
+// Dado derivado que pode ser reconstruído pelo OrderReplayEngine. apply() é chamado
+// concorrentemente por várias threads de replay (uma por faixa de client_id). Projeções
+// com rebuildsOnReset() se reconstroem inteiras no reset() e não recebem apply().
+public interface OrderProjectionInterface {
+    String getName();
+    void reset();
+    void apply(Order order);
+    
+    default boolean rebuildsOnReset() {
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.btg.orders.infrastructure.stats;
+
+import com.btg.orders.domain.entities.ClientOrderStats;
+import com.btg.orders.domain.entities.ProductSales;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Acumula os pedidos de um cliente em centavos e contadores primitivos; só o mapa de produtos
+// cresce com os dados, limitado ao catálogo que o cliente de fato comprou
+final class ClientStatsAccumulator {
+    
+    private static final double QUANTILE_ACCURACY = 0.01;
+    
+    private final long clientId;
+    private final QuantileSketch orderValues = new QuantileSketch(QUANTILE_ACCURACY);
+    private final Map<String, long[]> products = new HashMap<>();
+    private long orders;
+    private long revenueCents;
+    private long minCents = Long.MAX_VALUE;
+    private long maxCents = Long.MIN_VALUE;
+    private long minItems = Long.MAX_VALUE;
+    private long maxItems = Long.MIN_VALUE;
+    
+    ClientStatsAccumulator(long clientId) {
+        this.clientId = clientId;
+    }
+    
+    long clientId() {
+        return clientId;
+    }
+    
+    long orders() {
+        return orders;
+    }
+    
+    void addOrder(long totalCents, long basketItems) {
+        orders++;
+        revenueCents += totalCents;
+        minCents = Math.min(minCents, totalCents);
+        maxCents = Math.max(maxCents, totalCents);
+        minItems = Math.min(minItems, basketItems);
+        maxItems = Math.max(maxItems, basketItems);
+        orderValues.add(totalCents);
+    }
+    
+    void addProduct(String product, long quantity, long revenueCents) {
+        long[] totals = products.computeIfAbsent(product, key -> new long[2]);
+        totals[0] += quantity;
+        totals[1] += revenueCents;
+    }
+    
+    ClientOrderStats toStats(int topProducts, LocalDateTime computedAt) {
+        List<ProductSales> top = new ArrayList<>(Math.min(topProducts, products.size()));
+        products.entrySet().stream()
+            .sorted(Comparator.<Map.Entry<String, long[]>>comparingLong(entry -> entry.getValue()[0]).reversed()
+                .thenComparing(Map.Entry::getKey))
+            .limit(topProducts)
+            .forEach(entry -> top.add(new ProductSales(entry.getKey(), entry.getValue()[0], toMoney(entry.getValue()[1]))));
+        
+        return ClientOrderStats.builder()
+            .clientId(clientId)
+            .orders(orders)
+            .revenue(toMoney(revenueCents))
+            .averageOrderValue(toMoney(revenueCents).divide(BigDecimal.valueOf(orders), 2, RoundingMode.HALF_UP))
+            .minOrderValue(toMoney(minCents))
+            .maxOrderValue(toMoney(maxCents))
+            .p50OrderValue(toMoney(Math.round(orderValues.quantile(0.50))))
+            .p95OrderValue(toMoney(Math.round(orderValues.quantile(0.95))))
+            .minBasketItems(minItems)
+            .maxBasketItems(maxItems)
+            .topProducts(top)
+            .computedAt(computedAt)
+            .build();
+    }
+    
+    static long toCents(BigDecimal value) {
+        return value == null ? 0 : value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+    
+    private static BigDecimal toMoney(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,339 @@
+package com.btg.orders.infrastructure.stats;
+
+import com.btg.orders.domain.entities.ClientOrderStats;
+import com.btg.orders.infrastructure.database.models.OrderItemDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+// Calcula client_order_stats para todos os clientes: os client_ids existentes são fatiados
+// (paginação por chave) em faixas de até leaf-size clientes, e as faixas são divididas
+// recursivamente num ForkJoinPool; IDs esparsos não geram faixas vazias. Cada faixa lê seus pedidos
+// numa única consulta com cursor (mais uma no arquivo, se habilitado), acumula em centavos
+// e substitui as linhas da faixa numa transação curta. Faixas densas são roubadas pelas
+// threads ociosas, então clientes com muitos pedidos não seguram o job numa thread só.
+@Component
+@Slf4j
+public class ClientStatsJob {
+    
+    private static final String ORDERS_SQL =
+        "SELECT o.client_id, o.id, o.total, o.items_json, p.name, i.quantity, i.total " +
+        "FROM orders o " +
+        "LEFT JOIN order_items i ON i.order_id = o.id AND i.created_at = o.created_at " +
+        "LEFT JOIN products p ON p.id = i.product_id " +
+        "WHERE o.client_id >= ? AND o.client_id < ? " +
+        "ORDER BY o.client_id, o.created_at, o.id";
+    
+    private static final String ARCHIVED_ORDERS_SQL =
+        "SELECT client_id, total, items FROM order_archive.archived_orders WHERE client_id >= ? AND client_id < ?";
+    
+    // Próximo limite de faixa: o client_id que vem leafSize clientes depois do limite atual
+    private static final String NEXT_BOUND_SQL =
+        "SELECT DISTINCT client_id FROM orders WHERE client_id >= ? ORDER BY client_id OFFSET ? LIMIT 1";
+    
+    private static final String NEXT_BOUND_WITH_ARCHIVE_SQL =
+        "SELECT DISTINCT client_id FROM (" +
+        "SELECT client_id FROM orders WHERE client_id >= ? " +
+        "UNION ALL SELECT client_id FROM order_archive.archived_orders WHERE client_id >= ?) c " +
+        "ORDER BY client_id OFFSET ? LIMIT 1";
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO client_order_stats (client_id, order_count, revenue, average_order, min_order, max_order, " +
+        "p50_order, p95_order, min_basket_items, max_basket_items, top_products, computed_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?)";
+    
+    private static final TypeReference<List<OrderItemDocument>> ITEM_DOCUMENTS = new TypeReference<>() {};
+    
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final boolean archiveEnabled;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public ClientStatsJob(ObjectMapper objectMapper,
+                          DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${orders.archive.enabled:false}") boolean archiveEnabled) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.archiveEnabled = archiveEnabled;
+    }
+    
+    // parallelism <= 0 usa todos os núcleos
+    public ClientStatsReport run(int parallelism, long leafSize, int topProducts) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        long[] bounds = clientIdBounds();
+        if (bounds == null) {
+            log.info("No orders found: client stats not computed");
+            return ClientStatsReport.builder().parallelism(threads).elapsed(Duration.ZERO).build();
+        }
+        
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Client stats job is already running");
+        }
+        
+        ForkJoinPool pool = null;
+        long start = System.nanoTime();
+        try {
+            long[] rangeBounds = rangeBounds(bounds[0], bounds[1], Math.max(1, leafSize), this::nextBound);
+            log.info("Computing client stats for client ids {}..{} in {} ranges with parallelism {} (leaf size {})",
+                bounds[0], bounds[1], rangeBounds.length - 1, threads, leafSize);
+            
+            LocalDateTime computedAt = LocalDateTime.now();
+            AtomicInteger ranges = new AtomicInteger();
+            pool = new ForkJoinPool(threads, ClientStatsJob::newWorker, null, false);
+            RangeTask root = new RangeTask(rangeBounds, 0, rangeBounds.length - 1, topProducts, computedAt, ranges);
+            long[] totals = pool.invoke(root);
+            
+            ClientStatsReport report = ClientStatsReport.builder()
+                .clients(totals[0])
+                .orders(totals[1])
+                .ranges(ranges.get())
+                .parallelism(threads)
+                .elapsed(Duration.ofNanos(System.nanoTime() - start))
+                .build();
+            log.info("Client stats finished: {} clients, {} orders, {} ranges in {} with parallelism {} ({} orders/s)",
+                report.getClients(), report.getOrders(), report.getRanges(), report.getElapsed(), threads,
+                String.format("%.0f", report.getOrdersPerSecond()));
+            return report;
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            running.set(false);
+        }
+    }
+    
+    // Retorna {clientes, pedidos} da faixa [fromClientId, toClientId)
+    private long[] computeRange(long fromClientId, long toClientId, int topProducts, LocalDateTime computedAt) {
+        Map<Long, ClientStatsAccumulator> clients = new TreeMap<>();
+        
+        readOnlyTransaction.executeWithoutResult(status -> {
+            OrderRowHandler handler = new OrderRowHandler(clients);
+            jdbcTemplate.query(ORDERS_SQL, handler, fromClientId, toClientId);
+            handler.finish();
+            
+            if (archiveEnabled) {
+                jdbcTemplate.query(ARCHIVED_ORDERS_SQL, (RowCallbackHandler) rs -> {
+                    ClientStatsAccumulator accumulator = clients.computeIfAbsent(rs.getLong(1), ClientStatsAccumulator::new);
+                    addOrder(accumulator, ClientStatsAccumulator.toCents(rs.getBigDecimal(2)), readItems(rs.getString(3)));
+                }, fromClientId, toClientId);
+            }
+        });
+        
+        List<Object[]> rows = new ArrayList<>(clients.size());
+        long orders = 0;
+        for (ClientStatsAccumulator accumulator : clients.values()) {
+            rows.add(toRow(accumulator.toStats(topProducts, computedAt)));
+            orders += accumulator.orders();
+        }
+        
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM client_order_stats WHERE client_id >= ? AND client_id < ?", fromClientId, toClientId);
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            }
+        });
+        return new long[]{clients.size(), orders};
+    }
+    
+    private Object[] toRow(ClientOrderStats stats) {
+        try {
+            return new Object[]{
+                stats.getClientId(), stats.getOrders(), stats.getRevenue(), stats.getAverageOrderValue(),
+                stats.getMinOrderValue(), stats.getMaxOrderValue(), stats.getP50OrderValue(), stats.getP95OrderValue(),
+                stats.getMinBasketItems(), stats.getMaxBasketItems(),
+                objectMapper.writeValueAsString(stats.getTopProducts()), Timestamp.valueOf(stats.getComputedAt())
+            };
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Error serializing top products", e);
+        }
+    }
+    
+    private long[] clientIdBounds() {
+        String sql = "SELECT MIN(client_id), MAX(client_id) FROM orders" +
+            (archiveEnabled
+                ? " UNION ALL SELECT MIN(client_id), MAX(client_id) FROM order_archive.archived_orders"
+                : "");
+        
+        long[] bounds = {Long.MAX_VALUE, Long.MIN_VALUE};
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            long min = rs.getLong(1);
+            if (!rs.wasNull()) {
+                bounds[0] = Math.min(bounds[0], min);
+                bounds[1] = Math.max(bounds[1], rs.getLong(2));
+            }
+        });
+        return bounds[0] > bounds[1] ? null : bounds;
+    }
+    
+    // Limites [b0, b1, ..., lastClientId + 1]: cada faixa [b(i), b(i+1)) tem até leafSize clientes
+    static long[] rangeBounds(long firstClientId, long lastClientId, long leafSize, BiFunction<Long, Long, Long> nextBound) {
+        List<Long> bounds = new ArrayList<>();
+        Long bound = firstClientId;
+        while (bound != null) {
+            bounds.add(bound);
+            bound = nextBound.apply(bound, leafSize);
+        }
+        bounds.add(lastClientId + 1);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    // client_id existente leafSize clientes depois de from (inclusive), ou null se a faixa vai até o fim
+    private Long nextBound(long from, long leafSize) {
+        List<Long> found = archiveEnabled
+            ? jdbcTemplate.queryForList(NEXT_BOUND_WITH_ARCHIVE_SQL, Long.class, from, from, leafSize)
+            : jdbcTemplate.queryForList(NEXT_BOUND_SQL, Long.class, from, leafSize);
+        return found.isEmpty() ? null : found.get(0);
+    }
+    
+    private List<OrderItemDocument> readItems(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, ITEM_DOCUMENTS);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Invalid items JSON", e);
+        }
+    }
+    
+    private static void addOrder(ClientStatsAccumulator accumulator, long totalCents, List<OrderItemDocument> items) {
+        long basketItems = 0;
+        for (OrderItemDocument item : items) {
+            long quantity = item.getQuantity() == null ? 0 : item.getQuantity();
+            basketItems += quantity;
+            accumulator.addProduct(item.getProduct(), quantity, ClientStatsAccumulator.toCents(item.getTotal()));
+        }
+        accumulator.addOrder(totalCents, basketItems);
+    }
+    
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("client-stats-" + thread.getPoolIndex());
+        return thread;
+    }
+    
+    // Divide as faixas [from, to) da lista de limites ao meio até sobrar uma; cada folha segura
+    // uma conexão enquanto roda
+    private final class RangeTask extends RecursiveTask<long[]> {
+        
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+        private final int topProducts;
+        private final LocalDateTime computedAt;
+        private final AtomicInteger ranges;
+        
+        RangeTask(long[] bounds, int from, int to, int topProducts, LocalDateTime computedAt, AtomicInteger ranges) {
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.topProducts = topProducts;
+            this.computedAt = computedAt;
+            this.ranges = ranges;
+        }
+        
+        @Override
+        protected long[] compute() {
+            if (to - from <= 1) {
+                ranges.incrementAndGet();
+                return computeRange(bounds[from], bounds[to], topProducts, computedAt);
+            }
+            
+            int middle = from + (to - from) / 2;
+            RangeTask left = new RangeTask(bounds, from, middle, topProducts, computedAt, ranges);
+            RangeTask right = new RangeTask(bounds, middle, to, topProducts, computedAt, ranges);
+            left.fork();
+            long[] rightTotals = right.compute();
+            long[] leftTotals = left.join();
+            return new long[]{leftTotals[0] + rightTotals[0], leftTotals[1] + rightTotals[1]};
+        }
+    }
+    
+    // Linhas de um mesmo pedido chegam juntas; o pedido é fechado quando aparece o próximo
+    private final class OrderRowHandler implements RowCallbackHandler {
+        
+        private final Map<Long, ClientStatsAccumulator> clients;
+        private ClientStatsAccumulator accumulator;
+        private long orderId;
+        private long totalCents;
+        private long basketItems;
+        private boolean open;
+        
+        OrderRowHandler(Map<Long, ClientStatsAccumulator> clients) {
+            this.clients = clients;
+        }
+        
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(2);
+            if (!open || id != orderId) {
+                finish();
+                long clientId = rs.getLong(1);
+                if (accumulator == null || accumulator.clientId() != clientId) {
+                    accumulator = clients.computeIfAbsent(clientId, ClientStatsAccumulator::new);
+                }
+                orderId = id;
+                totalCents = ClientStatsAccumulator.toCents(rs.getBigDecimal(3));
+                basketItems = 0;
+                open = true;
+                
+                String itemsJson = rs.getString(4);
+                if (itemsJson != null) {
+                    for (OrderItemDocument item : readItems(itemsJson)) {
+                        addItem(item.getProduct(), item.getQuantity() == null ? 0 : item.getQuantity(), item.getTotal());
+                    }
+                }
+            }
+            
+            String product = rs.getString(5);
+            if (product != null) {
+                addItem(product, rs.getLong(6), rs.getBigDecimal(7));
+            }
+        }
+        
+        void finish() {
+            if (open) {
+                accumulator.addOrder(totalCents, basketItems);
+                open = false;
+            }
+        }
+        
+        private void addItem(String product, long quantity, BigDecimal total) {
+            basketItems += quantity;
+            accumulator.addProduct(product, quantity, ClientStatsAccumulator.toCents(total));
+        }
+    }
+}
\ No newline at end of file
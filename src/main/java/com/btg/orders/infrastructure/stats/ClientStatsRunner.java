@@ -0,0 +1,56 @@
+package com.btg.orders.infrastructure.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+// Executa o job de estatísticas por cliente no startup, como job avulso:
+//   java -jar orders.jar --orders.client-stats.enabled=true --orders.client-stats.parallelism=8
+// Com exit=true a aplicação termina ao final (código 1 em caso de erro).
+@Component
+@ConditionalOnProperty(name = "orders.client-stats.enabled", havingValue = "true")
+@Slf4j
+public class ClientStatsRunner implements ApplicationRunner {
+    
+    private final ClientStatsJob job;
+    private final ConfigurableApplicationContext context;
+    private final int parallelism;
+    private final long leafSize;
+    private final int topProducts;
+    private final boolean exit;
+    
+    public ClientStatsRunner(ClientStatsJob job,
+                             ConfigurableApplicationContext context,
+                             @Value("${orders.client-stats.parallelism:0}") int parallelism,
+                             @Value("${orders.client-stats.leaf-size:10000}") long leafSize,
+                             @Value("${orders.client-stats.top-products:5}") int topProducts,
+                             @Value("${orders.client-stats.exit:true}") boolean exit) {
+        this.job = job;
+        this.context = context;
+        this.parallelism = parallelism;
+        this.leafSize = leafSize;
+        this.topProducts = topProducts;
+        this.exit = exit;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            job.run(parallelism, leafSize, topProducts);
+        } catch (Exception e) {
+            log.error("Client stats job failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        
+        if (exit) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.btg.orders.infrastructure.stats;
+
+import com.btg.orders.domain.entities.ClientOrderStats;
+import com.btg.orders.domain.entities.ProductSales;
+import com.btg.orders.domain.gateways.ClientStatsGateway;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcClientStatsGateway implements ClientStatsGateway {
+    
+    private static final TypeReference<List<ProductSales>> PRODUCTS = new TypeReference<>() {};
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public Optional<ClientOrderStats> findByClientId(Long clientId) {
+        log.info("Finding order stats for client: {}", clientId);
+        
+        return jdbcTemplate.query("SELECT * FROM client_order_stats WHERE client_id = ?", (rs, rowNum) -> ClientOrderStats.builder()
+                .clientId(rs.getLong("client_id"))
+                .orders(rs.getLong("order_count"))
+                .revenue(rs.getBigDecimal("revenue"))
+                .averageOrderValue(rs.getBigDecimal("average_order"))
+                .minOrderValue(rs.getBigDecimal("min_order"))
+                .maxOrderValue(rs.getBigDecimal("max_order"))
+                .p50OrderValue(rs.getBigDecimal("p50_order"))
+                .p95OrderValue(rs.getBigDecimal("p95_order"))
+                .minBasketItems(rs.getLong("min_basket_items"))
+                .maxBasketItems(rs.getLong("max_basket_items"))
+                .topProducts(readProducts(rs.getString("top_products")))
+                .computedAt(rs.getTimestamp("computed_at").toLocalDateTime())
+                .build(), clientId)
+            .stream()
+            .findFirst();
+    }
+    
+    private List<ProductSales> readProducts(String json) {
+        try {
+            return objectMapper.readValue(json, PRODUCTS);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Invalid top products JSON", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.btg.orders.infrastructure.stats;
+
+// Quantis com erro relativo limitado (estilo DDSketch): cada valor positivo cai num bucket
+// logarítmico de razão gamma = (1 + alpha) / (1 - alpha), e o quantil devolvido fica a no
+// máximo alpha do valor real. Os contadores cobrem só a faixa de buckets já vista.
+final class QuantileSketch {
+    
+    private static final int INITIAL_BUCKETS = 8;
+    
+    private final double gamma;
+    private final double logGamma;
+    private int[] counts;
+    private int offset;
+    private long zeros;
+    private long count;
+    
+    QuantileSketch(double relativeAccuracy) {
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+    
+    void add(double value) {
+        count++;
+        if (value <= 0) {
+            zeros++;
+            return;
+        }
+        
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureCapacity(index);
+        counts[index - offset]++;
+    }
+    
+    // Nearest-rank; 0 sem valores
+    double quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        if (rank <= zeros) {
+            return 0;
+        }
+        
+        long seen = zeros;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return 2 * Math.pow(gamma, i + offset) / (gamma + 1);
+            }
+        }
+        return 2 * Math.pow(gamma, counts.length - 1 + offset) / (gamma + 1);
+    }
+    
+    long count() {
+        return count;
+    }
+    
+    private void ensureCapacity(int index) {
+        if (counts == null) {
+            counts = new int[INITIAL_BUCKETS];
+            offset = index - INITIAL_BUCKETS / 2;
+        }
+        
+        if (index < offset) {
+            int shift = Math.max(offset - index, counts.length / 2);
+            int[] grown = new int[counts.length + shift];
+            System.arraycopy(counts, 0, grown, shift, counts.length);
+            counts = grown;
+            offset -= shift;
+        } else if (index - offset >= counts.length) {
+            int[] grown = new int[Math.max(index - offset + 1, counts.length + counts.length / 2)];
+            System.arraycopy(counts, 0, grown, 0, counts.length);
+            counts = grown;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,360 @@
+package com.btg.orders.infrastructure.totalindex;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Índice order_code -> total em centavos fora do heap: endereçamento aberto com sondagem
+// linear em slots de 16 bytes (chave + valor), em memória direta ou em arquivo mapeado.
+// Leituras são lock-free (valor publicado antes da chave, com release/acquire); escritas
+// são serializadas. Remoções deixam tombstones que put() não reaproveita, para que um
+// leitor concorrente não associe a chave antiga ao valor de outra. Quando passam de
+// MAX_TOMBSTONE_LOAD dos slots, compact() reorganiza a tabela no lugar; ela e clear()
+// mudam o epoch (seqlock) e, enquanto isso, as leituras respondem NOT_FOUND (vão ao banco).
+public class OffHeapTotalIndex implements Closeable {
+    
+    public static final long NOT_FOUND = Long.MIN_VALUE;
+    
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = Long.MIN_VALUE;
+    
+    private static final int SLOT_BYTES = 16;
+    private static final int SEGMENT_SHIFT = 26;
+    private static final long SEGMENT_SLOTS = 1L << SEGMENT_SHIFT;
+    private static final double MAX_LOAD = 0.75;
+    private static final double MAX_TOMBSTONE_LOAD = 0.125;
+    
+    private static final int HEADER_BYTES = 4096;
+    private static final long MAGIC = 0x4F5244544F54414CL;
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_SLOTS = 8;
+    private static final int HEADER_WATERMARK = 16;
+    
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle EPOCH;
+    
+    static {
+        try {
+            EPOCH = MethodHandles.lookup().findVarHandle(OffHeapTotalIndex.class, "epoch", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private final ByteBuffer[] segments;
+    private final ByteBuffer header;
+    private final FileChannel channel;
+    private final long slots;
+    private final long mask;
+    private final long maxUsedSlots;
+    private final long maxTombstones;
+    private final boolean restored;
+    
+    private long size;
+    private long tombstones;
+    private long compactions;
+    // Ímpar enquanto a tabela é reorganizada
+    private volatile long epoch;
+    
+    private OffHeapTotalIndex(ByteBuffer[] segments, ByteBuffer header, FileChannel channel, long slots, boolean restored) {
+        this.segments = segments;
+        this.header = header;
+        this.channel = channel;
+        this.slots = slots;
+        this.mask = slots - 1;
+        this.maxUsedSlots = (long) (slots * MAX_LOAD);
+        this.maxTombstones = (long) (slots * MAX_TOMBSTONE_LOAD);
+        this.restored = restored;
+        if (restored) {
+            recount();
+            if (tombstones >= maxTombstones) {
+                compact();
+            }
+        }
+    }
+    
+    public static OffHeapTotalIndex allocate(long maxEntries) {
+        long slots = slotsFor(maxEntries);
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(slots)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentBytes(slots, i)).order(ByteOrder.nativeOrder());
+        }
+        ByteBuffer header = ByteBuffer.allocateDirect(HEADER_BYTES).order(ByteOrder.nativeOrder());
+        return new OffHeapTotalIndex(segments, header, null, slots, false);
+    }
+    
+    // Reabre o arquivo se ele foi criado com o mesmo número de slots; senão recria vazio
+    public static OffHeapTotalIndex map(Path file, long maxEntries) throws IOException {
+        long slots = slotsFor(maxEntries);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        
+        ByteBuffer existing = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+        channel.read(existing, 0);
+        boolean restored = existing.getLong(HEADER_MAGIC) == MAGIC && existing.getLong(HEADER_SLOTS) == slots;
+        if (!restored) {
+            // Arquivo novo ou de outra capacidade: recomeça zerado (esparso até ser preenchido)
+            channel.truncate(0);
+        }
+        
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(ByteOrder.nativeOrder());
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(slots)];
+        for (int i = 0; i < segments.length; i++) {
+            long position = HEADER_BYTES + (long) i * SEGMENT_SLOTS * SLOT_BYTES;
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentBytes(slots, i))
+                .order(ByteOrder.nativeOrder());
+        }
+        
+        if (!restored) {
+            header.putLong(HEADER_SLOTS, slots);
+            header.putLong(HEADER_MAGIC, MAGIC);
+        }
+        return new OffHeapTotalIndex(segments, header, channel, slots, restored);
+    }
+    
+    public long get(long orderCode) {
+        if (orderCode == EMPTY || orderCode == TOMBSTONE) {
+            return NOT_FOUND;
+        }
+        
+        long stamp = epoch;
+        if ((stamp & 1) != 0) {
+            return NOT_FOUND;
+        }
+        
+        long cents = NOT_FOUND;
+        long slot = hash(orderCode) & mask;
+        for (long probes = 0; probes < slots; probes++) {
+            long key = (long) LONGS.getAcquire(segment(slot), keyOffset(slot));
+            if (key == orderCode) {
+                cents = (long) LONGS.getAcquire(segment(slot), keyOffset(slot) + 8);
+                break;
+            }
+            if (key == EMPTY) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        // Uma compactação no meio da busca pode ter movido chave e valor: descarta
+        VarHandle.loadLoadFence();
+        return epoch == stamp ? cents : NOT_FOUND;
+    }
+    
+    // false quando a chave é reservada ou o índice atingiu a carga máxima
+    public synchronized boolean put(long orderCode, long cents) {
+        if (orderCode == EMPTY || orderCode == TOMBSTONE) {
+            return false;
+        }
+        
+        long slot = hash(orderCode) & mask;
+        while (true) {
+            long key = (long) LONGS.get(segment(slot), keyOffset(slot));
+            if (key == orderCode) {
+                LONGS.setRelease(segment(slot), keyOffset(slot) + 8, cents);
+                return true;
+            }
+            if (key == EMPTY) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        if (size + tombstones >= maxUsedSlots) {
+            return false;
+        }
+        LONGS.set(segment(slot), keyOffset(slot) + 8, cents);
+        LONGS.setRelease(segment(slot), keyOffset(slot), orderCode);
+        size++;
+        return true;
+    }
+    
+    // true se a chave estava no índice
+    public synchronized boolean remove(long orderCode) {
+        if (orderCode == EMPTY || orderCode == TOMBSTONE) {
+            return false;
+        }
+        
+        long slot = hash(orderCode) & mask;
+        while (true) {
+            long key = (long) LONGS.get(segment(slot), keyOffset(slot));
+            if (key == orderCode) {
+                LONGS.setRelease(segment(slot), keyOffset(slot), TOMBSTONE);
+                size--;
+                tombstones++;
+                if (tombstones >= maxTombstones) {
+                    compact();
+                }
+                return true;
+            }
+            if (key == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    public synchronized void clear() {
+        beginRewrite();
+        for (ByteBuffer segment : segments) {
+            for (int offset = 0; offset < segment.capacity(); offset += SLOT_BYTES) {
+                LONGS.set(segment, offset, EMPTY);
+            }
+        }
+        size = 0;
+        tombstones = 0;
+        endRewrite();
+    }
+    
+    // Descarta os tombstones e reposiciona as chaves no lugar. A varredura começa depois de um
+    // slot vazio: ao reinserir uma chave, os slots ocupados entre a posição de origem e ela já
+    // foram tratados, então ela só pode voltar para trás ou ficar onde está.
+    synchronized void compact() {
+        beginRewrite();
+        for (long slot = 0; slot < slots; slot++) {
+            if ((long) LONGS.get(segment(slot), keyOffset(slot)) == TOMBSTONE) {
+                LONGS.set(segment(slot), keyOffset(slot), EMPTY);
+            }
+        }
+        tombstones = 0;
+        
+        long start = 0;
+        while ((long) LONGS.get(segment(start), keyOffset(start)) != EMPTY) {
+            start++;
+        }
+        for (long i = 1; i <= slots; i++) {
+            long slot = (start + i) & mask;
+            long key = (long) LONGS.get(segment(slot), keyOffset(slot));
+            if (key == EMPTY) {
+                continue;
+            }
+            
+            long target = hash(key) & mask;
+            while (target != slot && (long) LONGS.get(segment(target), keyOffset(target)) != EMPTY) {
+                target = (target + 1) & mask;
+            }
+            if (target != slot) {
+                LONGS.set(segment(target), keyOffset(target) + 8, (long) LONGS.get(segment(slot), keyOffset(slot) + 8));
+                LONGS.set(segment(target), keyOffset(target), key);
+                LONGS.set(segment(slot), keyOffset(slot), EMPTY);
+            }
+        }
+        compactions++;
+        endRewrite();
+    }
+    
+    public synchronized long size() {
+        return size;
+    }
+    
+    public synchronized long tombstones() {
+        return tombstones;
+    }
+    
+    public synchronized long compactions() {
+        return compactions;
+    }
+    
+    public long slots() {
+        return slots;
+    }
+    
+    public boolean isRestored() {
+        return restored;
+    }
+    
+    public long offHeapBytes() {
+        return slots * SLOT_BYTES + HEADER_BYTES;
+    }
+    
+    // Custo real por pedido indexado, incluindo os slots vazios reservados pela carga máxima
+    public synchronized double bytesPerEntry() {
+        return size == 0 ? 0 : (double) offHeapBytes() / size;
+    }
+    
+    // Maior createdAt (epoch micros) já indexado; usado para completar o arquivo após um restart
+    public synchronized long watermark() {
+        return header.getLong(HEADER_WATERMARK);
+    }
+    
+    public synchronized void advanceWatermark(long micros) {
+        if (micros > header.getLong(HEADER_WATERMARK)) {
+            header.putLong(HEADER_WATERMARK, micros);
+        }
+    }
+    
+    public synchronized void resetWatermark() {
+        header.putLong(HEADER_WATERMARK, 0);
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+        ((MappedByteBuffer) header).force();
+        channel.close();
+    }
+    
+    // Epoch ímpar antes de qualquer escrita na tabela e par de novo só depois da última
+    private void beginRewrite() {
+        EPOCH.setVolatile(this, epoch + 1);
+        VarHandle.storeStoreFence();
+    }
+    
+    private void endRewrite() {
+        EPOCH.setRelease(this, epoch + 1);
+    }
+    
+    private void recount() {
+        for (long slot = 0; slot < slots; slot++) {
+            long key = (long) LONGS.get(segment(slot), keyOffset(slot));
+            if (key == TOMBSTONE) {
+                tombstones++;
+            } else if (key != EMPTY) {
+                size++;
+            }
+        }
+    }
+    
+    private ByteBuffer segment(long slot) {
+        return segments[(int) (slot >>> SEGMENT_SHIFT)];
+    }
+    
+    private static int keyOffset(long slot) {
+        return (int) (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+    }
+    
+    private static long hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+    
+    private static long slotsFor(long maxEntries) {
+        long needed = Math.max(16, (long) Math.ceil(maxEntries / MAX_LOAD));
+        return Long.highestOneBit(needed - 1) << 1;
+    }
+    
+    private static int segmentCount(long slots) {
+        return (int) ((slots + SEGMENT_SLOTS - 1) >>> SEGMENT_SHIFT);
+    }
+    
+    private static int segmentBytes(long slots, int segment) {
+        return (int) (Math.min(SEGMENT_SLOTS, slots - (long) segment * SEGMENT_SLOTS) * SLOT_BYTES);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.btg.orders.infrastructure.totalindex;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.infrastructure.replay.interfaces.OrderProjectionInterface;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Serve o total por order_code a partir do OffHeapTotalIndex. Preenchido no save (após o
+// commit) e reconstruído do banco no startup; com orders.total-index.file o índice fica
+// em arquivo mapeado e, num restart, só os pedidos posteriores ao watermark são relidos.
+// Remoções e mudanças de total feitas por outras réplicas ou com o processo parado chegam
+// pela tabela order_total_invalidations (trigger em order_codes), lida no restart e a cada
+// invalidation-poll. Também pode ser reconstruído pelo OrderReplayEngine (projeção "total-index").
+@Component
+@ConditionalOnProperty(name = "orders.total-index.enabled", havingValue = "true")
+@Slf4j
+public class OrderTotalIndex implements OrderProjectionInterface {
+    
+    private static final int TOTAL_SCALE = 2;
+    private static final String INVALIDATIONS_SQL =
+        "SELECT order_code, invalidated_at FROM order_total_invalidations WHERE invalidated_at >= ?";
+    
+    private final OffHeapTotalIndex index;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean archiveEnabled;
+    private final Duration catchUpMargin;
+    private final Duration invalidationRetention;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    
+    // Maior invalidated_at já aplicado (relógio do banco); null até o índice ser carregado
+    private volatile LocalDateTime invalidationCursor;
+    
+    public OrderTotalIndex(DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${orders.total-index.max-entries:1000000}") long maxEntries,
+                           @Value("${orders.total-index.file:}") String file,
+                           @Value("${orders.total-index.catch-up-margin:10m}") Duration catchUpMargin,
+                           @Value("${orders.total-index.invalidation-retention:7d}") Duration invalidationRetention,
+                           @Value("${orders.archive.enabled:false}") boolean archiveEnabled,
+                           MeterRegistry meterRegistry) throws IOException {
+        this.index = file.isBlank() ? OffHeapTotalIndex.allocate(maxEntries) : OffHeapTotalIndex.map(Path.of(file), maxEntries);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiveEnabled = archiveEnabled;
+        this.catchUpMargin = catchUpMargin;
+        this.invalidationRetention = invalidationRetention;
+        
+        this.hits = meterRegistry.counter("orders.total-index.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("orders.total-index.lookups", "result", "miss");
+        this.invalidations = meterRegistry.counter("orders.total-index.invalidations");
+        FunctionCounter.builder("orders.total-index.compactions", index, OffHeapTotalIndex::compactions)
+            .register(meterRegistry);
+        Gauge.builder("orders.total-index.entries", index, OffHeapTotalIndex::size)
+            .register(meterRegistry);
+        Gauge.builder("orders.total-index.memory", index, OffHeapTotalIndex::offHeapBytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("orders.total-index.bytes-per-entry", index, OffHeapTotalIndex::bytesPerEntry)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+    
+    public BigDecimal findTotal(Long orderCode) {
+        long cents = index.get(orderCode);
+        if (cents == OffHeapTotalIndex.NOT_FOUND) {
+            misses.increment();
+            return null;
+        }
+        
+        hits.increment();
+        return BigDecimal.valueOf(cents, TOTAL_SCALE);
+    }
+    
+    // Só indexa depois do commit; um rollback não pode deixar total de pedido inexistente
+    public void record(Long orderCode, BigDecimal total, LocalDateTime createdAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(orderCode, total, createdAt);
+                }
+            });
+        } else {
+            put(orderCode, total, createdAt);
+        }
+    }
+    
+    // Remove na hora: se a exclusão for desfeita, o total volta a ser lido do banco
+    public void remove(Long orderCode) {
+        index.remove(orderCode);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            if (index.isRestored() && index.watermark() > 0) {
+                catchUp();
+            } else {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Error loading order total index: {}", e.getMessage(), e);
+        }
+    }
+    
+    public void rebuild() {
+        log.info("Rebuilding order total index from database");
+        
+        // Invalidações a partir de agora (com margem para transações ainda abertas) são aplicadas depois
+        invalidationCursor = databaseNow();
+        index.clear();
+        index.resetWatermark();
+        String sql = "SELECT order_code, CAST(total * 100 AS bigint) AS cents, created_at FROM order_codes" +
+            (archiveEnabled
+                ? " UNION ALL SELECT order_code, CAST(total * 100 AS bigint), created_at FROM order_archive.archived_orders"
+                : "");
+        long loaded = load(sql);
+        
+        logReport("rebuilt", loaded);
+    }
+    
+    public void catchUp() {
+        LocalDateTime since = fromMicros(index.watermark()).minus(catchUpMargin);
+        if (since.isBefore(databaseNow().minus(invalidationRetention))) {
+            // O log de invalidações já não cobre todo o tempo parado: remoções podem ter se perdido
+            log.info("Order total index watermark {} is older than the invalidation retention", since);
+            rebuild();
+            return;
+        }
+        
+        log.info("Catching up order total index with orders created and invalidated since {}", since);
+        invalidationCursor = fromMicros(index.watermark());
+        long invalidated = applyInvalidations();
+        log.info("Order total index invalidated {} orders changed while stopped", invalidated);
+        
+        // orders é particionada por created_at, então só as partições recentes são lidas
+        long loaded = load("SELECT order_code, CAST(total * 100 AS bigint) AS cents, created_at FROM orders WHERE created_at >= ?",
+            Timestamp.valueOf(since));
+        
+        logReport("restored", loaded);
+    }
+    
+    // Remoções e totais alterados em outras réplicas; relê catch-up-margin para trás a cada vez,
+    // para não perder linhas de transações que commitaram depois da última leitura
+    @Scheduled(fixedDelayString = "${orders.total-index.invalidation-poll:5000}")
+    public void pollInvalidations() {
+        if (invalidationCursor == null) {
+            return;
+        }
+        try {
+            applyInvalidations();
+        } catch (Exception e) {
+            log.error("Error reading order total invalidations: {}", e.getMessage(), e);
+        }
+    }
+    
+    @Scheduled(cron = "${orders.total-index.purge-cron:0 45 3 * * *}")
+    public void purgeInvalidations() {
+        try {
+            int purged = jdbcTemplate.update("DELETE FROM order_total_invalidations WHERE invalidated_at < ?",
+                Timestamp.valueOf(databaseNow().minus(invalidationRetention)));
+            log.info("Order total invalidations purged: {}", purged);
+        } catch (Exception e) {
+            log.error("Error purging order total invalidations: {}", e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "total-index";
+    }
+    
+    @Override
+    public void reset() {
+        invalidationCursor = databaseNow();
+        index.clear();
+        index.resetWatermark();
+    }
+    
+    @Override
+    public void apply(Order order) {
+        put(order.getOrderCode(), order.getTotal(), order.getCreatedAt());
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        index.close();
+    }
+    
+    private long load(String sql, Object... args) {
+        long[] loaded = {0};
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            if (index.put(rs.getLong(1), rs.getLong(2))) {
+                loaded[0]++;
+            }
+            index.advanceWatermark(toMicros(rs.getTimestamp(3).toLocalDateTime()));
+        }, args));
+        return loaded[0];
+    }
+    
+    private long applyInvalidations() {
+        LocalDateTime since = invalidationCursor;
+        LocalDateTime[] latest = {since};
+        long[] invalidated = {0};
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(INVALIDATIONS_SQL, (RowCallbackHandler) rs -> {
+            if (index.remove(rs.getLong(1))) {
+                invalidated[0]++;
+            }
+            LocalDateTime at = rs.getTimestamp(2).toLocalDateTime();
+            if (at.isAfter(latest[0])) {
+                latest[0] = at;
+            }
+        }, Timestamp.valueOf(since.minus(catchUpMargin))));
+        
+        invalidationCursor = latest[0];
+        invalidations.increment(invalidated[0]);
+        return invalidated[0];
+    }
+    
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+    
+    private void put(Long orderCode, BigDecimal total, LocalDateTime createdAt) {
+        if (orderCode == null || total == null) {
+            return;
+        }
+        
+        try {
+            if (!index.put(orderCode, total.movePointRight(TOTAL_SCALE).longValueExact())) {
+                log.warn("Order total index is full ({} entries), order {} served from database", index.size(), orderCode);
+            }
+            if (createdAt != null) {
+                index.advanceWatermark(toMicros(createdAt));
+            }
+        } catch (ArithmeticException e) {
+            log.warn("Order {} total {} does not fit the total index", orderCode, total);
+        }
+    }
+    
+    private void logReport(String action, long loaded) {
+        log.info("Order total index {}: {} orders loaded, {} entries in {} slots, {} bytes off-heap ({} bytes/entry)",
+            action, loaded, index.size(), index.slots(), index.offHeapBytes(), String.format("%.1f", index.bytesPerEntry()));
+    }
+    
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+    
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+-- Log de códigos removidos de order_codes ou com total alterado, para o índice de totais em
+-- memória (orders.total-index) descartar entradas que mudaram em outras réplicas ou enquanto
+-- o processo estava parado. Arquivar não remove de order_codes, então não gera linha. Linhas
+-- mais antigas que orders.total-index.invalidation-retention são removidas pelo próprio índice.
+
+CREATE TABLE order_total_invalidations (
+    order_code     BIGINT       NOT NULL,
+    invalidated_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_order_total_invalidations_at ON order_total_invalidations (invalidated_at);
+
+CREATE OR REPLACE FUNCTION log_order_total_invalidation() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' OR OLD.total IS DISTINCT FROM NEW.total THEN
+        INSERT INTO order_total_invalidations (order_code) VALUES (OLD.order_code);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_order_codes_invalidate_total
+    AFTER DELETE OR UPDATE OF total ON order_codes
+    FOR EACH ROW EXECUTE FUNCTION log_order_total_invalidation();
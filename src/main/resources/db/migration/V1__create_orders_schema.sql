@@ -0,0 +1,28 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto: create-drop
+
+CREATE TABLE clients (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255),
+    email      VARCHAR(255),
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE orders (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_code BIGINT         NOT NULL,
+    client_id  BIGINT         NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_orders_order_code UNIQUE (order_code),
+    CONSTRAINT fk_orders_client FOREIGN KEY (client_id) REFERENCES clients (id)
+);
+
+CREATE TABLE order_items (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id BIGINT         NOT NULL,
+    product  VARCHAR(255)   NOT NULL,
+    quantity INTEGER        NOT NULL,
+    price    NUMERIC(10, 2) NOT NULL,
+    total    NUMERIC(10, 2) NOT NULL,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
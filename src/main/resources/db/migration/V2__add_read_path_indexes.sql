@@ -0,0 +1,13 @@
+-- Índices para os caminhos de leitura da API
+
+-- GET /api/orders/{orderCode}/total e POST /api/orders/totals:
+-- o total fica no próprio índice único, permitindo index-only scan
+ALTER TABLE orders DROP CONSTRAINT uk_orders_order_code;
+ALTER TABLE orders ADD CONSTRAINT uk_orders_order_code UNIQUE (order_code) INCLUDE (total);
+
+-- GET /api/orders/clients/{clientId}/count, POST /api/orders/clients/counts,
+-- validação de ETag (COUNT + MAX(created_at)) e listagem resumida ordenada por created_at
+CREATE INDEX idx_orders_client_created ON orders (client_id, created_at, id) INCLUDE (total, order_code);
+
+-- Carga dos itens por pedido (listagem com ?expand=items e contagem de itens do resumo)
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
@@ -0,0 +1,157 @@
+-- Particionamento mensal (RANGE por created_at) de orders e order_items.
+--
+-- Em tabelas particionadas toda chave única precisa incluir a chave de partição,
+-- então a unicidade global de order_code passa para a tabela order_codes, mantida
+-- por trigger. Ela também guarda o total, servindo as consultas de total por código
+-- com uma única busca por índice, sem depender de em qual partição o pedido está.
+
+ALTER TABLE order_items RENAME TO order_items_unpartitioned;
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+
+CREATE TABLE orders (
+    id         BIGINT         NOT NULL,
+    order_code BIGINT         NOT NULL,
+    client_id  BIGINT         NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL,
+    created_at TIMESTAMP(6)   NOT NULL DEFAULT now()
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_items (
+    id         BIGINT         NOT NULL,
+    order_id   BIGINT         NOT NULL,
+    product    VARCHAR(255)   NOT NULL,
+    quantity   INTEGER        NOT NULL,
+    price      NUMERIC(10, 2) NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL,
+    created_at TIMESTAMP(6)   NOT NULL DEFAULT now()
+) PARTITION BY RANGE (created_at);
+
+-- Recebe linhas fora das partições mensais existentes; a manutenção agendada cria
+-- as partições futuras com antecedência para que ela permaneça vazia
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items DEFAULT;
+
+CREATE TABLE order_codes (
+    order_code BIGINT         NOT NULL,
+    order_id   BIGINT         NOT NULL,
+    created_at TIMESTAMP(6)   NOT NULL,
+    total      NUMERIC(10, 2) NOT NULL,
+    CONSTRAINT pk_order_codes PRIMARY KEY (order_code)
+);
+
+CREATE OR REPLACE FUNCTION create_order_partitions(start_month DATE, end_month DATE) RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', start_month);
+    suffix      TEXT;
+    created     INTEGER := 0;
+BEGIN
+    WHILE month_start <= date_trunc('month', end_month) LOOP
+        suffix := to_char(month_start, '"y"YYYY"m"MM');
+        IF to_regclass('orders_' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                           'orders_' || suffix, month_start, month_start + INTERVAL '1 month');
+            created := created + 1;
+        END IF;
+        IF to_regclass('order_items_' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF order_items FOR VALUES FROM (%L) TO (%L)',
+                           'order_items_' || suffix, month_start, month_start + INTERVAL '1 month');
+            created := created + 1;
+        END IF;
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Desanexa as partições mensais anteriores a older_than e as move para o schema
+-- order_archive. Os códigos continuam em order_codes, preservando a unicidade.
+CREATE SCHEMA IF NOT EXISTS order_archive;
+
+CREATE OR REPLACE FUNCTION detach_order_partitions(older_than DATE) RETURNS INTEGER AS $$
+DECLARE
+    part      RECORD;
+    suffix    TEXT;
+    detached  INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname, to_date(substring(c.relname FROM '\d{4}m\d{2}$'), 'YYYY"m"MM') AS first_day
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'order_items'::regclass
+          AND c.relname ~ '^order_items_y\d{4}m\d{2}$'
+        ORDER BY c.relname
+    LOOP
+        CONTINUE WHEN part.first_day + INTERVAL '1 month' > older_than;
+        
+        -- Itens primeiro: a FK clonada na partição desanexada é removida para permitir
+        -- desanexar a partição de pedidos correspondente em seguida
+        EXECUTE format('ALTER TABLE order_items DETACH PARTITION %I', part.relname);
+        EXECUTE format('ALTER TABLE %I DROP CONSTRAINT IF EXISTS fk_order_items_order', part.relname);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA order_archive', part.relname);
+        
+        suffix := substring(part.relname FROM 'y\d{4}m\d{2}$');
+        IF to_regclass('orders_' || suffix) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE orders DETACH PARTITION %I', 'orders_' || suffix);
+            EXECUTE format('ALTER TABLE %I SET SCHEMA order_archive', 'orders_' || suffix);
+        END IF;
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sync_order_code() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO order_codes (order_code, order_id, created_at, total)
+        VALUES (NEW.order_code, NEW.id, NEW.created_at, NEW.total);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE order_codes SET total = NEW.total WHERE order_code = NEW.order_code;
+    ELSE
+        DELETE FROM order_codes WHERE order_code = OLD.order_code;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_orders_sync_order_code
+    AFTER INSERT OR UPDATE OF total OR DELETE ON orders
+    FOR EACH ROW EXECUTE FUNCTION sync_order_code();
+
+SELECT create_order_partitions(
+    COALESCE((SELECT MIN(created_at) FROM orders_unpartitioned), now())::date,
+    (now() + INTERVAL '3 months')::date
+);
+
+INSERT INTO orders (id, order_code, client_id, total, created_at)
+SELECT id, order_code, client_id, total, COALESCE(created_at, now())
+FROM orders_unpartitioned;
+
+INSERT INTO order_items (id, order_id, product, quantity, price, total, created_at)
+SELECT i.id, i.order_id, i.product, i.quantity, i.price, i.total, o.created_at
+FROM order_items_unpartitioned i
+JOIN orders o ON o.id = i.order_id;
+
+CREATE SEQUENCE orders_partitioned_id_seq;
+SELECT setval('orders_partitioned_id_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 1, false);
+CREATE SEQUENCE order_items_partitioned_id_seq;
+SELECT setval('order_items_partitioned_id_seq', COALESCE((SELECT MAX(id) FROM order_items), 0) + 1, false);
+
+DROP TABLE order_items_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+ALTER SEQUENCE orders_partitioned_id_seq RENAME TO orders_id_seq;
+ALTER SEQUENCE order_items_partitioned_id_seq RENAME TO order_items_id_seq;
+ALTER SEQUENCE orders_id_seq OWNED BY orders.id;
+ALTER SEQUENCE order_items_id_seq OWNED BY order_items.id;
+ALTER TABLE orders ALTER COLUMN id SET DEFAULT nextval('orders_id_seq');
+ALTER TABLE order_items ALTER COLUMN id SET DEFAULT nextval('order_items_id_seq');
+
+ALTER TABLE orders ADD CONSTRAINT pk_orders PRIMARY KEY (id, created_at);
+ALTER TABLE orders ADD CONSTRAINT fk_orders_client FOREIGN KEY (client_id) REFERENCES clients (id);
+ALTER TABLE order_items ADD CONSTRAINT pk_order_items PRIMARY KEY (id, created_at);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order
+    FOREIGN KEY (order_id, created_at) REFERENCES orders (id, created_at);
+
+CREATE INDEX idx_orders_client_created ON orders (client_id, created_at, id) INCLUDE (total, order_code);
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
@@ -0,0 +1,79 @@
+-- Camada de arquivo para pedidos frios: uma linha por pedido, com os itens inline
+-- em JSONB. Append-only; alimentada por archive_orders() e lida pelo gateway quando
+-- o pedido não está mais nas tabelas quentes.
+
+CREATE TABLE order_archive.archived_orders (
+    order_code  BIGINT         NOT NULL,
+    id          BIGINT         NOT NULL,
+    client_id   BIGINT         NOT NULL,
+    total       NUMERIC(10, 2) NOT NULL,
+    item_count  INTEGER        NOT NULL,
+    items       JSONB          NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    archived_at TIMESTAMP(6)   NOT NULL DEFAULT now(),
+    CONSTRAINT pk_archived_orders PRIMARY KEY (order_code)
+);
+
+CREATE INDEX idx_archived_orders_client_created
+    ON order_archive.archived_orders (client_id, created_at) INCLUDE (total, order_code, item_count);
+
+-- O código continua registrado em order_codes ao arquivar: mantém a unicidade e
+-- a busca de total por código sem consultar o arquivo
+CREATE OR REPLACE FUNCTION sync_order_code() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO order_codes (order_code, order_id, created_at, total)
+        VALUES (NEW.order_code, NEW.id, NEW.created_at, NEW.total);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE order_codes SET total = NEW.total WHERE order_code = NEW.order_code;
+    ELSIF COALESCE(current_setting('orders.archiving', true), '') <> 'on' THEN
+        DELETE FROM order_codes WHERE order_code = OLD.order_code;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Move até batch_size pedidos criados antes de older_than para o arquivo, em uma
+-- única instrução. Retorna a quantidade arquivada.
+CREATE OR REPLACE FUNCTION archive_orders(older_than TIMESTAMP, batch_size INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    archived INTEGER;
+BEGIN
+    PERFORM set_config('orders.archiving', 'on', true);
+    
+    WITH batch AS (
+        SELECT o.id, o.created_at
+        FROM orders o
+        WHERE o.created_at < older_than
+        ORDER BY o.created_at
+        LIMIT batch_size
+    ), moved_items AS (
+        DELETE FROM order_items i
+        USING batch b
+        WHERE i.order_id = b.id AND i.created_at = b.created_at
+        RETURNING i.order_id, i.id, i.product, i.quantity, i.price, i.total
+    ), grouped_items AS (
+        SELECT order_id,
+               COUNT(*) AS item_count,
+               jsonb_agg(jsonb_build_object('id', id, 'product', product, 'quantity', quantity,
+                                            'price', price, 'total', total) ORDER BY id) AS items
+        FROM moved_items
+        GROUP BY order_id
+    ), moved_orders AS (
+        DELETE FROM orders o
+        USING batch b
+        WHERE o.id = b.id AND o.created_at = b.created_at
+        RETURNING o.id, o.order_code, o.client_id, o.total, o.created_at
+    )
+    INSERT INTO order_archive.archived_orders (order_code, id, client_id, total, item_count, items, created_at)
+    SELECT m.order_code, m.id, m.client_id, m.total,
+           COALESCE(g.item_count, 0), COALESCE(g.items, '[]'::jsonb), m.created_at
+    FROM moved_orders m
+    LEFT JOIN grouped_items g ON g.order_id = m.id;
+    
+    GET DIAGNOSTICS archived = ROW_COUNT;
+    
+    PERFORM set_config('orders.archiving', 'off', true);
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,61 @@
+-- Modo de armazenamento alternativo com os itens inline em orders.items_json
+-- (orders.storage.inline-items). item_count é mantido nos dois modos e passa a
+-- servir a listagem resumida direto do índice, sem join com order_items.
+
+ALTER TABLE orders ADD COLUMN item_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN items_json JSONB;
+
+UPDATE orders o
+SET item_count = i.item_count
+FROM (
+    SELECT order_id, created_at, COUNT(*) AS item_count
+    FROM order_items
+    GROUP BY order_id, created_at
+) i
+WHERE o.id = i.order_id AND o.created_at = i.created_at;
+
+DROP INDEX idx_orders_client_created;
+CREATE INDEX idx_orders_client_created ON orders (client_id, created_at, id) INCLUDE (total, order_code, item_count);
+
+-- Pedidos gravados no modo inline não têm linhas em order_items
+CREATE OR REPLACE FUNCTION archive_orders(older_than TIMESTAMP, batch_size INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    archived INTEGER;
+BEGIN
+    PERFORM set_config('orders.archiving', 'on', true);
+    
+    WITH batch AS (
+        SELECT o.id, o.created_at
+        FROM orders o
+        WHERE o.created_at < older_than
+        ORDER BY o.created_at
+        LIMIT batch_size
+    ), moved_items AS (
+        DELETE FROM order_items i
+        USING batch b
+        WHERE i.order_id = b.id AND i.created_at = b.created_at
+        RETURNING i.order_id, i.id, i.product, i.quantity, i.price, i.total
+    ), grouped_items AS (
+        SELECT order_id,
+               jsonb_agg(jsonb_build_object('id', id, 'product', product, 'quantity', quantity,
+                                            'price', price, 'total', total) ORDER BY id) AS items
+        FROM moved_items
+        GROUP BY order_id
+    ), moved_orders AS (
+        DELETE FROM orders o
+        USING batch b
+        WHERE o.id = b.id AND o.created_at = b.created_at
+        RETURNING o.id, o.order_code, o.client_id, o.total, o.item_count, o.items_json, o.created_at
+    )
+    INSERT INTO order_archive.archived_orders (order_code, id, client_id, total, item_count, items, created_at)
+    SELECT m.order_code, m.id, m.client_id, m.total, m.item_count,
+           COALESCE(g.items, m.items_json, '[]'::jsonb), m.created_at
+    FROM moved_orders m
+    LEFT JOIN grouped_items g ON g.order_id = m.id;
+    
+    GET DIAGNOSTICS archived = ROW_COUNT;
+    
+    PERFORM set_config('orders.archiving', 'off', true);
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
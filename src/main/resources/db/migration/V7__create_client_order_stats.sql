@@ -0,0 +1,17 @@
+-- Estatísticas de pedidos por cliente calculadas pelo job orders.client-stats (substituídas
+-- por faixa de client_id a cada execução). Valores em reais; top_products em JSONB.
+
+CREATE TABLE client_order_stats (
+    client_id         BIGINT PRIMARY KEY,
+    order_count       BIGINT         NOT NULL,
+    revenue           NUMERIC(19, 2) NOT NULL,
+    average_order     NUMERIC(19, 2) NOT NULL,
+    min_order         NUMERIC(19, 2) NOT NULL,
+    max_order         NUMERIC(19, 2) NOT NULL,
+    p50_order         NUMERIC(19, 2) NOT NULL,
+    p95_order         NUMERIC(19, 2) NOT NULL,
+    min_basket_items  BIGINT         NOT NULL,
+    max_basket_items  BIGINT         NOT NULL,
+    top_products      JSONB          NOT NULL,
+    computed_at       TIMESTAMP(6)   NOT NULL
+);
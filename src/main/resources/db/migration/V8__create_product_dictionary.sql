@@ -0,0 +1,70 @@
+-- Dicionário de produtos: order_items passa a guardar product_id (INTEGER) em vez do nome,
+-- e a aplicação resolve id <-> nome por um cache em memória (ProductDictionary). Itens
+-- inline (orders.items_json) e arquivados continuam com o nome no JSONB.
+--
+-- O espaço da coluna removida só volta ao disco quando as partições são reescritas
+-- (VACUUM FULL ou pg_repack); linhas novas já são gravadas no formato menor.
+
+CREATE TABLE products (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_products_name UNIQUE (name)
+);
+
+INSERT INTO products (name)
+SELECT DISTINCT product FROM order_items ORDER BY product;
+
+ALTER TABLE order_items ADD COLUMN product_id INTEGER;
+
+UPDATE order_items i
+SET product_id = p.id
+FROM products p
+WHERE p.name = i.product;
+
+ALTER TABLE order_items ALTER COLUMN product_id SET NOT NULL;
+ALTER TABLE order_items DROP COLUMN product;
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id);
+
+-- O arquivo guarda o nome do produto no JSONB, resolvido aqui pelo dicionário
+CREATE OR REPLACE FUNCTION archive_orders(older_than TIMESTAMP, batch_size INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    archived INTEGER;
+BEGIN
+    PERFORM set_config('orders.archiving', 'on', true);
+    
+    WITH batch AS (
+        SELECT o.id, o.created_at
+        FROM orders o
+        WHERE o.created_at < older_than
+        ORDER BY o.created_at
+        LIMIT batch_size
+    ), moved_items AS (
+        DELETE FROM order_items i
+        USING batch b
+        WHERE i.order_id = b.id AND i.created_at = b.created_at
+        RETURNING i.order_id, i.id, i.product_id, i.quantity, i.price, i.total
+    ), grouped_items AS (
+        SELECT m.order_id,
+               jsonb_agg(jsonb_build_object('id', m.id, 'product', p.name, 'quantity', m.quantity,
+                                            'price', m.price, 'total', m.total) ORDER BY m.id) AS items
+        FROM moved_items m
+        JOIN products p ON p.id = m.product_id
+        GROUP BY m.order_id
+    ), moved_orders AS (
+        DELETE FROM orders o
+        USING batch b
+        WHERE o.id = b.id AND o.created_at = b.created_at
+        RETURNING o.id, o.order_code, o.client_id, o.total, o.item_count, o.items_json, o.created_at
+    )
+    INSERT INTO order_archive.archived_orders (order_code, id, client_id, total, item_count, items, created_at)
+    SELECT m.order_code, m.id, m.client_id, m.total, m.item_count,
+           COALESCE(g.items, m.items_json, '[]'::jsonb), m.created_at
+    FROM moved_orders m
+    LEFT JOIN grouped_items g ON g.order_id = m.id;
+    
+    GET DIAGNOSTICS archived = ROW_COUNT;
+    
+    PERFORM set_config('orders.archiving', 'off', true);
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
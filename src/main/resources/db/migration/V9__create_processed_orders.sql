@@ -0,0 +1,13 @@
+-- Registro de idempotência das mensagens de pedido: código + hash de 64 bits do payload
+-- (cliente e itens). Uma reentrega do RabbitMQ com o mesmo payload é descartada antes de
+-- qualquer trabalho no banco; payload diferente para o mesmo código é tratado como conflito.
+-- Linhas mais antigas que orders.dedup.retention são removidas; depois disso a unicidade
+-- de order_code (order_codes) continua barrando a duplicidade.
+
+CREATE TABLE processed_orders (
+    order_code   BIGINT       PRIMARY KEY,
+    payload_hash BIGINT       NOT NULL,
+    processed_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_processed_orders_processed_at ON processed_orders (processed_at);
@@ -0,0 +1,124 @@
+package com.btg.orders.app.controllers;
+
+import com.btg.orders.app.mappers.OrderDtoMapper;
+import com.btg.orders.app.streaming.JsonStreamWriter;
+import com.btg.orders.app.dto.OrderSummaryResponseDto;
+import com.btg.orders.domain.entities.ClientOrdersVersion;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.entities.Outcome;
+import com.btg.orders.domain.usecases.interfaces.CountOrdersByClientUseCaseInterface;
+import com.btg.orders.domain.usecases.interfaces.GetOrderTotalUseCaseInterface;
+import com.btg.orders.domain.usecases.interfaces.GetOrdersByClientUseCaseInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+    
+    @Mock
+    private GetOrderTotalUseCaseInterface getOrderTotalUseCase;
+    
+    @Mock
+    private CountOrdersByClientUseCaseInterface countOrdersByClientUseCase;
+    
+    @Mock
+    private GetOrdersByClientUseCaseInterface getOrdersByClientUseCase;
+    
+    @Mock
+    private OrderDtoMapper orderDtoMapper;
+    
+    private OrderController controller;
+    
+    @BeforeEach
+    void setUp() {
+        JsonStreamWriter jsonStreamWriter = new JsonStreamWriter(new ObjectMapper().findAndRegisterModules());
+        controller = new OrderController(getOrderTotalUseCase, countOrdersByClientUseCase, getOrdersByClientUseCase,
+            orderDtoMapper, jsonStreamWriter);
+    }
+    
+    @Test
+    void shouldReturnETagAndCacheControlForClientOrders() {
+        when(getOrdersByClientUseCase.executeVersion(1L))
+            .thenReturn(new ClientOrdersVersion(2L, LocalDateTime.of(2024, 1, 1, 10, 0)));
+        when(getOrdersByClientUseCase.executeSummaries(1L)).thenReturn(List.of());
+        
+        ResponseEntity<StreamingResponseBody> response = controller.getOrdersByClient(1L, null, null);
+        
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+    
+    @Test
+    void shouldReturnNotModifiedWithoutRunningListQuery() {
+        when(getOrdersByClientUseCase.executeVersion(1L))
+            .thenReturn(new ClientOrdersVersion(2L, LocalDateTime.of(2024, 1, 1, 10, 0)));
+        when(getOrdersByClientUseCase.executeSummaries(1L)).thenReturn(List.of());
+        String etag = controller.getOrdersByClient(1L, null, null).getHeaders().getETag();
+        
+        ResponseEntity<StreamingResponseBody> response = controller.getOrdersByClient(1L, null, "W/" + etag);
+        
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(getOrdersByClientUseCase, times(1)).executeSummaries(1L);
+        verify(getOrdersByClientUseCase, never()).executeViews(anyLong());
+    }
+    
+    @Test
+    void shouldUseDifferentETagsForSummaryAndExpandedShapes() {
+        when(getOrdersByClientUseCase.executeVersion(1L))
+            .thenReturn(new ClientOrdersVersion(0L, null));
+        
+        String summary = controller.getOrdersByClient(1L, null, null).getHeaders().getETag();
+        String expanded = controller.getOrdersByClient(1L, "items", null).getHeaders().getETag();
+        
+        assertNotEquals(summary, expanded);
+    }
+    
+    @Test
+    void shouldReturnNotModifiedForUnchangedTotal() {
+        when(getOrderTotalUseCase.execute(1001L)).thenReturn(Outcome.success(new BigDecimal("10.00")));
+        String etag = controller.getOrderTotal(1001L, null).getHeaders().getETag();
+        
+        var response = controller.getOrderTotal(1001L, "\"other\", " + etag);
+        
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+    
+    @Test
+    void shouldStreamSummariesAsJsonArray() throws Exception {
+        OrderSummary summary = new OrderSummary(1001L, new BigDecimal("10.00"), 2L, null);
+        when(getOrdersByClientUseCase.executeVersion(1L)).thenReturn(new ClientOrdersVersion(1L, null));
+        when(getOrdersByClientUseCase.executeSummaries(1L)).thenReturn(List.of(summary, summary));
+        when(orderDtoMapper.toSummaryResponseDto(any(OrderSummary.class)))
+            .thenReturn(new OrderSummaryResponseDto(1001L, new BigDecimal("10.00"), 2L, null));
+        
+        ResponseEntity<StreamingResponseBody> response = controller.getOrdersByClient(1L, null, null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        
+        String json = output.toString(StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("[{\"orderCode\":1001"));
+        assertTrue(json.endsWith("}]"));
+        verify(orderDtoMapper, times(2)).toSummaryResponseDto(summary);
+    }
+}
\ No newline at end of file
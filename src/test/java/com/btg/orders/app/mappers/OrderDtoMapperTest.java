@@ -0,0 +1,54 @@
+package com.btg.orders.app.mappers;
+
+import com.btg.orders.domain.entities.Client;
+import com.btg.orders.domain.entities.ClientView;
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.entities.OrderView;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderDtoMapperTest {
+    
+    private final OrderDtoMapper mapper = new OrderDtoMapperImpl();
+    
+    @Test
+    void shouldMapViewToTheSameResponseAsTheMutableOrder() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30, 5, 123_456_000);
+        Order order = Order.builder()
+            .id(10L)
+            .orderCode(1001L)
+            .clientId(1L)
+            .client(new Client(1L, "Ana", "ana@example.com"))
+            .items(List.of(
+                OrderItem.builder().id(100L).product("lápis").quantity(10).price(new BigDecimal("1.10")).total(new BigDecimal("11.00")).build(),
+                OrderItem.builder().id(101L).product("caderno").quantity(1).price(new BigDecimal("12.50")).total(new BigDecimal("12.50")).build()))
+            .total(new BigDecimal("23.50"))
+            .createdAt(createdAt)
+            .build();
+        OrderView view = new OrderView(10L, 1001L, 1L, new ClientView(1L, "Ana", "ana@example.com"),
+            2350, OrderView.toMicros(createdAt),
+            new long[]{100, 101}, new String[]{"lápis", "caderno"}, new int[]{10, 1},
+            new long[]{110, 1250}, new long[]{1100, 1250});
+        
+        assertEquals(mapper.toResponseDto(order), mapper.toResponseDto(view));
+    }
+    
+    @Test
+    void shouldMapInlineItemsWithoutIdAndMissingClientToNulls() {
+        OrderView view = new OrderView(10L, 1001L, 1L, null, 0, OrderView.NONE,
+            new long[]{OrderView.NONE}, new String[]{"lápis"}, new int[]{1}, new long[]{0}, new long[]{0});
+        
+        var response = mapper.toResponseDto(view);
+        
+        assertNull(response.getClient());
+        assertNull(response.getCreatedAt());
+        assertNull(response.getItems().get(0).getId());
+        assertEquals(new BigDecimal("0.00"), response.getTotal());
+    }
+}
\ No newline at end of file
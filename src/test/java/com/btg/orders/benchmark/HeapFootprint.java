@@ -0,0 +1,37 @@
+package com.btg.orders.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Heap retido por objetos, para os relatórios de bytes por pedido/entrada dos benchmarks.
+// Vazão e alocação por operação ficam no JMH (-prof gc); isto mede só o que fica vivo.
+public final class HeapFootprint {
+    
+    private HeapFootprint() {
+    }
+    
+    // Cria count elementos, mantém todos vivos e divide o crescimento do heap entre eles
+    public static <T> double bytesPerElement(int count, IntFunction<T> factory) throws InterruptedException {
+        long heapBefore = usedHeap();
+        List<T> retained = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            retained.add(factory.apply(i));
+        }
+        long heapBytes = usedHeap() - heapBefore;
+        if (retained.size() != count) {
+            throw new IllegalStateException();
+        }
+        return (double) heapBytes / count;
+    }
+    
+    // Alguns ciclos de GC com pausa, para o heap usado refletir só objetos alcançáveis
+    public static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
\ No newline at end of file
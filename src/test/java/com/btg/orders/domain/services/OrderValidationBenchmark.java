@@ -0,0 +1,119 @@
+package com.btg.orders.domain.services;
+
+import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.domain.usecases.ProcessOrderUseCase;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// CPU e alocação por pedido (JMH com -prof gc): validação anterior (exceção no primeiro erro,
+// trim() por item, duas validações por pedido no TransactionalService) vs. máscara de erros
+// com escopo. Executado por scripts/benchmark-validation.sh.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderValidationBenchmark {
+    
+    @Param({"5", "50"})
+    int items;
+    
+    List<ProcessOrderUseCase.OrderItemData> valid;
+    List<ProcessOrderUseCase.OrderItemData> invalid;
+    OrderValidationService service;
+    
+    @Setup
+    public void setUp() {
+        valid = new ArrayList<>(items);
+        invalid = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            valid.add(ProcessOrderUseCase.OrderItemData.builder().product("produto " + i).quantity(1 + i).price(new BigDecimal("1.10")).build());
+            invalid.add(ProcessOrderUseCase.OrderItemData.builder().product("produto " + i).quantity(0).price(new BigDecimal("1.10")).build());
+        }
+        
+        OrderGateway gateway = (OrderGateway) Proxy.newProxyInstance(OrderGateway.class.getClassLoader(),
+            new Class<?>[]{OrderGateway.class}, (proxy, method, args) -> {
+                if (method.getName().equals("existsByOrderCode")) {
+                    return false;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        service = new OrderValidationService(gateway);
+    }
+    
+    @Benchmark
+    public int legacyValid() {
+        legacyValidate(1001L, 1L, valid);
+        return 0;
+    }
+    
+    @Benchmark
+    public int checkValid() {
+        return service.checkOrderForProcessing(1001L, 1L, valid);
+    }
+    
+    @Benchmark
+    public Object legacyInvalid() {
+        try {
+            legacyValidate(1001L, 1L, invalid);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+    
+    @Benchmark
+    public int checkInvalid() {
+        return service.checkOrderForProcessing(1001L, 1L, invalid);
+    }
+    
+    // TransactionalService + ProcessOrderUseCase: antes validavam o pedido duas vezes
+    @Benchmark
+    public int legacyTransactional() {
+        legacyValidate(1001L, 1L, valid);
+        legacyValidate(1001L, 1L, valid);
+        return 0;
+    }
+    
+    @Benchmark
+    public int scopedTransactional() {
+        return service.inScope(List.of(1001L), () ->
+            service.checkOrderForProcessing(1001L, 1L, valid) | service.checkOrderForProcessing(1001L, 1L, valid));
+    }
+    
+    // Cópia da validação anterior, para comparação
+    private void legacyValidate(Long orderCode, Long clientId, List<ProcessOrderUseCase.OrderItemData> items) {
+        if (orderCode == null || orderCode <= 0) {
+            throw new IllegalArgumentException("Order code must be positive");
+        }
+        if (clientId == null || clientId <= 0) {
+            throw new IllegalArgumentException("Client ID must be positive");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Order must have at least one item");
+        }
+        if (service.orderExists(orderCode)) {
+            throw new IllegalArgumentException("Order with code " + orderCode + " already exists");
+        }
+        for (ProcessOrderUseCase.OrderItemData item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("Order item cannot be null");
+            }
+            if (item.getProduct() == null || item.getProduct().trim().isEmpty()) {
+                throw new IllegalArgumentException("Product name cannot be empty");
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive");
+            }
+            if (item.getPrice() == null || item.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Price must be positive");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.btg.orders.domain.services;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.entities.OrderValidationError;
+import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.domain.usecases.ProcessOrderUseCase;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static com.btg.orders.domain.entities.OrderValidationError.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderValidationServiceTest {
+    
+    private final OrderGateway orderGateway = mock(OrderGateway.class);
+    private final OrderValidationService service = new OrderValidationService(orderGateway);
+    
+    @Test
+    void shouldCollectEveryViolatedRuleWithoutQueryingInvalidOrders() {
+        List<ProcessOrderUseCase.OrderItemData> items = List.of(
+            ProcessOrderUseCase.OrderItemData.builder().product("   ").quantity(0).price(new BigDecimal("1.00")).build(),
+            ProcessOrderUseCase.OrderItemData.builder().product("lápis").quantity(1).price(BigDecimal.ZERO).build());
+        
+        int errors = service.checkOrderForProcessing(1001L, -1L, items);
+        
+        assertEquals(CLIENT_ID_NOT_POSITIVE.bit() | PRODUCT_EMPTY.bit() | QUANTITY_NOT_POSITIVE.bit() | PRICE_NOT_POSITIVE.bit(), errors);
+        assertEquals("Client ID must be positive; Product name cannot be empty; Quantity must be positive; Price must be positive",
+            OrderValidationError.describe(errors, 1001L));
+        verifyNoInteractions(orderGateway);
+    }
+    
+    @Test
+    void shouldDescribeDuplicateWithSingleMessage() {
+        when(orderGateway.existsByOrderCode(1001L)).thenReturn(true);
+        
+        int errors = service.checkOrderForProcessing(1001L, 1L, List.of(item()));
+        
+        assertEquals(ORDER_ALREADY_EXISTS.bit(), errors);
+        assertEquals("Order with code 1001 already exists", OrderValidationError.describe(errors, 1001L));
+    }
+    
+    @Test
+    void shouldCheckBatchWithOneQueryAndReuseValidationInsideScope() {
+        when(orderGateway.findExistingOrderCodes(List.of(1001L, 1002L))).thenReturn(Set.of(1002L));
+        List<ProcessOrderUseCase.OrderItemData> items = List.of(item());
+        
+        service.inScope(List.of(1001L, 1002L), () -> {
+            assertEquals(0, service.checkOrderForProcessing(1001L, 1L, items));
+            assertEquals(0, service.checkOrderForProcessing(1001L, 1L, items));
+            assertEquals(ORDER_ALREADY_EXISTS.bit(), service.checkOrderForProcessing(1002L, 1L, items));
+            
+            // Gravado no lote: um segundo pedido com o mesmo código passa a ser duplicado
+            service.recordSaved(1001L);
+            assertEquals(ORDER_ALREADY_EXISTS.bit(), service.checkOrderForProcessing(1001L, 1L, items));
+            return null;
+        });
+        
+        verify(orderGateway, never()).existsByOrderCode(anyLong());
+        verify(orderGateway, times(1)).findExistingOrderCodes(any());
+    }
+    
+    @Test
+    void shouldRejectValuesThatDoNotFitTheColumns() {
+        List<ProcessOrderUseCase.OrderItemData> items = List.of(
+            ProcessOrderUseCase.OrderItemData.builder().product("x".repeat(256)).quantity(1).price(new BigDecimal("1.00")).build(),
+            ProcessOrderUseCase.OrderItemData.builder().product("lápis").quantity(1).price(new BigDecimal("100000000.00")).build());
+        
+        assertEquals(PRODUCT_TOO_LONG.bit() | PRICE_OUT_OF_RANGE.bit(), service.checkOrderForProcessing(1001L, 1L, items));
+        
+        // Preço válido, mas total do item e do pedido estouram NUMERIC(10, 2)
+        OrderItem item = new OrderItem("lápis", 2, new BigDecimal("60000000.00"));
+        Order order = Order.builder().orderCode(1001L).clientId(1L).items(List.of(item)).total(item.getTotal()).build();
+        assertEquals(ITEM_TOTAL_OUT_OF_RANGE.bit() | TOTAL_OUT_OF_RANGE.bit(), service.checkProcessedOrder(order));
+    }
+    
+    private static ProcessOrderUseCase.OrderItemData item() {
+        return ProcessOrderUseCase.OrderItemData.builder().product("lápis").quantity(1).price(new BigDecimal("1.10")).build();
+    }
+}
\ No newline at end of file
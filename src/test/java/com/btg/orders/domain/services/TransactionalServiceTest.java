@@ -0,0 +1,57 @@
+package com.btg.orders.domain.services;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.Outcome;
+import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.domain.services.interfaces.EventPublisherServiceInterface;
+import com.btg.orders.domain.services.interfaces.OrderValidationServiceInterface;
+import com.btg.orders.domain.usecases.interfaces.ProcessOrderUseCaseInterface;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionalServiceTest {
+    
+    @Mock
+    private ProcessOrderUseCaseInterface processOrderUseCase;
+    
+    @Mock
+    private OrderValidationServiceInterface validationService;
+    
+    @Mock
+    private EventPublisherServiceInterface eventPublisher;
+    
+    @Mock
+    private OrderGateway orderGateway;
+    
+    private TransactionalService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new TransactionalService(processOrderUseCase, validationService, eventPublisher, orderGateway, Optional.empty());
+        when(validationService.inScope(anyCollection(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+    
+    @Test
+    void shouldLeaveOrderProcessedEventToTheUseCase() {
+        Order order = Order.builder().orderCode(1001L).clientId(1L).build();
+        when(processOrderUseCase.execute(eq(1001L), eq(1L), anyList())).thenReturn(Outcome.success(order));
+        
+        Outcome<Order> outcome = service.processOrderTransactionally(1001L, 1L, List.of());
+        
+        assertSame(order, outcome.value());
+        verify(eventPublisher).publishOrderCreatedEvent(order);
+        verify(eventPublisher, never()).publishOrderProcessedEvent(any());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.btg.orders.domain.usecases;
+
+import com.btg.orders.domain.entities.OrderRollupSeries;
+import com.btg.orders.domain.entities.RollupGranularity;
+import com.btg.orders.domain.gateways.OrderRollupGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetOrderRollupsUseCaseTest {
+    
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 10, 17, 42);
+    
+    @Mock
+    private OrderRollupGateway orderRollupGateway;
+    
+    private GetOrderRollupsUseCase useCase;
+    
+    @BeforeEach
+    void setUp() {
+        useCase = new GetOrderRollupsUseCase(Optional.of(orderRollupGateway));
+    }
+    
+    @Test
+    void shouldPickFinestGranularityThatFitsAndAlignRange() {
+        LocalDateTime to = FROM.plusDays(30);
+        when(orderRollupGateway.findRange(RollupGranularity.HOUR, null, FROM.withMinute(0).withSecond(0), to))
+            .thenReturn(List.of());
+        
+        OrderRollupSeries series = useCase.execute(null, null, FROM, to);
+        
+        assertEquals(RollupGranularity.HOUR, series.getGranularity());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), series.getFrom());
+        assertEquals(RollupGranularity.MINUTE, GetOrderRollupsUseCase.finestFitting(FROM, FROM.plusHours(24)));
+        assertEquals(RollupGranularity.DAY, GetOrderRollupsUseCase.finestFitting(FROM, FROM.plusDays(365)));
+    }
+    
+    @Test
+    void shouldRejectRangesWithTooManyBucketsOrInverted() {
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.execute(RollupGranularity.MINUTE, 1L, FROM, FROM.plusDays(30)));
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.execute(RollupGranularity.DAY, 1L, FROM, FROM));
+        verifyNoInteractions(orderRollupGateway);
+    }
+    
+    @Test
+    void shouldFailWhenRollupsAreDisabled() {
+        GetOrderRollupsUseCase disabled = new GetOrderRollupsUseCase(Optional.empty());
+        
+        assertThrows(IllegalStateException.class, () -> disabled.execute(null, null, FROM, FROM.plusHours(1)));
+    }
+}
\ No newline at end of file
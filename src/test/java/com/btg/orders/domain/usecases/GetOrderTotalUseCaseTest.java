@@ -0,0 +1,75 @@
+package com.btg.orders.domain.usecases;
+
+import com.btg.orders.domain.entities.OrderFailure;
+import com.btg.orders.domain.entities.Outcome;
+import com.btg.orders.domain.gateways.OrderGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetOrderTotalUseCaseTest {
+    
+    @Mock
+    private OrderGateway orderGateway;
+    
+    private GetOrderTotalUseCase useCase;
+    
+    @BeforeEach
+    void setUp() {
+        useCase = new GetOrderTotalUseCase(orderGateway);
+    }
+    
+    @Test
+    void shouldReturnTotalWhenOrderExists() {
+        when(orderGateway.calculateOrderTotal(1001L)).thenReturn(Optional.of(new BigDecimal("120.00")));
+        
+        assertEquals(new BigDecimal("120.00"), useCase.execute(1001L).value());
+    }
+    
+    @Test
+    void shouldReturnSharedNotFoundOutcomeWhenOrderNotFound() {
+        when(orderGateway.calculateOrderTotal(1001L)).thenReturn(Optional.empty());
+        
+        Outcome<BigDecimal> outcome = useCase.execute(1001L);
+        
+        assertEquals(OrderFailure.NOT_FOUND, outcome.failure());
+        assertSame(Outcome.notFound(), outcome);
+        assertEquals("Order not found", outcome.describe(1001L));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResolveBulkTotalsWithSingleDistinctLookup() {
+        // Arrange
+        List<Long> orderCodes = Arrays.asList(1001L, 1002L, 1001L, null, 9999L);
+        when(orderGateway.calculateOrderTotals(anyCollection())).thenReturn(Map.of(
+            1001L, new BigDecimal("10.00"),
+            1002L, new BigDecimal("20.00")
+        ));
+        
+        // Act
+        Map<Long, BigDecimal> result = useCase.execute(orderCodes);
+        
+        // Assert
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(orderGateway, times(1)).calculateOrderTotals(captor.capture());
+        assertEquals(List.of(1001L, 1002L, 9999L), List.copyOf(captor.getValue()));
+        assertEquals(2, result.size());
+        assertFalse(result.containsKey(9999L));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.btg.orders.domain.usecases;
+
+import com.btg.orders.domain.entities.OrderValidationError;
+import com.btg.orders.domain.entities.Outcome;
+import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.domain.services.OrderValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// CPU e alocação (JMH com -prof gc) dos caminhos de falha esperados: total de pedido
+// inexistente e pedido duplicado. Antes: exceção com mensagem e stack trace capturada no
+// controller/consumer; agora: Outcome compartilhado. Executado por scripts/benchmark-outcomes.sh.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class OrderOutcomeBenchmark {
+    
+    OrderGateway gateway;
+    OrderValidationService validation;
+    List<ProcessOrderUseCase.OrderItemData> items;
+    
+    @Setup
+    public void setUp() {
+        // Nenhum pedido tem total e todo código já existe
+        gateway = (OrderGateway) Proxy.newProxyInstance(OrderGateway.class.getClassLoader(),
+            new Class<?>[]{OrderGateway.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "calculateOrderTotal" -> Optional.empty();
+                case "existsByOrderCode" -> true;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        validation = new OrderValidationService(gateway);
+        items = List.of(ProcessOrderUseCase.OrderItemData.builder().product("caderno").quantity(1).price(new BigDecimal("1.10")).build());
+    }
+    
+    @Benchmark
+    public Object legacyNotFound() {
+        try {
+            return gateway.calculateOrderTotal(1001L)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found with code: " + 1001L));
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+    
+    @Benchmark
+    public Object outcomeNotFound() {
+        // Mesmo corpo do GetOrderTotalUseCase.execute, sem o log
+        return gateway.calculateOrderTotal(1001L)
+            .map(Outcome::success)
+            .orElseGet(Outcome::notFound);
+    }
+    
+    @Benchmark
+    public Object legacyDuplicate() {
+        // Caminho antigo: a máscara virava IllegalArgumentException com a mensagem descritiva
+        try {
+            int errors = validation.checkOrderForProcessing(1001L, 1L, items);
+            if (errors != 0) {
+                throw new IllegalArgumentException(OrderValidationError.describe(errors, 1001L));
+            }
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+    
+    @Benchmark
+    public Object outcomeDuplicate() {
+        return Outcome.rejected(validation.checkOrderForProcessing(1001L, 1L, items));
+    }
+}
\ No newline at end of file
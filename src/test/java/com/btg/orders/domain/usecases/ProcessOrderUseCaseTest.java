@@ -2,9 +2,13 @@ package com.btg.orders.domain.usecases;
 
 import com.btg.orders.domain.entities.Client;
 import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderFailure;
+import com.btg.orders.domain.entities.OrderValidationError;
+import com.btg.orders.domain.entities.Outcome;
 import com.btg.orders.domain.gateways.ClientGateway;
 import com.btg.orders.domain.gateways.MessageGateway;
 import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.domain.gateways.ProductDictionaryGateway;
 import com.btg.orders.domain.services.interfaces.EventPublisherServiceInterface;
 import com.btg.orders.domain.services.interfaces.OrderValidationServiceInterface;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +24,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,11 +45,16 @@ class ProcessOrderUseCaseTest {
     @Mock
     private EventPublisherServiceInterface eventPublisher;
     
+    @Mock
+    private ProductDictionaryGateway productDictionary;
+    
     private ProcessOrderUseCase useCase;
     
     @BeforeEach
     void setUp() {
-        useCase = new ProcessOrderUseCase(orderGateway, clientGateway, messageGateway, validationService, eventPublisher);
+        useCase = new ProcessOrderUseCase(orderGateway, clientGateway, messageGateway, validationService, eventPublisher,
+            productDictionary);
+        lenient().when(productDictionary.intern(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
     }
     
     @Test
@@ -73,15 +83,16 @@ class ProcessOrderUseCaseTest {
         when(orderGateway.save(any(Order.class))).thenReturn(savedOrder);
         
         // Act
-        Order result = useCase.execute(orderCode, clientId, items);
+        Order result = useCase.execute(orderCode, clientId, items).value();
         
         // Assert
         assertNotNull(result);
         assertEquals(orderCode, result.getOrderCode());
         assertEquals(clientId, result.getClientId());
         
-        verify(validationService).validateOrderForProcessing(orderCode, clientId, items);
-        verify(validationService).validateProcessedOrder(any(Order.class));
+        verify(validationService).checkOrderForProcessing(orderCode, clientId, items);
+        verify(validationService).checkProcessedOrder(any(Order.class));
+        verify(validationService).recordSaved(orderCode);
         verify(clientGateway).findOrCreateDefaultClient(clientId);
         verify(orderGateway).save(any(Order.class));
         verify(messageGateway).sendOrderProcessedNotification(orderCode);
@@ -101,21 +112,20 @@ class ProcessOrderUseCaseTest {
                 .build()
         );
         
-        doThrow(new IllegalArgumentException("Order with code 1001 already exists"))
-            .when(validationService).validateOrderForProcessing(orderCode, clientId, items);
+        when(validationService.checkOrderForProcessing(orderCode, clientId, items))
+            .thenReturn(OrderValidationError.ORDER_ALREADY_EXISTS.bit());
         
-        // Act & Assert
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
-            () -> useCase.execute(orderCode, clientId, items)
-        );
+        // Act
+        Outcome<Order> outcome = useCase.execute(orderCode, clientId, items);
         
-        assertEquals("Order with code 1001 already exists", exception.getMessage());
-        verify(validationService).validateOrderForProcessing(orderCode, clientId, items);
+        // Assert: desfecho esperado, sem exceção
+        assertFalse(outcome.isSuccess());
+        assertEquals(OrderFailure.DUPLICATE, outcome.failure());
+        assertSame(Outcome.rejected(OrderValidationError.ORDER_ALREADY_EXISTS.bit()), outcome);
         verify(clientGateway, never()).findOrCreateDefaultClient(anyLong());
         verify(orderGateway, never()).save(any(Order.class));
-        verify(messageGateway).sendOrderErrorNotification(eq(orderCode), anyString());
-        verify(eventPublisher).publishOrderErrorEvent(eq(orderCode), anyString());
+        verify(messageGateway).sendOrderErrorNotification(orderCode, "Order with code 1001 already exists");
+        verify(eventPublisher).publishOrderErrorEvent(orderCode, "Order with code 1001 already exists");
     }
     
     @Test
@@ -176,7 +186,7 @@ class ProcessOrderUseCaseTest {
         });
         
         // Act
-        Order result = useCase.execute(orderCode, clientId, items);
+        Order result = useCase.execute(orderCode, clientId, items).value();
         
         // Assert
         assertEquals(new BigDecimal("1100.00"), result.getTotal());
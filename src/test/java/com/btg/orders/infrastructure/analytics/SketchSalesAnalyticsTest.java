@@ -0,0 +1,158 @@
+package com.btg.orders.infrastructure.analytics;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.entities.ProductSales;
+import com.btg.orders.domain.entities.SalesWindowSnapshot;
+import com.btg.orders.domain.events.OrderProcessedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SketchSalesAnalyticsTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 10, 12, 0, 0);
+    
+    private MutableClock clock;
+    private SketchSalesAnalytics analytics;
+    
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+        analytics = new SketchSalesAnalytics(clock, new SketchSettings(16, 4, 1024, 12));
+    }
+    
+    @Test
+    void shouldRankProductsByQuantityAndRevenue() {
+        analytics.onOrderProcessed(new OrderProcessedEvent(order(1L, START,
+            new OrderItem("lápis", 10, new BigDecimal("1.10")),
+            new OrderItem("caderno", 2, new BigDecimal("25.00")))));
+        analytics.onOrderProcessed(new OrderProcessedEvent(order(2L, START,
+            new OrderItem("lápis", 5, new BigDecimal("1.10")),
+            new OrderItem("mochila", 1, new BigDecimal("120.00")))));
+        
+        SalesWindowSnapshot snapshot = analytics.snapshot("1h", 10).orElseThrow();
+        
+        assertEquals(2, snapshot.getOrders());
+        assertEquals(2, snapshot.getDistinctClients());
+        assertEquals(List.of("lápis", "caderno", "mochila"), products(snapshot.getTopByQuantity()));
+        assertEquals(15L, snapshot.getTopByQuantity().get(0).getQuantity());
+        assertEquals(List.of("mochila", "caderno", "lápis"), products(snapshot.getTopByRevenue()));
+        assertEquals(new BigDecimal("16.50"), snapshot.getTopByRevenue().get(2).getRevenue());
+        assertEquals(1, analytics.snapshot("1h", 1).orElseThrow().getTopByQuantity().size());
+    }
+    
+    @Test
+    void shouldExpireBucketsAsWindowSlides() {
+        analytics.record(order(1L, START, new OrderItem("lápis", 3, BigDecimal.ONE)));
+        
+        clock.advance(Duration.ofSeconds(30));
+        analytics.record(order(2L, START.plusSeconds(30), new OrderItem("caderno", 1, BigDecimal.TEN)));
+        assertEquals(List.of("lápis", "caderno"), products(analytics.snapshot("1m", 10).orElseThrow().getTopByQuantity()));
+        
+        clock.advance(Duration.ofSeconds(45));
+        assertEquals(List.of("caderno"), products(analytics.snapshot("1m", 10).orElseThrow().getTopByQuantity()));
+        assertEquals(List.of("lápis", "caderno"), products(analytics.snapshot("1h", 10).orElseThrow().getTopByQuantity()));
+        
+        clock.advance(Duration.ofHours(2));
+        SalesWindowSnapshot hour = analytics.snapshot("1h", 10).orElseThrow();
+        assertEquals(0, hour.getOrders());
+        assertEquals(0, hour.getDistinctClients());
+        assertTrue(hour.getTopByQuantity().isEmpty());
+        assertEquals(2, analytics.snapshot("24h", 10).orElseThrow().getOrders());
+    }
+    
+    @Test
+    void shouldIgnoreOrdersOlderThanWindow() {
+        analytics.record(order(1L, START.minusDays(3), new OrderItem("lápis", 3, BigDecimal.ONE)));
+        analytics.record(order(2L, START.minusMinutes(30), new OrderItem("caderno", 1, BigDecimal.ONE)));
+        
+        assertEquals(0, analytics.snapshot("1m", 10).orElseThrow().getOrders());
+        assertEquals(1, analytics.snapshot("1h", 10).orElseThrow().getOrders());
+        assertEquals(1, analytics.snapshot("24h", 10).orElseThrow().getOrders());
+        assertTrue(analytics.snapshot("7d", 10).isEmpty());
+    }
+    
+    @Test
+    void shouldFindHeavyHittersAndDistinctClientsInSkewedStream() {
+        // Zipf (s = 1.1) sobre 5.000 produtos: bem mais produtos que candidatos por bucket
+        int products = 5_000;
+        double[] cumulative = new double[products];
+        double sum = 0;
+        for (int i = 0; i < products; i++) {
+            sum += 1 / Math.pow(i + 1, 1.1);
+            cumulative[i] = sum;
+        }
+        
+        Random random = new Random(42);
+        long[] exact = new long[products];
+        for (int i = 0; i < 100_000; i++) {
+            int rank = Math.abs(Arrays.binarySearch(cumulative, random.nextDouble() * sum) + 1);
+            rank = Math.min(rank, products - 1);
+            exact[rank]++;
+            analytics.record(order((long) (i % 20_000), START.plusSeconds(i % 50),
+                new OrderItem("produto-" + rank, 1, BigDecimal.ONE)));
+        }
+        clock.advance(Duration.ofSeconds(50));
+        
+        SalesWindowSnapshot snapshot = analytics.snapshot("1m", 5).orElseThrow();
+        
+        assertEquals(List.of("produto-0", "produto-1", "produto-2", "produto-3", "produto-4"),
+            products(snapshot.getTopByQuantity()));
+        // Count-Min nunca subestima
+        assertTrue(snapshot.getTopByQuantity().get(0).getQuantity() >= exact[0]);
+        assertEquals(20_000, snapshot.getDistinctClients(), 20_000 * 0.05);
+    }
+    
+    private static Order order(Long clientId, LocalDateTime createdAt, OrderItem... items) {
+        Order order = Order.builder().clientId(clientId).createdAt(createdAt).build();
+        for (OrderItem item : items) {
+            order.addItem(item);
+        }
+        return order;
+    }
+    
+    private static List<String> products(List<ProductSales> sales) {
+        return sales.stream().map(ProductSales::getProduct).toList();
+    }
+    
+    private static final class MutableClock extends Clock {
+        
+        private Instant now;
+        
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+        
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+        
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
\ No newline at end of file
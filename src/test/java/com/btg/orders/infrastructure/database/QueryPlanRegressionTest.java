@@ -0,0 +1,203 @@
+package com.btg.orders.infrastructure.database;
+
+import com.btg.orders.infrastructure.database.products.ProductDictionary;
+import com.btg.orders.infrastructure.database.repositories.OrderJpaRepository;
+import com.btg.orders.infrastructure.database.views.OrderViewReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Garante que as consultas dos endpoints de leitura usam os índices das migrations
+ * em vez de sequential scan, sobre uma base populada com volume suficiente para o
+ * planner preferir índices. Partições vazias (meses futuros, default) são ignoradas:
+ * para elas o planner escolhe seq scan por custo zero. As consultas analisadas são as que
+ * OrderJpaRepository (via Hibernate) e OrderViewReader realmente enviam ao banco, capturadas
+ * no prepareStatement da conexão, com os parâmetros substituídos pelos valores usados na chamada.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanRegressionTest {
+    
+    private static final int CLIENTS = 1_000;
+    private static final int ORDERS_PER_CLIENT = 50;
+    
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+    
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    
+    private static Connection connection;
+    private static EntityManagerFactory entityManagerFactory;
+    private static EntityManager entityManager;
+    private static OrderJpaRepository repository;
+    private static OrderViewReader viewReader;
+    
+    @BeforeAll
+    static void setUp() throws SQLException {
+        Flyway.configure()
+            .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+            .load()
+            .migrate();
+        
+        DataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO clients (id, name, email, created_at) " +
+                "SELECT c, 'Client ' || c, 'client' || c || '@example.com', now() FROM generate_series(1, " + CLIENTS + ") c");
+            statement.execute("INSERT INTO orders (order_code, client_id, total, item_count, created_at) " +
+                "SELECT n, (n % " + CLIENTS + ") + 1, 12.00, 2, now() - (n || ' seconds')::interval " +
+                "FROM generate_series(1, " + CLIENTS * ORDERS_PER_CLIENT + ") n");
+            statement.execute("INSERT INTO products (name) VALUES ('lápis'), ('caderno')");
+            statement.execute("INSERT INTO order_items (order_id, product_id, quantity, price, total, created_at) " +
+                "SELECT o.id, p.id, 1, 6.00, 6.00, o.created_at FROM orders o CROSS JOIN products p");
+            statement.execute("VACUUM ANALYZE");
+        }
+        
+        DataSource recording = recording(dataSource);
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(recording);
+        factory.setPackagesToScan("com.btg.orders.infrastructure.database.models");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // Mesmas estratégias de nome que o Spring Boot configura na aplicação
+        factory.setJpaPropertyMap(Map.of(
+            "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+            "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        repository = new JpaRepositoryFactory(entityManager).getRepository(OrderJpaRepository.class);
+        viewReader = new OrderViewReader(new JdbcTemplate(recording), mock(ProductDictionary.class), new ObjectMapper());
+    }
+    
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (entityManager != null) {
+            entityManager.close();
+            entityManagerFactory.close();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+    }
+    
+    static Stream<Arguments> readQueries() {
+        return Stream.of(
+            query("GET /api/orders/{orderCode}/total", "1001", () -> repository.findTotalByOrderCode(1001L)),
+            query("POST /api/orders/totals", "'{1001,1002,1003}'",
+                () -> repository.findTotalsByOrderCodes(new Long[]{1001L, 1002L, 1003L})),
+            query("Validação de duplicidade no processamento", "1001", () -> repository.existsByOrderCode(1001L)),
+            query("Validação de duplicidade em lote", "'{1001,1002,1003}'",
+                () -> repository.findExistingOrderCodes(new Long[]{1001L, 1002L, 1003L})),
+            query("Busca do pedido por código (rollback)", "1001", () -> repository.findByOrderCode(1001L)),
+            query("GET /api/orders/clients/{clientId}/count", "42", () -> repository.countByClientId(42L)),
+            query("POST /api/orders/clients/counts", "'{1,2,3}'", () -> repository.countByClientIds(new Long[]{1L, 2L, 3L})),
+            query("Validação de ETag da listagem", "42", () -> repository.findVersionByClientId(42L)),
+            query("GET /api/orders/clients/{clientId}", "42", () -> repository.findSummariesByClientId(42L)),
+            query("GET /api/orders/clients/{clientId}?expand=items", "42", () -> viewReader.findByClientId(42L, true)));
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("readQueries")
+    void shouldNotUseSequentialScan(String endpoint, String parameter, Runnable call) throws Exception {
+        STATEMENTS.clear();
+        call.run();
+        assertFalse(STATEMENTS.isEmpty(), () -> "No statement captured for " + endpoint);
+        
+        for (String sql : STATEMENTS) {
+            // Todas as consultas de leitura têm um único parâmetro por chamada
+            String query = sql.replace("?", parameter);
+            JsonNode plan = explain(query);
+            
+            assertFalse(hasSequentialScanOnPopulatedRelation(plan.get("Plan")),
+                () -> "Sequential scan for " + endpoint + ": " + query + "\n" + plan.toPrettyString());
+        }
+    }
+    
+    private static Arguments query(String endpoint, String parameter, Runnable call) {
+        return Arguments.of(endpoint, parameter, call);
+    }
+    
+    // Registra o SQL de cada prepareStatement, seja do Hibernate ou do JdbcTemplate
+    private static DataSource recording(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                            STATEMENTS.add(sql);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+            }
+        };
+    }
+    
+    private static JsonNode explain(String query) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) " + query)) {
+            resultSet.next();
+            return new ObjectMapper().readTree(resultSet.getString(1)).get(0);
+        }
+    }
+    
+    private static boolean hasSequentialScanOnPopulatedRelation(JsonNode node) throws SQLException {
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && rowCount(node.path("Relation Name").asText()) > 0) {
+            return true;
+        }
+        for (JsonNode child : node.path("Plans")) {
+            if (hasSequentialScanOnPopulatedRelation(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static double rowCount(String relation) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT reltuples FROM pg_class WHERE relname = ?")) {
+            statement.setString(1, relation);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getDouble(1) : 0;
+            }
+        }
+    }
+}
\ No newline at end of file
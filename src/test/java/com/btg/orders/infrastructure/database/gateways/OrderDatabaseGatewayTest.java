@@ -0,0 +1,170 @@
+package com.btg.orders.infrastructure.database.gateways;
+
+import com.btg.orders.domain.entities.ClientOrdersVersion;
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.infrastructure.database.mappers.ArchivedOrderMapper;
+import com.btg.orders.infrastructure.database.mappers.OrderMapper;
+import com.btg.orders.infrastructure.database.models.ArchivedOrderModel;
+import com.btg.orders.infrastructure.database.models.OrderModel;
+import com.btg.orders.infrastructure.database.projections.ClientOrderCountProjection;
+import com.btg.orders.infrastructure.database.repositories.ArchivedOrderJpaRepository;
+import com.btg.orders.infrastructure.database.repositories.OrderJpaRepository;
+import com.btg.orders.infrastructure.database.routing.ReadRouting;
+import com.btg.orders.infrastructure.database.scan.EntityScanner;
+import com.btg.orders.infrastructure.database.views.OrderViewReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDatabaseGatewayTest {
+    
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 15, 10, 0);
+    private static final LocalDateTime JUNE = LocalDateTime.of(2024, 6, 15, 10, 0);
+    
+    @Mock
+    private OrderJpaRepository repository;
+    
+    @Mock
+    private OrderMapper mapper;
+    
+    @Mock
+    private ArchivedOrderJpaRepository archivedRepository;
+    
+    @Mock
+    private ArchivedOrderMapper archivedMapper;
+    
+    private OrderDatabaseGateway gateway;
+    
+    @BeforeEach
+    void setUp() {
+        gateway = new OrderDatabaseGateway(repository, mapper, archivedRepository, archivedMapper,
+            new ReadRouting(Optional.empty(), new SimpleMeterRegistry()), mock(EntityScanner.class),
+            mock(OrderViewReader.class), Optional.empty(), Optional.empty());
+        ReflectionTestUtils.setField(gateway, "archiveEnabled", true);
+    }
+    
+    @Test
+    void shouldFallThroughToArchiveOnHotMiss() {
+        ArchivedOrderModel archivedModel = archivedModel(1001L, JANUARY);
+        Order archived = order(1001L, JANUARY);
+        when(repository.findByOrderCode(1001L)).thenReturn(Optional.empty());
+        when(archivedRepository.findById(1001L)).thenReturn(Optional.of(archivedModel));
+        when(archivedMapper.toDomain(archivedModel)).thenReturn(archived);
+        when(repository.findTotalByOrderCode(1001L)).thenReturn(Optional.empty());
+        when(archivedRepository.findTotalByOrderCode(1001L)).thenReturn(Optional.of(new BigDecimal("10.50")));
+        
+        assertSame(archived, gateway.findByOrderCode(1001L).orElseThrow());
+        assertEquals(new BigDecimal("10.50"), gateway.calculateOrderTotal(1001L).orElseThrow());
+    }
+    
+    @Test
+    void shouldNotQueryArchiveOnHotHit() {
+        OrderModel model = model(1001L, JUNE);
+        Order hot = order(1001L, JUNE);
+        when(repository.findByOrderCode(1001L)).thenReturn(Optional.of(model));
+        when(mapper.toDomain(model)).thenReturn(hot);
+        
+        assertSame(hot, gateway.findByOrderCode(1001L).orElseThrow());
+        verifyNoInteractions(archivedRepository);
+    }
+    
+    @Test
+    void shouldReturnEmptyWhenMissingFromBothTables() {
+        when(repository.findByOrderCode(1001L)).thenReturn(Optional.empty());
+        when(archivedRepository.findById(1001L)).thenReturn(Optional.empty());
+        when(repository.findTotalByOrderCode(1001L)).thenReturn(Optional.empty());
+        when(archivedRepository.findTotalByOrderCode(1001L)).thenReturn(Optional.empty());
+        
+        assertTrue(gateway.findByOrderCode(1001L).isEmpty());
+        assertTrue(gateway.calculateOrderTotal(1001L).isEmpty());
+        verifyNoInteractions(archivedMapper);
+    }
+    
+    @Test
+    void shouldListArchivedOrdersBeforeHotOnes() {
+        OrderModel hotModel = model(1002L, JUNE);
+        ArchivedOrderModel archivedModel = archivedModel(1001L, JANUARY);
+        Order hot = order(1002L, JUNE);
+        Order archived = order(1001L, JANUARY);
+        when(repository.findByClientId(1L)).thenReturn(List.of(hotModel));
+        when(mapper.toDomain(hotModel)).thenReturn(hot);
+        when(archivedRepository.findByClientIdOrderByCreatedAt(1L)).thenReturn(List.of(archivedModel));
+        when(archivedMapper.toDomain(archivedModel)).thenReturn(archived);
+        
+        assertEquals(List.of(archived, hot), gateway.findByClientId(1L));
+        
+        OrderSummary hotSummary = new OrderSummary(1002L, BigDecimal.ONE, 1L, JUNE);
+        OrderSummary archivedSummary = new OrderSummary(1001L, BigDecimal.TEN, 2L, JANUARY);
+        when(repository.findSummariesByClientId(1L)).thenReturn(List.of(hotSummary));
+        when(archivedRepository.findSummariesByClientId(1L)).thenReturn(List.of(archivedSummary));
+        
+        assertEquals(List.of(archivedSummary, hotSummary), gateway.findSummariesByClientId(1L));
+    }
+    
+    @Test
+    void shouldSumCountsFromBothTables() {
+        when(repository.countByClientId(1L)).thenReturn(3L);
+        when(archivedRepository.countByClientId(1L)).thenReturn(4L);
+        when(repository.countByClientIds(any())).thenReturn(List.of(count(1L, 3L), count(2L, 1L)));
+        when(archivedRepository.countByClientIds(any())).thenReturn(List.of(count(1L, 4L), count(3L, 5L)));
+        
+        assertEquals(7L, gateway.countOrdersByClient(1L));
+        assertEquals(Map.of(1L, 7L, 2L, 1L, 3L, 5L), gateway.countOrdersByClients(List.of(1L, 2L, 3L)));
+    }
+    
+    @Test
+    void shouldMergeClientOrdersVersionFromBothTables() {
+        when(repository.findVersionByClientId(1L)).thenReturn(new ClientOrdersVersion(3L, JUNE));
+        when(archivedRepository.findVersionByClientId(1L)).thenReturn(new ClientOrdersVersion(4L, JANUARY));
+        when(repository.findVersionByClientId(2L)).thenReturn(new ClientOrdersVersion(0L, null));
+        when(archivedRepository.findVersionByClientId(2L)).thenReturn(new ClientOrdersVersion(2L, JANUARY));
+        when(repository.findVersionByClientId(3L)).thenReturn(new ClientOrdersVersion(0L, null));
+        when(archivedRepository.findVersionByClientId(3L)).thenReturn(new ClientOrdersVersion(0L, null));
+        
+        assertEquals(new ClientOrdersVersion(7L, JUNE), gateway.findClientOrdersVersion(1L));
+        assertEquals(new ClientOrdersVersion(2L, JANUARY), gateway.findClientOrdersVersion(2L));
+        assertEquals(new ClientOrdersVersion(0L, null), gateway.findClientOrdersVersion(3L));
+    }
+    
+    private static OrderModel model(Long orderCode, LocalDateTime createdAt) {
+        return OrderModel.builder().orderCode(orderCode).clientId(1L).createdAt(createdAt).build();
+    }
+    
+    private static ArchivedOrderModel archivedModel(Long orderCode, LocalDateTime createdAt) {
+        return ArchivedOrderModel.builder().orderCode(orderCode).clientId(1L).createdAt(createdAt).build();
+    }
+    
+    private static Order order(Long orderCode, LocalDateTime createdAt) {
+        return Order.builder().orderCode(orderCode).clientId(1L).createdAt(createdAt).build();
+    }
+    
+    private static ClientOrderCountProjection count(Long clientId, Long orderCount) {
+        return new ClientOrderCountProjection() {
+            @Override
+            public Long getClientId() {
+                return clientId;
+            }
+            
+            @Override
+            public Long getOrderCount() {
+                return orderCount;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.btg.orders.infrastructure.database.products;
+
+import com.btg.orders.benchmark.HeapFootprint;
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+// Heap por pedido em cache com nomes de produto repetidos em cada item (como saem do JSON
+// ou do JDBC) vs. instâncias compartilhadas, como entrega o ProductDictionary.
+// Executado por scripts/benchmark-product-dictionary.sh.
+public class ProductDictionaryBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int items = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int products = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        
+        System.out.printf("%,d pedidos com %d itens, catálogo de %,d produtos%n", orders, items, products);
+        
+        double repeated = HeapFootprint.bytesPerElement(orders, o -> order(o, items, products, name -> name));
+        
+        Map<String, String> dictionary = new HashMap<>();
+        double shared = HeapFootprint.bytesPerElement(orders,
+            o -> order(o, items, products, name -> dictionary.computeIfAbsent(name, key -> key)));
+        
+        System.out.printf("strings repetidas:      %.1f bytes/pedido%n", repeated);
+        System.out.printf("strings compartilhadas: %.1f bytes/pedido (%.1f bytes/item a menos)%n",
+            shared, (repeated - shared) / items);
+    }
+    
+    private static Order order(int index, int items, int products, UnaryOperator<String> canonical) {
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            // new String: cada linha lida do banco/JSON vira uma instância própria
+            String name = new String("produto-" + ((index + i) % products));
+            orderItems.add(new OrderItem(canonical.apply(name), 1, BigDecimal.TEN));
+        }
+        return Order.builder().orderCode((long) index).clientId((long) (index % 100_000)).items(orderItems).build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.btg.orders.infrastructure.database.products;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProductDictionaryTest {
+    
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private ProductDictionary dictionary;
+    
+    @BeforeEach
+    void setUp() {
+        dictionary = new ProductDictionary(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 16, 10);
+    }
+    
+    @Test
+    void shouldRegisterNewProductOnceAndShareTheSameInstance() {
+        when(jdbcTemplate.queryForObject(startsWith("INSERT INTO products"), eq(Integer.class), eq("lápis"))).thenReturn(7);
+        
+        String first = dictionary.intern(new String("lápis"));
+        String second = dictionary.intern(new String("lápis"));
+        
+        assertEquals("lápis", first);
+        assertSame(first, second);
+        assertEquals(7, dictionary.idOf("lápis"));
+        assertSame(first, dictionary.nameOf(7));
+        assertEquals(1, dictionary.size());
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Integer.class), any());
+        verify(transactionManager).commit(any());
+    }
+    
+    @Test
+    void shouldRegisterConcurrentlyWithoutBlockingOtherProducts() throws Exception {
+        CountDownLatch insertingPencil = new CountDownLatch(1);
+        CountDownLatch releasePencil = new CountDownLatch(1);
+        when(jdbcTemplate.queryForObject(startsWith("INSERT INTO products"), eq(Integer.class), eq("lápis"))).thenAnswer(invocation -> {
+            insertingPencil.countDown();
+            releasePencil.await(5, TimeUnit.SECONDS);
+            return 7;
+        });
+        when(jdbcTemplate.queryForObject(startsWith("INSERT INTO products"), eq(Integer.class), eq("caneta"))).thenReturn(8);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> pencils = new ArrayList<>();
+            pencils.add(executor.submit(() -> dictionary.idOf("lápis")));
+            assertTrue(insertingPencil.await(5, TimeUnit.SECONDS));
+            pencils.add(executor.submit(() -> dictionary.idOf("lápis")));
+            pencils.add(executor.submit(() -> dictionary.idOf("lápis")));
+            
+            // Com o insert do lápis parado no banco, outro produto é registrado normalmente
+            assertEquals(8, executor.submit(() -> dictionary.idOf("caneta")).get(5, TimeUnit.SECONDS));
+            
+            releasePencil.countDown();
+            for (Future<Integer> pencil : pencils) {
+                assertEquals(7, pencil.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Integer.class), eq("lápis"));
+    }
+    
+    @Test
+    void shouldPreregisterOnlyNamesThatPassValidation() {
+        when(jdbcTemplate.queryForObject(startsWith("INSERT INTO products"), eq(Integer.class), eq("lápis"))).thenReturn(7);
+        when(jdbcTemplate.queryForObject(startsWith("INSERT INTO products"), eq(Integer.class), eq("caneta")))
+            .thenThrow(new CannotGetJdbcConnectionException("connection refused"));
+        
+        dictionary.preregister(Arrays.asList("lápis", null, " ", "x".repeat(256), "caneta"));
+        
+        assertEquals(1, dictionary.size());
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Integer.class), any());
+    }
+    
+    @Test
+    void shouldRefuseToStartWhenEveryListenerCanHoldTheWholePool() {
+        assertThrows(IllegalStateException.class,
+            () -> new ProductDictionary(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 10, 10));
+    }
+    
+    @Test
+    void shouldLoadUnknownIdFromDatabaseAndKeepCanonicalWithoutDatabase() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(2048))).thenReturn(List.of("caderno"));
+        
+        assertEquals("caderno", dictionary.nameOf(2048));
+        assertSame(dictionary.nameOf(2048), dictionary.canonical(new String("caderno")));
+        assertEquals("borracha", dictionary.canonical("borracha"));
+        assertNull(dictionary.intern(null));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class), any());
+        verifyNoInteractions(transactionManager);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.btg.orders.infrastructure.database.rollup;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JdbcOrderRollupGatewayTest {
+    
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 10, 12, 34, 56);
+    
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JdbcOrderRollupGateway gateway = new JdbcOrderRollupGateway(jdbcTemplate, mock(PlatformTransactionManager.class), 4);
+    
+    @Test
+    void shouldUpsertClientRowAndOneGlobalStripePerGranularity() {
+        gateway.record(order(1006L));
+        gateway.reverse(order(1006L));
+        
+        // Registro e estorno caem na mesma faixa do cliente: -(1 + 7 % 4)
+        verify(jdbcTemplate).update(contains("order_rollups_minute"),
+            eq(7L), eq(LocalDateTime.of(2024, 1, 10, 12, 34)), eq(1L), eq(1L), eq(new BigDecimal("2.20")),
+            eq(-4L), eq(LocalDateTime.of(2024, 1, 10, 12, 34)), eq(1L), eq(1L), eq(new BigDecimal("2.20")));
+        verify(jdbcTemplate).update(contains("order_rollups_day"),
+            eq(7L), eq(LocalDateTime.of(2024, 1, 10, 0, 0)), eq(-1L), eq(-1L), eq(new BigDecimal("-2.20")),
+            eq(-4L), eq(LocalDateTime.of(2024, 1, 10, 0, 0)), eq(-1L), eq(-1L), eq(new BigDecimal("-2.20")));
+        verify(jdbcTemplate, times(6)).update(anyString(), any(Object[].class));
+    }
+    
+    @Test
+    void shouldSpreadGlobalRowsOverConfiguredStripes() {
+        assertEquals(List.of(-1L, -2L, -3L, -4L, -1L),
+            List.of(gateway.globalStripe(1000L), gateway.globalStripe(1001L), gateway.globalStripe(1002L),
+                gateway.globalStripe(1003L), gateway.globalStripe(1004L)));
+    }
+    
+    @Test
+    void shouldRebuildOneClientRangePerTransaction() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any(), any(), eq(0))).thenReturn(List.of(1L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L), eq(1L), eq(1L), eq(1000))).thenReturn(List.of(1500L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1500L), eq(1500L), eq(1500L), eq(1000))).thenReturn(List.of());
+        
+        gateway.reset();
+        
+        // Cada faixa trava as tabelas só durante o próprio recálculo
+        verify(jdbcTemplate, times(2)).execute(startsWith("LOCK TABLE"));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM order_rollups_minute"), eq(1L), eq(1500L));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM order_rollups_minute"), eq(1500L), eq(Long.MAX_VALUE));
+        verify(jdbcTemplate, never()).update("DELETE FROM order_rollups_minute");
+    }
+    
+    private static Order order(Long orderCode) {
+        return Order.builder()
+            .orderCode(orderCode)
+            .clientId(7L)
+            .items(new ArrayList<>(List.of(new OrderItem("lápis", 2, new BigDecimal("1.10")))))
+            .total(new BigDecimal("2.20"))
+            .createdAt(CREATED_AT)
+            .build();
+    }
+}
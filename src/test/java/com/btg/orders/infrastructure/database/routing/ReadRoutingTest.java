@@ -0,0 +1,76 @@
+package com.btg.orders.infrastructure.database.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadRoutingTest {
+    
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+    
+    private ReadRouting readRouting;
+    
+    @BeforeEach
+    void setUp() {
+        readRouting = new ReadRouting(Optional.of(lagMonitor), new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void shouldReadFromReplicaWhenItIsCaughtUp() {
+        when(lagMonitor.isUsable()).thenReturn(true);
+        
+        assertEquals(DataSourceTarget.REPLICA, readRouting.route(RoutingDataSource::currentTarget));
+        assertEquals(DataSourceTarget.PRIMARY, RoutingDataSource.currentTarget());
+    }
+    
+    @Test
+    void shouldReadFromPrimaryWhenReplicaIsLagging() {
+        when(lagMonitor.isUsable()).thenReturn(false);
+        
+        assertEquals(DataSourceTarget.PRIMARY, readRouting.route(RoutingDataSource::currentTarget));
+    }
+    
+    @Test
+    void shouldMeasureLagFromLastReplayedPrimarySample() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(mock(DataSource.class), mock(DataSource.class),
+            Duration.ofSeconds(2), new SimpleMeterRegistry());
+        long second = Duration.ofSeconds(1).toNanos();
+        
+        assertEquals(Long.MAX_VALUE, monitor.lagNanos(0));
+        
+        monitor.record(0, 100, 100);
+        monitor.record(second, 200, 150);
+        
+        // A amostra de 200 ainda não foi aplicada: o atraso conta a partir da de 100, mesmo sem novo ciclo
+        assertEquals(3 * second, monitor.lagNanos(3 * second));
+        
+        monitor.record(4 * second, 300, 300);
+        
+        assertEquals(0, monitor.lagNanos(4 * second));
+    }
+    
+    @Test
+    void shouldAlwaysUsePrimaryWithoutReplica() {
+        ReadRouting withoutReplica = new ReadRouting(Optional.empty(), new SimpleMeterRegistry());
+        
+        assertEquals(DataSourceTarget.PRIMARY, withoutReplica.route(RoutingDataSource::currentTarget));
+    }
+    
+    @Test
+    void shouldParsePgLsn() {
+        assertEquals(0x16B3748L, ReplicaLagMonitor.parseLsn("0/16B3748"));
+        assertEquals((0x1L << 32) | 0xA0L, ReplicaLagMonitor.parseLsn("1/A0"));
+    }
+}
\ No newline at end of file
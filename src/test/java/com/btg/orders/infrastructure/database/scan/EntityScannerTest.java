@@ -0,0 +1,80 @@
+package com.btg.orders.infrastructure.database.scan;
+
+import com.btg.orders.domain.entities.ScanOptions;
+import com.btg.orders.infrastructure.database.models.ClientModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EntityScannerTest {
+    
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private EntityScanner scanner;
+    
+    @BeforeEach
+    void setUp() {
+        scanner = new EntityScanner(transactionManager);
+        ReflectionTestUtils.setField(scanner, "entityManager", entityManager);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldProcessInChunksAndClearPersistenceContextBetweenThem() {
+        TypedQuery<Object[]> bounds = mock(TypedQuery.class);
+        when(bounds.getSingleResult()).thenReturn(new Object[]{1L, 5L});
+        when(entityManager.createQuery(startsWith("SELECT MIN"), eq(Object[].class))).thenReturn(bounds);
+        
+        TypedQuery<ClientModel> rows = mock(TypedQuery.class, RETURNS_SELF);
+        when(rows.getResultStream()).thenReturn(LongStream.rangeClosed(1, 5)
+            .mapToObj(id -> ClientModel.builder().id(id).build()));
+        when(entityManager.createQuery(startsWith("SELECT e"), eq(ClientModel.class))).thenReturn(rows);
+        
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Long> visited = new ArrayList<>();
+        long scanned = scanner.scan(ClientModel.class, ScanOptions.builder().chunkSize(2).fetchSize(100).build(),
+            chunk -> chunkSizes.add(chunk.size()), ClientModel::getId, visited::add);
+        
+        assertEquals(5, scanned);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), visited);
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+        verify(entityManager, times(3)).clear();
+        verify(rows).setParameter("fromId", 1L);
+        verify(rows).setParameter("toId", 6L);
+        verify(rows).setHint(anyString(), eq(100));
+        verify(transactionManager).commit(any());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSkipEmptyTable() {
+        TypedQuery<Object[]> bounds = mock(TypedQuery.class);
+        when(bounds.getSingleResult()).thenReturn(new Object[]{null, null});
+        when(entityManager.createQuery(startsWith("SELECT MIN"), eq(Object[].class))).thenReturn(bounds);
+        
+        assertEquals(0, scanner.scan(ClientModel.class, ScanOptions.defaults(), chunk -> {}, ClientModel::getId, id -> fail()));
+        verifyNoInteractions(transactionManager);
+    }
+    
+    @Test
+    void shouldSplitIdRangesWithoutGapsOrOverlaps() {
+        List<long[]> ranges = EntityScanner.splitRanges(1, 1_000_003, 8);
+        
+        assertEquals(1, ranges.get(0)[0]);
+        assertEquals(1_000_004, ranges.get(ranges.size() - 1)[1]);
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1)[1], ranges.get(i)[0]);
+        }
+    }
+}
\ No newline at end of file
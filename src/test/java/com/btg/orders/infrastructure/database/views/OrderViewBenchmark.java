@@ -0,0 +1,131 @@
+package com.btg.orders.infrastructure.database.views;
+
+import com.btg.orders.app.dto.OrderResponseDto;
+import com.btg.orders.app.mappers.OrderDtoMapper;
+import com.btg.orders.app.mappers.OrderDtoMapperImpl;
+import com.btg.orders.benchmark.HeapFootprint;
+import com.btg.orders.domain.entities.Client;
+import com.btg.orders.domain.entities.ClientView;
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.entities.OrderView;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Vazão (pedidos/s, JMH com -prof gc para bytes alocados por pedido) do mapeamento para
+// OrderResponseDto: Order/OrderItem (modelo mutável) vs. OrderView (primitivos e arrays), só
+// mapeando pedidos já carregados ou montando + mapeando. main() mede o heap por pedido carregado.
+// Executado por scripts/benchmark-order-views.sh.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderViewBenchmark {
+    
+    private static final String[] PRODUCTS = {"lápis", "caderno", "borracha", "caneta", "régua"};
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int LOADED = 4096;
+    private static final Client CLIENT = new Client(1L, "Cliente 1", "cliente1@example.com");
+    private static final ClientView CLIENT_VIEW = new ClientView(1L, "Cliente 1", "cliente1@example.com");
+    
+    @Param({"5", "50"})
+    int items;
+    
+    OrderDtoMapper mapper;
+    Order[] orders;
+    OrderView[] views;
+    int next;
+    
+    @Setup
+    public void setUp() {
+        mapper = new OrderDtoMapperImpl();
+        orders = new Order[LOADED];
+        views = new OrderView[LOADED];
+        for (int index = 0; index < LOADED; index++) {
+            orders[index] = order(index, items, CLIENT);
+            views[index] = view(index, items, CLIENT_VIEW);
+        }
+    }
+    
+    @Benchmark
+    public OrderResponseDto orderMapping() {
+        return mapper.toResponseDto(orders[nextIndex()]);
+    }
+    
+    // Montagem: o que o gateway faz por pedido lido; mapeamento: o que o controller faz por pedido escrito
+    @Benchmark
+    public OrderResponseDto orderLoadAndMapping() {
+        return mapper.toResponseDto(order(nextIndex(), items, CLIENT));
+    }
+    
+    @Benchmark
+    public OrderResponseDto viewMapping() {
+        return mapper.toResponseDto(views[nextIndex()]);
+    }
+    
+    @Benchmark
+    public OrderResponseDto viewLoadAndMapping() {
+        return mapper.toResponseDto(view(nextIndex(), items, CLIENT_VIEW));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int items = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        
+        System.out.printf("%,d pedidos com %d itens%n", count, items);
+        System.out.printf("Order:     %.1f bytes/pedido%n", HeapFootprint.bytesPerElement(count, index -> order(index, items, CLIENT)));
+        System.out.printf("OrderView: %.1f bytes/pedido%n", HeapFootprint.bytesPerElement(count, index -> view(index, items, CLIENT_VIEW)));
+    }
+    
+    private int nextIndex() {
+        next = (next + 1) & (LOADED - 1);
+        return next;
+    }
+    
+    // Como chegaria do banco: uma instância de BigDecimal/LocalDateTime por coluna lida
+    private static Order order(int index, int items, Client client) {
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            orderItems.add(OrderItem.builder()
+                .id((long) index * items + i)
+                .product(PRODUCTS[i % PRODUCTS.length])
+                .quantity(i + 1)
+                .price(BigDecimal.valueOf(100 + i, 2))
+                .total(BigDecimal.valueOf((100 + i) * (i + 1), 2))
+                .build());
+        }
+        return Order.builder()
+            .id((long) index)
+            .orderCode(1_000_000L + index)
+            .clientId(1L)
+            .client(client)
+            .items(orderItems)
+            .total(BigDecimal.valueOf(index, 2))
+            .createdAt(BASE.plusSeconds(index))
+            .build();
+    }
+    
+    private static OrderView view(int index, int items, ClientView client) {
+        long[] ids = new long[items];
+        String[] products = new String[items];
+        int[] quantities = new int[items];
+        long[] prices = new long[items];
+        long[] totals = new long[items];
+        for (int i = 0; i < items; i++) {
+            ids[i] = (long) index * items + i;
+            products[i] = PRODUCTS[i % PRODUCTS.length];
+            quantities[i] = i + 1;
+            prices[i] = 100 + i;
+            totals[i] = (100L + i) * (i + 1);
+        }
+        return new OrderView(index, 1_000_000L + index, 1L, client, index,
+            OrderView.toMicros(BASE.plusSeconds(index)), ids, products, quantities, prices, totals);
+    }
+}
\ No newline at end of file
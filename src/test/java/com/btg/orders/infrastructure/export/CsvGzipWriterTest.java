@@ -0,0 +1,80 @@
+package com.btg.orders.infrastructure.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvGzipWriterTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldPublishQuotedCsvOnlyOnCommit() throws IOException {
+        Path target = directory.resolve("orders/day=2024-01-15/part-000000.csv.gz");
+        
+        try (CsvGzipWriter writer = new CsvGzipWriter(target, "order_code", "product", "price", "created_at")) {
+            writer.field(1001L).field("caderno \"A4\", capa dura").field(new BigDecimal("1.10"))
+                .field(LocalDateTime.of(2024, 1, 15, 10, 30)).endRow();
+            assertFalse(Files.exists(target));
+            
+            assertTrue(writer.commit() > 0);
+            assertEquals(1, writer.rows());
+        }
+        
+        assertEquals("order_code,product,price,created_at\n" +
+            "1001,\"caderno \"\"A4\"\", capa dura\",1.10,2024-01-15T10:30\n", gunzip(target));
+        assertEquals(1, Files.list(target.getParent()).count());
+    }
+    
+    @Test
+    void shouldDiscardUncommittedFile() throws IOException {
+        Path target = directory.resolve("orders/part-000001.csv.gz");
+        
+        try (CsvGzipWriter writer = new CsvGzipWriter(target, "order_code")) {
+            writer.field(1001L).endRow();
+        }
+        
+        assertFalse(Files.exists(target));
+        assertEquals(0, Files.list(target.getParent()).count());
+    }
+    
+    @Test
+    void shouldResumeCheckpointIgnoringTornLine() throws IOException {
+        try (ExportCheckpoint checkpoint = new ExportCheckpoint(directory, true)) {
+            checkpoint.markCompleted("day=2024-01-14");
+            checkpoint.markCompleted("day=2024-01-15");
+        }
+        Files.writeString(directory.resolve(ExportCheckpoint.FILE_NAME), "day=2024-01", StandardOpenOption.APPEND);
+        
+        try (ExportCheckpoint checkpoint = new ExportCheckpoint(directory, true)) {
+            assertTrue(checkpoint.isCompleted("day=2024-01-14"));
+            assertTrue(checkpoint.isCompleted("day=2024-01-15"));
+            assertFalse(checkpoint.isCompleted("day=2024-01"));
+            checkpoint.markCompleted("day=2024-01-16");
+        }
+        assertEquals("day=2024-01-14\nday=2024-01-15\nday=2024-01-16\n",
+            Files.readString(directory.resolve(ExportCheckpoint.FILE_NAME)));
+        
+        try (ExportCheckpoint checkpoint = new ExportCheckpoint(directory, false)) {
+            assertFalse(checkpoint.isCompleted("day=2024-01-14"));
+        }
+    }
+    
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.btg.orders.infrastructure.messaging.dedup;
+
+import com.btg.orders.domain.entities.OrderFailure;
+import com.btg.orders.domain.entities.Outcome;
+import com.btg.orders.domain.gateways.MessageGateway;
+import com.btg.orders.domain.usecases.interfaces.ProcessOrderUseCaseInterface;
+import com.btg.orders.infrastructure.database.products.ProductDictionary;
+import com.btg.orders.infrastructure.messaging.consumer.OrderMessageConsumer;
+import com.btg.orders.infrastructure.messaging.dto.OrderMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderDeduplicatorTest {
+    
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderDeduplicator deduplicator;
+    
+    @BeforeEach
+    void setUp() {
+        deduplicator = new OrderDeduplicator(jdbcTemplate, 16, Duration.ofDays(7), meterRegistry);
+    }
+    
+    @Test
+    void shouldFingerprintPayloadIgnoringPriceScale() {
+        long hash = OrderDeduplicator.fingerprint(message(1001L, "lápis", 2, "1.10"));
+        
+        assertEquals(hash, OrderDeduplicator.fingerprint(message(1001L, "lápis", 2, "1.100")));
+        assertEquals(hash, OrderDeduplicator.fingerprint(message(2002L, "lápis", 2, "1.10")));
+        assertNotEquals(hash, OrderDeduplicator.fingerprint(message(1001L, "lápis", 3, "1.10")));
+        assertNotEquals(hash, OrderDeduplicator.fingerprint(message(1001L, "lápiz", 2, "1.10")));
+        assertNotEquals(hash, OrderDeduplicator.fingerprint(message(1001L, null, 2, "1.10")));
+    }
+    
+    @Test
+    void shouldAnswerFromWindowAndFallBackToStore() {
+        long hash = OrderDeduplicator.fingerprint(message(1001L, "lápis", 2, "1.10"));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1001L))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1002L))).thenReturn(List.of(hash));
+        
+        assertEquals(DedupResult.NEW, deduplicator.check(1001L, hash));
+        deduplicator.record(1001L, hash);
+        assertEquals(DedupResult.REPLAY, deduplicator.check(1001L, hash));
+        assertEquals(DedupResult.CONFLICT, deduplicator.check(1001L, hash + 1));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), eq(1001L));
+        
+        // Gravado por outra réplica (ou antes do restart): uma consulta, depois só a janela
+        assertEquals(DedupResult.REPLAY, deduplicator.check(1002L, hash));
+        assertEquals(DedupResult.REPLAY, deduplicator.check(1002L, hash));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), eq(1002L));
+        
+        assertEquals(2, meterRegistry.counter("orders.dedup.lookups", "result", "replay", "source", "memory").count());
+        assertEquals(1, meterRegistry.counter("orders.dedup.lookups", "result", "replay", "source", "store").count());
+        assertEquals(1, meterRegistry.counter("orders.dedup.lookups", "result", "conflict", "source", "memory").count());
+    }
+    
+    @Test
+    void shouldShortCircuitRedeliveryBeforeUseCase() {
+        ProcessOrderUseCaseInterface useCase = mock(ProcessOrderUseCaseInterface.class);
+        OrderMessageConsumer consumer = new OrderMessageConsumer(useCase, mock(MessageGateway.class), Optional.empty(),
+            Optional.of(deduplicator), mock(ProductDictionary.class), new ObjectMapper(), mock(PlatformTransactionManager.class));
+        OrderMessageDto message = message(1001L, "lápis", 2, "1.10");
+        deduplicator.record(1001L, OrderDeduplicator.fingerprint(message));
+        
+        assertEquals(OrderFailure.REPLAYED, consumer.process(message).failure());
+        assertEquals(OrderFailure.CONFLICT, consumer.process(message(1001L, "lápis", 5, "1.10")).failure());
+        verifyNoInteractions(useCase);
+    }
+    
+    @Test
+    void shouldRecordProcessedOrderInTheSameTransactionAsTheOrder() throws Exception {
+        ProcessOrderUseCaseInterface useCase = mock(ProcessOrderUseCaseInterface.class);
+        MessageGateway messageGateway = mock(MessageGateway.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        OrderMessageConsumer consumer = new OrderMessageConsumer(useCase, messageGateway, Optional.empty(),
+            Optional.of(deduplicator), mock(ProductDictionary.class), new ObjectMapper(), transactionManager);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyLong())).thenReturn(List.of());
+        when(useCase.execute(eq(1001L), anyLong(), anyList())).thenReturn(Outcome.success(null));
+        when(useCase.execute(eq(1002L), anyLong(), anyList())).thenThrow(new IllegalStateException("connection refused"));
+        
+        consumer.handleOrderMessage(message(1001L, "lápis", 2, "1.10"));
+        
+        InOrder inOrder = inOrder(transactionManager, useCase, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(useCase).execute(eq(1001L), anyLong(), anyList());
+        inOrder.verify(jdbcTemplate).update(anyString(), eq(1001L), anyLong());
+        inOrder.verify(transactionManager).commit(any());
+        
+        // Falha no pedido: nada é registrado e a notificação de erro sai depois do rollback
+        consumer.handleOrderMessage(message(1002L, "lápis", 2, "1.10"));
+        
+        verify(transactionManager).rollback(any());
+        verify(jdbcTemplate, never()).update(anyString(), eq(1002L), anyLong());
+        verify(messageGateway).sendOrderErrorNotification(1002L, "connection refused");
+    }
+    
+    private static OrderMessageDto message(Long orderCode, String product, int quantity, String price) {
+        return OrderMessageDto.builder()
+            .codigoPedido(orderCode)
+            .codigoCliente(1L)
+            .itens(List.of(OrderMessageDto.OrderItemDto.builder()
+                .produto(product).quantidade(quantity).preco(new BigDecimal(price)).build()))
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.btg.orders.infrastructure.messaging.journal;
+
+import com.btg.orders.domain.entities.Outcome;
+import com.btg.orders.domain.gateways.MessageGateway;
+import com.btg.orders.domain.gateways.OrderGateway;
+import com.btg.orders.domain.services.OrderValidationService;
+import com.btg.orders.domain.usecases.interfaces.ProcessOrderUseCaseInterface;
+import com.btg.orders.infrastructure.database.products.ProductDictionary;
+import com.btg.orders.infrastructure.messaging.consumer.OrderMessageConsumer;
+import com.btg.orders.infrastructure.messaging.dto.OrderMessageDto;
+import com.btg.orders.infrastructure.messaging.gateways.RabbitMessageGateway;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Os "crashes" abandonam a instância sem close(): nada além do que append() já garantiu
+// em disco é persistido, e a reabertura precisa recuperar exatamente esse estado.
+class OrderJournalTest {
+    
+    private static final int SEGMENT_SIZE = 4096;
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldRecoverAcknowledgedRecordsAndDiscardTornTailAfterCrash() throws Exception {
+        OrderJournal crashed = new OrderJournal(directory, SEGMENT_SIZE, Duration.ZERO);
+        crashed.append(bytes("pedido-1"));
+        crashed.append(bytes("pedido-2"));
+        
+        // Frame rasgado: cabeçalho gravado, payload não chegou ao disco
+        writeAt(segmentFile(0), 2 * (8 + 8), ByteBuffer.allocate(8).putInt(100).putInt(12345).array());
+        
+        OrderJournal recovered = new OrderJournal(directory, SEGMENT_SIZE, Duration.ZERO);
+        recovered.append(bytes("pedido-3"));
+        
+        assertEquals(List.of("pedido-1", "pedido-2", "pedido-3"), payloads(recovered.read(recovered.loadCheckpoint(), 10)));
+        recovered.close();
+    }
+    
+    @Test
+    void shouldReplayOnlyRecordsAfterCheckpoint() throws Exception {
+        OrderJournal crashed = new OrderJournal(directory, SEGMENT_SIZE, Duration.ofMillis(1));
+        for (int i = 1; i <= 3; i++) {
+            crashed.append(bytes("pedido-" + i));
+        }
+        List<JournalRecord> applied = crashed.read(crashed.loadCheckpoint(), 2);
+        crashed.checkpoint(applied.get(1).getNext());
+        
+        OrderJournal recovered = new OrderJournal(directory, SEGMENT_SIZE, Duration.ofMillis(1));
+        
+        assertEquals(List.of("pedido-3"), payloads(recovered.read(recovered.loadCheckpoint(), 10)));
+        recovered.close();
+    }
+    
+    @Test
+    void shouldRollSegmentsAndDeleteAppliedOnes() throws Exception {
+        OrderJournal journal = new OrderJournal(directory, 64, Duration.ZERO);
+        for (int i = 1; i <= 10; i++) {
+            journal.append(bytes("pedido-" + i));
+        }
+        assertTrue(journal.pendingSegments() > 1);
+        
+        List<JournalRecord> records = journal.read(journal.loadCheckpoint(), 100);
+        assertEquals(10, records.size());
+        assertEquals("pedido-10", payloads(records).get(9));
+        
+        journal.checkpoint(records.get(9).getNext());
+        assertEquals(1, journal.pendingSegments());
+        journal.close();
+    }
+    
+    @Test
+    void shouldReapplyUncheckpointedBatchAfterApplierCrash() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        OrderJournal journal = new OrderJournal(directory, SEGMENT_SIZE, Duration.ZERO);
+        for (long code = 1; code <= 3; code++) {
+            journal.append(objectMapper.writeValueAsBytes(OrderMessageDto.builder().codigoPedido(code).codigoCliente(1L).build()));
+        }
+        
+        // Escopo de validação real, com a consulta de duplicidade em lote respondendo "nenhum"
+        OrderValidationService validationService = new OrderValidationService(mock(OrderGateway.class));
+        
+        // Primeiro applier morre com o banco fora do ar no segundo pedido
+        OrderMessageConsumer failing = mock(OrderMessageConsumer.class);
+        when(failing.process(any())).thenReturn(Outcome.success(null));
+        doThrow(new CannotGetJdbcConnectionException("connection refused"))
+            .when(failing).process(argThat(message -> message.getCodigoPedido() == 2L));
+        OrderJournalApplier first = new OrderJournalApplier(journal, failing, mock(MessageGateway.class), validationService, objectMapper,
+            mock(PlatformTransactionManager.class), 10, Duration.ofMillis(1));
+        assertEquals(1, first.drain());
+        
+        // Após o restart, o pedido 1 já aplicado não volta; 2 e 3 são aplicados
+        OrderJournal reopened = new OrderJournal(directory, SEGMENT_SIZE, Duration.ZERO);
+        OrderMessageConsumer consumer = mock(OrderMessageConsumer.class);
+        when(consumer.process(any())).thenReturn(Outcome.success(null));
+        OrderJournalApplier second = new OrderJournalApplier(reopened, consumer, mock(MessageGateway.class), validationService, objectMapper,
+            mock(PlatformTransactionManager.class), 10, Duration.ofMillis(1));
+        assertEquals(2, second.drain());
+        
+        verify(consumer, never()).process(argThat(message -> message.getCodigoPedido() == 1L));
+        verify(consumer).process(argThat(message -> message.getCodigoPedido() == 2L));
+        verify(consumer).process(argThat(message -> message.getCodigoPedido() == 3L));
+        reopened.close();
+    }
+    
+    @Test
+    void shouldNotifyEachOrderOnceWhenBatchFallsBackToSingleRecords() throws Exception {
+        OrderJournal journal = new OrderJournal(directory, SEGMENT_SIZE, Duration.ZERO);
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (long code = 1; code <= 3; code++) {
+            journal.append(objectMapper.writeValueAsBytes(OrderMessageDto.builder().codigoPedido(code).codigoCliente(1L).build()));
+        }
+        
+        // Use case como o ProcessOrderUseCase: notifica no meio da transação; o pedido 2 viola a
+        // chave única só dentro do lote (na segunda tentativa, sozinho, é gravado)
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        MessageGateway messageGateway = new RabbitMessageGateway(rabbitTemplate);
+        ProcessOrderUseCaseInterface useCase = mock(ProcessOrderUseCaseInterface.class);
+        AtomicInteger attemptsOfSecond = new AtomicInteger();
+        when(useCase.execute(anyLong(), anyLong(), anyList())).thenAnswer(invocation -> {
+            Long code = invocation.getArgument(0);
+            if (code == 2L && attemptsOfSecond.incrementAndGet() == 1) {
+                messageGateway.sendOrderErrorNotification(code, "duplicate key value violates unique constraint");
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            messageGateway.sendOrderProcessedNotification(code);
+            return Outcome.success(null);
+        });
+        OrderMessageConsumer consumer = new OrderMessageConsumer(useCase, messageGateway, Optional.empty(), Optional.empty(), mock(ProductDictionary.class), objectMapper,
+            new SynchronizingTransactionManager());
+        
+        OrderJournalApplier applier = new OrderJournalApplier(journal, consumer, messageGateway,
+            new OrderValidationService(mock(OrderGateway.class)), objectMapper, new SynchronizingTransactionManager(),
+            10, Duration.ofMillis(1));
+        assertEquals(3, applier.drain());
+        
+        verify(rabbitTemplate, times(3)).convertAndSend(eq("order.processed"), any(Object.class));
+        verify(rabbitTemplate).convertAndSend("order.processed", "Order 1 processed successfully");
+        verify(rabbitTemplate, never()).convertAndSend(eq("order.error"), any(Object.class));
+        journal.close();
+    }
+    
+    @Test
+    void shouldSkipRecordThatFailsWithDataErrorAndNotify() throws Exception {
+        OrderJournal journal = new OrderJournal(directory, SEGMENT_SIZE, Duration.ZERO);
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (long code = 1; code <= 3; code++) {
+            journal.append(objectMapper.writeValueAsBytes(OrderMessageDto.builder().codigoPedido(code).codigoCliente(1L).build()));
+        }
+        
+        // O pedido 2 viola uma constraint em toda tentativa: não pode travar o journal
+        OrderMessageConsumer consumer = mock(OrderMessageConsumer.class);
+        when(consumer.process(any())).thenReturn(Outcome.success(null));
+        doThrow(new DataIntegrityViolationException("value too long for type character varying(255)"))
+            .when(consumer).process(argThat(message -> message.getCodigoPedido() == 2L));
+        MessageGateway messageGateway = mock(MessageGateway.class);
+        OrderJournalApplier applier = new OrderJournalApplier(journal, consumer, messageGateway,
+            new OrderValidationService(mock(OrderGateway.class)), objectMapper, new SynchronizingTransactionManager(),
+            10, Duration.ofMillis(1));
+        
+        assertEquals(3, applier.drain());
+        assertEquals(0, applier.drain());
+        verify(messageGateway).sendOrderErrorNotification(2L, "value too long for type character varying(255)");
+        verify(consumer).process(argThat(message -> message.getCodigoPedido() == 3L));
+        journal.close();
+    }
+    
+    // Sem banco, mas com as sincronizações de transação (afterCommit) de verdade
+    private static class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+        
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+        
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+        
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+        
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+    
+    private Path segmentFile(long id) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().equals(String.format("segment-%020d.log", id)))
+                .findFirst()
+                .orElseThrow();
+        }
+    }
+    
+    private static void writeAt(Path file, long position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static List<String> payloads(List<JournalRecord> records) {
+        return records.stream()
+            .map(record -> new String(record.getPayload(), StandardCharsets.UTF_8))
+            .collect(Collectors.toList());
+    }
+}
\ No newline at end of file
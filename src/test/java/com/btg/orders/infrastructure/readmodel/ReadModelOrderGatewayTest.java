@@ -0,0 +1,152 @@
+package com.btg.orders.infrastructure.readmodel;
+
+import com.btg.orders.domain.entities.ClientOrdersVersion;
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.entities.OrderSummary;
+import com.btg.orders.domain.events.OrderProcessedEvent;
+import com.btg.orders.infrastructure.database.gateways.OrderDatabaseGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadModelOrderGatewayTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 10, 12, 0, 0, 123_456_000);
+    
+    @Mock
+    private OrderDatabaseGateway delegate;
+    
+    @Mock
+    private DataSource dataSource;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private OrderReadModel readModel;
+    private ReadModelOrderGateway gateway;
+    
+    @BeforeEach
+    void setUp() {
+        readModel = new OrderReadModel(dataSource, transactionManager, DataSize.ofBytes(900), Duration.ofHours(1), false, new SimpleMeterRegistry());
+        gateway = new ReadModelOrderGateway(delegate, readModel);
+    }
+    
+    @Test
+    void shouldLoadClientOnMissAndAnswerFromMemoryAfterwards() {
+        List<OrderSummary> summaries = List.of(new OrderSummary(1001L, new BigDecimal("12.50"), 2L, NOW));
+        when(delegate.findSummariesByClientId(1L)).thenReturn(summaries);
+        
+        assertEquals(summaries, gateway.findSummariesByClientId(1L));
+        assertEquals(summaries, gateway.findSummariesByClientId(1L));
+        assertEquals(1L, gateway.countOrdersByClient(1L));
+        assertEquals(Optional.of(new BigDecimal("12.50")), gateway.calculateOrderTotal(1001L));
+        
+        verify(delegate, times(1)).findSummariesByClientId(1L);
+        verify(delegate, never()).countOrdersByClient(any());
+        verify(delegate, never()).calculateOrderTotal(any());
+    }
+    
+    @Test
+    void shouldApplyProcessedOrdersToResidentClients() {
+        when(delegate.findSummariesByClientId(1L)).thenReturn(List.of(new OrderSummary(1001L, new BigDecimal("12.50"), 2L, NOW)));
+        gateway.findSummariesByClientId(1L);
+        
+        Order order = Order.builder()
+            .orderCode(1002L)
+            .clientId(1L)
+            .items(new ArrayList<>(List.of(new OrderItem("lápis", 2, new BigDecimal("1.10")))))
+            .total(new BigDecimal("2.20"))
+            .createdAt(NOW.plusMinutes(1))
+            .build();
+        readModel.onOrderProcessed(new OrderProcessedEvent(order));
+        readModel.onOrderProcessed(new OrderProcessedEvent(order));
+        
+        List<OrderSummary> summaries = gateway.findSummariesByClientId(1L);
+        assertEquals(2, summaries.size());
+        assertEquals(new OrderSummary(1002L, new BigDecimal("2.20"), 1L, NOW.plusMinutes(1)), summaries.get(1));
+        assertEquals(NOW.plusMinutes(1), gateway.findClientOrdersVersion(1L).getLastOrderAt());
+        assertEquals(Optional.of(new BigDecimal("2.20")), gateway.calculateOrderTotal(1002L));
+    }
+    
+    @Test
+    void shouldEvictLeastRecentlyUsedClientsAndFallThrough() {
+        for (long clientId = 1; clientId <= 3; clientId++) {
+            when(delegate.findSummariesByClientId(clientId)).thenReturn(List.of(
+                new OrderSummary(clientId * 1000, BigDecimal.TEN, 1L, NOW),
+                new OrderSummary(clientId * 1000 + 1, BigDecimal.ONE, 1L, NOW.plusSeconds(1))));
+            gateway.findSummariesByClientId(clientId);
+        }
+        when(delegate.countOrdersByClient(1L)).thenReturn(2L);
+        
+        assertEquals(2L, gateway.countOrdersByClient(1L));
+        
+        verify(delegate).countOrdersByClient(1L);
+        assertTrue(readModel.usedBytes() <= 900);
+    }
+    
+    @Test
+    void shouldRevalidateStaleClientAndReloadWhenAnotherInstanceWroteOrders() {
+        readModel = new OrderReadModel(dataSource, transactionManager, DataSize.ofBytes(900), Duration.ZERO, false, new SimpleMeterRegistry());
+        gateway = new ReadModelOrderGateway(delegate, readModel);
+        List<OrderSummary> loaded = List.of(new OrderSummary(1001L, new BigDecimal("12.50"), 2L, NOW));
+        List<OrderSummary> reloaded = List.of(loaded.get(0), new OrderSummary(1002L, BigDecimal.ONE, 1L, NOW.plusMinutes(1)));
+        when(delegate.findSummariesByClientId(1L)).thenReturn(loaded).thenReturn(reloaded);
+        gateway.findSummariesByClientId(1L);
+        
+        // Versão igual: continua respondendo da memória
+        when(delegate.findClientOrdersVersion(1L)).thenReturn(new ClientOrdersVersion(1L, NOW));
+        assertEquals(1L, gateway.countOrdersByClient(1L));
+        assertEquals(loaded, gateway.findSummariesByClientId(1L));
+        verify(delegate, times(1)).findSummariesByClientId(1L);
+        
+        // Outra réplica gravou o pedido 1002: a versão difere, o cliente é recarregado do banco
+        when(delegate.findClientOrdersVersion(1L)).thenReturn(new ClientOrdersVersion(2L, NOW.plusMinutes(1)));
+        assertEquals(reloaded, gateway.findSummariesByClientId(1L));
+        assertEquals(NOW.plusMinutes(1), gateway.findClientOrdersVersion(1L).getLastOrderAt());
+        verify(delegate, times(2)).findSummariesByClientId(1L);
+        verify(delegate, never()).countOrdersByClient(any());
+    }
+    
+    @Test
+    void shouldNotServeTotalOfOrderRemovedByAnotherInstance() {
+        readModel = new OrderReadModel(dataSource, transactionManager, DataSize.ofBytes(900), Duration.ZERO, false, new SimpleMeterRegistry());
+        gateway = new ReadModelOrderGateway(delegate, readModel);
+        when(delegate.findSummariesByClientId(1L)).thenReturn(List.of(
+            new OrderSummary(1001L, new BigDecimal("12.50"), 2L, NOW),
+            new OrderSummary(1002L, BigDecimal.ONE, 1L, NOW.plusMinutes(1))));
+        gateway.findSummariesByClientId(1L);
+        
+        // Versão igual: o total sai da memória
+        when(delegate.findClientOrdersVersion(1L)).thenReturn(new ClientOrdersVersion(2L, NOW.plusMinutes(1)));
+        assertEquals(Optional.of(new BigDecimal("12.50")), gateway.calculateOrderTotal(1001L));
+        verify(delegate, never()).calculateOrderTotal(any());
+        
+        // Outra réplica removeu o pedido 1001: a versão difere e o total vem do banco
+        when(delegate.findClientOrdersVersion(1L)).thenReturn(new ClientOrdersVersion(1L, NOW.plusMinutes(1)));
+        when(delegate.calculateOrderTotal(1001L)).thenReturn(Optional.empty());
+        assertEquals(Optional.empty(), gateway.calculateOrderTotal(1001L));
+        
+        // Em lote, o dono vencido não é conferido: o pedido vai para a consulta em lote
+        when(delegate.calculateOrderTotals(List.of(1002L))).thenReturn(Map.of(1002L, BigDecimal.ONE));
+        assertEquals(Map.of(1002L, BigDecimal.ONE), gateway.calculateOrderTotals(List.of(1002L)));
+    }
+}
@@ -0,0 +1,191 @@
+package com.btg.orders.infrastructure.replay;
+
+import com.btg.orders.domain.entities.Order;
+import com.btg.orders.domain.entities.OrderItem;
+import com.btg.orders.domain.services.interfaces.EventPublisherServiceInterface;
+import com.btg.orders.infrastructure.database.mappers.OrderItemMapper;
+import com.btg.orders.infrastructure.database.products.ProductDictionary;
+import com.btg.orders.infrastructure.replay.interfaces.OrderProjectionInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderReplayEngineTest {
+    
+    @TempDir
+    Path directory;
+    
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final RecordingProjection projection = new RecordingProjection();
+    private final EventPublisherServiceInterface eventPublisherService = mock(EventPublisherServiceInterface.class);
+    private OrderReplayEngine engine;
+    
+    @BeforeEach
+    void setUp() {
+        engine = new OrderReplayEngine(List.of(projection), eventPublisherService, mock(OrderItemMapper.class),
+            mock(ProductDictionary.class), objectMapper, mock(DataSource.class), mock(PlatformTransactionManager.class),
+            false, new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void shouldReplayExportedEventLogIntoProjectionsAndEvents() throws Exception {
+        List<Order> orders = List.of(order(1001L, 1L, 2), order(1002L, 1L, 1), order(1003L, 2L, 3));
+        Path eventLog = writeEventLog(orders);
+        Path exported = directory.resolve("exported.jsonl");
+        
+        ReplayReport report = engine.replayFromEventLog(eventLog, ReplayOptions.builder()
+            .projections(List.of("recording"))
+            .publishEvents(true)
+            .exportTo(exported)
+            .build());
+        
+        assertEquals(3, report.getOrders());
+        assertEquals(6, report.getItems());
+        assertEquals(1, projection.resets);
+        assertEquals(orders, projection.applied);
+        verify(eventPublisherService, times(3)).publishOrderProcessedEvent(any(Order.class));
+        
+        // O event log exportado reproduz exatamente os mesmos pedidos
+        projection.applied.clear();
+        engine.replayFromEventLog(exported, ReplayOptions.builder().projections(List.of("recording")).build());
+        assertEquals(orders, projection.applied);
+    }
+    
+    @Test
+    void shouldRejectUnknownProjection() throws Exception {
+        Path eventLog = writeEventLog(List.of(order(1001L, 1L, 1)));
+        
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+            engine.replayFromEventLog(eventLog, ReplayOptions.builder().projections(List.of("missing")).build()));
+        
+        assertTrue(error.getMessage().contains("recording"));
+        assertEquals(0, projection.resets);
+    }
+    
+    @Test
+    void shouldOnlyResetRebuildingProjectionsAndRefuseToRunThemWithoutReset() throws Exception {
+        RecordingProjection rebuilding = new RecordingProjection("rebuilding", true);
+        engine = new OrderReplayEngine(List.of(projection, rebuilding), eventPublisherService, mock(OrderItemMapper.class),
+            mock(ProductDictionary.class), objectMapper, mock(DataSource.class), mock(PlatformTransactionManager.class),
+            false, new SimpleMeterRegistry());
+        Path eventLog = writeEventLog(List.of(order(1001L, 1L, 1), order(1002L, 2L, 1)));
+        
+        engine.replayFromEventLog(eventLog, ReplayOptions.builder().projections(List.of("recording", "rebuilding")).build());
+        
+        assertEquals(1, rebuilding.resets);
+        assertTrue(rebuilding.applied.isEmpty());
+        assertEquals(2, projection.applied.size());
+        
+        // Sem reset, reaplicar os pedidos por cima da projeção dobraria os valores
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+            engine.replayFromEventLog(eventLog, ReplayOptions.builder()
+                .projections(List.of("rebuilding"))
+                .resetProjections(false)
+                .build()));
+        
+        assertTrue(error.getMessage().contains("requires reset"));
+        assertEquals(1, rebuilding.resets);
+    }
+    
+    @Test
+    void shouldLimitReplayRate() throws Exception {
+        Path eventLog = writeEventLog(LongStream.rangeClosed(1, 21).mapToObj(code -> order(code, 1L, 1)).toList());
+        
+        ReplayReport report = engine.replayFromEventLog(eventLog, ReplayOptions.builder()
+            .projections(List.of("recording"))
+            .maxOrdersPerSecond(100)
+            .build());
+        
+        assertEquals(21, report.getOrders());
+        assertTrue(report.getElapsed().toMillis() >= 190, "elapsed " + report.getElapsed());
+    }
+    
+    @Test
+    void shouldSplitClientIdRangesWithoutGapsOrOverlaps() {
+        List<long[]> ranges = OrderReplayEngine.splitRanges(10, 109, 8);
+        
+        assertEquals(10, ranges.get(0)[0]);
+        assertEquals(110, ranges.get(ranges.size() - 1)[1]);
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1)[1], ranges.get(i)[0]);
+        }
+        assertEquals(1, OrderReplayEngine.splitRanges(5, 5, 16).size());
+    }
+    
+    private Path writeEventLog(List<Order> orders) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (Order order : orders) {
+            lines.add(objectMapper.writeValueAsString(order));
+        }
+        return Files.write(directory.resolve("events-" + System.nanoTime() + ".jsonl"), lines);
+    }
+    
+    private static Order order(Long orderCode, Long clientId, int items) {
+        Order order = Order.builder()
+            .id(orderCode)
+            .orderCode(orderCode)
+            .clientId(clientId)
+            .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+            .build();
+        for (int i = 1; i <= items; i++) {
+            OrderItem item = new OrderItem("produto " + i, i, new BigDecimal("1.50"));
+            item.setId((long) i);
+            order.addItem(item);
+        }
+        return order;
+    }
+    
+    private static class RecordingProjection implements OrderProjectionInterface {
+        
+        final List<Order> applied = Collections.synchronizedList(new ArrayList<>());
+        private final String name;
+        private final boolean rebuildsOnReset;
+        int resets;
+        
+        RecordingProjection() {
+            this("recording", false);
+        }
+        
+        RecordingProjection(String name, boolean rebuildsOnReset) {
+            this.name = name;
+            this.rebuildsOnReset = rebuildsOnReset;
+        }
+        
+        @Override
+        public String getName() {
+            return name;
+        }
+        
+        @Override
+        public boolean rebuildsOnReset() {
+            return rebuildsOnReset;
+        }
+        
+        @Override
+        public void reset() {
+            resets++;
+        }
+        
+        @Override
+        public void apply(Order order) {
+            applied.add(order);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.btg.orders.infrastructure.stats;
+
+import com.btg.orders.domain.entities.ClientOrderStats;
+import com.btg.orders.domain.entities.ProductSales;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientStatsAccumulatorTest {
+    
+    private static final LocalDateTime COMPUTED_AT = LocalDateTime.of(2024, 1, 10, 3, 0);
+    
+    @Test
+    void shouldAggregateOrdersAndRankProducts() {
+        ClientStatsAccumulator accumulator = new ClientStatsAccumulator(7L);
+        accumulator.addProduct("lápis", 10, 1100);
+        accumulator.addProduct("caderno", 1, 2500);
+        accumulator.addOrder(3600, 11);
+        accumulator.addProduct("lápis", 5, 550);
+        accumulator.addOrder(550, 5);
+        accumulator.addProduct("mochila", 1, 12000);
+        accumulator.addOrder(12000, 1);
+        
+        ClientOrderStats stats = accumulator.toStats(2, COMPUTED_AT);
+        
+        assertEquals(7L, stats.getClientId());
+        assertEquals(3L, stats.getOrders());
+        assertEquals(new BigDecimal("161.50"), stats.getRevenue());
+        assertEquals(new BigDecimal("53.83"), stats.getAverageOrderValue());
+        assertEquals(new BigDecimal("5.50"), stats.getMinOrderValue());
+        assertEquals(new BigDecimal("120.00"), stats.getMaxOrderValue());
+        assertEquals(1L, stats.getMinBasketItems());
+        assertEquals(11L, stats.getMaxBasketItems());
+        assertEquals(List.of(new ProductSales("lápis", 15L, new BigDecimal("16.50")),
+            new ProductSales("caderno", 1L, new BigDecimal("25.00"))), stats.getTopProducts());
+        assertEquals(COMPUTED_AT, stats.getComputedAt());
+    }
+    
+    @Test
+    void shouldEstimateQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        Random random = new Random(7);
+        double[] values = new double[50_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal: valores de centavos a dezenas de milhares de reais
+            values[i] = Math.round(Math.exp(8 + 2 * random.nextGaussian()));
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        
+        for (double q : new double[]{0.01, 0.5, 0.95, 0.99, 1.0}) {
+            double exact = values[(int) Math.ceil(q * values.length) - 1];
+            assertEquals(exact, sketch.quantile(q), exact * 0.01 + 1e-9, "q=" + q);
+        }
+        assertEquals(values.length, sketch.count());
+        assertEquals(0, new QuantileSketch(0.01).quantile(0.5));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.btg.orders.infrastructure.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientStatsJobTest {
+    
+    @Test
+    void shouldBuildRangesFromExistingClientIdsEvenWhenSparse() {
+        List<Long> clientIds = List.of(1L, 2L, 3L, 1_000_000_000_000_000L, 1_000_000_000_000_001L);
+        
+        long[] bounds = ClientStatsJob.rangeBounds(1L, 1_000_000_000_000_001L, 2, (from, leafSize) -> {
+            // Mesma semântica do OFFSET ? LIMIT 1 sobre os client_ids >= from
+            List<Long> tail = clientIds.stream().filter(id -> id >= from).toList();
+            return tail.size() > leafSize ? tail.get(leafSize.intValue()) : null;
+        });
+        
+        assertArrayEquals(new long[]{1L, 3L, 1_000_000_000_000_001L, 1_000_000_000_000_002L}, bounds);
+    }
+    
+    @Test
+    void shouldUseSingleRangeWhenAllClientsFitInOneLeaf() {
+        assertArrayEquals(new long[]{5L, 8L}, ClientStatsJob.rangeBounds(5L, 7L, 10, (from, leafSize) -> null));
+    }
+}
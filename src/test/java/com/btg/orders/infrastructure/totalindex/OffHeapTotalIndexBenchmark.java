@@ -0,0 +1,64 @@
+package com.btg.orders.infrastructure.totalindex;
+
+import com.btg.orders.benchmark.HeapFootprint;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Vazão de lookups (JMH, um índice compartilhado por todas as threads de -t) e, em main(),
+// memória por entrada off-heap vs. HashMap<Long, BigDecimal>. Executado por
+// scripts/benchmark-total-index.sh.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:MaxDirectMemorySize=8g")
+public class OffHeapTotalIndexBenchmark {
+    
+    @Param({"10000000"})
+    int entries;
+    
+    OffHeapTotalIndex index;
+    
+    @Setup
+    public void setUp() {
+        index = fill(entries);
+    }
+    
+    @Benchmark
+    public long lookup() {
+        return index.get(ThreadLocalRandom.current().nextLong(1, entries + 1L));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        
+        System.out.printf("%,d pedidos%n", entries);
+        
+        OffHeapTotalIndex index = fill(entries);
+        System.out.printf("off-heap: %,d bytes em %,d slots -> %.1f bytes/entrada, heap usado: ~0%n",
+            index.offHeapBytes(), index.slots(), index.bytesPerEntry());
+        
+        long heapBefore = HeapFootprint.usedHeap();
+        Map<Long, BigDecimal> heapMap = new HashMap<>();
+        for (long orderCode = 1; orderCode <= entries; orderCode++) {
+            heapMap.put(orderCode, BigDecimal.valueOf(orderCode % 100_000, 2));
+        }
+        long heapBytes = HeapFootprint.usedHeap() - heapBefore;
+        System.out.printf("HashMap<Long, BigDecimal>: ~%,d bytes de heap -> %.1f bytes/entrada%n",
+            heapBytes, (double) heapBytes / heapMap.size());
+    }
+    
+    private static OffHeapTotalIndex fill(int entries) {
+        OffHeapTotalIndex index = OffHeapTotalIndex.allocate(entries);
+        for (long orderCode = 1; orderCode <= entries; orderCode++) {
+            index.put(orderCode, orderCode % 100_000);
+        }
+        return index;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.btg.orders.infrastructure.totalindex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTotalIndexTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void shouldStoreUpdateAndRemoveTotals() {
+        OffHeapTotalIndex index = OffHeapTotalIndex.allocate(1_000);
+        
+        for (long orderCode = 1; orderCode <= 700; orderCode++) {
+            assertTrue(index.put(orderCode, orderCode * 100));
+        }
+        index.put(42L, 999L);
+        index.remove(7L);
+        
+        assertEquals(699, index.size());
+        assertEquals(999L, index.get(42L));
+        assertEquals(70_000L, index.get(700L));
+        assertEquals(OffHeapTotalIndex.NOT_FOUND, index.get(7L));
+        assertEquals(OffHeapTotalIndex.NOT_FOUND, index.get(701L));
+    }
+    
+    @Test
+    void shouldRejectEntriesBeyondMaximumLoad() {
+        OffHeapTotalIndex index = OffHeapTotalIndex.allocate(10);
+        
+        long accepted = 0;
+        for (long orderCode = 1; orderCode <= 100; orderCode++) {
+            if (index.put(orderCode, 1L)) {
+                accepted++;
+            }
+        }
+        
+        assertEquals(accepted, index.size());
+        assertTrue(accepted < index.slots());
+        assertEquals(1L, index.get(1L));
+    }
+    
+    @Test
+    void shouldCompactTombstonesInsteadOfFillingUp() {
+        OffHeapTotalIndex index = OffHeapTotalIndex.allocate(100);
+        
+        // Muito mais remoções que slots: sem compactação o put passaria a falhar para sempre
+        for (long orderCode = 1; orderCode <= 10_000; orderCode++) {
+            assertTrue(index.put(orderCode, orderCode), "put " + orderCode);
+            if (orderCode > 50) {
+                index.remove(orderCode - 50);
+            }
+        }
+        
+        assertEquals(50, index.size());
+        assertTrue(index.compactions() > 0);
+        assertTrue(index.tombstones() < index.slots() / 8);
+        for (long orderCode = 9_951; orderCode <= 10_000; orderCode++) {
+            assertEquals(orderCode, index.get(orderCode));
+        }
+        assertEquals(OffHeapTotalIndex.NOT_FOUND, index.get(9_950L));
+    }
+    
+    @Test
+    void shouldRestoreMappedIndexAfterReopening() throws Exception {
+        Path file = tempDir.resolve("totals.idx");
+        
+        try (OffHeapTotalIndex index = OffHeapTotalIndex.map(file, 1_000)) {
+            assertFalse(index.isRestored());
+            index.put(1001L, 12_050L);
+            index.put(1002L, 300L);
+            index.remove(1002L);
+            index.advanceWatermark(123L);
+        }
+        
+        try (OffHeapTotalIndex index = OffHeapTotalIndex.map(file, 1_000)) {
+            assertTrue(index.isRestored());
+            assertEquals(1, index.size());
+            assertEquals(12_050L, index.get(1001L));
+            assertEquals(OffHeapTotalIndex.NOT_FOUND, index.get(1002L));
+            assertEquals(123L, index.watermark());
+        }
+        
+        try (OffHeapTotalIndex index = OffHeapTotalIndex.map(file, 100_000)) {
+            assertFalse(index.isRestored());
+            assertEquals(OffHeapTotalIndex.NOT_FOUND, index.get(1001L));
+        }
+    }
+}
\ No newline at end of file